@@ -192,6 +192,12 @@ public final class StatusUtils implements Serializable {
                 clazz = Constants.NOT_FOUND_ICON;
                 break;
 
+            case UNAVAILABLE:
+                alt = "unavailable icon";
+                title = "Resource unavailable";
+                clazz = Constants.WARNING_ICON;
+                break;
+
             default:
                 alt = StringUtils.EMPTY;
                 title = StringUtils.EMPTY;
@@ -41,6 +41,7 @@ import org.apache.syncope.client.ui.commons.panels.WizardModalPanel;
 import org.apache.syncope.client.ui.commons.wizards.AbstractModalPanelBuilder;
 import org.apache.syncope.client.ui.commons.wizards.AjaxWizard;
 import org.apache.syncope.common.lib.policy.PolicyTO;
+import org.apache.syncope.common.lib.types.AfterObjStrategy;
 import org.apache.syncope.common.lib.types.BackOffStrategy;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
 import org.apache.syncope.common.lib.types.PolicyType;
@@ -200,6 +201,13 @@ public class PolicyModalPanelBuilder<T extends PolicyTO> extends AbstractModalPa
                             new PropertyModel<>(policyTO, "fetchAroundProvisioning"),
                             false));
 
+                    fields.add(new AjaxDropDownChoicePanel<>(
+                            "field",
+                            "afterObjStrategy",
+                            new PropertyModel<>(policyTO, "afterObjStrategy")).
+                            setChoices(List.of((Serializable[]) AfterObjStrategy.values())).
+                            setNullValid(false));
+
                     fields.add(new AjaxCheckBoxPanel(
                             "field",
                             "updateDelta",
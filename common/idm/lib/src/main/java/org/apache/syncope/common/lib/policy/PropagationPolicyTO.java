@@ -21,6 +21,7 @@ package org.apache.syncope.common.lib.policy;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.apache.syncope.common.lib.types.AfterObjStrategy;
 import org.apache.syncope.common.lib.types.BackOffStrategy;
 
 @Schema(allOf = { PolicyTO.class }, discriminatorProperty = "_class")
@@ -30,6 +31,8 @@ public class PropagationPolicyTO extends PolicyTO {
 
     private boolean fetchAroundProvisioning = true;
 
+    private AfterObjStrategy afterObjStrategy = AfterObjStrategy.FULL_READ;
+
     private boolean updateDelta = false;
 
     private BackOffStrategy backOffStrategy = BackOffStrategy.FIXED;
@@ -55,6 +58,14 @@ public class PropagationPolicyTO extends PolicyTO {
         this.fetchAroundProvisioning = fetchAroundProvisioning;
     }
 
+    public AfterObjStrategy getAfterObjStrategy() {
+        return afterObjStrategy;
+    }
+
+    public void setAfterObjStrategy(final AfterObjStrategy afterObjStrategy) {
+        this.afterObjStrategy = afterObjStrategy;
+    }
+
     public boolean isUpdateDelta() {
         return updateDelta;
     }
@@ -53,6 +53,12 @@ public class ResourceTO implements EntityTO {
 
     private Integer propagationPriority;
 
+    private Integer maxConcurrentRequests;
+
+    private Integer circuitBreakerThreshold;
+
+    private Integer circuitBreakerDelay;
+
     private boolean enforceMandatoryCondition;
 
     private TraceLevel createTraceLevel = TraceLevel.ALL;
@@ -130,6 +136,30 @@ public class ResourceTO implements EntityTO {
         this.propagationPriority = propagationPriority;
     }
 
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(final Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public Integer getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    public void setCircuitBreakerThreshold(final Integer circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    public Integer getCircuitBreakerDelay() {
+        return circuitBreakerDelay;
+    }
+
+    public void setCircuitBreakerDelay(final Integer circuitBreakerDelay) {
+        this.circuitBreakerDelay = circuitBreakerDelay;
+    }
+
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
     }
@@ -286,6 +316,9 @@ public class ResourceTO implements EntityTO {
                 append(provisions, other.provisions).
                 append(orgUnit, other.orgUnit).
                 append(propagationPriority, other.propagationPriority).
+                append(maxConcurrentRequests, other.maxConcurrentRequests).
+                append(circuitBreakerThreshold, other.circuitBreakerThreshold).
+                append(circuitBreakerDelay, other.circuitBreakerDelay).
                 append(createTraceLevel, other.createTraceLevel).
                 append(updateTraceLevel, other.updateTraceLevel).
                 append(deleteTraceLevel, other.deleteTraceLevel).
@@ -313,6 +346,9 @@ public class ResourceTO implements EntityTO {
                 append(provisions).
                 append(orgUnit).
                 append(propagationPriority).
+                append(maxConcurrentRequests).
+                append(circuitBreakerThreshold).
+                append(circuitBreakerDelay).
                 append(enforceMandatoryCondition).
                 append(createTraceLevel).
                 append(updateTraceLevel).
@@ -22,4 +22,45 @@ public class HaveIBeenPwnedPasswordRuleConf extends AbstractPasswordRuleConf {
 
     private static final long serialVersionUID = -8962889598888347921L;
 
+    /**
+     * Path to the local corpus of breached password SHA-1 hashes: when set, passwords are checked offline against
+     * such corpus rather than contacting the "Have I Been Pwned?" service; defaults to the
+     * {@code pwnedPasswords.offlineCorpus} configuration parameter, if set.
+     */
+    private String offlineCorpus;
+
+    /**
+     * Bits per corpus entry of the in-memory Bloom filter used for offline checks; 0 to disable.
+     * Each bit per entry takes about 110 MB of heap with the full corpus of roughly 900 million hashes.
+     */
+    private int bloomFilterBitsPerEntry;
+
+    /**
+     * Whether passwords are accepted when the offline corpus is not loaded yet or could not be read.
+     */
+    private boolean failOpen = true;
+
+    public String getOfflineCorpus() {
+        return offlineCorpus;
+    }
+
+    public void setOfflineCorpus(final String offlineCorpus) {
+        this.offlineCorpus = offlineCorpus;
+    }
+
+    public int getBloomFilterBitsPerEntry() {
+        return bloomFilterBitsPerEntry;
+    }
+
+    public void setBloomFilterBitsPerEntry(final int bloomFilterBitsPerEntry) {
+        this.bloomFilterBitsPerEntry = bloomFilterBitsPerEntry;
+    }
+
+    public boolean isFailOpen() {
+        return failOpen;
+    }
+
+    public void setFailOpen(final boolean failOpen) {
+        this.failOpen = failOpen;
+    }
 }
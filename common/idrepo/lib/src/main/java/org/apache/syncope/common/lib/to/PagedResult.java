@@ -26,6 +26,7 @@ import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.syncope.common.lib.BaseBean;
+import org.apache.syncope.common.lib.types.CountMode;
 
 public class PagedResult<T extends BaseBean> implements BaseBean {
 
@@ -43,6 +44,10 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
 
     private long totalCount;
 
+    private CountMode countMode = CountMode.EXACT;
+
+    private String continuationToken;
+
     public URI getPrev() {
         return prev;
     }
@@ -89,6 +94,27 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
         this.totalCount = totalCount;
     }
 
+    /**
+     * Tells whether {@link #getTotalCount()} is exact, estimated or not available at all (reported as {@code -1}).
+     *
+     * @return how total count was computed
+     */
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    public void setCountMode(final CountMode countMode) {
+        this.countMode = countMode;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(final String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
@@ -98,6 +124,8 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
                 append(page).
                 append(size).
                 append(totalCount).
+                append(countMode).
+                append(continuationToken).
                 build();
     }
 
@@ -121,6 +149,8 @@ public class PagedResult<T extends BaseBean> implements BaseBean {
                 append(page, other.page).
                 append(size, other.size).
                 append(totalCount, other.totalCount).
+                append(countMode, other.countMode).
+                append(continuationToken, other.continuationToken).
                 build();
     }
 }
@@ -25,6 +25,7 @@ public enum CipherAlgorithm {
     SHA256("SHA-256", false),
     SHA512("SHA-512", false),
     AES("AES", true),
+    AES_GCM("AES/GCM/NoPadding", true),
     SMD5("S-MD5", false),
     SSHA("S-SHA-1", false),
     SSHA1("S-SHA-1", false),
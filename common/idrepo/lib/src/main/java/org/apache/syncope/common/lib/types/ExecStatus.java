@@ -28,7 +28,12 @@ public enum ExecStatus {
     CREATED(Response.Status.CREATED.getStatusCode()),
     SUCCESS(Response.Status.OK.getStatusCode()),
     FAILURE(Response.Status.BAD_REQUEST.getStatusCode()),
-    NOT_ATTEMPTED(Response.Status.PRECONDITION_REQUIRED.getStatusCode());
+    NOT_ATTEMPTED(Response.Status.PRECONDITION_REQUIRED.getStatusCode()),
+    /**
+     * Not attempted because the target resource was deemed unavailable: either too many requests towards it were
+     * already in progress, or its circuit breaker was open.
+     */
+    UNAVAILABLE(Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
 
     protected int httpStatus;
 
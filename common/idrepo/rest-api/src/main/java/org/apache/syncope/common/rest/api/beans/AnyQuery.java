@@ -27,6 +27,7 @@ import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 
 public class AnyQuery extends AbstractQuery {
@@ -60,6 +61,16 @@ public class AnyQuery extends AbstractQuery {
 
             return this;
         }
+
+        public Builder continuationToken(final String continuationToken) {
+            getInstance().setContinuationToken(continuationToken);
+            return this;
+        }
+
+        public Builder count(final CountMode count) {
+            getInstance().setCount(count);
+            return this;
+        }
     }
 
     private String realm;
@@ -70,6 +81,10 @@ public class AnyQuery extends AbstractQuery {
 
     private String fiql;
 
+    private String continuationToken;
+
+    private CountMode count;
+
     @Parameter(name = JAXRSService.PARAM_REALM, description = "realms define a hierarchical security domain tree, "
             + "primarily meant for containing Users, Groups and Any Objects", schema =
             @Schema(implementation = String.class, defaultValue = SyncopeConstants.ROOT_REALM, externalDocs =
@@ -127,6 +142,33 @@ public class AnyQuery extends AbstractQuery {
         this.fiql = fiql;
     }
 
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    @Parameter(name = JAXRSService.PARAM_CONTINUATION_TOKEN, description = "enables keyset pagination: results are "
+            + "returned starting right after the position encoded by the given token, as found in the previous page; "
+            + "empty value requests the first page. When set, the page parameter is ignored and ordering is only "
+            + "allowed by fields", schema =
+            @Schema(implementation = String.class))
+    @QueryParam(JAXRSService.PARAM_CONTINUATION_TOKEN)
+    public void setContinuationToken(final String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
+    @Parameter(name = JAXRSService.PARAM_COUNT, description = "how the total count of results is computed: EXACT "
+            + "requires a dedicated count query, ESTIMATED relies on the DBMS query planner where supported, while "
+            + "NONE skips counting altogether; defaults to EXACT, or to NONE when a continuation token is provided",
+            schema = @Schema(implementation = CountMode.class))
+    public CountMode getCount() {
+        return Optional.ofNullable(count).orElse(continuationToken == null ? CountMode.EXACT : CountMode.NONE);
+    }
+
+    @QueryParam(JAXRSService.PARAM_COUNT)
+    public void setCount(final CountMode count) {
+        this.count = count;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -144,6 +186,8 @@ public class AnyQuery extends AbstractQuery {
                 append(realm, other.realm).
                 append(details, other.details).
                 append(fiql, other.fiql).
+                append(continuationToken, other.continuationToken).
+                append(count, other.count).
                 build();
     }
 
@@ -154,6 +198,8 @@ public class AnyQuery extends AbstractQuery {
                 append(realm).
                 append(details).
                 append(fiql).
+                append(continuationToken).
+                append(count).
                 build();
     }
 }
@@ -28,6 +28,10 @@ public interface JAXRSService {
 
     String PARAM_ORDERBY = "orderby";
 
+    String PARAM_CONTINUATION_TOKEN = "continuationToken";
+
+    String PARAM_COUNT = "count";
+
     String PARAM_KEYWORD = "keyword";
 
     String PARAM_RESOURCE = "resource";
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.api;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConfParamOps} decorator keeping parsed values per domain, to spare hot paths from the round trip to the
+ * underlying Keymaster on every lookup; subclasses are expected to invoke {@link #invalidate(String, String)} or
+ * {@link #invalidate(String)} whenever they are notified about changes performed elsewhere.
+ */
+public class CachingConfParamOps implements ConfParamOps {
+
+    protected record CacheKey(String key, Class<?> reference) {
+
+    }
+
+    protected final ConfParamOps delegate;
+
+    protected final Map<String, Map<CacheKey, Optional<Object>>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation, so that values read from the delegate while a change was being notified
+     * are not stored.
+     */
+    protected final AtomicLong generation = new AtomicLong();
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    public CachingConfParamOps(final ConfParamOps delegate) {
+        this.delegate = delegate;
+    }
+
+    protected static Object copy(final Object value) {
+        if (value instanceof Object[] array) {
+            return array.clone();
+        }
+        if (value instanceof Date date) {
+            return date.clone();
+        }
+        return value;
+    }
+
+    @Override
+    public Map<String, Object> list(final String domain) {
+        return delegate.list(domain);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+        Map<CacheKey, Optional<Object>> values = cache.computeIfAbsent(domain, d -> new ConcurrentHashMap<>());
+        CacheKey cacheKey = new CacheKey(key, reference);
+
+        Optional<Object> value = values.get(cacheKey);
+        if (value == null) {
+            misses.increment();
+
+            long before = generation.get();
+            value = Optional.ofNullable(delegate.get(domain, key, null, reference));
+            if (before == generation.get()) {
+                values.put(cacheKey, value);
+            }
+        } else {
+            hits.increment();
+        }
+
+        return (T) value.map(CachingConfParamOps::copy).orElse(defaultValue);
+    }
+
+    @Override
+    public <T> void set(final String domain, final String key, final T value) {
+        try {
+            delegate.set(domain, key, value);
+        } finally {
+            invalidate(domain, key);
+        }
+    }
+
+    @Override
+    public void remove(final String domain, final String key) {
+        try {
+            delegate.remove(domain, key);
+        } finally {
+            invalidate(domain, key);
+        }
+    }
+
+    /**
+     * Discards the cached values for the given conf parameter.
+     *
+     * @param domain domain
+     * @param key conf parameter key
+     */
+    public void invalidate(final String domain, final String key) {
+        generation.incrementAndGet();
+        Optional.ofNullable(cache.get(domain)).ifPresent(values -> values.keySet().removeIf(k -> k.key().equals(key)));
+    }
+
+    /**
+     * Discards all cached values for the given domain.
+     *
+     * @param domain domain
+     */
+    public void invalidate(final String domain) {
+        generation.incrementAndGet();
+        cache.remove(domain);
+    }
+
+    /**
+     * Discards all cached values.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -27,6 +27,19 @@ import org.apache.syncope.common.lib.types.CipherAlgorithm;
  */
 public interface DomainOps {
 
+    /**
+     * Checks that the given cipher algorithm can be used for domain admin passwords: non-deterministic algorithms
+     * as {@link CipherAlgorithm#AES_GCM} are not allowed.
+     *
+     * @param cipherAlgorithm cipher algorithm
+     * @throws KeymasterException if the given cipher algorithm is not allowed
+     */
+    static void checkAdminCipherAlgorithm(final CipherAlgorithm cipherAlgorithm) {
+        if (cipherAlgorithm == CipherAlgorithm.AES_GCM) {
+            throw new KeymasterException("Cipher algorithm " + cipherAlgorithm + " not allowed for admin passwords");
+        }
+    }
+
     List<Domain> list();
 
     Domain read(String key);
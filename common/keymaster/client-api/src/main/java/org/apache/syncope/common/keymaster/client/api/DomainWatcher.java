@@ -27,5 +27,14 @@ public interface DomainWatcher {
 
     void added(Domain domain);
 
+    /**
+     * Notifies that the given domain's metadata - as admin password or connection pool settings - were changed.
+     *
+     * @param domain updated domain
+     */
+    default void updated(Domain domain) {
+        // nothing to do by default
+    }
+
     void removed(String domain);
 }
@@ -35,6 +35,10 @@ public class KeymasterProperties {
 
     private boolean enableAutoRegistration = true;
 
+    private boolean enableConfParamCache = true;
+
+    private long confParamCachePollInterval = 30;
+
     public String getAddress() {
         return address;
     }
@@ -82,4 +86,20 @@ public class KeymasterProperties {
     public void setEnableAutoRegistration(final boolean enableAutoRegistration) {
         this.enableAutoRegistration = enableAutoRegistration;
     }
+
+    public boolean isEnableConfParamCache() {
+        return enableConfParamCache;
+    }
+
+    public void setEnableConfParamCache(final boolean enableConfParamCache) {
+        this.enableConfParamCache = enableConfParamCache;
+    }
+
+    public long getConfParamCachePollInterval() {
+        return confParamCachePollInterval;
+    }
+
+    public void setConfParamCachePollInterval(final long confParamCachePollInterval) {
+        this.confParamCachePollInterval = confParamCachePollInterval;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.zookeeper;
+
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * {@link CachingConfParamOps} kept coherent by watching the conf params tree on Zookeeper.
+ */
+public class ZookeeperCachingConfParamOps extends CachingConfParamOps implements InitializingBean, DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ConfParamOps.class);
+
+    protected final CuratorFramework client;
+
+    protected CuratorCache watch;
+
+    public ZookeeperCachingConfParamOps(final CuratorFramework client) {
+        super(new ZookeeperConfParamOps(client));
+        this.client = client;
+    }
+
+    protected void changed(final ChildData data) {
+        String[] parts = StringUtils.split(
+                StringUtils.removeStart(data.getPath(), ZookeeperConfParamOps.CONF_PATH), '/');
+        LOG.debug("Conf params changed under {}", data.getPath());
+
+        switch (parts.length) {
+            case 0:
+                invalidateAll();
+                break;
+
+            case 1:
+                invalidate(parts[0]);
+                break;
+
+            default:
+                invalidate(parts[0], parts[1]);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (client.checkExists().forPath(ZookeeperConfParamOps.CONF_PATH) == null) {
+            client.create().creatingParentContainersIfNeeded().forPath(ZookeeperConfParamOps.CONF_PATH);
+        }
+
+        watch = CuratorCache.build(client, ZookeeperConfParamOps.CONF_PATH);
+        watch.listenable().addListener((type, oldData, newData) -> Optional.ofNullable(newData).
+                or(() -> Optional.ofNullable(oldData)).ifPresent(this::changed));
+        watch.start();
+
+        // changes might have been missed while disconnected
+        client.getConnectionStateListenable().addListener((c, newState) -> {
+            if (newState == ConnectionState.RECONNECTED) {
+                invalidateAll();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        Optional.ofNullable(watch).ifPresent(CuratorCache::close);
+    }
+}
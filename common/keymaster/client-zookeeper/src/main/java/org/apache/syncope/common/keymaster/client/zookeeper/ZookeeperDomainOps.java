@@ -87,6 +87,14 @@ public class ZookeeperDomainOps implements DomainOps, InitializingBean {
 
                     case NODE_CHANGED:
                         LOG.debug("Domain {} updated", newData.getPath());
+                        try {
+                            Domain domain = MAPPER.readValue(newData.getData(), Domain.class);
+
+                            LOG.info("Domain {} updated", domain.getKey());
+                            watcher.updated(domain);
+                        } catch (IOException e) {
+                            LOG.debug("Could not parse {}", new String(newData.getData()), e);
+                        }
                         break;
 
                     case NODE_DELETED:
@@ -134,6 +142,7 @@ public class ZookeeperDomainOps implements DomainOps, InitializingBean {
         if (Objects.equals(domain.getKey(), SyncopeConstants.MASTER_DOMAIN)) {
             throw new KeymasterException("Cannot create domain " + SyncopeConstants.MASTER_DOMAIN);
         }
+        DomainOps.checkAdminCipherAlgorithm(domain.getAdminCipherAlgorithm());
 
         try {
             if (client.checkExists().forPath(buildDomainPath(domain.getKey())) != null) {
@@ -153,6 +162,8 @@ public class ZookeeperDomainOps implements DomainOps, InitializingBean {
     public void changeAdminPassword(
             final String key, final String password, final CipherAlgorithm cipherAlgorithm) {
 
+        DomainOps.checkAdminCipherAlgorithm(cipherAlgorithm);
+
         try {
             Domain domain = read(key);
 
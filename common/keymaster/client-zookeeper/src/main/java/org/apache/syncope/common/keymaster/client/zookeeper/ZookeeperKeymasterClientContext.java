@@ -111,8 +111,10 @@ public class ZookeeperKeymasterClientContext {
 
     @Conditional(ZookeeperCondition.class)
     @Bean
-    public ConfParamOps selfConfParamOps(final CuratorFramework client) {
-        return new ZookeeperConfParamOps(client);
+    public ConfParamOps selfConfParamOps(final KeymasterProperties props, final CuratorFramework client) {
+        return props.isEnableConfParamCache()
+                ? new ZookeeperCachingConfParamOps(client)
+                : new ZookeeperConfParamOps(client);
     }
 
     @Conditional(ZookeeperCondition.class)
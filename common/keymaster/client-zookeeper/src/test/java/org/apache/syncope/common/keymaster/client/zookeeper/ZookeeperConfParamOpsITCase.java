@@ -22,12 +22,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +44,9 @@ public class ZookeeperConfParamOpsITCase {
     @Autowired
     private ConfParamOps confParamOps;
 
+    @Autowired
+    private CuratorFramework client;
+
     @Test
     public void list() {
         Map<String, Object> confParams = confParamOps.list(DOMAIN);
@@ -119,4 +125,35 @@ public class ZookeeperConfParamOpsITCase {
         assertNull(confParamOps.get(DOMAIN, key, null, String.class));
         assertEquals("defaultValue", confParamOps.get(DOMAIN, key, "defaultValue", String.class));
     }
+
+    @Test
+    public void cacheIsCoherent() throws InterruptedException {
+        assertTrue(confParamOps instanceof CachingConfParamOps);
+        CachingConfParamOps caching = (CachingConfParamOps) confParamOps;
+
+        String key = UUID.randomUUID().toString();
+        confParamOps.set(DOMAIN, key, "before");
+        assertEquals("before", confParamOps.get(DOMAIN, key, null, String.class));
+
+        long hits = caching.getHitCount();
+        assertEquals("before", confParamOps.get(DOMAIN, key, null, String.class));
+        assertEquals(hits + 1, caching.getHitCount());
+
+        // change performed by another client, bypassing the cache
+        new ZookeeperConfParamOps(client).set(DOMAIN, key, "after");
+
+        String value = null;
+        for (int i = 0; i < 50 && !"after".equals(value); i++) {
+            Thread.sleep(100);
+            value = confParamOps.get(DOMAIN, key, null, String.class);
+        }
+        assertEquals("after", value);
+
+        new ZookeeperConfParamOps(client).remove(DOMAIN, key);
+        for (int i = 0; i < 50 && value != null; i++) {
+            Thread.sleep(100);
+            value = confParamOps.get(DOMAIN, key, null, String.class);
+        }
+        assertNull(value);
+    }
 }
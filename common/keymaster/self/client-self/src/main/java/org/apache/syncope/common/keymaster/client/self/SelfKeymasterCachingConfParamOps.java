@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.self;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * {@link CachingConfParamOps} kept coherent by periodically polling the full list of conf params for each domain
+ * in use: such list acts as version stamp, and only the conf params whose value differs from the previous poll are
+ * invalidated.
+ */
+public class SelfKeymasterCachingConfParamOps extends CachingConfParamOps implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfParamOps.class);
+
+    private final long pollInterval;
+
+    private final Map<String, Map<String, Object>> stamps = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService poller;
+
+    public SelfKeymasterCachingConfParamOps(final JAXRSClientFactoryBean clientFactory, final long pollInterval) {
+        super(new SelfKeymasterConfParamOps(clientFactory));
+        this.pollInterval = pollInterval;
+    }
+
+    protected void poll(final String domain) {
+        Map<String, Object> current = delegate.list(domain);
+        Map<String, Object> previous = stamps.put(domain, current);
+
+        if (previous == null) {
+            // values might have been cached before the first stamp was taken
+            invalidate(domain);
+        } else if (!previous.equals(current)) {
+            Set<String> keys = new HashSet<>(previous.keySet());
+            keys.addAll(current.keySet());
+            keys.stream().filter(key -> !Objects.equals(previous.get(key), current.get(key))).forEach(key -> {
+                LOG.debug("Conf param {} changed for domain {}", key, domain);
+                invalidate(domain, key);
+            });
+        }
+    }
+
+    protected void poll() {
+        Set.copyOf(cache.keySet()).forEach(domain -> {
+            try {
+                poll(domain);
+            } catch (Exception e) {
+                LOG.warn("While polling conf params for domain {}, keeping cached values", domain, e);
+            }
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "selfKeymasterConfParamPoller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+}
@@ -76,9 +76,15 @@ public class SelfKeymasterClientContext {
     @Conditional(SelfKeymasterCondition.class)
     @Bean
     @ConditionalOnMissingBean(name = "selfConfParamOps")
-    public ConfParamOps selfConfParamOps(@Qualifier("selfKeymasterRESTClientFactoryBean")
+    public ConfParamOps selfConfParamOps(
+            final KeymasterProperties props,
+            @Qualifier("selfKeymasterRESTClientFactoryBean")
             final JAXRSClientFactoryBean selfKeymasterRESTClientFactoryBean) {
-        return new SelfKeymasterConfParamOps(selfKeymasterRESTClientFactoryBean);
+
+        return props.isEnableConfParamCache()
+                ? new SelfKeymasterCachingConfParamOps(
+                        selfKeymasterRESTClientFactoryBean, props.getConfParamCachePollInterval())
+                : new SelfKeymasterConfParamOps(selfKeymasterRESTClientFactoryBean);
     }
 
     @Conditional(SelfKeymasterCondition.class)
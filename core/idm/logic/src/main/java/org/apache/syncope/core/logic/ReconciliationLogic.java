@@ -105,7 +105,6 @@ import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.common.objects.filter.Filter;
 import org.identityconnectors.framework.spi.SearchResultsHandler;
 import org.quartz.JobExecutionException;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
@@ -612,22 +611,11 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         Set<String> adminRealms = RealmUtils.getEffective(AuthContextUtils.getAuthorizations().get(entitlement), realm);
         SearchCond effectiveCond = searchCond == null ? anyUtils.dao().getAllMatchingCond() : searchCond;
 
-        List<Any<?>> matching;
-        if (spec.getIgnorePaging()) {
-            matching = new ArrayList<>();
-
-            long count = anySearchDAO.count(base, true, adminRealms, effectiveCond, anyType.getKind());
-            long pages = (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
-
-            for (int page = 0; page < pages; page++) {
-                matching.addAll(anySearchDAO.search(
-                        base, true, adminRealms, effectiveCond,
-                        PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE, pageable.getSort()),
-                        anyType.getKind()));
-            }
-        } else {
-            matching = anySearchDAO.search(base, true, adminRealms, effectiveCond, pageable, anyType.getKind());
-        }
+        Stream<String> keys = spec.getIgnorePaging()
+                ? anySearchDAO.searchKeys(
+                        base, true, adminRealms, effectiveCond, pageable.getSort().toList(), anyType.getKind())
+                : anySearchDAO.<Any<?>>search(base, true, adminRealms, effectiveCond, pageable, anyType.getKind()).
+                        stream().map(Any::getKey);
 
         List<String> columns = new ArrayList<>();
         spec.getFields().forEach(item -> {
@@ -664,7 +652,7 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         pushTask.setUnmatchingRule(spec.getUnmatchingRule());
         pushTask.getActions().addAll(spec.getProvisioningActions());
 
-        try (CSVStreamConnector connector = new CSVStreamConnector(
+        try (keys; CSVStreamConnector connector = new CSVStreamConnector(
                 null,
                 spec.getArrayElementSeparator(),
                 csvSchema(spec),
@@ -676,7 +664,7 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
                     ApplicationContextProvider.getBeanFactory().createBean(StreamPushJobDelegate.class);
             return executor.push(
                     anyType,
-                    matching,
+                    keys,
                     columns,
                     connector,
                     spec.getPropagationActions(),
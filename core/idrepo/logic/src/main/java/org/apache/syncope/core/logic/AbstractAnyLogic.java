@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.request.AnyCR;
@@ -33,16 +35,20 @@ import org.apache.syncope.common.lib.to.AnyTO;
 import org.apache.syncope.common.lib.to.PropagationStatus;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.core.logic.api.LogicActions;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.search.ContinuationToken;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
 import org.apache.syncope.core.spring.implementation.ImplementationManager;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 
 public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U extends AnyUR>
         extends AbstractResourceAssociator<TO> {
@@ -218,7 +224,62 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U exte
             Pageable pageable,
             String realm,
             boolean recursive,
-            boolean details);
+            boolean details,
+            CountMode countMode);
+
+    /**
+     * Keyset-paginated search: page number from the given {@link Pageable} is ignored, results are rather returned
+     * starting right after the position encoded by the given continuation token.
+     *
+     * @param searchCond search condition
+     * @param pageable page size and sorting
+     * @param continuationToken as returned by a previous invocation, blank for the first page
+     * @param realm base realm
+     * @param recursive whether search should recursively include results from child realms
+     * @param details whether detailed information is to be included
+     * @param countMode how total count shall be computed, {@link CountMode#NONE} if not specified
+     * @return page of results, including the continuation token for the next page, if any
+     */
+    public abstract Page<TO> search(
+            SearchCond searchCond,
+            Pageable pageable,
+            String continuationToken,
+            String realm,
+            boolean recursive,
+            boolean details,
+            CountMode countMode);
+
+    /**
+     * Computes the total count according to the given mode: {@link CountMode#NONE} skips counting altogether and
+     * reports {@code -1}.
+     *
+     * @param countMode count mode
+     * @param exact exact count
+     * @param estimate estimated count, with the mode actually applied
+     * @return total count, or {@code -1}, with the mode actually applied
+     */
+    protected static Pair<Long, CountMode> count(
+            final CountMode countMode,
+            final IntSupplier exact,
+            final Supplier<Pair<Integer, CountMode>> estimate) {
+
+        return switch (countMode == null ? CountMode.EXACT : countMode) {
+            case NONE ->
+                Pair.of(-1L, CountMode.NONE);
+            case ESTIMATED -> {
+                Pair<Integer, CountMode> estimated = estimate.get();
+                yield Pair.of(estimated.getLeft().longValue(), estimated.getRight());
+            }
+            default ->
+                Pair.of((long) exact.getAsInt(), CountMode.EXACT);
+        };
+    }
+
+    protected static String continuationToken(final Window<?> window) {
+        return window.hasNext() && !window.isEmpty()
+                ? ContinuationToken.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+    }
 
     public abstract ProvisioningResult<TO> update(U updateReq, boolean nullPriorityAsync);
 
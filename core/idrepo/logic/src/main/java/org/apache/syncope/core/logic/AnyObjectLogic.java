@@ -38,6 +38,7 @@ import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.core.logic.api.LogicActions;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -49,6 +50,8 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.api.search.ContinuationPage;
+import org.apache.syncope.core.persistence.api.search.ContinuationToken;
 import org.apache.syncope.core.persistence.api.search.SyncopePage;
 import org.apache.syncope.core.provisioning.api.AnyObjectProvisioningManager;
 import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
@@ -57,6 +60,7 @@ import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -110,7 +114,8 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectCR, A
             final Pageable pageable,
             final String realm,
             final boolean recursive,
-            final boolean details) {
+            final boolean details,
+            final CountMode countMode) {
 
         if (searchCond.hasAnyTypeCond() == null) {
             throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
@@ -123,15 +128,58 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectCR, A
                 AuthContextUtils.getAuthorizations().get(AnyEntitlement.SEARCH.getFor(searchCond.hasAnyTypeCond())),
                 realm);
 
-        long count = searchDAO.count(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT);
+        Pair<Long, CountMode> count = count(
+                countMode,
+                () -> searchDAO.count(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT),
+                () -> searchDAO.estimateCount(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT));
 
         List<AnyObject> matching = searchDAO.search(
                 base, recursive, authRealms, searchCond, pageable, AnyTypeKind.ANY_OBJECT);
-        List<AnyObjectTO> result = matching.stream().
-                map(anyObject -> binder.getAnyObjectTO(anyObject, details)).
-                toList();
+        List<AnyObjectTO> result = binder.getAnyObjectTOs(matching, details);
 
-        return new SyncopePage<>(result, pageable, count);
+        return new SyncopePage<>(result, pageable, count.getLeft(), count.getRight());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<AnyObjectTO> search(
+            final SearchCond searchCond,
+            final Pageable pageable,
+            final String continuationToken,
+            final String realm,
+            final boolean recursive,
+            final boolean details,
+            final CountMode countMode) {
+
+        if (searchCond.hasAnyTypeCond() == null) {
+            throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
+        }
+
+        Realm base = realmDAO.findByFullPath(realm).
+                orElseThrow(() -> new NotFoundException("Realm " + realm));
+
+        Set<String> authRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(AnyEntitlement.SEARCH.getFor(searchCond.hasAnyTypeCond())),
+                realm);
+
+        Pair<Long, CountMode> count = count(
+                countMode == null ? CountMode.NONE : countMode,
+                () -> searchDAO.count(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT),
+                () -> searchDAO.estimateCount(base, recursive, authRealms, searchCond, AnyTypeKind.ANY_OBJECT));
+
+        Window<AnyObject> matching = searchDAO.search(
+                base,
+                recursive,
+                authRealms,
+                searchCond,
+                ContinuationToken.decode(continuationToken),
+                pageable.getPageSize(),
+                pageable.getSort().toList(),
+                AnyTypeKind.ANY_OBJECT);
+        List<AnyObjectTO> result = binder.getAnyObjectTOs(matching.getContent(), details);
+
+        return new ContinuationPage<>(
+                result, pageable, count.getLeft(), count.getRight(), continuationToken(matching));
     }
 
     public ProvisioningResult<AnyObjectTO> create(final AnyObjectCR createReq, final boolean nullPriorityAsync) {
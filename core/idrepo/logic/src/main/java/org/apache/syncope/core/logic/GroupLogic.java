@@ -36,6 +36,7 @@ import org.apache.syncope.common.lib.to.PropagationStatus;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.common.lib.types.IdRepoImplementationType;
 import org.apache.syncope.common.lib.types.ImplementationEngine;
@@ -58,6 +59,8 @@ import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.persistence.api.search.ContinuationPage;
+import org.apache.syncope.core.persistence.api.search.ContinuationToken;
 import org.apache.syncope.core.persistence.api.search.SyncopePage;
 import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
@@ -72,6 +75,7 @@ import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.quartz.JobDataMap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
@@ -167,7 +171,8 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
             final Pageable pageable,
             final String realm,
             final boolean recursive,
-            final boolean details) {
+            final boolean details,
+            final CountMode countMode) {
 
         Realm base = realmDAO.findByFullPath(realm).
                 orElseThrow(() -> new NotFoundException("Realm " + realm));
@@ -177,15 +182,56 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
 
         SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
 
-        long count = searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP);
+        Pair<Long, CountMode> count = count(
+                countMode,
+                () -> searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP),
+                () -> searchDAO.estimateCount(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP));
 
         List<Group> matching = searchDAO.search(
                 base, recursive, authRealms, effectiveCond, pageable, AnyTypeKind.GROUP);
-        List<GroupTO> result = matching.stream().
-                map(group -> binder.getGroupTO(group, details)).
-                toList();
+        List<GroupTO> result = binder.getGroupTOs(matching, details);
 
-        return new SyncopePage<>(result, pageable, count);
+        return new SyncopePage<>(result, pageable, count.getLeft(), count.getRight());
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public Page<GroupTO> search(
+            final SearchCond searchCond,
+            final Pageable pageable,
+            final String continuationToken,
+            final String realm,
+            final boolean recursive,
+            final boolean details,
+            final CountMode countMode) {
+
+        Realm base = realmDAO.findByFullPath(realm).
+                orElseThrow(() -> new NotFoundException("Realm " + realm));
+
+        Set<String> authRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.GROUP_SEARCH), realm);
+
+        SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
+
+        Pair<Long, CountMode> count = count(
+                countMode == null ? CountMode.NONE : countMode,
+                () -> searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP),
+                () -> searchDAO.estimateCount(base, recursive, authRealms, effectiveCond, AnyTypeKind.GROUP));
+
+        Window<Group> matching = searchDAO.search(
+                base,
+                recursive,
+                authRealms,
+                effectiveCond,
+                ContinuationToken.decode(continuationToken),
+                pageable.getPageSize(),
+                pageable.getSort().toList(),
+                AnyTypeKind.GROUP);
+        List<GroupTO> result = binder.getGroupTOs(matching.getContent(), details);
+
+        return new ContinuationPage<>(
+                result, pageable, count.getLeft(), count.getRight(), continuationToken(matching));
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_CREATE + "')")
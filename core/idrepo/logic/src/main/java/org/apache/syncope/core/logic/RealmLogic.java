@@ -52,6 +52,7 @@ import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.springframework.data.domain.Page;
@@ -114,11 +115,9 @@ public class RealmLogic extends AbstractTransactionalLogic<RealmTO> {
 
         long count = realmDAO.countDescendants(baseRealm.getFullPath(), keyword);
 
+        RealmScope authScope = AuthContextUtils.getRealmScope(IdRepoEntitlement.REALM_SEARCH);
         List<RealmTO> result = realmDAO.findDescendants(baseRealm.getFullPath(), keyword, pageable).stream().
-                map(realm -> binder.getRealmTO(
-                realm,
-                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.REALM_SEARCH).stream().
-                        anyMatch(auth -> realm.getFullPath().startsWith(auth)))).
+                map(realm -> binder.getRealmTO(realm, authScope.includes(realm.getFullPath()))).
                 sorted(Comparator.comparing(RealmTO::getFullPath)).
                 toList();
 
@@ -25,7 +25,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.syncope.common.lib.SyncopeClientException;
@@ -126,8 +125,7 @@ public class TaskLogic extends AbstractExecutableLogic<TaskTO> {
     }
 
     protected void securityChecks(final String entitlement, final String realm) {
-        Set<String> authRealms = AuthContextUtils.getAuthorizations().get(entitlement);
-        if (authRealms.stream().noneMatch(r -> realm.startsWith(r))) {
+        if (!AuthContextUtils.getRealmScope(entitlement).includes(realm)) {
             throw new DelegatedAdministrationException(realm, MacroTask.class.getSimpleName(), null);
         }
     }
@@ -45,6 +45,7 @@ import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.common.lib.types.PatchOperation;
@@ -68,6 +69,8 @@ import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.ContinuationPage;
+import org.apache.syncope.core.persistence.api.search.ContinuationToken;
 import org.apache.syncope.core.persistence.api.search.SyncopePage;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
@@ -81,6 +84,7 @@ import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.Encryptor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -170,7 +174,8 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
             final Pageable pageable,
             final String realm,
             final boolean recursive,
-            final boolean details) {
+            final boolean details,
+            final CountMode countMode) {
 
         Realm base = realmDAO.findByFullPath(realm).
                 orElseThrow(() -> new NotFoundException("Realm " + realm));
@@ -180,15 +185,56 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserCR, UserUR> {
 
         SearchCond effectiveCond = searchCond == null ? userDAO.getAllMatchingCond() : searchCond;
 
-        long count = searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER);
+        Pair<Long, CountMode> count = count(
+                countMode,
+                () -> searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER),
+                () -> searchDAO.estimateCount(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER));
 
         List<User> matching = searchDAO.search(
                 base, recursive, authRealms, effectiveCond, pageable, AnyTypeKind.USER);
-        List<UserTO> result = matching.stream().
-                map(user -> binder.getUserTO(user, details)).
-                toList();
+        List<UserTO> result = binder.getUserTOs(matching, details);
 
-        return new SyncopePage<>(result, pageable, count);
+        return new SyncopePage<>(result, pageable, count.getLeft(), count.getRight());
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.USER_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public Page<UserTO> search(
+            final SearchCond searchCond,
+            final Pageable pageable,
+            final String continuationToken,
+            final String realm,
+            final boolean recursive,
+            final boolean details,
+            final CountMode countMode) {
+
+        Realm base = realmDAO.findByFullPath(realm).
+                orElseThrow(() -> new NotFoundException("Realm " + realm));
+
+        Set<String> authRealms = RealmUtils.getEffective(
+                AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.USER_SEARCH), realm);
+
+        SearchCond effectiveCond = searchCond == null ? userDAO.getAllMatchingCond() : searchCond;
+
+        Pair<Long, CountMode> count = count(
+                countMode == null ? CountMode.NONE : countMode,
+                () -> searchDAO.count(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER),
+                () -> searchDAO.estimateCount(base, recursive, authRealms, effectiveCond, AnyTypeKind.USER));
+
+        Window<User> matching = searchDAO.search(
+                base,
+                recursive,
+                authRealms,
+                effectiveCond,
+                ContinuationToken.decode(continuationToken),
+                pageable.getPageSize(),
+                pageable.getSort().toList(),
+                AnyTypeKind.USER);
+        List<UserTO> result = binder.getUserTOs(matching.getContent(), details);
+
+        return new ContinuationPage<>(
+                result, pageable, count.getLeft(), count.getRight(), continuationToken(matching));
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.ANONYMOUS + "')")
@@ -50,6 +50,7 @@ import org.apache.syncope.core.persistence.api.dao.MalformedPathException;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
+import org.apache.syncope.core.spring.security.PasswordHashingRejectedException;
 import org.apache.syncope.core.workflow.api.WorkflowException;
 import org.identityconnectors.framework.common.exceptions.ConfigurationException;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
@@ -104,6 +105,14 @@ public class RestServiceExceptionMapper implements ExceptionMapper<Exception> {
                 || ExceptionUtils.getRootCause(ex) instanceof DelegatedAdministrationException) {
 
             builder = builder(ClientExceptionType.DelegatedAdministration, ExceptionUtils.getRootCauseMessage(ex));
+        } else if (ex instanceof PasswordHashingRejectedException
+                || ExceptionUtils.getRootCause(ex) instanceof PasswordHashingRejectedException) {
+
+            builder = Response.status(Response.Status.SERVICE_UNAVAILABLE).
+                    header(HttpHeaders.RETRY_AFTER, PasswordHashingRejectedException.RETRY_AFTER_SECONDS).
+                    header(RESTHeaders.ERROR_CODE, ClientExceptionType.Unknown.name()).
+                    header(RESTHeaders.ERROR_INFO, ClientExceptionType.Unknown.getInfoHeaderValue(
+                            ExceptionUtils.getRootCauseMessage(ex)));
         } else if (ex instanceof EntityExistsException || ex instanceof DuplicateException
                 || ((ex instanceof PersistenceException || ex instanceof DataIntegrityViolationException)
                 && ex.getCause() instanceof EntityExistsException)) {
@@ -126,12 +126,22 @@ public abstract class AbstractAnyService<TO extends AnyTO, CR extends AnyCR, UR
                 ? null
                 : getSearchCond(anyQuery.getFiql(), realm);
         try {
-            Page<TO> result = getAnyLogic().search(
-                    searchCond,
-                    pageable(anyQuery),
-                    realm,
-                    anyQuery.getRecursive(),
-                    anyQuery.getDetails());
+            Page<TO> result = anyQuery.getContinuationToken() == null
+                    ? getAnyLogic().search(
+                            searchCond,
+                            pageable(anyQuery),
+                            realm,
+                            anyQuery.getRecursive(),
+                            anyQuery.getDetails(),
+                            anyQuery.getCount())
+                    : getAnyLogic().search(
+                            searchCond,
+                            pageable(anyQuery),
+                            anyQuery.getContinuationToken(),
+                            realm,
+                            anyQuery.getRecursive(),
+                            anyQuery.getDetails(),
+                            anyQuery.getCount());
             return buildPagedResult(result);
         } catch (IllegalArgumentException e) {
             SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidSearchParameters);
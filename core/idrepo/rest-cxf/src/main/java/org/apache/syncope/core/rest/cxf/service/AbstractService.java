@@ -36,6 +36,7 @@ import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.PagedResult;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.rest.api.Preference;
 import org.apache.syncope.common.rest.api.RESTHeaders;
 import org.apache.syncope.common.rest.api.beans.AbstractQuery;
@@ -43,6 +44,8 @@ import org.apache.syncope.common.rest.api.service.JAXRSService;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.search.ContinuationPage;
+import org.apache.syncope.core.persistence.api.search.SyncopePage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -225,18 +228,39 @@ public abstract class AbstractService implements JAXRSService {
         result.setPage(page.getNumber() + 1);
         result.setSize(result.getResult().size());
         result.setTotalCount(page.getTotalElements());
+        if (page instanceof SyncopePage<T> syncopePage && syncopePage.getCountMode() != null) {
+            result.setCountMode(syncopePage.getCountMode());
+        }
 
         UriBuilder builder = uriInfo.getAbsolutePathBuilder();
         MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
         queryParams.forEach((key, value) -> builder.queryParam(key, value.toArray()));
 
+        if (page instanceof ContinuationPage<T> continuationPage) {
+            // keyset pagination: only forward navigation is available
+            continuationPage.getContinuationToken().ifPresent(token -> {
+                result.setContinuationToken(token);
+                result.setNext(builder.
+                        replaceQueryParam(PARAM_PAGE).
+                        replaceQueryParam(PARAM_CONTINUATION_TOKEN, token).
+                        replaceQueryParam(PARAM_SIZE, page.getSize()).
+                        build());
+            });
+
+            return result;
+        }
+
         if (result.getPage() > 1) {
             result.setPrev(builder.
                     replaceQueryParam(PARAM_PAGE, result.getPage() - 1).
                     replaceQueryParam(PARAM_SIZE, page.getSize()).
                     build());
         }
-        if ((result.getPage() - 1) * page.getSize() + result.getSize() < page.getTotalElements()) {
+        boolean hasNext = result.getCountMode() == CountMode.NONE
+                // no total count available: assume more results as long as the current page is full
+                ? result.getSize() == page.getSize()
+                : (result.getPage() - 1) * page.getSize() + result.getSize() < page.getTotalElements();
+        if (hasNext) {
             result.setNext(builder.
                     replaceQueryParam(PARAM_PAGE, result.getPage() + 1).
                     replaceQueryParam(PARAM_SIZE, page.getSize()).
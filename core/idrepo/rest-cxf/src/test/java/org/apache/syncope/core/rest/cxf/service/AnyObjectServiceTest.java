@@ -66,6 +66,7 @@ import org.apache.syncope.common.lib.request.AnyObjectCR;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
 import org.apache.syncope.common.lib.to.PagedResult;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.rest.api.DateParamConverterProvider;
 import org.apache.syncope.common.rest.api.RESTHeaders;
 import org.apache.syncope.common.rest.api.service.AnyObjectService;
@@ -129,7 +130,8 @@ public class AnyObjectServiceTest {
 
             AnyObjectLogic logic = mock(AnyObjectLogic.class);
             when(logic.search(
-                    any(SearchCond.class), any(Pageable.class), anyString(), anyBoolean(), anyBoolean())).
+                    any(SearchCond.class), any(Pageable.class), anyString(), anyBoolean(), anyBoolean(),
+                    any(CountMode.class))).
                     thenAnswer(ic -> {
                         AnyObjectTO printer1 = new AnyObjectTO();
                         printer1.setKey(UUID.randomUUID().toString());
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -28,9 +29,29 @@ import org.apache.syncope.core.persistence.api.entity.group.Group;
 
 public class AllowedSchemas<S extends Schema> {
 
-    private final Set<S> forSelf = new HashSet<>();
+    private final Set<S> forSelf;
 
-    private final Map<Group, Set<S>> forMemberships = new HashMap<>();
+    private final Map<Group, Set<S>> forMemberships;
+
+    public AllowedSchemas() {
+        this.forSelf = new HashSet<>();
+        this.forMemberships = new HashMap<>();
+    }
+
+    /**
+     * Builds an unmodifiable instance out of the given schemas.
+     *
+     * @param forSelf schemas allowed for the any object itself
+     * @param forMemberships schemas allowed for each membership
+     */
+    public AllowedSchemas(final Set<S> forSelf, final Map<Group, Set<S>> forMemberships) {
+        this.forSelf = Collections.unmodifiableSet(new HashSet<>(forSelf));
+
+        Map<Group, Set<S>> memberships = new HashMap<>();
+        forMemberships.forEach((group, schemas) -> memberships.put(
+                group, Collections.unmodifiableSet(new HashSet<>(schemas))));
+        this.forMemberships = Collections.unmodifiableMap(memberships);
+    }
 
     public Set<S> getForSelf() {
         return forSelf;
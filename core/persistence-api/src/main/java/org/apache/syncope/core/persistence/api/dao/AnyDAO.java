@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.api.dao;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -74,5 +75,14 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     List<String> findDynRealms(String key);
 
+    /**
+     * Batch version of {@link #findDynRealms(java.lang.String)}, to be used when processing several entities at once,
+     * as search results.
+     *
+     * @param keys entity keys
+     * @return dynamic realm keys, by entity key; entities not belonging to any dynamic realm are not reported
+     */
+    Map<String, List<String>> findDynRealms(Collection<String> keys);
+
     Collection<String> findAllResourceKeys(String key);
 }
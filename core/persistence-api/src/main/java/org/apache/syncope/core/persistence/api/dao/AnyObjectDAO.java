@@ -65,6 +65,14 @@ public interface AnyObjectDAO extends AnyDAO<AnyObject> {
 
     List<Group> findDynGroups(String key);
 
+    /**
+     * Batch version of {@link #findDynGroups(java.lang.String)}.
+     *
+     * @param keys any object keys
+     * @return dynamic groups, by any object key; any objects without dynamic memberships are not reported
+     */
+    Map<String, List<Group>> findDynGroups(Collection<String> keys);
+
     List<Relationship<Any<?>, AnyObject>> findAllRelationships(AnyObject anyObject);
 
     Collection<Group> findAllGroups(AnyObject anyObject);
@@ -19,13 +19,19 @@
 package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 public interface AnySearchDAO {
 
@@ -44,6 +50,25 @@ public interface AnySearchDAO {
             SearchCond searchCondition,
             AnyTypeKind kind);
 
+    /**
+     * Same as {@link #count(Realm, boolean, Set, SearchCond, AnyTypeKind)}, but allowing implementations to return
+     * an estimate - e.g. from the DBMS query planner - rather than running the actual count query.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param kind any object
+     * @return size of search result, with {@link CountMode#ESTIMATED} if actually estimated, or
+     * {@link CountMode#EXACT} if the implementation had to revert to the exact count
+     */
+    Pair<Integer, CountMode> estimateCount(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            AnyTypeKind kind);
+
     /**
      * @param searchCondition the search condition
      * @param kind any object
@@ -78,4 +103,74 @@ public interface AnySearchDAO {
             SearchCond searchCondition,
             Pageable pageable,
             AnyTypeKind kind);
+
+    /**
+     * Key-only variant of {@link #search(Realm, boolean, Set, SearchCond, Pageable, AnyTypeKind)}, meant for bulk
+     * consumers: matching keys are read lazily from the underlying store, without loading any entity.
+     * The returned stream holds database resources until closed, hence it must be used within a try-with-resources
+     * block.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param orderBy list of ordering clauses, empty for no specific ordering
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition
+     */
+    Stream<String> searchKeys(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            List<Sort.Order> orderBy,
+            AnyTypeKind kind);
+
+    /**
+     * Native SQL query selecting the keys of any objects matching the given search condition, for the database to
+     * process the whole result set at once, e.g. via {@code INSERT ... SELECT} statements; parameters are bound in
+     * order of appearance.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param kind any object
+     * @return query string and parameters, or empty if the search condition cannot be expressed in SQL, as with
+     * implementations not relying on the internal storage
+     */
+    Optional<Pair<String, List<Object>>> keysQuery(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            AnyTypeKind kind);
+
+    /**
+     * Keyset (seek) variant of
+     * {@link #search(Realm, boolean, Set, SearchCond, Pageable, AnyTypeKind)}: instead of skipping a given number of
+     * rows, results are fetched starting right after the given position, so that deep pages cost about the same as
+     * the first one.
+     * Only fields (not plain schemas) are allowed for sorting; the any object key is always appended as tie-breaker.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param position position to start searching after; {@code ScrollPosition.keyset()} for the first page
+     * @param size maximum number of results to return
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @param <T> any
+     * @return the window of any objects matching the given search condition, starting after the given position
+     */
+    <T extends Any<?>> Window<T> search(
+            Realm base,
+            boolean recursive,
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            KeysetScrollPosition position,
+            int size,
+            List<Sort.Order> orderBy,
+            AnyTypeKind kind);
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.Any;
+
+/**
+ * Optional denormalized store for attribute searches. When enabled, it is kept in sync with the
+ * attribute values of users, groups and any objects, and search queries read from it instead of the
+ * attribute views.
+ */
+public interface AnySearchStoreDAO {
+
+    /**
+     * @return whether the search store is enabled for the current deployment
+     */
+    boolean isEnabled();
+
+    /**
+     * Replace the search store content for the given any with its current attribute values; meant to be
+     * invoked within the same transaction saving the any.
+     *
+     * @param any user, group or any object just saved
+     */
+    void refresh(Any<?> any);
+
+    /**
+     * Discard and rebuild the search store content for all entities of the given kind.
+     *
+     * @param kind any type kind
+     */
+    void rebuild(AnyTypeKind kind);
+}
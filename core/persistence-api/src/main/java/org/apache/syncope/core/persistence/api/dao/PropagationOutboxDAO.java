@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
+
+public interface PropagationOutboxDAO extends DAO<PropagationOutboxEntry> {
+
+    /**
+     * @return keys of the resources having at least one entry in the outbox
+     */
+    List<String> findResources();
+
+    /**
+     * @param resource resource key
+     * @return lanes having at least one entry in the outbox for the given resource
+     */
+    List<Integer> findLanes(String resource);
+
+    /**
+     * @param resource resource key
+     * @param max maximum number of entries to return
+     * @return oldest entries for the given resource, in the order they were enqueued
+     */
+    List<? extends PropagationOutboxEntry> findByResource(String resource, int max);
+
+    /**
+     * Entries about entities with a retry not yet due are not returned, so that changes about the same entity are
+     * always propagated in order.
+     *
+     * @param resource resource key
+     * @param lane lane
+     * @param max maximum number of entries to return
+     * @return oldest entries for the given resource and lane, in the order they were enqueued
+     */
+    List<? extends PropagationOutboxEntry> findByLane(String resource, int lane, int max);
+
+    /**
+     * @param resource resource key
+     * @param entityKey user, group or any object key
+     * @return whether the outbox holds any entry about the given entity, for the given resource
+     */
+    boolean existsByEntity(String resource, String entityKey);
+
+    /**
+     * @return number of entries in the outbox, by resource key
+     */
+    Map<String, Long> countByResource();
+
+    /**
+     * Removes the given entries from the outbox.
+     *
+     * @param keys entry keys
+     * @return number of entries actually removed
+     */
+    int removeAll(Collection<String> keys);
+
+    /**
+     * Keeps the given entry in the outbox for another attempt, not to be made before the given time.
+     *
+     * @param key entry key
+     * @param attempts number of attempts already failed
+     * @param notBefore earliest time for the next attempt
+     */
+    void retry(String key, int attempts, OffsetDateTime notBefore);
+
+    /**
+     * Acquires or renews the lease on the given lane; the lease is granted if not held by anyone else, or if the
+     * current holder let it expire.
+     * Lease rows already locked by a concurrent acquisition are skipped rather than waited for, on databases
+     * supporting {@code SELECT ... FOR UPDATE SKIP LOCKED}.
+     *
+     * @param resource resource key
+     * @param lane lane
+     * @param owner the Core node requesting the lease
+     * @param expiry when the lease expires, unless renewed
+     * @return whether the lease is held by the given owner
+     */
+    boolean acquire(String resource, int lane, String owner, OffsetDateTime expiry);
+
+    /**
+     * Releases the lease on the given lane, if held by the given owner.
+     *
+     * @param resource resource key
+     * @param lane lane
+     * @param owner the Core node holding the lease
+     */
+    void release(String resource, int lane, String owner);
+
+    /**
+     * Releases all the leases held by the given owner.
+     *
+     * @param owner the Core node holding the leases
+     * @return number of leases released
+     */
+    int releaseAll(String owner);
+
+    /**
+     * @return all the leases currently held
+     */
+    List<? extends PropagationOutboxLease> findLeases();
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,17 @@ import org.apache.syncope.core.persistence.api.entity.user.User;
 
 public interface UserDAO extends AnyDAO<User> {
 
+    /**
+     * Login bookkeeping update for a given user.
+     *
+     * @param key user key
+     * @param lastLoginDate last login date to set, or {@code null} to leave unchanged
+     * @param resetFailedLogins whether failed logins shall be reset before adding {@code failedLogins}
+     * @param failedLogins number of failed logins to add
+     */
+    record LoginUpdate(String key, OffsetDateTime lastLoginDate, boolean resetFailedLogins, int failedLogins) {
+    }
+
     Optional<String> findKey(String username);
 
     Optional<String> findUsername(String key);
@@ -64,10 +76,26 @@ public interface UserDAO extends AnyDAO<User> {
 
     List<Role> findDynRoles(String key);
 
+    /**
+     * Batch version of {@link #findDynRoles(java.lang.String)}.
+     *
+     * @param keys user keys
+     * @return dynamic roles, by user key; users without dynamic roles are not reported
+     */
+    Map<String, List<Role>> findDynRoles(Collection<String> keys);
+
     Collection<Role> findAllRoles(User user);
 
     List<Group> findDynGroups(String key);
 
+    /**
+     * Batch version of {@link #findDynGroups(java.lang.String)}.
+     *
+     * @param keys user keys
+     * @return dynamic groups, by user key; users without dynamic memberships are not reported
+     */
+    Map<String, List<Group>> findDynGroups(Collection<String> keys);
+
     Collection<Group> findAllGroups(User user);
 
     Collection<String> findAllGroupKeys(User user);
@@ -87,4 +115,11 @@ public interface UserDAO extends AnyDAO<User> {
     List<LinkedAccount> findLinkedAccountsByPrivilege(Privilege privilege);
 
     Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(User user);
+
+    /**
+     * Applies the given login bookkeeping updates via direct statements, bypassing the full entity merge.
+     *
+     * @param updates login bookkeeping updates
+     */
+    void updateLogins(Collection<LoginUpdate> updates);
 }
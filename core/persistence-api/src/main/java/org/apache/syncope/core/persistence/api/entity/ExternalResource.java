@@ -96,6 +96,18 @@ public interface ExternalResource extends ProvidedKeyEntity {
 
     void setPropagationPriority(Integer priority);
 
+    Integer getMaxConcurrentRequests();
+
+    void setMaxConcurrentRequests(Integer maxConcurrentRequests);
+
+    Integer getCircuitBreakerThreshold();
+
+    void setCircuitBreakerThreshold(Integer circuitBreakerThreshold);
+
+    Integer getCircuitBreakerDelay();
+
+    void setCircuitBreakerDelay(Integer circuitBreakerDelay);
+
     boolean isEnforceMandatoryCondition();
 
     void setEnforceMandatoryCondition(boolean enforce);
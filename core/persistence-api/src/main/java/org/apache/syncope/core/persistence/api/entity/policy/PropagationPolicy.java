@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.entity.policy;
 
+import org.apache.syncope.common.lib.types.AfterObjStrategy;
 import org.apache.syncope.common.lib.types.BackOffStrategy;
 
 public interface PropagationPolicy extends Policy {
@@ -26,6 +27,10 @@ public interface PropagationPolicy extends Policy {
 
     void setFetchAroundProvisioning(boolean fetchAroundProvisioning);
 
+    AfterObjStrategy getAfterObjStrategy();
+
+    void setAfterObjStrategy(AfterObjStrategy afterObjStrategy);
+
     boolean isUpdateDelta();
 
     void setUpdateDelta(boolean updateDelta);
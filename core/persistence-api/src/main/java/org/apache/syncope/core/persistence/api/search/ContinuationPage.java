@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.search;
+
+import java.util.List;
+import java.util.Optional;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.syncope.common.lib.types.CountMode;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page of keyset-paginated search results, carrying the continuation token to fetch the next page, if any.
+ *
+ * @param <T> page content type
+ */
+public class ContinuationPage<T> extends SyncopePage<T> {
+
+    private static final long serialVersionUID = -2215338542315470366L;
+
+    private final String continuationToken;
+
+    public ContinuationPage(
+            final List<T> content,
+            final Pageable pageable,
+            final long total,
+            final CountMode countMode,
+            final String continuationToken) {
+
+        super(content, pageable, total, countMode);
+        this.continuationToken = continuationToken;
+    }
+
+    public Optional<String> getContinuationToken() {
+        return Optional.ofNullable(continuationToken);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return new EqualsBuilder().
+                appendSuper(super.equals(obj)).
+                append(continuationToken, continuationToken).
+                build();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().
+                appendSuper(super.hashCode()).
+                append(continuationToken).
+                build();
+    }
+}
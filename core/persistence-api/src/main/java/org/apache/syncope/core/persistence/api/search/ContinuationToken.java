@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.search;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Encodes and decodes {@link KeysetScrollPosition} instances as opaque, URL-safe strings, to be handed over to
+ * clients for fetching the next page of keyset-paginated search results.
+ * Values are type-tagged so that they can be bound back to native query parameters with the original type.
+ */
+public final class ContinuationToken {
+
+    private static final char SEPARATOR = '&';
+
+    private static final char ASSIGN = '=';
+
+    private static String encodeValue(final Object value) {
+        String encoded;
+        if (value == null) {
+            encoded = "z:";
+        } else if (value instanceof Boolean bool) {
+            encoded = "b:" + bool;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            encoded = "l:" + value;
+        } else if (value instanceof Number number) {
+            encoded = "n:" + new BigDecimal(number.toString()).toPlainString();
+        } else if (value instanceof Timestamp timestamp) {
+            encoded = "t:" + timestamp.toInstant();
+        } else if (value instanceof OffsetDateTime dateTime) {
+            encoded = "o:" + dateTime;
+        } else {
+            encoded = "s:" + value;
+        }
+        return URLEncoder.encode(encoded, StandardCharsets.UTF_8);
+    }
+
+    private static Object decodeValue(final String value) {
+        String decoded = URLDecoder.decode(value, StandardCharsets.UTF_8);
+        if (decoded.length() < 2 || decoded.charAt(1) != ':') {
+            throw new IllegalArgumentException("Invalid continuation token value: " + decoded);
+        }
+
+        String raw = decoded.substring(2);
+        return switch (decoded.charAt(0)) {
+            case 'z' ->
+                null;
+            case 'b' ->
+                Boolean.valueOf(raw);
+            case 'l' ->
+                Long.valueOf(raw);
+            case 'n' ->
+                new BigDecimal(raw);
+            case 't' ->
+                Timestamp.from(Instant.parse(raw));
+            case 'o' ->
+                OffsetDateTime.parse(raw);
+            case 's' ->
+                raw;
+            default ->
+                throw new IllegalArgumentException("Invalid continuation token value: " + decoded);
+        };
+    }
+
+    public static String encode(final KeysetScrollPosition position) {
+        String keys = position.getKeys().entrySet().stream().
+                map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)
+                + ASSIGN + encodeValue(entry.getValue())).
+                collect(Collectors.joining(String.valueOf(SEPARATOR)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the given token; a blank token is translated to the initial keyset position.
+     *
+     * @param token continuation token, as previously returned by {@link #encode(KeysetScrollPosition)}
+     * @return keyset position
+     * @throws IllegalArgumentException if the given token cannot be decoded
+     */
+    public static KeysetScrollPosition decode(final String token) {
+        if (StringUtils.isBlank(token)) {
+            return ScrollPosition.keyset();
+        }
+
+        String keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+
+        Map<String, Object> decoded = new LinkedHashMap<>();
+        for (String pair : StringUtils.split(keys, SEPARATOR)) {
+            int idx = pair.indexOf(ASSIGN);
+            if (idx == -1) {
+                throw new IllegalArgumentException("Invalid continuation token: " + token);
+            }
+            decoded.put(
+                    URLDecoder.decode(pair.substring(0, idx), StandardCharsets.UTF_8),
+                    decodeValue(pair.substring(idx + 1)));
+        }
+        return ScrollPosition.forward(decoded);
+    }
+
+    private ContinuationToken() {
+        // empty constructor for static utility class
+    }
+}
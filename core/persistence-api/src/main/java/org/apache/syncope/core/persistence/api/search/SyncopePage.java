@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.api.search;
 import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -30,9 +31,23 @@ public class SyncopePage<T> extends PageImpl<T> {
 
     private final long total;
 
+    private final CountMode countMode;
+
     public SyncopePage(final List<T> content, final Pageable pageable, final long total) {
+        this(content, pageable, total, CountMode.EXACT);
+    }
+
+    public SyncopePage(final List<T> content, final Pageable pageable, final long total, final CountMode countMode) {
         super(content, pageable, total);
         this.total = total;
+        this.countMode = countMode;
+    }
+
+    /**
+     * @return how total was computed; with {@link CountMode#NONE}, total is reported as {@code -1}
+     */
+    public CountMode getCountMode() {
+        return countMode;
     }
 
     @Override
@@ -50,6 +65,7 @@ public class SyncopePage<T> extends PageImpl<T> {
         return new EqualsBuilder().
                 appendSuper(super.equals(obj)).
                 append(total, total).
+                append(countMode, countMode).
                 build();
     }
 
@@ -58,6 +74,7 @@ public class SyncopePage<T> extends PageImpl<T> {
         return new HashCodeBuilder().
                 appendSuper(super.hashCode()).
                 append(total).
+                append(countMode).
                 build();
     }
 }
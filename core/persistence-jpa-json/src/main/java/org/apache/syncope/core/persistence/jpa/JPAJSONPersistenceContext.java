@@ -23,6 +23,7 @@ import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
@@ -35,6 +36,8 @@ import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchStoreDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJSONPlainAttrValueDAO;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AnyObjectRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AnyObjectRepoExtJSONImpl;
@@ -46,6 +49,8 @@ import org.apache.syncope.core.persistence.jpa.dao.repo.JSONUserRepo;
 import org.apache.syncope.core.persistence.jpa.dao.repo.UserRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.UserRepoExtJSONImpl;
 import org.apache.syncope.core.spring.security.SecurityProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -56,6 +61,28 @@ import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
 @Configuration(proxyBeanMethods = false)
 public abstract class JPAJSONPersistenceContext {
 
+    private static final Logger LOG = LoggerFactory.getLogger(JPAJSONPersistenceContext.class);
+
+    /**
+     * The JSON flavors keep attributes inline and come with no {@code *_store} tables: the materialized search
+     * store is hence always disabled, regardless of {@code persistence.materializedSearchStore}.
+     *
+     * @param persistenceProperties persistence properties
+     * @param entityManager entity manager
+     * @return disabled search store
+     */
+    @ConditionalOnMissingBean(name = "jpaJSONAnySearchStoreDAO")
+    @Bean
+    public AnySearchStoreDAO anySearchStoreDAO(
+            final PersistenceProperties persistenceProperties,
+            final EntityManager entityManager) {
+
+        if (persistenceProperties.isMaterializedSearchStore()) {
+            LOG.warn("Materialized search store is not available with JSON persistence flavors, disabling");
+        }
+        return new JPAAnySearchStoreDAO(false, entityManager);
+    }
+
     @ConditionalOnMissingBean(name = "jpaJSONAnyObjectRepoExt")
     @Bean
     public AnyObjectRepoExt anyObjectRepoExt(
@@ -66,6 +93,8 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO,
             final @Lazy JPAJSONAnyDAO anyDAO,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         return new AnyObjectRepoExtJSONImpl(
@@ -76,6 +105,8 @@ public abstract class JPAJSONPersistenceContext {
                 userDAO,
                 groupDAO,
                 anyDAO,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
     }
 
@@ -102,6 +133,8 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy AnySearchDAO anySearchDAO,
             final @Lazy JPAJSONAnyDAO anyDAO,
             final SearchCondVisitor searchCondVisitor,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         return new GroupRepoExtJSONImpl(
@@ -116,6 +149,8 @@ public abstract class JPAJSONPersistenceContext {
                 anySearchDAO,
                 anyDAO,
                 searchCondVisitor,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
     }
 
@@ -148,6 +183,8 @@ public abstract class JPAJSONPersistenceContext {
             final @Lazy FIQLQueryDAO fiqlQueryDAO,
             final @Lazy JPAJSONAnyDAO anyDAO,
             final SecurityProperties securityProperties,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         return new UserRepoExtJSONImpl(
@@ -162,6 +199,8 @@ public abstract class JPAJSONPersistenceContext {
                 fiqlQueryDAO,
                 anyDAO,
                 securityProperties,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
     }
 
@@ -23,6 +23,7 @@ import jakarta.persistence.EntityManagerFactory;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -32,6 +33,7 @@ import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchPlanCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.PGJPAJSONAnyDAO;
 import org.apache.syncope.core.persistence.jpa.dao.PGJPAJSONAnySearchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AuditConfRepoExt;
@@ -41,6 +43,7 @@ import org.apache.syncope.core.persistence.jpa.dao.repo.PlainSchemaRepoExtPGJSON
 import org.apache.syncope.core.persistence.jpa.entity.PGJPAJSONEntityFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
 
@@ -71,6 +74,8 @@ public class PGJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
             final @Lazy EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrValidationManager validator,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPASearchPlanCacheDAO searchPlanCacheDAO,
             final EntityManagerFactory entityManagerFactory,
             final EntityManager entityManager) {
 
@@ -84,6 +89,8 @@ public class PGJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
                 entityFactory,
                 anyUtilsFactory,
                 validator,
+                searchStoreDAO,
+                searchPlanCacheDAO,
                 entityManagerFactory,
                 entityManager);
     }
@@ -97,10 +104,12 @@ public class PGJPAJSONPersistenceContext extends JPAJSONPersistenceContext {
     @ConditionalOnMissingBean(name = "pgJPAJSONPlainSchemaRepoExt")
     @Bean
     public PlainSchemaRepoExt plainSchemaRepoExt(
+            final ApplicationEventPublisher publisher,
             final AnyUtilsFactory anyUtilsFactory,
             final @Lazy ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        return new PlainSchemaRepoExtPGJSONImpl(anyUtilsFactory, resourceDAO, entityManager);
+        return new PlainSchemaRepoExtPGJSONImpl(
+                publisher, anyUtilsFactory, resourceDAO, entityManager);
     }
 }
@@ -29,6 +29,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
@@ -59,6 +60,8 @@ public class MyJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrValidationManager validator,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPASearchPlanCacheDAO searchPlanCacheDAO,
             final EntityManagerFactory entityManagerFactory,
             final EntityManager entityManager) {
 
@@ -72,10 +75,18 @@ public class MyJPAJSONAnySearchDAO extends JPAAnySearchDAO {
                 entityFactory,
                 anyUtilsFactory,
                 validator,
+                searchStoreDAO,
+                searchPlanCacheDAO,
                 entityManagerFactory,
                 entityManager);
     }
 
+    @Override
+    protected boolean isPlanCacheEnabled() {
+        // attribute conditions are translated into JSON expressions, possibly inlining values
+        return false;
+    }
+
     @Override
     protected void processOBS(
             final SearchSupport svs,
@@ -30,6 +30,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
@@ -56,6 +57,8 @@ public class OJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrValidationManager validator,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPASearchPlanCacheDAO searchPlanCacheDAO,
             final EntityManagerFactory entityManagerFactory,
             final EntityManager entityManager) {
 
@@ -69,10 +72,18 @@ public class OJPAJSONAnySearchDAO extends JPAAnySearchDAO {
                 entityFactory,
                 anyUtilsFactory,
                 validator,
+                searchStoreDAO,
+                searchPlanCacheDAO,
                 entityManagerFactory,
                 entityManager);
     }
 
+    @Override
+    protected boolean isPlanCacheEnabled() {
+        // attribute conditions are translated into JSON expressions, possibly inlining values
+        return false;
+    }
+
     @Override
     protected void processOBS(
             final SearchSupport svs,
@@ -27,16 +27,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
-import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
@@ -62,8 +63,9 @@ import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
 
@@ -95,6 +97,8 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrValidationManager validator,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPASearchPlanCacheDAO searchPlanCacheDAO,
             final EntityManagerFactory entityManagerFactory,
             final EntityManager entityManager) {
 
@@ -108,10 +112,18 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
                 entityFactory,
                 anyUtilsFactory,
                 validator,
+                searchStoreDAO,
+                searchPlanCacheDAO,
                 entityManagerFactory,
                 entityManager);
     }
 
+    @Override
+    protected boolean isPlanCacheEnabled() {
+        // attribute conditions are translated into JSON expressions, possibly inlining values
+        return false;
+    }
+
     @Override
     protected void parseOrderByForPlainSchema(
             final SearchSupport svs,
@@ -643,7 +655,7 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
     }
 
     @Override
-    protected int doCount(
+    protected Pair<String, List<Object>> buildCountQuery(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
@@ -665,69 +677,98 @@ public class PGJPAJSONAnySearchDAO extends JPAAnySearchDAO {
 
         buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, null);
 
-        Query countQuery = entityManager.createNativeQuery(queryString.toString());
-        fillWithParameters(countQuery, parameters);
-
-        return ((Number) countQuery.getSingleResult()).intValue();
+        return Pair.of(queryString.toString(), parameters);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> doSearch(
+    protected Pair<String, List<Object>> buildSearchQuery(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
             final SearchCond cond,
-            final Pageable pageable,
+            final Stream<Sort.Order> orderBy,
             final AnyTypeKind kind) {
 
-        try {
-            List<Object> parameters = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
 
-            SearchSupport svs = buildSearchSupport(kind);
+        SearchSupport svs = buildSearchSupport(kind);
 
-            Triple<String, Set<String>, Set<String>> filter =
-                    getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
+        Triple<String, Set<String>, Set<String>> filter =
+                getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
 
-            SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
+        SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
 
-            // 1. get the query string from the search condition
-            Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
 
-            // 2. take into account realms and ordering
-            OrderBySupport obs = parseOrderBy(svs, pageable.getSort().get());
+        // 2. take into account realms and ordering
+        OrderBySupport obs = parseOrderBy(svs, orderBy);
 
-            StringBuilder queryString = new StringBuilder("SELECT ").append(svs.table().alias()).append(".id");
-            obs.items.forEach(item -> queryString.append(',').append(item.select));
+        StringBuilder queryString = new StringBuilder("SELECT ").append(svs.table().alias()).append(".id");
+        obs.items.forEach(item -> queryString.append(',').append(item.select));
 
-            buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, obs);
+        buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, obs);
 
-            LOG.debug("Query: {}, parameters: {}", queryString, parameters);
+        LOG.debug("Query: {}, parameters: {}", queryString, parameters);
 
-            queryString.append(buildOrderBy(obs));
+        queryString.append(buildOrderBy(obs));
 
-            LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+        LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
 
-            // 3. prepare the search query
-            Query query = entityManager.createNativeQuery(queryString.toString());
+        return Pair.of(queryString.toString(), parameters);
+    }
 
-            if (pageable.isPaged()) {
-                query.setFirstResult(pageable.getPageSize() * pageable.getPageNumber());
-                query.setMaxResults(pageable.getPageSize());
-            }
+    @Override
+    protected <T extends Any<?>> Window<T> doSearch(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final KeysetScrollPosition position,
+            final int size,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        List<Object> parameters = new ArrayList<>();
+
+        SearchSupport svs = buildSearchSupport(kind);
+
+        Triple<String, Set<String>, Set<String>> filter =
+                getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
 
-            // 5. populate the search query with parameter values
-            fillWithParameters(query, parameters);
+        SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
 
-            // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
-        } catch (SyncopeClientException e) {
-            throw e;
-        } catch (Exception e) {
-            LOG.error("While searching for {}", kind, e);
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
+
+        // 2. take into account realms, ordering and seek predicate
+        List<Sort.Order> seekOrderBy = seekOrderBy(orderBy);
+        OrderBySupport obs = parseOrderBy(svs, seekOrderBy.stream());
+
+        StringBuilder queryString = new StringBuilder("SELECT ").append(svs.table().alias()).append(".id");
+        obs.items.forEach(item -> queryString.append(',').append(item.select));
+        obs.items.forEach(item -> queryString.append(',').append(nullFlag(item)));
+
+        buildFromAndWhere(queryString, queryInfo, filter.getLeft(), svs, obs);
+
+        if (!position.isInitial()) {
+            queryString.append(" AND ").append(buildSeekPredicate(obs, seekOrderBy, position, parameters));
         }
+        queryString.append(buildSeekOrderBy(obs));
+
+        LOG.debug("Keyset query: {}, parameters: {}", queryString, parameters);
+
+        // 3. prepare the search query, fetching one more row to find out whether further results are available
+        Query query = entityManager.createNativeQuery(queryString.toString());
+        query.setMaxResults(size + 1);
+
+        // 4. populate the search query with parameter values
+        fillWithParameters(query, parameters);
 
-        return List.of();
+        // 5. prepare the result window
+        @SuppressWarnings("unchecked")
+        List<Object> raw = query.getResultList();
+        return buildWindow(raw, seekOrderBy, size, kind);
     }
 
     @Override
@@ -28,15 +28,17 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.APlainAttr;
 import org.apache.syncope.core.persistence.api.entity.group.GPlainAttr;
+import org.springframework.context.ApplicationEventPublisher;
 
 abstract class AbstractPlainSchemaRepoExtJSON extends PlainSchemaRepoExtImpl {
 
     protected AbstractPlainSchemaRepoExtJSON(
+            final ApplicationEventPublisher publisher,
             final AnyUtilsFactory anyUtilsFactory,
             final ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        super(anyUtilsFactory, resourceDAO, entityManager);
+        super(publisher, anyUtilsFactory, resourceDAO, entityManager);
     }
 
     @Override
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -35,6 +36,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrUniqueValue;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAJSONAnyObject;
 
 public class AnyObjectRepoExtJSONImpl extends AnyObjectRepoExtImpl {
@@ -49,6 +51,8 @@ public class AnyObjectRepoExtJSONImpl extends AnyObjectRepoExtImpl {
             final UserDAO userDAO,
             final GroupDAO groupDAO,
             final JPAJSONAnyDAO anyDAO,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         super(
@@ -58,6 +62,8 @@ public class AnyObjectRepoExtJSONImpl extends AnyObjectRepoExtImpl {
                 dynRealmDAO,
                 userDAO,
                 groupDAO,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
         this.anyDAO = anyDAO;
     }
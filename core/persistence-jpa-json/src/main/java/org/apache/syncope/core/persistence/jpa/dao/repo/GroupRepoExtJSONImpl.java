@@ -24,6 +24,7 @@ import java.util.Optional;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.JPAJSONAnyDAO;
@@ -36,6 +37,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -55,6 +57,8 @@ public class GroupRepoExtJSONImpl extends GroupRepoExtImpl {
             final AnySearchDAO searchDAO,
             final JPAJSONAnyDAO anyDAO,
             final SearchCondVisitor searchCondVisitor,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         super(
@@ -68,6 +72,8 @@ public class GroupRepoExtJSONImpl extends GroupRepoExtImpl {
                 anyObjectDAO,
                 searchDAO,
                 searchCondVisitor,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
         this.anyDAO = anyDAO;
     }
@@ -25,15 +25,17 @@ import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.jpa.dao.SearchSupport;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class PlainSchemaRepoExtMyJSONImpl extends AbstractPlainSchemaRepoExtJSON {
 
     public PlainSchemaRepoExtMyJSONImpl(
+            final ApplicationEventPublisher publisher,
             final AnyUtilsFactory anyUtilsFactory,
             final ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        super(anyUtilsFactory, resourceDAO, entityManager);
+        super(publisher, anyUtilsFactory, resourceDAO, entityManager);
     }
 
     @Override
@@ -24,6 +24,7 @@ import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
@@ -38,6 +39,7 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrUniqueValue;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAJSONUser;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 
@@ -57,6 +59,8 @@ public class UserRepoExtJSONImpl extends UserRepoExtImpl {
             final FIQLQueryDAO fiqlQueryDAO,
             final JPAJSONAnyDAO anyDAO,
             final SecurityProperties securityProperties,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         super(
@@ -70,6 +74,8 @@ public class UserRepoExtJSONImpl extends UserRepoExtImpl {
                 delegationDAO,
                 fiqlQueryDAO,
                 securityProperties,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
         this.anyDAO = anyDAO;
     }
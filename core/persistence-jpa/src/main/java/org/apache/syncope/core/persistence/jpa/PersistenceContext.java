@@ -36,6 +36,7 @@ import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeClassDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ApplicationDAO;
@@ -63,6 +64,7 @@ import org.apache.syncope.core.persistence.api.dao.PersistenceInfoDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrValueDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RelationshipTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
@@ -90,8 +92,11 @@ import org.apache.syncope.core.persistence.jpa.attrvalue.validation.DefaultPlain
 import org.apache.syncope.core.persistence.jpa.content.KeymasterConfParamLoader;
 import org.apache.syncope.core.persistence.jpa.content.XMLContentExporter;
 import org.apache.syncope.core.persistence.jpa.content.XMLContentLoader;
+import org.apache.syncope.core.persistence.jpa.dao.AccessTokenIndex;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnyMatchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchStoreDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPABatchDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAEntityCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAJobStatusDAO;
@@ -99,9 +104,13 @@ import org.apache.syncope.core.persistence.jpa.dao.JPAOIDCJWKSDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAPersistenceInfoDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAPlainAttrValueDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPAPolicyDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchPlanCacheDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPATaskDAO;
 import org.apache.syncope.core.persistence.jpa.dao.JPATaskExecDAO;
+import org.apache.syncope.core.persistence.jpa.dao.RealmTreeIndex;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AccessTokenRepo;
+import org.apache.syncope.core.persistence.jpa.dao.repo.AccessTokenRepoExt;
+import org.apache.syncope.core.persistence.jpa.dao.repo.AccessTokenRepoExtImpl;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AnyObjectRepo;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AnyObjectRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.AnyObjectRepoExtImpl;
@@ -131,6 +140,8 @@ import org.apache.syncope.core.persistence.jpa.dao.repo.ConnInstanceRepo;
 import org.apache.syncope.core.persistence.jpa.dao.repo.ConnInstanceRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.ConnInstanceRepoExtImpl;
 import org.apache.syncope.core.persistence.jpa.dao.repo.DelegationRepo;
+import org.apache.syncope.core.persistence.jpa.dao.repo.DelegationRepoExt;
+import org.apache.syncope.core.persistence.jpa.dao.repo.DelegationRepoExtImpl;
 import org.apache.syncope.core.persistence.jpa.dao.repo.DerSchemaRepo;
 import org.apache.syncope.core.persistence.jpa.dao.repo.DerSchemaRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.DerSchemaRepoExtImpl;
@@ -159,6 +170,9 @@ import org.apache.syncope.core.persistence.jpa.dao.repo.OIDCRPClientAppRepoExtIm
 import org.apache.syncope.core.persistence.jpa.dao.repo.PlainSchemaRepo;
 import org.apache.syncope.core.persistence.jpa.dao.repo.PlainSchemaRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.PlainSchemaRepoExtImpl;
+import org.apache.syncope.core.persistence.jpa.dao.repo.PropagationOutboxRepo;
+import org.apache.syncope.core.persistence.jpa.dao.repo.PropagationOutboxRepoExt;
+import org.apache.syncope.core.persistence.jpa.dao.repo.PropagationOutboxRepoExtImpl;
 import org.apache.syncope.core.persistence.jpa.dao.repo.RealmRepo;
 import org.apache.syncope.core.persistence.jpa.dao.repo.RealmRepoExt;
 import org.apache.syncope.core.persistence.jpa.dao.repo.RealmRepoExtImpl;
@@ -469,8 +483,30 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public AccessTokenDAO accessTokenDAO(final JpaRepositoryFactory jpaRepositoryFactory) {
-        return jpaRepositoryFactory.getRepository(AccessTokenRepo.class);
+    public AccessTokenIndex accessTokenIndex(
+            final PersistenceProperties persistenceProperties,
+            final EntityManager entityManager) {
+
+        return new AccessTokenIndex(persistenceProperties.isAccessTokenIndex(), entityManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public AccessTokenRepoExt accessTokenRepoExt(
+            final ApplicationEventPublisher publisher,
+            final AccessTokenIndex accessTokenIndex,
+            final EntityManager entityManager) {
+
+        return new AccessTokenRepoExtImpl(publisher, accessTokenIndex, entityManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public AccessTokenDAO accessTokenDAO(
+            final JpaRepositoryFactory jpaRepositoryFactory,
+            final AccessTokenRepoExt accessTokenRepoExt) {
+
+        return jpaRepositoryFactory.getRepository(AccessTokenRepo.class, accessTokenRepoExt);
     }
 
     @ConditionalOnMissingBean
@@ -503,6 +539,8 @@ public class PersistenceContext {
             final @Lazy DynRealmDAO dynRealmDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         return new AnyObjectRepoExtImpl(
@@ -512,6 +550,8 @@ public class PersistenceContext {
                 dynRealmDAO,
                 userDAO,
                 groupDAO,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
     }
 
@@ -524,6 +564,36 @@ public class PersistenceContext {
         return jpaRepositoryFactory.getRepository(AnyObjectRepo.class, anyObjectRepoExt);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public AnySearchStoreDAO anySearchStoreDAO(
+            final PersistenceProperties persistenceProperties,
+            final EntityManager entityManager) {
+
+        return new JPAAnySearchStoreDAO(persistenceProperties.isMaterializedSearchStore(), entityManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public JPASearchPlanCacheDAO searchPlanCacheDAO(final PersistenceProperties persistenceProperties) {
+        return new JPASearchPlanCacheDAO(persistenceProperties.getSearchPlanCache());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public RealmTreeIndex realmTreeIndex(
+            final PersistenceProperties persistenceProperties,
+            final EntityManager entityManager) {
+
+        return new RealmTreeIndex(persistenceProperties.getRealmTreeIndex(), entityManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO(final PersistenceProperties persistenceProperties) {
+        return new JPAAllowedSchemasCacheDAO(persistenceProperties.getAllowedSchemasCache());
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public AnySearchDAO anySearchDAO(
@@ -536,6 +606,8 @@ public class PersistenceContext {
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrValidationManager validator,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPASearchPlanCacheDAO searchPlanCacheDAO,
             final EntityManagerFactory entityManagerFactory,
             final EntityManager entityManager) {
 
@@ -549,6 +621,8 @@ public class PersistenceContext {
                 entityFactory,
                 anyUtilsFactory,
                 validator,
+                searchStoreDAO,
+                searchPlanCacheDAO,
                 entityManagerFactory,
                 entityManager);
     }
@@ -556,6 +630,7 @@ public class PersistenceContext {
     @ConditionalOnMissingBean
     @Bean
     public AnyTypeClassRepoExt anyTypeClassRepoExt(
+            final ApplicationEventPublisher publisher,
             final AnyTypeDAO anyTypeDAO,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
@@ -565,6 +640,7 @@ public class PersistenceContext {
             final EntityManager entityManager) {
 
         return new AnyTypeClassRepoExtImpl(
+                publisher,
                 anyTypeDAO,
                 plainSchemaDAO,
                 derSchemaDAO,
@@ -585,8 +661,12 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public AnyTypeRepoExt anyTypeRepoExt(final RemediationDAO remediationDAO, final EntityManager entityManager) {
-        return new AnyTypeRepoExtImpl(remediationDAO, entityManager);
+    public AnyTypeRepoExt anyTypeRepoExt(
+            final ApplicationEventPublisher publisher,
+            final RemediationDAO remediationDAO,
+            final EntityManager entityManager) {
+
+        return new AnyTypeRepoExtImpl(publisher, remediationDAO, entityManager);
     }
 
     @ConditionalOnMissingBean
@@ -709,17 +789,30 @@ public class PersistenceContext {
 
     @ConditionalOnMissingBean
     @Bean
-    public DelegationDAO delegationDAO(final JpaRepositoryFactory jpaRepositoryFactory) {
-        return jpaRepositoryFactory.getRepository(DelegationRepo.class);
+    public DelegationRepoExt delegationRepoExt(
+            final ApplicationEventPublisher publisher,
+            final EntityManager entityManager) {
+
+        return new DelegationRepoExtImpl(publisher, entityManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public DelegationDAO delegationDAO(
+            final JpaRepositoryFactory jpaRepositoryFactory,
+            final DelegationRepoExt delegationRepoExt) {
+
+        return jpaRepositoryFactory.getRepository(DelegationRepo.class, delegationRepoExt);
     }
 
     @ConditionalOnMissingBean
     @Bean
     public DerSchemaRepoExt derSchemaRepoExt(
+            final ApplicationEventPublisher publisher,
             final @Lazy ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        return new DerSchemaRepoExtImpl(resourceDAO, entityManager);
+        return new DerSchemaRepoExtImpl(publisher, resourceDAO, entityManager);
     }
 
     @ConditionalOnMissingBean
@@ -735,6 +828,7 @@ public class PersistenceContext {
     @Bean
     public DynRealmRepoExt dynRealmRepoExt(
             final ApplicationEventPublisher publisher,
+            final @Lazy RealmDAO realmDAO,
             final @Lazy UserDAO userDAO,
             final @Lazy GroupDAO groupDAO,
             final @Lazy AnyObjectDAO anyObjectDAO,
@@ -745,6 +839,7 @@ public class PersistenceContext {
 
         return new DynRealmRepoExtImpl(
                 publisher,
+                realmDAO,
                 userDAO,
                 groupDAO,
                 anyObjectDAO,
@@ -797,6 +892,8 @@ public class PersistenceContext {
             final @Lazy AnyObjectDAO anyObjectDAO,
             final AnySearchDAO anySearchDAO,
             final SearchCondVisitor searchCondVisitor,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         return new GroupRepoExtImpl(
@@ -810,6 +907,8 @@ public class PersistenceContext {
                 anyObjectDAO,
                 anySearchDAO,
                 searchCondVisitor,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
     }
 
@@ -907,11 +1006,13 @@ public class PersistenceContext {
     @ConditionalOnMissingBean
     @Bean
     public PlainSchemaRepoExt plainSchemaRepoExt(
+            final ApplicationEventPublisher publisher,
             final AnyUtilsFactory anyUtilsFactory,
             final @Lazy ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        return new PlainSchemaRepoExtImpl(anyUtilsFactory, resourceDAO, entityManager);
+        return new PlainSchemaRepoExtImpl(
+                publisher, anyUtilsFactory, resourceDAO, entityManager);
     }
 
     @ConditionalOnMissingBean
@@ -944,14 +1045,33 @@ public class PersistenceContext {
                 entityManager);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutboxRepoExt propagationOutboxRepoExt(
+            final EntityManagerFactory entityManagerFactory,
+            final EntityManager entityManager) {
+
+        return new PropagationOutboxRepoExtImpl(entityManagerFactory, entityManager);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutboxDAO propagationOutboxDAO(
+            final JpaRepositoryFactory jpaRepositoryFactory,
+            final PropagationOutboxRepoExt propagationOutboxRepoExt) {
+
+        return jpaRepositoryFactory.getRepository(PropagationOutboxRepo.class, propagationOutboxRepoExt);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public RealmRepoExt realmRepoExt(
             final @Lazy RoleDAO roleDAO,
             final ApplicationEventPublisher publisher,
+            final RealmTreeIndex realmTreeIndex,
             final EntityManager entityManager) {
 
-        return new RealmRepoExtImpl(roleDAO, publisher, entityManager);
+        return new RealmRepoExtImpl(roleDAO, publisher, realmTreeIndex, entityManager);
     }
 
     @ConditionalOnMissingBean
@@ -1160,6 +1280,8 @@ public class PersistenceContext {
             final @Lazy GroupDAO groupDAO,
             final DelegationDAO delegationDAO,
             final FIQLQueryDAO fiqlQueryDAO,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         return new UserRepoExtImpl(
@@ -1173,6 +1295,8 @@ public class PersistenceContext {
                 delegationDAO,
                 fiqlQueryDAO,
                 securityProperties,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager);
     }
 
@@ -1188,10 +1312,11 @@ public class PersistenceContext {
     @ConditionalOnMissingBean
     @Bean
     public VirSchemaRepoExt virSchemaRepoExt(
+            final ApplicationEventPublisher publisher,
             final @Lazy ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        return new VirSchemaRepoExtImpl(resourceDAO, entityManager);
+        return new VirSchemaRepoExtImpl(publisher, resourceDAO, entityManager);
     }
 
     @ConditionalOnMissingBean
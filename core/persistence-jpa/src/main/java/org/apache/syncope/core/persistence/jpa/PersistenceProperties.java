@@ -34,6 +34,16 @@ public class PersistenceProperties {
 
     private String indexesXML = "classpath:indexes.xml";
 
+    private boolean materializedSearchStore = false;
+
+    private String searchPlanCache = "maximumSize=1000";
+
+    private String allowedSchemasCache = "maximumSize=5000,expireAfterWrite=10m";
+
+    private String realmTreeIndex = "expireAfterWrite=1m";
+
+    private boolean accessTokenIndex = false;
+
     @NestedConfigurationProperty
     private final List<DomainProperties> domain = new ArrayList<>();
 
@@ -69,6 +79,46 @@ public class PersistenceProperties {
         this.indexesXML = indexesXML;
     }
 
+    public boolean isMaterializedSearchStore() {
+        return materializedSearchStore;
+    }
+
+    public void setMaterializedSearchStore(final boolean materializedSearchStore) {
+        this.materializedSearchStore = materializedSearchStore;
+    }
+
+    public String getSearchPlanCache() {
+        return searchPlanCache;
+    }
+
+    public void setSearchPlanCache(final String searchPlanCache) {
+        this.searchPlanCache = searchPlanCache;
+    }
+
+    public String getAllowedSchemasCache() {
+        return allowedSchemasCache;
+    }
+
+    public void setAllowedSchemasCache(final String allowedSchemasCache) {
+        this.allowedSchemasCache = allowedSchemasCache;
+    }
+
+    public String getRealmTreeIndex() {
+        return realmTreeIndex;
+    }
+
+    public void setRealmTreeIndex(final String realmTreeIndex) {
+        this.realmTreeIndex = realmTreeIndex;
+    }
+
+    public boolean isAccessTokenIndex() {
+        return accessTokenIndex;
+    }
+
+    public void setAccessTokenIndex(final boolean accessTokenIndex) {
+        this.accessTokenIndex = accessTokenIndex;
+    }
+
     public List<DomainProperties> getDomain() {
         return domain;
     }
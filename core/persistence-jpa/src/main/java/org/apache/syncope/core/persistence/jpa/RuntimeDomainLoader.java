@@ -19,6 +19,7 @@
 package org.apache.syncope.core.persistence.jpa;
 
 import java.util.Comparator;
+import java.util.function.Consumer;
 import org.apache.syncope.common.keymaster.client.api.DomainWatcher;
 import org.apache.syncope.common.keymaster.client.api.model.Domain;
 import org.apache.syncope.core.persistence.api.DomainHolder;
@@ -27,6 +28,7 @@ import org.apache.syncope.core.persistence.api.SyncopeCoreLoader;
 import org.apache.syncope.core.persistence.jpa.spring.DomainRoutingEntityManagerFactory;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.DomainCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
@@ -58,8 +60,15 @@ public class RuntimeDomainLoader implements DomainWatcher {
         }
     }
 
+    protected void refreshDomainCache(final Consumer<DomainCache> action) {
+        // looked up on demand, as domain notifications start flowing before security beans are available
+        ApplicationContextProvider.getBeanFactory().getBeanProvider(DomainCache.class).ifAvailable(action);
+    }
+
     @Override
     public void added(final Domain domain) {
+        refreshDomainCache(cache -> cache.put(domain));
+
         if (domainHolder.getDomains().containsKey(domain.getKey())) {
             LOG.debug("Domain {} already inited, skipping", domain.getKey());
         } else {
@@ -87,8 +96,17 @@ public class RuntimeDomainLoader implements DomainWatcher {
         }
     }
 
+    @Override
+    public void updated(final Domain domain) {
+        LOG.debug("Domain {} updated", domain.getKey());
+
+        refreshDomainCache(cache -> cache.put(domain));
+    }
+
     @Override
     public void removed(final String domain) {
+        refreshDomainCache(cache -> cache.evict(domain));
+
         if (domainHolder.getDomains().containsKey(domain)) {
             LOG.info("Domain {} unregistration", domain);
 
@@ -75,6 +75,7 @@ import org.apache.syncope.core.persistence.api.DomainHolder;
 import org.apache.syncope.core.persistence.api.content.ContentExporter;
 import org.apache.syncope.core.persistence.api.dao.AuditConfDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.jpa.dao.SearchStoreSupport;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -100,7 +101,8 @@ public class XMLContentExporter implements ContentExporter {
 
     protected static boolean isTableAllowed(final String tableName) {
         return TABLE_PREFIXES_TO_BE_EXCLUDED.stream().
-                allMatch(prefix -> !tableName.toUpperCase().startsWith(prefix.toUpperCase()));
+                allMatch(prefix -> !tableName.toUpperCase().startsWith(prefix.toUpperCase()))
+                && !tableName.toUpperCase().endsWith(SearchStoreSupport.STORE_SUFFIX.toUpperCase());
     }
 
     protected static String getValues(final ResultSet rs, final String columnName, final Integer columnType)
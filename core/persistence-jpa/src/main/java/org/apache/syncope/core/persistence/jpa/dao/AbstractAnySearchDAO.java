@@ -26,15 +26,22 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
@@ -60,9 +67,12 @@ import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.util.CollectionUtils;
 
 public abstract class AbstractAnySearchDAO implements AnySearchDAO {
@@ -179,6 +189,48 @@ public abstract class AbstractAnySearchDAO implements AnySearchDAO {
         return doCount(base, recursive, adminRealms, cond, kind);
     }
 
+    /**
+     * Estimates the size of search result; by default, this is the exact count.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param kind any object
+     * @return size of search result, and whether it was actually estimated
+     */
+    protected Pair<Integer, CountMode> doEstimateCount(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        return Pair.of(doCount(base, recursive, adminRealms, cond, kind), CountMode.EXACT);
+    }
+
+    @Override
+    public Pair<Integer, CountMode> estimateCount(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        if (CollectionUtils.isEmpty(adminRealms)) {
+            LOG.error("No realms provided");
+            return Pair.of(0, CountMode.EXACT);
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return Pair.of(0, CountMode.EXACT);
+        }
+
+        return doEstimateCount(base, recursive, adminRealms, cond, kind);
+    }
+
     @Override
     public <T extends Any<?>> List<T> search(final SearchCond cond, final AnyTypeKind kind) {
         return search(cond, List.of(), kind);
@@ -205,6 +257,55 @@ public abstract class AbstractAnySearchDAO implements AnySearchDAO {
             Pageable pageable,
             AnyTypeKind kind);
 
+    /**
+     * Generic implementation, paging through {@link #doSearch(Realm, boolean, Set, SearchCond, Pageable, AnyTypeKind)};
+     * subclasses are expected to provide more efficient implementations, not requiring to load entities.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition
+     */
+    protected Stream<String> doSearchKeys(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond searchCondition,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        int pages = (doCount(base, recursive, adminRealms, searchCondition, kind) / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
+
+        List<Sort.Order> effectiveOrderBy = new ArrayList<>(orderBy);
+        effectiveOrderBy.add(Sort.Order.asc("key"));
+
+        return IntStream.range(0, pages).boxed().flatMap(page -> doSearch(
+                base,
+                recursive,
+                adminRealms,
+                searchCondition,
+                PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE, Sort.by(effectiveOrderBy)),
+                kind).stream().map(Any::getKey));
+    }
+
+    protected <T extends Any<?>> Window<T> doSearch(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond searchCondition,
+            final KeysetScrollPosition position,
+            final int size,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        SyncopeClientException unsupported = SyncopeClientException.build(ClientExceptionType.InvalidSearchParameters);
+        unsupported.getElements().add("Keyset pagination is not supported by " + getClass().getSimpleName());
+        throw unsupported;
+    }
+
     protected Pair<PlainSchema, PlainAttrValue> check(final AttrCond cond, final AnyTypeKind kind) {
         AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
 
@@ -336,6 +437,18 @@ public abstract class AbstractAnySearchDAO implements AnySearchDAO {
         return members;
     }
 
+    /**
+     * Loads the entities matching the given keys, in no particular order.
+     *
+     * @param <A> any type
+     * @param keys entity keys
+     * @param kind any type kind
+     * @return matching entities
+     */
+    protected <A extends Any<?>> List<A> findByKeys(final List<String> keys, final AnyTypeKind kind) {
+        return anyUtilsFactory.getInstance(kind).<A>dao().findByKeys(keys);
+    }
+
     @SuppressWarnings("unchecked")
     protected <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind kind) {
         List<String> keys = raw.stream().
@@ -343,7 +456,7 @@ public abstract class AbstractAnySearchDAO implements AnySearchDAO {
                 toList();
 
         // sort anys according to keys' sorting, as their ordering is same as raw, e.g. the actual sql query results
-        List<Any<?>> anys = anyUtilsFactory.getInstance(kind).dao().findByKeys(keys).stream().
+        List<Any<?>> anys = this.<Any<?>>findByKeys(keys, kind).stream().
                 sorted(Comparator.comparing(any -> keys.indexOf(any.getKey()))).toList();
 
         keys.stream().filter(key -> !anys.stream().anyMatch(any -> key.equals(any.getKey()))).
@@ -392,4 +505,120 @@ public abstract class AbstractAnySearchDAO implements AnySearchDAO {
                 : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(effectiveOrderBy)),
                 kind);
     }
+
+    @Override
+    public <T extends Any<?>> Window<T> search(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final KeysetScrollPosition position,
+            final int size,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        if (CollectionUtils.isEmpty(adminRealms)) {
+            LOG.error("No realms provided");
+            return Window.from(List.of(), ScrollPosition::offset);
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return Window.from(List.of(), ScrollPosition::offset);
+        }
+
+        List<Sort.Order> effectiveOrderBy = orderBy.isEmpty()
+                ? List.of(new Sort.Order(Sort.Direction.ASC, kind == AnyTypeKind.USER ? "username" : "name"))
+                : orderBy.stream().
+                        filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getProperty())).
+                        toList();
+
+        // seek predicates can only be built on fields: plain attribute values are not unique per any object
+        AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
+        effectiveOrderBy.stream().
+                filter(clause -> anyUtils.getField(clause.getProperty()) == null).
+                findFirst().ifPresent(clause -> {
+                    SyncopeClientException invalidSearch =
+                            SyncopeClientException.build(ClientExceptionType.InvalidSearchParameters);
+                    invalidSearch.getElements().add("Keyset pagination only allows to order by fields, not by "
+                            + clause.getProperty());
+                    throw invalidSearch;
+                });
+
+        return doSearch(base, recursive, adminRealms, cond, position, size, effectiveOrderBy, kind);
+    }
+
+    @Override
+    public Stream<String> searchKeys(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        if (CollectionUtils.isEmpty(adminRealms)) {
+            LOG.error("No realms provided");
+            return Stream.empty();
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return Stream.empty();
+        }
+
+        return doSearchKeys(
+                base,
+                recursive,
+                adminRealms,
+                cond,
+                orderBy.stream().
+                        filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getProperty())).
+                        toList(),
+                kind);
+    }
+
+    /**
+     * Generic implementation, for search implementations not relying on SQL.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param kind any object
+     * @return empty
+     */
+    protected Optional<Pair<String, List<Object>>> doKeysQuery(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Pair<String, List<Object>>> keysQuery(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        if (CollectionUtils.isEmpty(adminRealms)) {
+            LOG.error("No realms provided");
+            return Optional.empty();
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return Optional.empty();
+        }
+
+        return doKeysQuery(base, recursive, adminRealms, cond, kind);
+    }
 }
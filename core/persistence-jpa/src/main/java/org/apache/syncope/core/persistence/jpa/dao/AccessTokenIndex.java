@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.openjpa.util.OpenJPAId;
+import org.apache.syncope.core.persistence.api.entity.AccessToken;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-domain, in-memory index of access token expiration times, ordered by expiration.
+ * The index is loaded at first use, updated once access token changes are committed and kept coherent with other
+ * Core instances via the OpenJPA remote commit channel, when configured.
+ * Tokens not found in the index are looked up in the database, hence the index only answers negatively for tokens
+ * known to be expired, which can be left for the next bulk removal.
+ * As tokens refreshed by other Core instances are only known via the OpenJPA remote commit channel, the index is
+ * meant to be enabled only for single instance deployments or when a cluster-wide remote commit provider is set up.
+ */
+public class AccessTokenIndex {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AccessTokenIndex.class);
+
+    protected record Expiring(long expiration, String key) implements Comparable<Expiring> {
+
+        @Override
+        public int compareTo(final Expiring other) {
+            int result = Long.compare(expiration, other.expiration);
+            return result == 0 ? key.compareTo(other.key) : result;
+        }
+    }
+
+    protected static long expiration(final AccessToken accessToken) {
+        return toMillis(accessToken.getExpirationTime());
+    }
+
+    protected static long toMillis(final OffsetDateTime dateTime) {
+        return Optional.ofNullable(dateTime).map(d -> d.toInstant().toEpochMilli()).orElse(Long.MAX_VALUE);
+    }
+
+    protected static class DomainIndex {
+
+        protected final Map<String, Long> expirations = new ConcurrentHashMap<>();
+
+        protected final NavigableSet<Expiring> byExpiration = new ConcurrentSkipListSet<>();
+
+        protected void put(final String key, final long expiration) {
+            expirations.compute(key, (k, previous) -> {
+                if (previous != null) {
+                    byExpiration.remove(new Expiring(previous, key));
+                }
+                byExpiration.add(new Expiring(expiration, key));
+                return expiration;
+            });
+        }
+
+        protected void remove(final String key) {
+            expirations.computeIfPresent(key, (k, previous) -> {
+                byExpiration.remove(new Expiring(previous, key));
+                return null;
+            });
+        }
+
+        protected int removeExpired(final long now) {
+            int removed = 0;
+            for (Expiring first = byExpiration.isEmpty() ? null : byExpiration.first();
+                    first != null && first.expiration() < now;
+                    first = byExpiration.isEmpty() ? null : byExpiration.first()) {
+
+                String key = first.key();
+                expirations.computeIfPresent(key, (k, expiration) -> expiration < now ? null : expiration);
+                byExpiration.remove(first);
+                removed++;
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Keeps the index of a domain coherent with access token changes committed by other Core instances.
+     */
+    protected class IndexRemoteCommitListener implements RemoteCommitListener {
+
+        protected final String domain;
+
+        protected IndexRemoteCommitListener(final String domain) {
+            this.domain = domain;
+        }
+
+        protected void remove(final Collection<?> oids) {
+            Optional.ofNullable(indexes.get(domain)).ifPresent(index -> oids.stream().
+                    filter(OpenJPAId.class::isInstance).map(OpenJPAId.class::cast).
+                    filter(oid -> JPAAccessToken.class.isAssignableFrom(oid.getType())).
+                    forEach(oid -> index.remove(oid.getIdObject().toString())));
+        }
+
+        @Override
+        public void afterCommit(final RemoteCommitEvent event) {
+            if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+                // bulk removals only affect expired tokens, already known as such or looked up in the database
+                Optional.ofNullable(indexes.get(domain)).ifPresent(index -> {
+                    if (event.getDeletedTypeNames().contains(JPAAccessToken.class.getName())) {
+                        index.removeExpired(System.currentTimeMillis());
+                    }
+                });
+            } else if (event.getPayloadType() != RemoteCommitEvent.PAYLOAD_LOCAL_STALE_DETECTION) {
+                // changed tokens will be looked up in the database next time
+                remove(event.getUpdatedObjectIds());
+                remove(event.getDeletedObjectIds());
+            }
+        }
+
+        @Override
+        public void close() {
+            indexes.remove(domain);
+        }
+    }
+
+    protected final boolean enabled;
+
+    protected final EntityManager entityManager;
+
+    protected final Map<String, DomainIndex> indexes = new ConcurrentHashMap<>();
+
+    public AccessTokenIndex(final boolean enabled, final EntityManager entityManager) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    protected DomainIndex load(final String domain) {
+        DomainIndex index = new DomainIndex();
+
+        entityManager.createQuery(
+                "SELECT e.id, e.expirationTime FROM " + JPAAccessToken.class.getSimpleName() + " e",
+                Object[].class).getResultList().
+                forEach(row -> index.put(row[0].toString(), toMillis((OffsetDateTime) row[1])));
+
+        entityManager.getEntityManagerFactory().unwrap(OpenJPAEntityManagerFactorySPI.class).getConfiguration().
+                getRemoteCommitEventManager().addListener(new IndexRemoteCommitListener(domain));
+
+        LOG.debug("Access token index loaded for domain {}: {} entries", domain, index.expirations.size());
+        return index;
+    }
+
+    protected Optional<DomainIndex> index() {
+        return enabled
+                ? Optional.of(indexes.computeIfAbsent(AuthContextUtils.getDomain(), this::load))
+                : Optional.empty();
+    }
+
+    /**
+     * Whether the given access token is known to be expired.
+     *
+     * @param key access token key
+     * @return whether the given access token is known to be expired; {@code false} when not indexed
+     */
+    public boolean isExpired(final String key) {
+        return index().map(index -> index.expirations.get(key)).
+                map(expiration -> expiration < System.currentTimeMillis()).
+                orElse(false);
+    }
+
+    /**
+     * Indexes the given access token, as just found in the database.
+     *
+     * @param accessToken access token
+     */
+    public void put(final AccessToken accessToken) {
+        index().ifPresent(index -> index.put(accessToken.getKey(), expiration(accessToken)));
+    }
+
+    public void remove(final String key) {
+        index().ifPresent(index -> index.remove(key));
+    }
+
+    /**
+     * Removes the access tokens expiring before the given instant.
+     *
+     * @param now reference instant
+     * @return number of access tokens removed from the index
+     */
+    public int removeExpired(final OffsetDateTime now) {
+        return index().map(index -> index.removeExpired(toMillis(now))).orElse(0);
+    }
+
+    public int size() {
+        return index().map(index -> index.expirations.size()).orElse(0);
+    }
+
+    /**
+     * Applies access token changes once committed, so that rolled back changes never reach the index.
+     *
+     * @param event entity lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void accessTokenChangeCommitted(final EntityLifecycleEvent<Entity> event) {
+        if (!enabled || !(event.getEntity() instanceof AccessToken accessToken)) {
+            return;
+        }
+
+        Optional.ofNullable(indexes.get(event.getDomain())).ifPresent(index -> {
+            if (event.getType() == SyncDeltaType.DELETE) {
+                index.remove(accessToken.getKey());
+            } else {
+                index.put(accessToken.getKey(), expiration(accessToken));
+            }
+        });
+    }
+}
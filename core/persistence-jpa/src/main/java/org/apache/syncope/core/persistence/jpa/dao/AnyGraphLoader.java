@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.TypedQuery;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.persistence.FetchPlan;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.persistence.jdbc.FetchMode;
+import org.apache.openjpa.persistence.jdbc.JDBCFetchPlan;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.jpa.dao.repo.AbstractAnyRepoExt;
+
+/**
+ * Loads a page of {@link Any} objects by key, together with their to-many associations (plain attributes and values,
+ * memberships, relationships, resources, auxiliary classes, linked accounts), via OpenJPA fetch plan in parallel
+ * eager fetch mode: this way, each association is read by a single query for the whole page rather than lazily,
+ * one entity at a time.
+ */
+public class AnyGraphLoader {
+
+    /**
+     * Owned to-many associations are followed down to this depth, e.g. user &gt; linked accounts &gt; plain
+     * attributes &gt; values.
+     */
+    protected static final int MAX_DEPTH = 3;
+
+    protected static final Map<Class<?>, List<Pair<Class<?>, String>>> FETCH_FIELDS = new ConcurrentHashMap<>();
+
+    protected static void fetchFields(
+            final Class<?> reference,
+            final int depth,
+            final Set<Class<?>> visited,
+            final List<Pair<Class<?>, String>> fields) {
+
+        if (depth == 0 || !visited.add(reference)) {
+            return;
+        }
+
+        // fields declared by subclasses shadow the homonymous ones from superclasses, as with JSON entities
+        Set<String> names = new HashSet<>();
+        for (Class<?> clazz = reference; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!names.add(field.getName())) {
+                    continue;
+                }
+
+                boolean oneToMany = field.isAnnotationPresent(OneToMany.class);
+                if (oneToMany || field.isAnnotationPresent(ManyToMany.class)) {
+                    fields.add(Pair.of(clazz, field.getName()));
+
+                    // only follow owned associations: shared entities as resources are not expanded further
+                    if (oneToMany && field.getGenericType() instanceof ParameterizedType type
+                            && type.getActualTypeArguments()[0] instanceof Class<?> elementClass) {
+
+                        fetchFields(elementClass, depth - 1, visited, fields);
+                    }
+                }
+            }
+        }
+    }
+
+    protected static List<Pair<Class<?>, String>> fetchFields(final Class<?> reference) {
+        return FETCH_FIELDS.computeIfAbsent(reference, k -> {
+            List<Pair<Class<?>, String>> fields = new ArrayList<>();
+            fetchFields(reference, MAX_DEPTH, new HashSet<>(), fields);
+            return List.copyOf(fields);
+        });
+    }
+
+    protected final EntityManager entityManager;
+
+    public AnyGraphLoader(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Loads the entities matching the given keys, with all their to-many associations.
+     *
+     * @param <A> any type
+     * @param reference entity class
+     * @param keys entity keys
+     * @return matching entities, in no particular order
+     */
+    public <A extends Any<?>> List<A> load(final Class<A> reference, final List<String> keys) {
+        List<A> result = new ArrayList<>(keys.size());
+
+        for (int i = 0; i < keys.size(); i += AbstractAnyRepoExt.IN_CLAUSE_MAX_SIZE) {
+            TypedQuery<A> query = entityManager.createQuery(
+                    "SELECT e FROM " + reference.getSimpleName() + " e WHERE e.id IN (:keys)", reference);
+            query.setParameter(
+                    "keys", keys.subList(i, Math.min(i + AbstractAnyRepoExt.IN_CLAUSE_MAX_SIZE, keys.size())));
+
+            FetchPlan fetchPlan = OpenJPAPersistence.cast(query).getFetchPlan();
+            if (fetchPlan instanceof JDBCFetchPlan jdbcFetchPlan) {
+                jdbcFetchPlan.setEagerFetchMode(FetchMode.PARALLEL);
+            }
+            fetchFields(reference).forEach(field -> fetchPlan.addField(field.getLeft(), field.getRight()));
+
+            result.addAll(query.getResultList());
+        }
+
+        return result;
+    }
+}
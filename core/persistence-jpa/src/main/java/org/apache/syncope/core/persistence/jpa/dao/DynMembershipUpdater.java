@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.enhance.PersistenceCapable;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AbstractSearchCond;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.AuxClassCond;
+import org.apache.syncope.core.persistence.api.dao.search.RelationshipCond;
+import org.apache.syncope.core.persistence.api.dao.search.RelationshipTypeCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.repo.AbstractAnyRepoExt;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+
+/**
+ * Keeps the dynamic membership tables up to date.
+ * When a single {@link Any} is saved, each dynamic membership condition is parsed once and then evaluated in memory,
+ * while membership changes are applied via one statement per table; conditions are only evaluated if any of the
+ * fields or plain schemas they depend on were changed, as reported by the persistence context.
+ * When the conditions of an owner change, members are instead recomputed by the database, via the native queries
+ * provided by {@link AnySearchDAO#keysQuery(Realm, boolean, Set, SearchCond, AnyTypeKind)}.
+ */
+public class DynMembershipUpdater {
+
+    /**
+     * Dynamic membership table.
+     *
+     * @param name table name
+     * @param ownerTable table of the entities owning the dynamic memberships (groups, roles, dynamic realms)
+     * @param ownerColumn column referencing {@code ownerTable}
+     * @param withAnyType whether the table has the {@code anyType_id} column
+     */
+    public record MembersTable(String name, String ownerTable, String ownerColumn, boolean withAnyType) {
+
+    }
+
+    /**
+     * What a dynamic membership condition depends on.
+     *
+     * @param always whether the condition shall be evaluated on every save, as it depends on data not owned by the
+     * any object itself (memberships, roles, resources, dynamic realms, ...)
+     * @param fields entity fields referenced by the condition
+     * @param schemas plain schemas referenced by the condition
+     */
+    public record Dependencies(boolean always, Set<String> fields, Set<String> schemas) {
+
+    }
+
+    /**
+     * What was changed in an any object since the current transaction started.
+     *
+     * @param all whether every field and plain schema shall be considered as changed
+     * @param fields changed entity fields
+     * @param allSchemas whether every plain schema shall be considered as changed
+     * @param schemas changed plain schemas
+     */
+    public record Changes(boolean all, Set<String> fields, boolean allSchemas, Set<String> schemas) {
+
+        public static final Changes ALL = new Changes(true, Set.of(), true, Set.of());
+
+        public boolean affect(final Dependencies dependencies) {
+            return all
+                    || dependencies.always()
+                    || dependencies.fields().stream().anyMatch(fields::contains)
+                    || (!dependencies.schemas().isEmpty()
+                    && (allSchemas || dependencies.schemas().stream().anyMatch(schemas::contains)));
+        }
+    }
+
+    protected record Compiled(SearchCond cond, Dependencies dependencies) {
+
+    }
+
+    protected static final String PLAIN_ATTRS_FIELD = "plainAttrs";
+
+    /**
+     * Parsed conditions depend on the FIQL text and on the schemas defined by the domain.
+     */
+    protected static final Cache<Pair<String, String>, Compiled> COMPILED =
+            Caffeine.newBuilder().maximumSize(1000).build();
+
+    protected static void dependencies(
+            final SearchCond cond,
+            final MutableBoolean always,
+            final Set<String> fields,
+            final Set<String> schemas) {
+
+        if (cond == null || always.isTrue()) {
+            return;
+        }
+
+        switch (cond.getType()) {
+            case LEAF, NOT_LEAF -> {
+                AbstractSearchCond leaf = cond.getLeaf(AbstractSearchCond.class).orElse(null);
+                if (leaf instanceof AnyCond anyCond) {
+                    fields.add("key".equals(anyCond.getSchema()) ? "id" : anyCond.getSchema());
+                } else if (leaf instanceof AttrCond attrCond) {
+                    schemas.add(attrCond.getSchema());
+                } else if (leaf instanceof RelationshipCond || leaf instanceof RelationshipTypeCond) {
+                    fields.add("relationships");
+                } else if (leaf instanceof AuxClassCond) {
+                    fields.add("auxClasses");
+                } else if (!(leaf instanceof AnyTypeCond)) {
+                    always.setTrue();
+                }
+            }
+
+            case AND, OR -> {
+                dependencies(cond.getLeft(), always, fields, schemas);
+                dependencies(cond.getRight(), always, fields, schemas);
+            }
+
+            default ->
+                always.setTrue();
+        }
+    }
+
+    protected static Dependencies dependencies(final SearchCond cond) {
+        MutableBoolean always = new MutableBoolean(false);
+        Set<String> fields = new HashSet<>();
+        Set<String> schemas = new HashSet<>();
+        dependencies(cond, always, fields, schemas);
+        return always.isTrue()
+                ? new Dependencies(true, Set.of(), Set.of())
+                : new Dependencies(false, Set.copyOf(fields), Set.copyOf(schemas));
+    }
+
+    protected static Optional<OpenJPAStateManager> stateManager(final Object entity) {
+        return entity instanceof PersistenceCapable pc && pc.pcGetStateManager() instanceof OpenJPAStateManager sm
+                ? Optional.of(sm)
+                : Optional.empty();
+    }
+
+    protected static boolean changed(final OpenJPAStateManager sm) {
+        return sm.isNew() || !sm.getDirty().isEmpty() || !sm.getFlushed().isEmpty();
+    }
+
+    protected static boolean changed(final Object entity) {
+        return stateManager(entity).map(DynMembershipUpdater::changed).orElse(true);
+    }
+
+    /**
+     * Reads from the persistence context what was changed in the given any object, since the current transaction
+     * started; anything that cannot be told is reported as changed.
+     *
+     * @param any any object
+     * @return changes
+     */
+    public static Changes changes(final Any<?> any) {
+        OpenJPAStateManager sm = stateManager(any).orElse(null);
+        if (sm == null || sm.isNew()) {
+            return Changes.ALL;
+        }
+
+        Set<String> fields = new HashSet<>();
+        BitSet changed = (BitSet) sm.getDirty().clone();
+        changed.or(sm.getFlushed());
+        changed.stream().mapToObj(i -> sm.getMetaData().getField(i)).
+                filter(Objects::nonNull).forEach(fmd -> fields.add(fmd.getName()));
+
+        // plain attributes not stored as entities (as with JSON flavors) cannot be told apart
+        boolean allSchemas = fields.contains(PLAIN_ATTRS_FIELD)
+                || Stream.of(sm.getMetaData().getFields()).
+                        filter(fmd -> PLAIN_ATTRS_FIELD.equals(fmd.getName())).
+                        anyMatch(fmd -> fmd.getElement() == null || !fmd.getElement().isTypePC());
+
+        Set<String> schemas = new HashSet<>();
+        if (!allSchemas) {
+            for (PlainAttr<?> attr : any.getPlainAttrs()) {
+                if (changed(attr)
+                        || attr.getValues().stream().anyMatch(DynMembershipUpdater::changed)
+                        || (attr.getUniqueValue() != null && changed(attr.getUniqueValue()))) {
+
+                    schemas.add(attr.getSchema().getKey());
+                }
+            }
+        }
+
+        return new Changes(false, fields, allSchemas, schemas);
+    }
+
+    protected final SearchCondVisitor searchCondVisitor;
+
+    protected final AnyMatchDAO anyMatchDAO;
+
+    protected final EntityManager entityManager;
+
+    public DynMembershipUpdater(
+            final SearchCondVisitor searchCondVisitor,
+            final AnyMatchDAO anyMatchDAO,
+            final EntityManager entityManager) {
+
+        this.searchCondVisitor = searchCondVisitor;
+        this.anyMatchDAO = anyMatchDAO;
+        this.entityManager = entityManager;
+    }
+
+    protected Compiled compiled(final String fiql) {
+        return COMPILED.get(Pair.of(AuthContextUtils.getDomain(), fiql), k -> {
+            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, k.getRight());
+            return new Compiled(cond, dependencies(cond));
+        });
+    }
+
+    /**
+     * Parses the given FIQL condition, or reads it from cache.
+     *
+     * @param fiql FIQL condition
+     * @return a copy of the parsed condition, which can be freely modified
+     */
+    public SearchCond compile(final String fiql) {
+        return SerializationUtils.clone(compiled(fiql).cond());
+    }
+
+    public Dependencies dependencies(final String fiql) {
+        return compiled(fiql).dependencies();
+    }
+
+    public boolean matches(final Any<?> any, final String fiql) {
+        return matches(any, Changes.ALL, fiql, false);
+    }
+
+    /**
+     * Evaluates the given condition against the given any object, unless none of the fields and plain schemas it
+     * depends on was changed: in such case the given current result is returned.
+     * The cached condition is passed as-is to {@link AnyMatchDAO}, which is not expected to modify it.
+     *
+     * @param any any object
+     * @param changes what was changed in {@code any}
+     * @param fiql FIQL condition
+     * @param current whether {@code any} currently matches the condition
+     * @return whether {@code any} matches the condition
+     */
+    public boolean matches(final Any<?> any, final Changes changes, final String fiql, final boolean current) {
+        Compiled compiled = compiled(fiql);
+        return changes.affect(compiled.dependencies()) ? anyMatchDAO.matches(any, compiled.cond()) : current;
+    }
+
+    /**
+     * Reads the owners of the dynamic memberships of the given any, with a single query.
+     *
+     * @param table dynamic membership table
+     * @param anyKey any key
+     * @return keys of the owners of the dynamic memberships
+     */
+    public Set<String> findOwners(final MembersTable table, final String anyKey) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT " + table.ownerColumn() + " FROM " + table.name() + " WHERE any_id=?");
+        query.setParameter(1, anyKey);
+
+        @SuppressWarnings("unchecked")
+        List<Object> result = query.getResultList();
+        return result.stream().map(Object::toString).collect(Collectors.toSet());
+    }
+
+    protected static List<List<String>> chunks(final Collection<String> keys) {
+        List<String> keyList = new ArrayList<>(keys);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < keyList.size(); i += AbstractAnyRepoExt.IN_CLAUSE_MAX_SIZE) {
+            chunks.add(keyList.subList(i, Math.min(i + AbstractAnyRepoExt.IN_CLAUSE_MAX_SIZE, keyList.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Moves the dynamic memberships of the given any from {@code before} to {@code after}: owners found only in
+     * {@code after} are added by a single {@code INSERT ... SELECT} statement, owners found only in {@code before}
+     * are removed by a single {@code DELETE} statement.
+     *
+     * @param table dynamic membership table
+     * @param any any
+     * @param before owner keys currently stored
+     * @param after owner keys matching after save
+     */
+    public void update(
+            final MembersTable table,
+            final Any<?> any,
+            final Set<String> before,
+            final Set<String> after) {
+
+        Set<String> toRemove = new HashSet<>(before);
+        toRemove.removeAll(after);
+        chunks(toRemove).forEach(chunk -> {
+            Query delete = entityManager.createNativeQuery(
+                    "DELETE FROM " + table.name() + " WHERE any_id=? AND " + table.ownerColumn() + " IN ("
+                    + chunk.stream().map(key -> "?").collect(Collectors.joining(",")) + ")");
+            delete.setParameter(1, any.getKey());
+            for (int i = 0; i < chunk.size(); i++) {
+                delete.setParameter(i + 2, chunk.get(i));
+            }
+            delete.executeUpdate();
+        });
+
+        Set<String> toAdd = new HashSet<>(after);
+        toAdd.removeAll(before);
+        chunks(toAdd).forEach(chunk -> {
+            int param = 1;
+            Query insert = entityManager.createNativeQuery(
+                    "INSERT INTO " + table.name()
+                    + (table.withAnyType() ? "(anyType_id, any_id, " : "(any_id, ") + table.ownerColumn() + ") "
+                    + "SELECT " + (table.withAnyType() ? "?, ?, " : "?, ") + "id FROM " + table.ownerTable()
+                    + " WHERE id IN (" + chunk.stream().map(key -> "?").collect(Collectors.joining(",")) + ")");
+            if (table.withAnyType()) {
+                insert.setParameter(param++, any.getType().getKey());
+            }
+            insert.setParameter(param++, any.getKey());
+            for (String key : chunk) {
+                insert.setParameter(param++, key);
+            }
+            insert.executeUpdate();
+        });
+    }
+
+    protected static void setParameters(final Query query, final int first, final List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(first + i, parameters.get(i));
+        }
+    }
+
+    /**
+     * Set-based refresh of the dynamic members of the given owner: only the differences between current members
+     * and any objects matching the given queries are read, via {@code NOT IN} and {@code NOT EXISTS} sub-queries,
+     * so that each query is evaluated once per direction and the full set of matching keys is never read; such
+     * differences are then applied in chunks, via one {@code DELETE} and one {@code INSERT ... SELECT} statement per
+     * chunk and table of any objects.
+     *
+     * @param table dynamic membership table
+     * @param ownerKey owner key
+     * @param anyType any type key, only considered if the table has the {@code anyType_id} column
+     * @param anyTypeKinds kinds of the any objects matching the given queries
+     * @param keysQueries native queries selecting the keys of matching any objects, with parameters
+     * @return keys of added and removed members
+     */
+    public Pair<Set<String>, Set<String>> refresh(
+            final MembersTable table,
+            final String ownerKey,
+            final String anyType,
+            final Collection<AnyTypeKind> anyTypeKinds,
+            final List<Pair<String, List<Object>>> keysQueries) {
+
+        String matching = keysQueries.stream().map(Pair::getLeft).collect(Collectors.joining(" UNION "));
+        List<Object> matchingParameters = keysQueries.stream().flatMap(query -> query.getRight().stream()).toList();
+        String members = "SELECT any_id FROM " + table.name() + " WHERE " + table.ownerColumn() + "=?"
+                + (table.withAnyType() ? " AND anyType_id=?" : "");
+        List<Object> membersParameters = table.withAnyType() ? List.of(ownerKey, anyType) : List.of(ownerKey);
+
+        // 1. members no longer matching
+        Query findRemoved = entityManager.createNativeQuery(
+                members + " AND any_id NOT IN (SELECT dm.any_id FROM (" + matching + ") dm)");
+        setParameters(findRemoved, 1, membersParameters);
+        setParameters(findRemoved, 1 + membersParameters.size(), matchingParameters);
+        @SuppressWarnings("unchecked")
+        List<Object> removedResult = findRemoved.getResultList();
+        Set<String> removed = removedResult.stream().map(Object::toString).collect(Collectors.toSet());
+
+        // 2. matching any objects not yet members
+        Query findAdded = entityManager.createNativeQuery(
+                "SELECT dm.any_id FROM (" + matching + ") dm WHERE NOT EXISTS "
+                + "(SELECT 1 FROM " + table.name() + " m "
+                + "WHERE m." + table.ownerColumn() + "=? AND m.any_id=dm.any_id)");
+        setParameters(findAdded, 1, matchingParameters);
+        findAdded.setParameter(1 + matchingParameters.size(), ownerKey);
+        @SuppressWarnings("unchecked")
+        List<Object> addedResult = findAdded.getResultList();
+        Set<String> added = addedResult.stream().map(Object::toString).collect(Collectors.toSet());
+
+        // 3. apply differences
+        chunks(removed).forEach(chunk -> {
+            Query delete = entityManager.createNativeQuery(
+                    "DELETE FROM " + table.name() + " WHERE " + table.ownerColumn() + "=? AND any_id IN ("
+                    + chunk.stream().map(key -> "?").collect(Collectors.joining(",")) + ")");
+            delete.setParameter(1, ownerKey);
+            setParameters(delete, 2, List.copyOf(chunk));
+            delete.executeUpdate();
+        });
+        Set<String> anyTables = anyTypeKinds.stream().
+                map(kind -> new SearchSupport(kind).table().name()).collect(Collectors.toSet());
+        chunks(added).forEach(chunk -> anyTables.forEach(anyTable -> {
+            int param = 1;
+            Query insert = entityManager.createNativeQuery(
+                    "INSERT INTO " + table.name()
+                    + (table.withAnyType() ? "(anyType_id, any_id, " : "(any_id, ") + table.ownerColumn() + ") "
+                    + "SELECT " + (table.withAnyType() ? "?, " : "") + "id, ? FROM " + anyTable
+                    + " WHERE id IN (" + chunk.stream().map(key -> "?").collect(Collectors.joining(",")) + ")");
+            if (table.withAnyType()) {
+                insert.setParameter(param++, anyType);
+            }
+            insert.setParameter(param++, ownerKey);
+            setParameters(insert, param, List.copyOf(chunk));
+            insert.executeUpdate();
+        }));
+
+        return Pair.of(added, removed);
+    }
+}
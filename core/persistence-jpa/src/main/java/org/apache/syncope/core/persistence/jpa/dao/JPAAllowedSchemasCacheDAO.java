@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.dao.AllowedSchemasCacheDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.Schema;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
+import org.apache.syncope.core.persistence.jpa.openjpa.RemoteCommitCacheEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+public class JPAAllowedSchemasCacheDAO implements AllowedSchemasCacheDAO {
+
+    /**
+     * Cache key; the version is bumped whenever any type, any type class or schema definitions change, so that
+     * entries computed concurrently with such changes are never served afterwards.
+     *
+     * @param domain domain
+     * @param version definitions version
+     * @param anyType any type key
+     * @param auxClasses sorted auxiliary class keys
+     * @param groups sorted membership group keys
+     * @param reference schema kind
+     */
+    public record Key(
+            String domain,
+            long version,
+            String anyType,
+            List<String> auxClasses,
+            List<String> groups,
+            Class<? extends Schema> reference) {
+
+    }
+
+    /**
+     * Schema keys allowed for self and for each membership group key.
+     *
+     * @param forSelf schema keys allowed for self
+     * @param forMemberships schema keys allowed for each membership group key
+     */
+    public record Value(Set<String> forSelf, Map<String, Set<String>> forMemberships) {
+
+        public Value {
+            forSelf = Set.copyOf(forSelf);
+            forMemberships = Map.copyOf(forMemberships);
+        }
+    }
+
+    protected final AtomicLong version = new AtomicLong();
+
+    protected final Cache<Key, Value> cache;
+
+    public JPAAllowedSchemasCacheDAO(final String cacheSpec) {
+        this.cache = StringUtils.isBlank(cacheSpec)
+                ? null
+                : Caffeine.from(cacheSpec).recordStats().build();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public Key key(
+            final String anyType,
+            final Collection<String> auxClasses,
+            final Collection<String> groups,
+            final Class<? extends Schema> reference) {
+
+        return new Key(
+                AuthContextUtils.getDomain(),
+                version.get(),
+                anyType,
+                auxClasses.stream().sorted().toList(),
+                groups.stream().sorted().toList(),
+                reference);
+    }
+
+    public Optional<Value> get(final Key key) {
+        return Optional.ofNullable(cache).map(c -> c.getIfPresent(key));
+    }
+
+    public void put(final Key key, final Value value) {
+        Optional.ofNullable(cache).ifPresent(c -> c.put(key, value));
+    }
+
+    protected void invalidate(final EntityLifecycleEvent<Entity> event) {
+        if (cache == null) {
+            return;
+        }
+
+        if (event.getEntity() instanceof AnyType
+                || event.getEntity() instanceof AnyTypeClass
+                || event.getEntity() instanceof Schema) {
+
+            version.incrementAndGet();
+            cache.invalidateAll();
+        } else if (event.getEntity() instanceof Group group) {
+            cache.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain())
+                    && key.groups().contains(group.getKey()));
+        }
+    }
+
+    /**
+     * Invalidates as soon as the change is performed, so that further lookups within the same transaction are
+     * consistent with it.
+     *
+     * @param event entity lifecycle event
+     */
+    @EventListener
+    public void entityChanged(final EntityLifecycleEvent<Entity> event) {
+        invalidate(event);
+    }
+
+    /**
+     * Invalidates again once the change is committed or rolled back, to discard entries computed meanwhile by
+     * concurrent transactions.
+     *
+     * @param event entity lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void entityChangeCompleted(final EntityLifecycleEvent<Entity> event) {
+        invalidate(event);
+    }
+
+    /**
+     * Invalidates upon changes performed by other nodes in the OpenJPA cluster.
+     *
+     * @param event remote commit event
+     */
+    @EventListener
+    public void remoteCommit(final RemoteCommitCacheEvent event) {
+        if (cache == null) {
+            return;
+        }
+
+        if (event.affects(AnyType.class) || event.affects(AnyTypeClass.class) || event.affects(Schema.class)) {
+            version.incrementAndGet();
+            cache.invalidateAll();
+        } else if (event.affects(TypeExtension.class)) {
+            cache.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain()));
+        } else if (event.affects(Group.class)) {
+            event.getKeys(Group.class).ifPresentOrElse(
+                    groups -> cache.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain())
+                    && key.groups().stream().anyMatch(groups::contains)),
+                    () -> cache.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain())));
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        result.put("enabled", isEnabled());
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+
+            result.put("size", cache.estimatedSize());
+            result.put("hits", stats.hitCount());
+            result.put("misses", stats.missCount());
+            result.put("hit_rate", stats.hitRate());
+            result.put("evictions", stats.evictionCount());
+        }
+
+        return result;
+    }
+
+    @Override
+    public void clearCache() {
+        Optional.ofNullable(cache).ifPresent(Cache::invalidateAll);
+    }
+}
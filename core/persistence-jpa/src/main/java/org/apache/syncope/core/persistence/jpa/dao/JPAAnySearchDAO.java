@@ -18,38 +18,58 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Query;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.openjpa.jdbc.meta.MappingRepository;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
 import org.apache.openjpa.jdbc.sql.OracleDictionary;
+import org.apache.openjpa.jdbc.sql.PostgresDictionary;
 import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.persistence.OpenJPAQuery;
 import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AbstractSearchCond;
 import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
 import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
@@ -70,10 +90,13 @@ import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
-import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Search engine implementation for users, groups and any objects, based on self-updating SQL views.
@@ -85,12 +108,28 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             + "lastChangeDate,lastModifier,status,changePwdDate,cipherAlgorithm,failedLogins,"
             + "lastLoginDate,mustChangePassword,suspended,username";
 
+    protected static final Pattern NATIVE_PARAMETER = Pattern.compile("\\?(\\d+)");
+
+    protected static final Set<Class<? extends AbstractSearchCond>> PLAN_CACHEABLE_LEAVES = Set.of(
+            AnyTypeCond.class, AuxClassCond.class, RelationshipTypeCond.class, RoleCond.class, PrivilegeCond.class,
+            DynRealmCond.class, ResourceCond.class, AttrCond.class, AnyCond.class);
+
+    protected static final JsonMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
     private static final Map<String, Boolean> IS_ORACLE = new ConcurrentHashMap<>();
 
+    private static final Map<String, Boolean> IS_POSTGRESQL = new ConcurrentHashMap<>();
+
+    protected final AnySearchStoreDAO searchStoreDAO;
+
+    protected final JPASearchPlanCacheDAO searchPlanCacheDAO;
+
     protected final EntityManagerFactory entityManagerFactory;
 
     protected final EntityManager entityManager;
 
+    protected final AnyGraphLoader anyGraphLoader;
+
     public JPAAnySearchDAO(
             final RealmDAO realmDAO,
             final DynRealmDAO dynRealmDAO,
@@ -101,6 +140,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             final EntityFactory entityFactory,
             final AnyUtilsFactory anyUtilsFactory,
             final PlainAttrValidationManager validator,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPASearchPlanCacheDAO searchPlanCacheDAO,
             final EntityManagerFactory entityManagerFactory,
             final EntityManager entityManager) {
 
@@ -114,19 +155,33 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 entityFactory,
                 anyUtilsFactory,
                 validator);
+        this.searchStoreDAO = searchStoreDAO;
+        this.searchPlanCacheDAO = searchPlanCacheDAO;
         this.entityManagerFactory = entityManagerFactory;
         this.entityManager = entityManager;
+        this.anyGraphLoader = new AnyGraphLoader(entityManager);
+    }
+
+    @Override
+    protected <A extends Any<?>> List<A> findByKeys(final List<String> keys, final AnyTypeKind kind) {
+        return anyGraphLoader.load(anyUtilsFactory.getInstance(kind).<A>anyClass(), keys);
+    }
+
+    protected DBDictionary getDBDictionary() {
+        OpenJPAEntityManagerFactorySPI emfspi = entityManagerFactory.unwrap(OpenJPAEntityManagerFactorySPI.class);
+        return ((MappingRepository) emfspi.getConfiguration().getMetaDataRepositoryInstance()).getDBDictionary();
     }
 
     protected boolean isOracle() {
         return IS_ORACLE.computeIfAbsent(
                 AuthContextUtils.getDomain(),
-                k -> {
-                    OpenJPAEntityManagerFactorySPI emfspi = entityManagerFactory.unwrap(
-                            OpenJPAEntityManagerFactorySPI.class);
-                    return ((MappingRepository) emfspi.getConfiguration().
-                            getMetaDataRepositoryInstance()).getDBDictionary() instanceof OracleDictionary;
-                });
+                k -> getDBDictionary() instanceof OracleDictionary);
+    }
+
+    protected boolean isPostgreSQL() {
+        return IS_POSTGRESQL.computeIfAbsent(
+                AuthContextUtils.getDomain(),
+                k -> getDBDictionary() instanceof PostgresDictionary);
     }
 
     protected String buildAdminRealmsFilter(
@@ -157,24 +212,21 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         Set<String> groupOwners = new HashSet<>();
 
         if (recursive) {
-            adminRealms.forEach(realmPath -> RealmUtils.parseGroupOwnerRealm(realmPath).ifPresentOrElse(
-                    goRealm -> groupOwners.add(goRealm.getRight()),
-                    () -> {
-                        if (realmPath.startsWith("/")) {
-                            Realm realm = realmDAO.findByFullPath(realmPath).orElseThrow(() -> {
-                                SyncopeClientException noRealm =
-                                        SyncopeClientException.build(ClientExceptionType.InvalidRealm);
-                                noRealm.getElements().add("Invalid realm specified: " + realmPath);
-                                return noRealm;
-                            });
+            RealmScope adminScope = RealmScope.of(adminRealms);
+
+            groupOwners.addAll(adminScope.getGroupOwners());
+            adminScope.getRealms().forEach(realmPath -> {
+                Realm realm = realmDAO.findByFullPath(realmPath).orElseThrow(() -> {
+                    SyncopeClientException noRealm = SyncopeClientException.build(ClientExceptionType.InvalidRealm);
+                    noRealm.getElements().add("Invalid realm specified: " + realmPath);
+                    return noRealm;
+                });
 
-                            realmKeys.addAll(realmDAO.findDescendants(realm.getFullPath(), base.getFullPath()));
-                        } else {
-                            dynRealmDAO.findById(realmPath).ifPresentOrElse(
-                                    dynRealm -> dynRealmKeys.add(dynRealm.getKey()),
-                                    () -> LOG.warn("Ignoring invalid dynamic realm {}", realmPath));
-                        }
-                    }));
+                realmKeys.addAll(realmDAO.findDescendants(realm.getFullPath(), base.getFullPath()));
+            });
+            adminScope.getDynRealms().forEach(dynRealmKey -> dynRealmDAO.findById(dynRealmKey).ifPresentOrElse(
+                    dynRealm -> dynRealmKeys.add(dynRealm.getKey()),
+                    () -> LOG.warn("Ignoring invalid dynamic realm {}", dynRealmKey)));
             if (!dynRealmKeys.isEmpty()) {
                 realmKeys.clear();
             }
@@ -188,11 +240,246 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
     }
 
     SearchSupport buildSearchSupport(final AnyTypeKind kind) {
-        return new SearchViewSupport(kind);
+        return searchStoreDAO.isEnabled() ? new SearchStoreSupport(kind) : new SearchViewSupport(kind);
     }
 
-    @Override
-    protected int doCount(
+    /**
+     * Whether generated queries can be cached and reused for search conditions with the same shape; subclasses
+     * generating queries which depend on more than the condition shape should return {@code false}.
+     *
+     * @return whether the search plan cache is to be used
+     */
+    protected boolean isPlanCacheEnabled() {
+        return searchPlanCacheDAO.isEnabled();
+    }
+
+    protected boolean appendPlanShape(final SearchCond cond, final StringBuilder shape) {
+        if (cond.getType() == null) {
+            return false;
+        }
+
+        switch (cond.getType()) {
+            case LEAF, NOT_LEAF -> {
+                AbstractSearchCond leaf = cond.getLeaf(AbstractSearchCond.class).orElse(null);
+                if (leaf == null || !PLAN_CACHEABLE_LEAVES.contains(leaf.getClass())) {
+                    return false;
+                }
+
+                shape.append(cond.getType()).append('(').append(leaf.getClass().getSimpleName());
+                if (leaf instanceof AttrCond attrCond) {
+                    // realm full paths are resolved while generating the query
+                    if (attrCond instanceof AnyCond && JAXRSService.PARAM_REALM.equals(attrCond.getSchema())
+                            && (attrCond.getExpression() == null
+                            || !SyncopeConstants.UUID_PATTERN.matcher(attrCond.getExpression()).matches())) {
+
+                        return false;
+                    }
+
+                    shape.append(':').append(attrCond.getSchema()).append(':').append(attrCond.getType());
+                }
+                shape.append(')');
+                return true;
+            }
+
+            case AND, OR -> {
+                shape.append(cond.getType()).append('(');
+                boolean cacheable = appendPlanShape(cond.getLeft(), shape)
+                        && appendPlanShape(cond.getRight(), shape.append(','));
+                shape.append(')');
+                return cacheable;
+            }
+
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Builds the search plan cache key, out of the search condition shape - e.g. leaf types, schemas and operators,
+     * but not the actual values - and everything else affecting query generation.
+     *
+     * @param cond search condition
+     * @param svs search support
+     * @param mode query mode, e.g. count or search with given ordering
+     * @return cache key, or {@code null} if the given search condition cannot be cached
+     */
+    protected String getPlanKey(final SearchCond cond, final SearchSupport svs, final String mode) {
+        StringBuilder shape = new StringBuilder();
+        if (!appendPlanShape(cond, shape)) {
+            return null;
+        }
+
+        return AuthContextUtils.getDomain() + '|' + svs.getClass().getSimpleName() + '|' + svs.anyTypeKind
+                + '|' + mode + '|' + shape;
+    }
+
+    /**
+     * Binding recipe for cached search plans: sets parameter values out of the given search condition in the same
+     * order as query generation does.
+     *
+     * @param cond search condition
+     * @param svs search support
+     * @param parameters query parameters
+     */
+    protected void bindPlanParameters(
+            final SearchCond cond,
+            final SearchSupport svs,
+            final List<Object> parameters) {
+
+        switch (cond.getType()) {
+            case LEAF, NOT_LEAF ->
+                cond.getLeaf(AbstractSearchCond.class).ifPresent(leaf -> bindPlanParameters(leaf, svs, parameters));
+
+            case AND, OR -> {
+                bindPlanParameters(cond.getLeft(), svs, parameters);
+                bindPlanParameters(cond.getRight(), svs, parameters);
+            }
+
+            default -> {
+            }
+        }
+    }
+
+    protected void bindPlanParameters(
+            final AbstractSearchCond leaf,
+            final SearchSupport svs,
+            final List<Object> parameters) {
+
+        if (leaf instanceof AnyTypeCond anyTypeCond) {
+            if (AnyTypeKind.ANY_OBJECT == svs.anyTypeKind) {
+                setParameter(parameters, anyTypeCond.getAnyTypeKey());
+            }
+        } else if (leaf instanceof AuxClassCond auxClassCond) {
+            setParameter(parameters, auxClassCond.getAuxClass());
+        } else if (leaf instanceof RelationshipTypeCond relationshipTypeCond) {
+            if (AnyTypeKind.GROUP != svs.anyTypeKind) {
+                setParameter(parameters, relationshipTypeCond.getRelationshipTypeKey());
+                setParameter(parameters, relationshipTypeCond.getRelationshipTypeKey());
+            }
+        } else if (leaf instanceof RoleCond roleCond) {
+            if (AnyTypeKind.USER == svs.anyTypeKind) {
+                setParameter(parameters, roleCond.getRole());
+                setParameter(parameters, roleCond.getRole());
+            }
+        } else if (leaf instanceof PrivilegeCond privilegeCond) {
+            if (AnyTypeKind.USER == svs.anyTypeKind) {
+                setParameter(parameters, privilegeCond.getPrivilege());
+                setParameter(parameters, privilegeCond.getPrivilege());
+            }
+        } else if (leaf instanceof DynRealmCond dynRealmCond) {
+            setParameter(parameters, dynRealmCond.getDynRealm());
+        } else if (leaf instanceof ResourceCond resourceCond) {
+            setParameter(parameters, resourceCond.getResource());
+            if (svs.anyTypeKind == AnyTypeKind.USER || svs.anyTypeKind == AnyTypeKind.ANY_OBJECT) {
+                setParameter(parameters, resourceCond.getResource());
+            }
+        } else if (leaf instanceof AnyCond anyCond) {
+            Triple<PlainSchema, PlainAttrValue, AnyCond> checked = check(anyCond, svs.anyTypeKind);
+            bindPlanParameters(checked.getRight(), checked.getLeft(), checked.getMiddle(), parameters);
+        } else if (leaf instanceof AttrCond attrCond) {
+            Pair<PlainSchema, PlainAttrValue> checked = check(attrCond, svs.anyTypeKind);
+            bindPlanParameters(attrCond, checked.getLeft(), checked.getRight(), parameters);
+        }
+    }
+
+    protected void bindPlanParameters(
+            final AttrCond cond,
+            final PlainSchema schema,
+            final PlainAttrValue attrValue,
+            final List<Object> parameters) {
+
+        switch (cond.getType()) {
+            case ISNULL, ISNOTNULL -> {
+            }
+
+            case ILIKE, LIKE -> {
+                if (schema.getType() == AttrSchemaType.String || schema.getType() == AttrSchemaType.Enum) {
+                    setParameter(parameters, cond.getExpression());
+                }
+            }
+
+            default ->
+                setParameter(parameters, attrValue.getValue());
+        }
+    }
+
+    protected static String shiftParameters(final String query, final int offset) {
+        if (offset == 0) {
+            return query;
+        }
+
+        Matcher matcher = NATIVE_PARAMETER.matcher(query);
+        StringBuilder shifted = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(shifted, "?" + (Integer.parseInt(matcher.group(1)) + offset));
+        }
+        matcher.appendTail(shifted);
+        return shifted.toString();
+    }
+
+    /**
+     * Returns the query for the given search condition, either from the search plan cache - only setting parameter
+     * values - or by generating it.
+     *
+     * @param cond search condition
+     * @param svs search support
+     * @param mode query mode, e.g. count or search with given ordering
+     * @param parameters query parameters, already including the ones required by the admin realms filter
+     * @param generator generates the query, setting parameter values
+     * @return query split around the admin realms filter
+     */
+    protected JPASearchPlanCacheDAO.Plan getPlan(
+            final SearchCond cond,
+            final SearchSupport svs,
+            final String mode,
+            final List<Object> parameters,
+            final Supplier<JPASearchPlanCacheDAO.Plan> generator) {
+
+        String key = isPlanCacheEnabled() ? getPlanKey(cond, svs, mode) : null;
+        if (key == null) {
+            return generator.get();
+        }
+
+        int offset = parameters.size();
+
+        long version = searchPlanCacheDAO.version();
+        Optional<JPASearchPlanCacheDAO.Plan> cached = searchPlanCacheDAO.get(key);
+        if (cached.isPresent()) {
+            bindPlanParameters(cond, svs, parameters);
+            return new JPASearchPlanCacheDAO.Plan(
+                    shiftParameters(cached.get().head(), offset), shiftParameters(cached.get().tail(), offset));
+        }
+
+        JPASearchPlanCacheDAO.Plan plan = generator.get();
+
+        // only cache if the binding recipe reproduces exactly the parameters set by query generation
+        List<Object> generated = parameters.subList(offset, parameters.size());
+        List<Object> bound = new ArrayList<>();
+        bindPlanParameters(cond, svs, bound);
+        if (bound.size() == generated.size()
+                && IntStream.range(0, bound.size()).allMatch(i -> Objects.deepEquals(bound.get(i), generated.get(i)))) {
+
+            searchPlanCacheDAO.put(version, key, new JPASearchPlanCacheDAO.Plan(
+                    shiftParameters(plan.head(), -offset), shiftParameters(plan.tail(), -offset)));
+        } else {
+            LOG.debug("Not caching search plan for {}: parameters {} do not match {}", key, generated, bound);
+        }
+
+        return plan;
+    }
+
+    /**
+     * Builds the native query counting the results of the given search condition.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param kind any object
+     * @return query string and parameters
+     */
+    protected Pair<String, List<Object>> buildCountQuery(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
@@ -206,69 +493,152 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         Triple<String, Set<String>, Set<String>> filter =
                 getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
 
-        // 1. get the query string from the search condition
-        Pair<StringBuilder, Set<String>> queryInfo =
-                getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
+        SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
 
-        StringBuilder queryString = queryInfo.getLeft();
+        JPASearchPlanCacheDAO.Plan plan = getPlan(effectiveCond, svs, "COUNT", parameters, () -> {
+            // 1. get the query string from the search condition
+            Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
+
+            StringBuilder queryString = queryInfo.getLeft();
+
+            // 2. take realms into account
+            queryString.insert(0, "SELECT u.any_id FROM (");
+            queryString.append(") u WHERE ");
+
+            // 3. prepare the COUNT query
+            queryString.insert(0, "SELECT COUNT(any_id) FROM (");
+
+            return new JPASearchPlanCacheDAO.Plan(queryString.toString(), ") count_any_id");
+        });
+
+        return Pair.of(plan.head() + filter.getLeft() + plan.tail(), parameters);
+    }
 
-        // 2. take realms into account
-        queryString.insert(0, "SELECT u.any_id FROM (");
-        queryString.append(") u WHERE ").append(filter.getLeft());
+    @Override
+    protected int doCount(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
 
-        // 3. prepare the COUNT query
-        queryString.insert(0, "SELECT COUNT(any_id) FROM (");
-        queryString.append(") count_any_id");
+        Pair<String, List<Object>> queryInfo = buildCountQuery(base, recursive, adminRealms, cond, kind);
 
-        Query countQuery = entityManager.createNativeQuery(queryString.toString());
-        fillWithParameters(countQuery, parameters);
+        Query countQuery = entityManager.createNativeQuery(queryInfo.getLeft());
+        fillWithParameters(countQuery, queryInfo.getRight());
 
         return ((Number) countQuery.getSingleResult()).intValue();
     }
 
+    /**
+     * With PostgreSQL, the row estimate reported by the query planner for the count query is returned, without
+     * actually executing it; the exact count is returned otherwise.
+     */
     @Override
-    @SuppressWarnings("unchecked")
-    protected <T extends Any<?>> List<T> doSearch(
+    protected Pair<Integer, CountMode> doEstimateCount(
             final Realm base,
             final boolean recursive,
             final Set<String> adminRealms,
             final SearchCond cond,
-            final Pageable pageable,
             final AnyTypeKind kind) {
 
+        if (!isPostgreSQL()) {
+            return super.doEstimateCount(base, recursive, adminRealms, cond, kind);
+        }
+
+        Pair<String, List<Object>> queryInfo = buildCountQuery(base, recursive, adminRealms, cond, kind);
         try {
-            List<Object> parameters = new ArrayList<>();
+            Query explainQuery = entityManager.createNativeQuery("EXPLAIN (FORMAT JSON) " + queryInfo.getLeft());
+            fillWithParameters(explainQuery, queryInfo.getRight());
 
-            SearchSupport svs = buildSearchSupport(kind);
+            // the top node is the COUNT aggregate, the estimate is found on the node below
+            JsonNode plan = MAPPER.readTree(explainQuery.getSingleResult().toString()).path(0).path("Plan");
+            JsonNode counted = plan.path("Plans").path(0);
+            return Pair.of((counted.isMissingNode() ? plan : counted).path("Plan Rows").asInt(), CountMode.ESTIMATED);
+        } catch (Exception e) {
+            LOG.debug("Could not estimate count, reverting to exact count", e);
+            return super.doEstimateCount(base, recursive, adminRealms, cond, kind);
+        }
+    }
 
-            Triple<String, Set<String>, Set<String>> filter =
-                    getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
+    /**
+     * Builds the native query matching the given search condition, returning the any object key as first column,
+     * followed by the values of the given ordering clauses.
+     *
+     * @param base Realm to start searching from
+     * @param recursive whether search should recursively include results from child Realms
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param orderBy ordering clauses
+     * @param kind any object
+     * @return query string and parameters
+     */
+    protected Pair<String, List<Object>> buildSearchQuery(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final Stream<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        List<Object> parameters = new ArrayList<>();
+
+        SearchSupport svs = buildSearchSupport(kind);
 
+        Triple<String, Set<String>, Set<String>> filter =
+                getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
+
+        SearchCond effectiveCond = buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind);
+
+        List<Sort.Order> clauses = orderBy.toList();
+        String mode = clauses.stream().
+                map(clause -> clause.getProperty() + ' ' + clause.getDirection()).
+                collect(Collectors.joining(",", "SEARCH ", ""));
+
+        JPASearchPlanCacheDAO.Plan plan = getPlan(effectiveCond, svs, mode, parameters, () -> {
             // 1. get the query string from the search condition
-            Pair<StringBuilder, Set<String>> queryInfo =
-                    getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
+            Pair<StringBuilder, Set<String>> queryInfo = getQuery(effectiveCond, parameters, svs);
 
             StringBuilder queryString = queryInfo.getLeft();
 
             LOG.debug("Query: {}, parameters: {}", queryString, parameters);
 
             // 2. take into account realms and ordering
-            OrderBySupport obs = parseOrderBy(svs, pageable.getSort().get());
+            OrderBySupport obs = parseOrderBy(svs, clauses.stream());
             if (queryString.charAt(0) == '(') {
                 queryString.insert(0, buildSelect(obs));
             } else {
                 queryString.insert(0, buildSelect(obs).append('('));
                 queryString.append(')');
             }
-            queryString.
-                    append(buildWhere(svs, obs)).
-                    append(filter.getLeft()).
-                    append(buildOrderBy(obs));
+            queryString.append(buildWhere(svs, obs));
+
+            return new JPASearchPlanCacheDAO.Plan(queryString.toString(), buildOrderBy(obs).toString());
+        });
+
+        String queryString = plan.head() + filter.getLeft() + plan.tail();
 
-            LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+        LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+
+        return Pair.of(queryString, parameters);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends Any<?>> List<T> doSearch(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final Pageable pageable,
+            final AnyTypeKind kind) {
+
+        try {
+            Pair<String, List<Object>> queryInfo =
+                    buildSearchQuery(base, recursive, adminRealms, cond, pageable.getSort().get(), kind);
 
             // 3. prepare the search query
-            Query query = entityManager.createNativeQuery(queryString.toString());
+            Query query = entityManager.createNativeQuery(queryInfo.getLeft());
 
             if (pageable.isPaged()) {
                 query.setFirstResult(pageable.getPageSize() * pageable.getPageNumber());
@@ -276,7 +646,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             }
 
             // 4. populate the search query with parameter values
-            fillWithParameters(query, parameters);
+            fillWithParameters(query, queryInfo.getRight());
 
             // 5. Prepare the result (avoiding duplicates)
             return buildResult(query.getResultList(), kind);
@@ -289,6 +659,268 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return List.of();
     }
 
+    @Override
+    protected Stream<String> doSearchKeys(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        Pair<String, List<Object>> queryInfo =
+                buildSearchQuery(base, recursive, adminRealms, cond, orderBy.stream(), kind);
+
+        // run on the connection bound to the current transaction, fetching keys lazily in batches
+        OpenJPAQuery<?> query = OpenJPAPersistence.cast(entityManager.createNativeQuery(queryInfo.getLeft()));
+        query.getFetchPlan().setFetchBatchSize(AnyDAO.DEFAULT_PAGE_SIZE);
+        fillWithParameters(query, queryInfo.getRight());
+
+        // lazy result lists do not know their size in advance
+        List<?> result = query.getResultList();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(result.iterator(), Spliterator.ORDERED), false).
+                map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : ((String) key)).
+                onClose(() -> OpenJPAPersistence.close(result));
+    }
+
+    /**
+     * Native query parameters are numbered (?1, ?2, ...) while JDBC requires them in order of appearance; boolean
+     * values are also converted, as done by {@link #fillWithParameters(Query, List)}.
+     *
+     * @param queryInfo native query string and parameters
+     * @return JDBC query string and parameters
+     */
+    protected Pair<String, List<Object>> toJdbc(final Pair<String, List<Object>> queryInfo) {
+        List<Object> args = new ArrayList<>();
+        Matcher matcher = NATIVE_PARAMETER.matcher(queryInfo.getLeft());
+        StringBuilder queryString = new StringBuilder();
+        while (matcher.find()) {
+            Object parameter = queryInfo.getRight().get(Integer.parseInt(matcher.group(1)) - 1);
+            args.add(parameter instanceof Boolean aBoolean ? (aBoolean ? 1 : 0) : parameter);
+            matcher.appendReplacement(queryString, "?");
+        }
+        matcher.appendTail(queryString);
+
+        return Pair.of(queryString.toString(), args);
+    }
+
+    @Override
+    protected Optional<Pair<String, List<Object>>> doKeysQuery(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final AnyTypeKind kind) {
+
+        try {
+            return Optional.of(toJdbc(buildSearchQuery(base, recursive, adminRealms, cond, Stream.empty(), kind)));
+        } catch (Exception e) {
+            LOG.error("While building keys query for {}", kind, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Appends the any object key as last ordering clause, unless already present, so that the resulting ordering
+     * is total and can be used for keyset pagination.
+     *
+     * @param orderBy ordering clauses
+     * @return ordering clauses including the key tie-breaker
+     */
+    protected List<Sort.Order> seekOrderBy(final List<Sort.Order> orderBy) {
+        List<Sort.Order> seekOrderBy = new ArrayList<>(orderBy);
+        if (orderBy.stream().noneMatch(clause -> "key".equals(clause.getProperty()))) {
+            seekOrderBy.add(Sort.Order.asc("key"));
+        }
+        return seekOrderBy;
+    }
+
+    /**
+     * Returns an expression evaluating to 1 for NULL values of the given ordering item, 0 otherwise: in keyset mode
+     * each ordering clause is preceded by such expression, so that NULL values are sorted last regardless of the
+     * DBMS default and of the ordering direction, and seek predicates can consistently deal with them.
+     *
+     * @param item ordering item
+     * @return NULL flag expression
+     */
+    protected String nullFlag(final OrderBySupport.Item item) {
+        return "CASE WHEN " + item.select + " IS NULL THEN 1 ELSE 0 END";
+    }
+
+    protected StringBuilder buildSeekSelect(final OrderBySupport obs) {
+        StringBuilder select = new StringBuilder("SELECT DISTINCT u.any_id");
+
+        obs.items.forEach(item -> select.append(',').append(item.select));
+        // ORDER BY expressions must appear in the select list with DISTINCT
+        obs.items.forEach(item -> select.append(',').append(nullFlag(item)));
+        select.append(" FROM ");
+
+        return select;
+    }
+
+    protected StringBuilder buildSeekOrderBy(final OrderBySupport obs) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+
+        obs.items.forEach(item -> orderBy.append(nullFlag(item)).append(" ASC,").append(item.orderBy).append(','));
+        orderBy.deleteCharAt(orderBy.length() - 1);
+
+        return orderBy;
+    }
+
+    /**
+     * Builds the seek predicate {@code (c1, ..., cn) > (?, ..., ?)}, expanded as
+     * {@code c1 > ? OR (c1 = ? AND c2 > ?) OR ...} for portability across DBMSes, and taking the direction of each
+     * ordering clause into account.
+     * NULL values are sorted last, as per {@link #buildSeekOrderBy(OrderBySupport)}: hence NULL values always follow
+     * a non-NULL position value, while nothing follows a NULL position value but other NULL values.
+     *
+     * @param obs order by support, whose items are expected to match the given ordering clauses
+     * @param orderBy ordering clauses
+     * @param position position to seek after
+     * @param parameters query parameters
+     * @return seek predicate
+     */
+    protected String buildSeekPredicate(
+            final OrderBySupport obs,
+            final List<Sort.Order> orderBy,
+            final KeysetScrollPosition position,
+            final List<Object> parameters) {
+
+        if (obs.items.size() != orderBy.size()) {
+            SyncopeClientException invalidSearch =
+                    SyncopeClientException.build(ClientExceptionType.InvalidSearchParameters);
+            invalidSearch.getElements().add("Cannot build keyset predicate from " + orderBy);
+            throw invalidSearch;
+        }
+
+        List<String> disjuncts = new ArrayList<>();
+        for (int i = 0; i < orderBy.size(); i++) {
+            Object value = seekValue(position, orderBy.get(i));
+            if (value == null) {
+                continue;
+            }
+
+            StringBuilder disjunct = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                Object previous = seekValue(position, orderBy.get(j));
+                disjunct.append(obs.items.get(j).select);
+                if (previous == null) {
+                    disjunct.append(" IS NULL");
+                } else {
+                    disjunct.append("=?").append(setParameter(parameters, previous));
+                }
+                disjunct.append(" AND ");
+            }
+            disjunct.append('(').append(obs.items.get(i).select).
+                    append(orderBy.get(i).isAscending() ? ">" : "<").
+                    append('?').append(setParameter(parameters, value)).
+                    append(" OR ").append(obs.items.get(i).select).append(" IS NULL))");
+            disjuncts.add(disjunct.toString());
+        }
+
+        // the any object key, which is never NULL, is always among the ordering clauses
+        return disjuncts.stream().collect(Collectors.joining(" OR ", "(", ")"));
+    }
+
+    protected Object seekValue(final KeysetScrollPosition position, final Sort.Order clause) {
+        if (!position.getKeys().containsKey(clause.getProperty())) {
+            throw new IllegalArgumentException("Continuation token does not match ordering: missing "
+                    + clause.getProperty());
+        }
+        return position.getKeys().get(clause.getProperty());
+    }
+
+    /**
+     * Builds the result window out of the raw native query results, whose first column is expected to be the any
+     * object key, followed by the values of the given ordering clauses.
+     *
+     * @param <T> any
+     * @param raw native query results, including one extra row (if available) to detect further results
+     * @param orderBy ordering clauses
+     * @param size requested window size
+     * @param kind any type kind
+     * @return result window
+     */
+    protected <T extends Any<?>> Window<T> buildWindow(
+            final List<Object> raw,
+            final List<Sort.Order> orderBy,
+            final int size,
+            final AnyTypeKind kind) {
+
+        List<Object> rows = raw.size() > size ? raw.subList(0, size) : raw;
+
+        Map<String, Map<String, Object>> positions = new HashMap<>();
+        rows.stream().filter(Object[].class::isInstance).map(Object[].class::cast).forEach(row -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < orderBy.size(); i++) {
+                keys.put(orderBy.get(i).getProperty(), row[i + 1]);
+            }
+            positions.put((String) row[0], keys);
+        });
+
+        List<T> result = buildResult(rows, kind);
+        return Window.from(
+                result,
+                index -> ScrollPosition.forward(positions.get(result.get(index).getKey())),
+                raw.size() > size);
+    }
+
+    @Override
+    protected <T extends Any<?>> Window<T> doSearch(
+            final Realm base,
+            final boolean recursive,
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final KeysetScrollPosition position,
+            final int size,
+            final List<Sort.Order> orderBy,
+            final AnyTypeKind kind) {
+
+        List<Object> parameters = new ArrayList<>();
+
+        SearchSupport svs = buildSearchSupport(kind);
+
+        Triple<String, Set<String>, Set<String>> filter =
+                getAdminRealmsFilter(base, recursive, adminRealms, svs, parameters);
+
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo =
+                getQuery(buildEffectiveCond(cond, filter.getMiddle(), filter.getRight(), kind), parameters, svs);
+
+        StringBuilder queryString = queryInfo.getLeft();
+
+        // 2. take into account realms, ordering and seek predicate
+        List<Sort.Order> seekOrderBy = seekOrderBy(orderBy);
+        OrderBySupport obs = parseOrderBy(svs, seekOrderBy.stream());
+        if (queryString.charAt(0) == '(') {
+            queryString.insert(0, buildSeekSelect(obs));
+        } else {
+            queryString.insert(0, buildSeekSelect(obs).append('('));
+            queryString.append(')');
+        }
+        queryString.
+                append(buildWhere(svs, obs)).
+                append(filter.getLeft());
+        if (!position.isInitial()) {
+            queryString.append(" AND ").append(buildSeekPredicate(obs, seekOrderBy, position, parameters));
+        }
+        queryString.append(buildSeekOrderBy(obs));
+
+        LOG.debug("Keyset query: {}, parameters: {}", queryString, parameters);
+
+        // 3. prepare the search query, fetching one more row to find out whether further results are available
+        Query query = entityManager.createNativeQuery(queryString.toString());
+        query.setMaxResults(size + 1);
+
+        // 4. populate the search query with parameter values
+        fillWithParameters(query, parameters);
+
+        // 5. prepare the result window
+        @SuppressWarnings("unchecked")
+        List<Object> raw = query.getResultList();
+        return buildWindow(raw, seekOrderBy, size, kind);
+    }
+
     protected int setParameter(final List<Object> parameters, final Object parameter) {
         parameters.add(parameter);
         return parameters.size();
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.jpa.dao.SearchSupport.SearchView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the tables defined in {@code views.xml} as copies of the {@code *_attr} and
+ * {@code *_unique_attr} views; rows are removed by the database via {@code ON DELETE CASCADE} when the
+ * owning entity or the related schema are deleted.
+ */
+@Transactional(rollbackFor = Throwable.class)
+public class JPAAnySearchStoreDAO implements AnySearchStoreDAO {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AnySearchStoreDAO.class);
+
+    protected final boolean enabled;
+
+    protected final EntityManager entityManager;
+
+    public JPAAnySearchStoreDAO(final boolean enabled, final EntityManager entityManager) {
+        this.enabled = enabled;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param kind any type kind
+     * @return pairs of (source view, store table)
+     */
+    protected List<Pair<SearchView, SearchView>> views(final AnyTypeKind kind) {
+        SearchViewSupport source = new SearchViewSupport(kind);
+        SearchViewSupport store = new SearchStoreSupport(kind);
+        return List.of(
+                Pair.of(source.attr(), store.attr()),
+                Pair.of(source.uniqueAttr(), store.uniqueAttr()));
+    }
+
+    @Override
+    public void refresh(final Any<?> any) {
+        if (!enabled) {
+            return;
+        }
+
+        // the views are read below, so pending changes need to reach the database first
+        entityManager.flush();
+
+        views(any.getType().getKind()).forEach(views -> {
+            String store = views.getRight().name();
+
+            Query delete = entityManager.createNativeQuery("DELETE FROM " + store + " WHERE any_id=?");
+            delete.setParameter(1, any.getKey());
+            delete.executeUpdate();
+
+            Query insert = entityManager.createNativeQuery(
+                    "INSERT INTO " + store + " SELECT * FROM " + views.getLeft().name() + " WHERE any_id=?");
+            insert.setParameter(1, any.getKey());
+            insert.executeUpdate();
+        });
+    }
+
+    @Override
+    public void rebuild(final AnyTypeKind kind) {
+        if (!enabled) {
+            LOG.warn("Search store not enabled, nothing to rebuild for {}", kind);
+            return;
+        }
+
+        views(kind).forEach(views -> {
+            String store = views.getRight().name();
+
+            entityManager.createNativeQuery("DELETE FROM " + store).executeUpdate();
+            int rows = entityManager.createNativeQuery(
+                    "INSERT INTO " + store + " SELECT * FROM " + views.getLeft().name()).executeUpdate();
+            LOG.debug("Rebuilt {} with {} rows", store, rows);
+        });
+    }
+}
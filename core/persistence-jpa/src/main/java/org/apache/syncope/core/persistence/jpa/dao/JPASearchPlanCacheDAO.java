@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.dao.SearchPlanCacheDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.jpa.openjpa.RemoteCommitCacheEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+public class JPASearchPlanCacheDAO implements SearchPlanCacheDAO {
+
+    /**
+     * Generated native query, split around the admin realms filter; parameters are numbered from {@code ?1}, not
+     * taking into account the ones required by the admin realms filter.
+     *
+     * @param head query text preceding the admin realms filter
+     * @param tail query text following the admin realms filter
+     */
+    public record Plan(String head, String tail) {
+
+    }
+
+    /**
+     * Cache key; the version is bumped whenever plain schema or any type definitions change, so that plans generated
+     * concurrently with such changes are never served afterwards.
+     *
+     * @param version definitions version
+     * @param shape search condition shape
+     */
+    protected record Key(long version, String shape) {
+
+    }
+
+    protected final AtomicLong version = new AtomicLong();
+
+    protected final Cache<Key, Plan> cache;
+
+    public JPASearchPlanCacheDAO(final String cacheSpec) {
+        this.cache = StringUtils.isBlank(cacheSpec)
+                ? null
+                : Caffeine.from(cacheSpec).recordStats().build();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return current definitions version, to be read before generating a plan and then passed to
+     * {@link #put(long, String, Plan)}
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public Optional<Plan> get(final String shape) {
+        return Optional.ofNullable(cache).map(c -> c.getIfPresent(new Key(version.get(), shape)));
+    }
+
+    public void put(final long version, final String shape, final Plan plan) {
+        Optional.ofNullable(cache).ifPresent(c -> c.put(new Key(version, shape), plan));
+    }
+
+    protected void invalidate() {
+        if (cache != null) {
+            version.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates as soon as the change is performed, so that further searches within the same transaction are
+     * consistent with it.
+     *
+     * @param event entity lifecycle event
+     */
+    @EventListener
+    public void entityChanged(final EntityLifecycleEvent<Entity> event) {
+        if (event.getEntity() instanceof PlainSchema || event.getEntity() instanceof AnyType) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Invalidates again once the change is committed or rolled back, to discard plans generated meanwhile by
+     * concurrent transactions.
+     *
+     * @param event entity lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void entityChangeCompleted(final EntityLifecycleEvent<Entity> event) {
+        entityChanged(event);
+    }
+
+    /**
+     * Invalidates upon changes performed by other nodes in the OpenJPA cluster.
+     *
+     * @param event remote commit event
+     */
+    @EventListener
+    public void remoteCommit(final RemoteCommitCacheEvent event) {
+        if (event.affects(PlainSchema.class) || event.affects(AnyType.class)) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        result.put("enabled", isEnabled());
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+
+            result.put("size", cache.estimatedSize());
+            result.put("hits", stats.hitCount());
+            result.put("misses", stats.missCount());
+            result.put("hit_rate", stats.hitRate());
+            result.put("evictions", stats.evictionCount());
+        }
+
+        return result;
+    }
+
+    @Override
+    public void clearCache() {
+        Optional.ofNullable(cache).ifPresent(Cache::invalidateAll);
+    }
+}
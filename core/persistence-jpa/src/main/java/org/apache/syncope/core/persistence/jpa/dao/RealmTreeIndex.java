@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.persistence.jpa.openjpa.RemoteCommitCacheEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-domain, in-memory index of realm full paths, answering descendant lookups without querying the {@code Realm}
+ * table.
+ * Each domain's index is an immutable snapshot, loaded at first use and replaced - copy-on-write - once realm
+ * changes are committed; changes committed by other nodes in the OpenJPA cluster discard the snapshot, which is also
+ * expired according to the configured cache specification.
+ */
+public class RealmTreeIndex {
+
+    /**
+     * Immutable snapshot of the realm tree of a domain.
+     *
+     * @param keysByPath realm keys, sorted by full path
+     * @param pathsByKey realm full paths, by key
+     */
+    protected record Snapshot(NavigableMap<String, String> keysByPath, Map<String, String> pathsByKey) {
+
+        Snapshot with(final String key, final String fullPath) {
+            NavigableMap<String, String> newKeysByPath = new TreeMap<>(keysByPath);
+            Map<String, String> newPathsByKey = new HashMap<>(pathsByKey);
+
+            Optional.ofNullable(newPathsByKey.put(key, fullPath)).ifPresent(newKeysByPath::remove);
+            newKeysByPath.put(fullPath, key);
+
+            return new Snapshot(
+                    Collections.unmodifiableNavigableMap(newKeysByPath),
+                    Collections.unmodifiableMap(newPathsByKey));
+        }
+
+        Snapshot without(final String key) {
+            if (!pathsByKey.containsKey(key)) {
+                return this;
+            }
+
+            NavigableMap<String, String> newKeysByPath = new TreeMap<>(keysByPath);
+            Map<String, String> newPathsByKey = new HashMap<>(pathsByKey);
+
+            newKeysByPath.remove(newPathsByKey.remove(key));
+
+            return new Snapshot(
+                    Collections.unmodifiableNavigableMap(newKeysByPath),
+                    Collections.unmodifiableMap(newPathsByKey));
+        }
+    }
+
+    /**
+     * Whether the given realm is the given base realm or one of its descendants.
+     *
+     * @param fullPath realm full path
+     * @param base base realm full path
+     * @return whether {@code fullPath} is {@code base} or one of its descendants
+     */
+    public static boolean isDescendant(final String fullPath, final String base) {
+        return SyncopeConstants.ROOT_REALM.equals(base)
+                || fullPath.equals(base)
+                || fullPath.startsWith(base + '/');
+    }
+
+    protected final EntityManager entityManager;
+
+    protected final Cache<String, Snapshot> snapshots;
+
+    public RealmTreeIndex(final String cacheSpec, final EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.snapshots = StringUtils.isBlank(cacheSpec)
+                ? null
+                : Caffeine.from(cacheSpec).build();
+    }
+
+    public boolean isEnabled() {
+        return snapshots != null;
+    }
+
+    protected Snapshot load() {
+        NavigableMap<String, String> keysByPath = new TreeMap<>();
+        Map<String, String> pathsByKey = new HashMap<>();
+
+        entityManager.createQuery(
+                "SELECT e.id, e.fullPath FROM " + JPARealm.class.getSimpleName() + " e", Object[].class).
+                getResultList().forEach(row -> {
+                    keysByPath.put(row[1].toString(), row[0].toString());
+                    pathsByKey.put(row[0].toString(), row[1].toString());
+                });
+
+        return new Snapshot(
+                Collections.unmodifiableNavigableMap(keysByPath),
+                Collections.unmodifiableMap(pathsByKey));
+    }
+
+    protected Snapshot snapshot() {
+        return snapshots.get(AuthContextUtils.getDomain(), domain -> load());
+    }
+
+    /**
+     * Returns the given base realm and its descendants, sorted by full path.
+     *
+     * @param base base realm full path
+     * @return realm keys, by full path
+     */
+    public NavigableMap<String, String> findDescendants(final String base) {
+        NavigableMap<String, String> keysByPath = snapshot().keysByPath();
+        if (SyncopeConstants.ROOT_REALM.equals(base)) {
+            return keysByPath;
+        }
+
+        NavigableMap<String, String> result = new TreeMap<>(keysByPath.subMap(base + '/', true, base + '0', false));
+        Optional.ofNullable(keysByPath.get(base)).ifPresent(key -> result.put(base, key));
+        return result;
+    }
+
+    protected void apply(final EntityLifecycleEvent<Entity> event) {
+        if (snapshots == null || !(event.getEntity() instanceof Realm realm)) {
+            return;
+        }
+
+        snapshots.asMap().computeIfPresent(event.getDomain(), (domain, snapshot) -> event.getType()
+                == SyncDeltaType.DELETE
+                        ? snapshot.without(realm.getKey())
+                        : snapshot.with(realm.getKey(), realm.getFullPath()));
+    }
+
+    /**
+     * Whether the index can be used by the current thread: this is not the case when realms were changed by the
+     * current transaction, as such changes are only applied to the index once committed.
+     *
+     * @return whether the index can be used by the current thread
+     */
+    public boolean isUsable() {
+        return snapshots != null && !TransactionSynchronizationManager.hasResource(this);
+    }
+
+    /**
+     * Marks the current transaction as having changed realms, so that the index is not used until completion.
+     *
+     * @param event entity lifecycle event
+     */
+    @EventListener
+    public void realmChanged(final EntityLifecycleEvent<Entity> event) {
+        if (snapshots != null
+                && event.getEntity() instanceof Realm
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RealmTreeIndex.this);
+                }
+            });
+        }
+    }
+
+    /**
+     * Applies realm changes once committed.
+     *
+     * @param event entity lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void realmChangeCommitted(final EntityLifecycleEvent<Entity> event) {
+        apply(event);
+    }
+
+    /**
+     * Discards the snapshot of the domain where realms were changed by another node in the OpenJPA cluster.
+     *
+     * @param event remote commit event
+     */
+    @EventListener
+    public void remoteCommit(final RemoteCommitCacheEvent event) {
+        if (snapshots != null && event.affects(Realm.class)) {
+            snapshots.invalidate(event.getDomain());
+        }
+    }
+}
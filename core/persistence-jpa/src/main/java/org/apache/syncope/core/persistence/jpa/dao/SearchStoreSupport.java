@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * Replaces the attribute views with the tables of the materialized search store.
+ */
+public class SearchStoreSupport extends SearchViewSupport {
+
+    public static final String STORE_SUFFIX = "_store";
+
+    public SearchStoreSupport(final AnyTypeKind anyTypeKind) {
+        super(anyTypeKind);
+    }
+
+    @Override
+    public SearchView attr() {
+        SearchView attr = super.attr();
+        return new SearchView(attr.alias(), attr.name() + STORE_SUFFIX);
+    }
+
+    @Override
+    public SearchView uniqueAttr() {
+        SearchView uniqueAttr = super.uniqueAttr();
+        return new SearchView(uniqueAttr.alias(), uniqueAttr.name() + STORE_SUFFIX);
+    }
+}
@@ -27,9 +27,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
@@ -37,6 +40,7 @@ import org.apache.commons.jexl3.parser.Token;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
 import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
@@ -57,22 +61,34 @@ import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
+import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAVirSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 public abstract class AbstractAnyRepoExt<A extends Any<?>> implements AnyRepoExt<A> {
 
     protected static final Logger LOG = LoggerFactory.getLogger(AnyRepoExt.class);
 
+    /**
+     * Max number of elements for IN clauses, within the limits of all supported DBMSes.
+     */
+    public static final int IN_CLAUSE_MAX_SIZE = 500;
+
     protected final PlainSchemaDAO plainSchemaDAO;
 
     protected final DerSchemaDAO derSchemaDAO;
 
     protected final DynRealmDAO dynRealmDAO;
 
+    protected final AnySearchStoreDAO searchStoreDAO;
+
+    protected final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO;
+
     protected final EntityManager entityManager;
 
     protected final AnyUtils anyUtils;
@@ -81,12 +97,16 @@ public abstract class AbstractAnyRepoExt<A extends Any<?>> implements AnyRepoExt
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
             final DynRealmDAO dynRealmDAO,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager,
             final AnyUtils anyUtils) {
 
         this.plainSchemaDAO = plainSchemaDAO;
         this.derSchemaDAO = derSchemaDAO;
         this.dynRealmDAO = dynRealmDAO;
+        this.searchStoreDAO = searchStoreDAO;
+        this.allowedSchemasCacheDAO = allowedSchemasCacheDAO;
         this.entityManager = entityManager;
         this.anyUtils = anyUtils;
     }
@@ -384,58 +404,98 @@ public abstract class AbstractAnyRepoExt<A extends Any<?>> implements AnyRepoExt
         return SearchCond.getLeaf(idCond);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    @Override
-    @SuppressWarnings("unchecked")
-    public <S extends Schema> AllowedSchemas<S> findAllowedSchemas(final A any, final Class<S> reference) {
-        AllowedSchemas<S> result = new AllowedSchemas<>();
+    protected static Collection<? extends Schema> getSchemas(
+            final AnyTypeClass typeClass,
+            final Class<? extends Schema> reference) {
+
+        if (reference.equals(PlainSchema.class)) {
+            return typeClass.getPlainSchemas();
+        }
+        if (reference.equals(DerSchema.class)) {
+            return typeClass.getDerSchemas();
+        }
+        if (reference.equals(VirSchema.class)) {
+            return typeClass.getVirSchemas();
+        }
+        return List.of();
+    }
+
+    protected static Class<? extends Schema> getSchemaEntityReference(final Class<? extends Schema> reference) {
+        return reference.equals(PlainSchema.class)
+                ? JPAPlainSchema.class
+                : reference.equals(DerSchema.class)
+                ? JPADerSchema.class
+                : reference.equals(VirSchema.class)
+                ? JPAVirSchema.class
+                : null;
+    }
+
+    protected JPAAllowedSchemasCacheDAO.Value computeAllowedSchemas(
+            final A any,
+            final Map<String, Group> groups,
+            final Class<? extends Schema> reference) {
 
         // schemas given by type and aux classes
         Set<AnyTypeClass> typeOwnClasses = new HashSet<>();
         typeOwnClasses.addAll(any.getType().getClasses());
         typeOwnClasses.addAll(any.getAuxClasses());
 
-        typeOwnClasses.forEach(typeClass -> {
-            if (reference.equals(PlainSchema.class)) {
-                result.getForSelf().addAll((Collection<? extends S>) typeClass.getPlainSchemas());
-            } else if (reference.equals(DerSchema.class)) {
-                result.getForSelf().addAll((Collection<? extends S>) typeClass.getDerSchemas());
-            } else if (reference.equals(VirSchema.class)) {
-                result.getForSelf().addAll((Collection<? extends S>) typeClass.getVirSchemas());
-            }
-        });
+        Set<String> forSelf = typeOwnClasses.stream().
+                flatMap(typeClass -> getSchemas(typeClass, reference).stream()).
+                map(Schema::getKey).
+                collect(Collectors.toSet());
 
         // schemas given by type extensions
-        Map<Group, List<? extends AnyTypeClass>> typeExtensionClasses = new HashMap<>();
+        Map<String, Set<String>> forMemberships = new HashMap<>();
+        groups.values().forEach(group -> group.getTypeExtensions().stream().
+                filter(typeExt -> any instanceof User || any.getType().equals(typeExt.getAnyType())).
+                forEach(typeExt -> forMemberships.put(
+                group.getKey(),
+                typeExt.getAuxClasses().stream().
+                        flatMap(typeClass -> getSchemas(typeClass, reference).stream()).
+                        map(Schema::getKey).
+                        collect(Collectors.toSet()))));
+
+        return new JPAAllowedSchemasCacheDAO.Value(forSelf, forMemberships);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Schema> AllowedSchemas<S> findAllowedSchemas(final A any, final Class<S> reference) {
+        Map<String, Group> groups = new HashMap<>();
         switch (any) {
             case User user ->
-                user.getMemberships().forEach(memb -> memb.getRightEnd().getTypeExtensions().
-                        forEach(typeExt -> typeExtensionClasses.put(memb.getRightEnd(), typeExt.getAuxClasses())));
+                user.getMemberships().forEach(memb -> groups.put(memb.getRightEnd().getKey(), memb.getRightEnd()));
             case AnyObject anyObject ->
-                anyObject.getMemberships().forEach(memb -> memb.getRightEnd().getTypeExtensions().stream().
-                        filter(typeExt -> any.getType().equals(typeExt.getAnyType())).
-                        forEach(typeExt -> typeExtensionClasses.put(memb.getRightEnd(), typeExt.getAuxClasses())));
+                anyObject.getMemberships().forEach(memb -> groups.put(memb.getRightEnd().getKey(), memb.getRightEnd()));
             default -> {
             }
         }
 
-        typeExtensionClasses.entrySet().stream().map(entry -> {
-            result.getForMemberships().put(entry.getKey(), new HashSet<>());
-            return entry;
-        }).forEach(entry -> entry.getValue().forEach(typeClass -> {
-            if (reference.equals(PlainSchema.class)) {
-                result.getForMemberships().get(entry.getKey()).
-                        addAll((Collection<? extends S>) typeClass.getPlainSchemas());
-            } else if (reference.equals(DerSchema.class)) {
-                result.getForMemberships().get(entry.getKey()).
-                        addAll((Collection<? extends S>) typeClass.getDerSchemas());
-            } else if (reference.equals(VirSchema.class)) {
-                result.getForMemberships().get(entry.getKey()).
-                        addAll((Collection<? extends S>) typeClass.getVirSchemas());
-            }
-        }));
+        JPAAllowedSchemasCacheDAO.Key key = allowedSchemasCacheDAO.key(
+                any.getType().getKey(),
+                any.getAuxClasses().stream().map(AnyTypeClass::getKey).toList(),
+                groups.keySet(),
+                reference);
+        JPAAllowedSchemasCacheDAO.Value value = allowedSchemasCacheDAO.get(key).orElseGet(() -> {
+            JPAAllowedSchemasCacheDAO.Value computed = computeAllowedSchemas(any, groups, reference);
+            allowedSchemasCacheDAO.put(key, computed);
+            return computed;
+        });
 
-        return result;
+        // cached values only hold keys: schemas are looked up in the current persistence context, which is
+        // inexpensive as they are generally found in the L1 or data cache
+        Class<? extends Schema> entityReference = getSchemaEntityReference(reference);
+        Function<Set<String>, Set<S>> toSchemas = keys -> keys.stream().
+                map(k -> (S) entityManager.find(entityReference, k)).
+                filter(Objects::nonNull).
+                collect(Collectors.toSet());
+
+        Map<Group, Set<S>> forMemberships = new HashMap<>();
+        value.forMemberships().forEach((group, keys) -> forMemberships.put(groups.get(group), toSchemas.apply(keys)));
+
+        return new AllowedSchemas<>(toSchemas.apply(value.forSelf()), forMemberships);
     }
 
     @Transactional(readOnly = true)
@@ -455,6 +515,63 @@ public abstract class AbstractAnyRepoExt<A extends Any<?>> implements AnyRepoExt
                 toList();
     }
 
+    /**
+     * Reads the given membership table for all the given any keys, splitting the IN clause in chunks of
+     * {@link #IN_CLAUSE_MAX_SIZE} elements.
+     *
+     * @param <T> type of the resolved entity
+     * @param table membership table, having {@code any_id} column
+     * @param column column to read, for each {@code any_id}
+     * @param keys any keys
+     * @param resolver resolves each value read from {@code column}
+     * @return resolved entities, by any key
+     */
+    protected <T> Map<String, List<T>> findByAnyKeys(
+            final String table,
+            final String column,
+            final Collection<String> keys,
+            final Function<String, Optional<? extends T>> resolver) {
+
+        Map<String, List<T>> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        Map<String, Optional<? extends T>> resolved = new HashMap<>();
+        List<String> keyList = List.copyOf(new HashSet<>(keys));
+        for (int i = 0; i < keyList.size(); i += IN_CLAUSE_MAX_SIZE) {
+            List<String> chunk = keyList.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, keyList.size()));
+
+            Query query = entityManager.createNativeQuery(
+                    "SELECT any_id, " + column + " FROM " + table + " WHERE any_id IN ("
+                    + chunk.stream().map(key -> "?").collect(Collectors.joining(",")) + ")");
+            for (int j = 0; j < chunk.size(); j++) {
+                query.setParameter(j + 1, chunk.get(j));
+            }
+
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            rows.forEach(row -> resolved.computeIfAbsent(row[1].toString(), resolver).ifPresent(value -> {
+                List<T> values = result.computeIfAbsent(row[0].toString(), k -> new ArrayList<>());
+                if (!values.contains(value)) {
+                    values.add(value);
+                }
+            }));
+        }
+
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<String>> findDynRealms(final Collection<String> keys) {
+        return findByAnyKeys(
+                DynRealmRepoExt.DYNMEMB_TABLE,
+                "dynRealm_id",
+                keys,
+                dynRealmKey -> dynRealmDAO.findById(dynRealmKey).map(DynRealm::getKey));
+    }
+
     @Override
     public void deleteById(final String key) {
         findById(key).ifPresent(this::delete);
@@ -26,15 +26,26 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.Schema;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public abstract class AbstractSchemaRepoExt {
 
+    protected final ApplicationEventPublisher publisher;
+
     protected final EntityManager entityManager;
 
-    protected AbstractSchemaRepoExt(final EntityManager entityManager) {
+    protected AbstractSchemaRepoExt(final ApplicationEventPublisher publisher, final EntityManager entityManager) {
+        this.publisher = publisher;
         this.entityManager = entityManager;
     }
 
+    protected void publish(final SyncDeltaType type, final Schema schema) {
+        publisher.publishEvent(new EntityLifecycleEvent<>(this, type, schema, AuthContextUtils.getDomain()));
+    }
+
     protected <S extends Schema> List<S> findByAnyTypeClasses(
             final Collection<AnyTypeClass> anyTypeClasses, final String entity, final Class<S> reference) {
 
@@ -18,19 +18,11 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao.repo;
 
-import java.time.OffsetDateTime;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
-import org.springframework.data.repository.query.Param;
 
 public interface AccessTokenRepo
-        extends PagingAndSortingRepository<JPAAccessToken, String>, AccessTokenDAO {
+        extends PagingAndSortingRepository<JPAAccessToken, String>, AccessTokenRepoExt, AccessTokenDAO {
 
-    @Modifying
-    @Query("DELETE FROM #{#entityName} e WHERE e.expirationTime < :now")
-    @Override
-    int deleteExpired(@Param("now") OffsetDateTime now);
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao.repo;
+
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.apache.syncope.core.persistence.api.entity.AccessToken;
+import org.apache.syncope.core.persistence.jpa.dao.AccessTokenIndex;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class AccessTokenRepoExtImpl implements AccessTokenRepoExt {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AccessTokenRepoExt.class);
+
+    protected final ApplicationEventPublisher publisher;
+
+    protected final AccessTokenIndex accessTokenIndex;
+
+    protected final EntityManager entityManager;
+
+    public AccessTokenRepoExtImpl(
+            final ApplicationEventPublisher publisher,
+            final AccessTokenIndex accessTokenIndex,
+            final EntityManager entityManager) {
+
+        this.publisher = publisher;
+        this.accessTokenIndex = accessTokenIndex;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<? extends AccessToken> findById(final String key) {
+        if (accessTokenIndex.isExpired(key)) {
+            return Optional.empty();
+        }
+
+        Optional<JPAAccessToken> accessToken = Optional.ofNullable(entityManager.find(JPAAccessToken.class, key));
+        accessToken.ifPresentOrElse(accessTokenIndex::put, () -> accessTokenIndex.remove(key));
+        return accessToken;
+    }
+
+    @Override
+    public AccessToken save(final AccessToken accessToken) {
+        AccessToken merged = entityManager.merge(accessToken);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
+    }
+
+    @Override
+    public void delete(final AccessToken accessToken) {
+        entityManager.remove(accessToken);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, accessToken, AuthContextUtils.getDomain()));
+    }
+
+    @Override
+    public void deleteById(final String key) {
+        // always delete, as required by logout and revocation: tokens known as expired might have been refreshed
+        // by other Core instances meanwhile
+        AccessToken accessToken = entityManager.find(JPAAccessToken.class, key);
+        if (accessToken != null) {
+            delete(accessToken);
+        }
+    }
+
+    @Override
+    public int deleteExpired(final OffsetDateTime now) {
+        int deleted = entityManager.createQuery(
+                "DELETE FROM " + JPAAccessToken.class.getSimpleName() + " e WHERE e.expirationTime < :now").
+                setParameter("now", now).
+                executeUpdate();
+
+        // bulk removals bypass the second level cache
+        entityManager.getEntityManagerFactory().getCache().evict(JPAAccessToken.class);
+        int unindexed = accessTokenIndex.removeExpired(now);
+        LOG.debug("Deleted {} expired access tokens, {} of which were indexed", deleted, unindexed);
+
+        return deleted;
+    }
+}
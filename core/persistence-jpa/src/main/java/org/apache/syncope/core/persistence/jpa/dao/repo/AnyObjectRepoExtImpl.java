@@ -29,13 +29,13 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -51,11 +51,12 @@ import org.apache.syncope.core.persistence.api.entity.anyobject.ARelationship;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.URelationship;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAARelationship;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAURelationship;
-import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.springframework.transaction.annotation.Propagation;
@@ -74,12 +75,16 @@ public class AnyObjectRepoExtImpl extends AbstractAnyRepoExt<AnyObject> implemen
             final DynRealmDAO dynRealmDAO,
             final UserDAO userDAO,
             final GroupDAO groupDAO,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         super(
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager,
                 anyUtilsFactory.getInstance(AnyTypeKind.ANY_OBJECT));
         this.userDAO = userDAO;
@@ -128,20 +133,26 @@ public class AnyObjectRepoExtImpl extends AbstractAnyRepoExt<AnyObject> implemen
             final String realm,
             final Collection<String> groups) {
 
-        // 1. check if AuthContextUtils.getUsername() is owner of at least one group of which anyObject is member
-        boolean authorized = authRealms.stream().
-                map(authRealm -> RealmUtils.parseGroupOwnerRealm(authRealm).orElse(null)).
-                filter(Objects::nonNull).
-                anyMatch(pair -> groups.contains(pair.getRight()));
+        securityChecks(RealmScope.of(authRealms), key, realm, groups);
+    }
+
+    protected void securityChecks(
+            final RealmScope authScope,
+            final String key,
+            final String realm,
+            final Collection<String> groups) {
+
+        // 1. check if anyObject is in Realm (or descendants) for which AuthContextUtils.getUsername() owns entitlement
+        boolean authorized = authScope.includes(realm);
 
-        // 2. check if anyObject is in at least one DynRealm for which AuthContextUtils.getUsername() owns entitlement
+        // 2. check if AuthContextUtils.getUsername() is owner of at least one group of which anyObject is member
         if (!authorized) {
-            authorized = findDynRealms(key).stream().anyMatch(authRealms::contains);
+            authorized = authScope.ownsAnyGroup(groups);
         }
 
-        // 3. check if anyObject is in Realm (or descendants) for which AuthContextUtils.getUsername() owns entitlement
-        if (!authorized) {
-            authorized = authRealms.stream().anyMatch(realm::startsWith);
+        // 3. check if anyObject is in at least one DynRealm for which AuthContextUtils.getUsername() owns entitlement
+        if (!authorized && key != null && !authScope.getDynRealms().isEmpty()) {
+            authorized = authScope.includesAnyDynRealm(findDynRealms(key));
         }
 
         if (!authorized) {
@@ -151,10 +162,11 @@ public class AnyObjectRepoExtImpl extends AbstractAnyRepoExt<AnyObject> implemen
 
     @Override
     protected void securityChecks(final AnyObject anyObject) {
-        Set<String> authRealms = AuthContextUtils.getAuthorizations().
-                getOrDefault(AnyEntitlement.READ.getFor(anyObject.getType().getKey()), Set.of());
-
-        securityChecks(authRealms, anyObject.getKey(), anyObject.getRealm().getFullPath(), findAllGroupKeys(anyObject));
+        securityChecks(
+                AuthContextUtils.getRealmScope(AnyEntitlement.READ.getFor(anyObject.getType().getKey())),
+                anyObject.getKey(),
+                anyObject.getRealm().getFullPath(),
+                findAllGroupKeys(anyObject));
     }
 
     @Override
@@ -187,6 +199,7 @@ public class AnyObjectRepoExtImpl extends AbstractAnyRepoExt<AnyObject> implemen
 
     protected Pair<AnyObject, Pair<Set<String>, Set<String>>> doSave(final AnyObject anyObject) {
         AnyObject merged = entityManager.merge(anyObject);
+        searchStoreDAO.refresh(merged);
 
         Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged);
         dynRealmDAO.refreshDynMemberships(merged);
@@ -239,6 +252,12 @@ public class AnyObjectRepoExtImpl extends AbstractAnyRepoExt<AnyObject> implemen
                 collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Override
+    public Map<String, List<Group>> findDynGroups(final Collection<String> keys) {
+        return findByAnyKeys(GroupRepoExt.ADYNMEMB_TABLE, "group_id", keys, groupDAO::findById);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     public Collection<Group> findAllGroups(final AnyObject anyObject) {
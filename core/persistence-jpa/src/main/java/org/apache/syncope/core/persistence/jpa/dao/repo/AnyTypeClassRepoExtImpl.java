@@ -34,9 +34,15 @@ import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAnyTypeClass;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class AnyTypeClassRepoExtImpl implements AnyTypeClassRepoExt {
 
+    protected final ApplicationEventPublisher publisher;
+
     protected final AnyTypeDAO anyTypeDAO;
 
     protected final PlainSchemaDAO plainSchemaDAO;
@@ -52,6 +58,7 @@ public class AnyTypeClassRepoExtImpl implements AnyTypeClassRepoExt {
     protected final EntityManager entityManager;
 
     public AnyTypeClassRepoExtImpl(
+            final ApplicationEventPublisher publisher,
             final AnyTypeDAO anyTypeDAO,
             final PlainSchemaDAO plainSchemaDAO,
             final DerSchemaDAO derSchemaDAO,
@@ -60,6 +67,7 @@ public class AnyTypeClassRepoExtImpl implements AnyTypeClassRepoExt {
             final ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
+        this.publisher = publisher;
         this.anyTypeDAO = anyTypeDAO;
         this.plainSchemaDAO = plainSchemaDAO;
         this.derSchemaDAO = derSchemaDAO;
@@ -83,6 +91,9 @@ public class AnyTypeClassRepoExtImpl implements AnyTypeClassRepoExt {
             schema.setAnyTypeClass(merge);
         }
 
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, merge, AuthContextUtils.getDomain()));
+
         return merge;
     }
 
@@ -121,5 +132,8 @@ public class AnyTypeClassRepoExtImpl implements AnyTypeClassRepoExt {
         }
 
         entityManager.remove(anyTypeClass);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, anyTypeClass, AuthContextUtils.getDomain()));
     }
 }
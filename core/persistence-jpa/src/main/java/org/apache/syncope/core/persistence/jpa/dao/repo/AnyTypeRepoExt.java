@@ -26,5 +26,7 @@ public interface AnyTypeRepoExt {
 
     AnyType getGroup();
 
+    AnyType save(AnyType anyType);
+
     void deleteById(String key);
 }
@@ -23,15 +23,26 @@ import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.RemediationDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAnyType;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 public class AnyTypeRepoExtImpl implements AnyTypeRepoExt {
 
+    protected final ApplicationEventPublisher publisher;
+
     protected final RemediationDAO remediationDAO;
 
     protected final EntityManager entityManager;
 
-    public AnyTypeRepoExtImpl(final RemediationDAO remediationDAO, final EntityManager entityManager) {
+    public AnyTypeRepoExtImpl(
+            final ApplicationEventPublisher publisher,
+            final RemediationDAO remediationDAO,
+            final EntityManager entityManager) {
+
+        this.publisher = publisher;
         this.remediationDAO = remediationDAO;
         this.entityManager = entityManager;
     }
@@ -48,6 +59,16 @@ public class AnyTypeRepoExtImpl implements AnyTypeRepoExt {
         return entityManager.find(JPAAnyType.class, AnyTypeKind.GROUP.name());
     }
 
+    @Override
+    public AnyType save(final AnyType anyType) {
+        AnyType merged = entityManager.merge(anyType);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
+    }
+
     @Override
     public void deleteById(final String key) {
         AnyType anyType = entityManager.find(JPAAnyType.class, key);
@@ -65,5 +86,8 @@ public class AnyTypeRepoExtImpl implements AnyTypeRepoExt {
         });
 
         entityManager.remove(anyType);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, anyType, AuthContextUtils.getDomain()));
     }
 }
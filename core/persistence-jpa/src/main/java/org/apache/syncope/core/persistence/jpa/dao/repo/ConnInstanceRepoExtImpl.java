@@ -21,12 +21,12 @@ package org.apache.syncope.core.persistence.jpa.dao.repo;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.List;
-import java.util.Set;
 import org.apache.syncope.common.lib.types.IdMEntitlement;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.jpa.entity.JPAConnInstance;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.springframework.transaction.annotation.Transactional;
@@ -50,10 +50,8 @@ public class ConnInstanceRepoExtImpl implements ConnInstanceRepoExt {
             return null;
         }
 
-        Set<String> authRealms = AuthContextUtils.getAuthorizations().get(IdMEntitlement.CONNECTOR_READ);
-        if (authRealms == null || authRealms.isEmpty()
-                || !authRealms.stream().anyMatch(
-                        realm -> connInstance.getAdminRealm().getFullPath().startsWith(realm))) {
+        RealmScope authScope = AuthContextUtils.getRealmScope(IdMEntitlement.CONNECTOR_READ);
+        if (!authScope.includes(connInstance.getAdminRealm().getFullPath())) {
 
             throw new DelegatedAdministrationException(
                     connInstance.getAdminRealm().getFullPath(),
@@ -66,16 +64,16 @@ public class ConnInstanceRepoExtImpl implements ConnInstanceRepoExt {
 
     @Override
     public List<? extends ConnInstance> findAll() {
-        final Set<String> authRealms = AuthContextUtils.getAuthorizations().get(IdMEntitlement.CONNECTOR_LIST);
-        if (authRealms == null || authRealms.isEmpty()) {
+        RealmScope authScope = AuthContextUtils.getRealmScope(IdMEntitlement.CONNECTOR_LIST);
+        if (authScope.getRealms().isEmpty()) {
             return List.of();
         }
 
         TypedQuery<ConnInstance> query = entityManager.createQuery(
                 "SELECT e FROM " + JPAConnInstance.class.getSimpleName() + " e", ConnInstance.class);
 
-        return query.getResultList().stream().filter(connInstance -> authRealms.stream().
-                anyMatch(realm -> connInstance.getAdminRealm().getFullPath().startsWith(realm))).
+        return query.getResultList().stream().
+                filter(connInstance -> authScope.includes(connInstance.getAdminRealm().getFullPath())).
                 toList();
     }
 
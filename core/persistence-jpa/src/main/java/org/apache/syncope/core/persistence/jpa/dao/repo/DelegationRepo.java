@@ -28,7 +28,7 @@ import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.query.Param;
 
 public interface DelegationRepo
-        extends ListCrudRepository<JPADelegation, String>, DelegationDAO {
+        extends ListCrudRepository<JPADelegation, String>, DelegationRepoExt, DelegationDAO {
 
     @Query("SELECT e.id FROM #{#entityName} e "
             + "WHERE e.delegating.id = :delegating "
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao.repo;
+
+import jakarta.persistence.EntityManager;
+import org.apache.syncope.core.persistence.api.entity.Delegation;
+import org.apache.syncope.core.persistence.jpa.entity.JPADelegation;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class DelegationRepoExtImpl implements DelegationRepoExt {
+
+    protected final ApplicationEventPublisher publisher;
+
+    protected final EntityManager entityManager;
+
+    public DelegationRepoExtImpl(final ApplicationEventPublisher publisher, final EntityManager entityManager) {
+        this.publisher = publisher;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Delegation save(final Delegation delegation) {
+        Delegation merged = entityManager.merge(delegation);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
+    }
+
+    @Override
+    public void delete(final Delegation delegation) {
+        entityManager.remove(delegation);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, delegation, AuthContextUtils.getDomain()));
+    }
+
+    @Override
+    public void deleteById(final String key) {
+        Delegation delegation = entityManager.find(JPADelegation.class, key);
+        if (delegation != null) {
+            delete(delegation);
+        }
+    }
+}
@@ -25,13 +25,19 @@ import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class DerSchemaRepoExtImpl extends AbstractSchemaRepoExt implements DerSchemaRepoExt {
 
     protected final ExternalResourceDAO resourceDAO;
 
-    public DerSchemaRepoExtImpl(final ExternalResourceDAO resourceDAO, final EntityManager entityManager) {
-        super(entityManager);
+    public DerSchemaRepoExtImpl(
+            final ApplicationEventPublisher publisher,
+            final ExternalResourceDAO resourceDAO,
+            final EntityManager entityManager) {
+
+        super(publisher, entityManager);
         this.resourceDAO = resourceDAO;
     }
 
@@ -43,7 +49,11 @@ public class DerSchemaRepoExtImpl extends AbstractSchemaRepoExt implements DerSc
     @Override
     public DerSchema save(final DerSchema schema) {
         ((JPADerSchema) schema).map2json();
-        return entityManager.merge(schema);
+        DerSchema merged = entityManager.merge(schema);
+
+        publish(SyncDeltaType.UPDATE, merged);
+
+        return merged;
     }
 
     @Override
@@ -60,5 +70,7 @@ public class DerSchemaRepoExtImpl extends AbstractSchemaRepoExt implements DerSc
         }
 
         entityManager.remove(schema);
+
+        publish(SyncDeltaType.DELETE, schema);
     }
 }
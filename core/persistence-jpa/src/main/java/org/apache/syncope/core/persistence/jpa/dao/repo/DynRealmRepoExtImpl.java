@@ -20,18 +20,28 @@ package org.apache.syncope.core.persistence.jpa.dao.repo;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipUpdater;
 import org.apache.syncope.core.persistence.jpa.entity.JPADynRealm;
 import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -41,8 +51,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class DynRealmRepoExtImpl implements DynRealmRepoExt {
 
+    protected static final DynMembershipUpdater.MembersTable DYN_MEMBERS =
+            new DynMembershipUpdater.MembersTable(DYNMEMB_TABLE, JPADynRealm.TABLE, "dynRealm_id", false);
+
     protected final ApplicationEventPublisher publisher;
 
+    protected final RealmDAO realmDAO;
+
     protected final UserDAO userDAO;
 
     protected final GroupDAO groupDAO;
@@ -57,8 +72,11 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
 
     protected final EntityManager entityManager;
 
+    protected final DynMembershipUpdater dynMembershipUpdater;
+
     public DynRealmRepoExtImpl(
             final ApplicationEventPublisher publisher,
+            final RealmDAO realmDAO,
             final UserDAO userDAO,
             final GroupDAO groupDAO,
             final AnyObjectDAO anyObjectDAO,
@@ -68,6 +86,7 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
             final EntityManager entityManager) {
 
         this.publisher = publisher;
+        this.realmDAO = realmDAO;
         this.userDAO = userDAO;
         this.groupDAO = groupDAO;
         this.anyObjectDAO = anyObjectDAO;
@@ -75,6 +94,7 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
         this.anyMatchDAO = anyMatchDAO;
         this.searchCondVisitor = searchCondVisitor;
         this.entityManager = entityManager;
+        this.dynMembershipUpdater = new DynMembershipUpdater(searchCondVisitor, anyMatchDAO, entityManager);
     }
 
     protected List<String> clearDynMembers(final DynRealm dynRealm) {
@@ -96,25 +116,45 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
         return cleared;
     }
 
-    protected void notifyDynMembershipRemoval(final List<String> anyKeys) {
-        anyKeys.forEach(key -> {
-            Optional<? extends Any<?>> any = userDAO.findById(key);
-            if (any.isEmpty()) {
-                any = groupDAO.findById(key);
-            }
-            if (any.isEmpty()) {
-                any = anyObjectDAO.findById(key);
-            }
-            any.ifPresent(entity -> publisher.publishEvent(
-                    new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, entity, AuthContextUtils.getDomain())));
-        });
+    protected void notifyDynMembershipChange(final Collection<String> anyKeys) {
+        List<String> keys = new ArrayList<>(anyKeys);
+        for (int i = 0; i < keys.size(); i += AbstractAnyRepoExt.IN_CLAUSE_MAX_SIZE) {
+            List<String> chunk = keys.subList(i, Math.min(i + AbstractAnyRepoExt.IN_CLAUSE_MAX_SIZE, keys.size()));
+            Stream.<AnyDAO<?>>of(userDAO, groupDAO, anyObjectDAO).
+                    flatMap(dao -> dao.findByKeys(chunk).stream()).
+                    forEach(entity -> publisher.publishEvent(new EntityLifecycleEvent<>(
+                            this, SyncDeltaType.UPDATE, entity, AuthContextUtils.getDomain())));
+        }
     }
 
     @Override
     public DynRealm saveAndRefreshDynMemberships(final DynRealm dynRealm) {
         DynRealm merged = entityManager.merge(dynRealm);
 
-        // refresh dynamic memberships
+        // refresh dynamic memberships: set-based when conditions can be translated into SQL, one by one otherwise
+        List<Optional<Pair<String, List<Object>>>> keysQueries = merged.getDynMemberships().stream().
+                map(memb -> searchDAO.keysQuery(
+                        realmDAO.getRoot(),
+                        true,
+                        SyncopeConstants.FULL_ADMIN_REALMS,
+                        SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()),
+                        memb.getAnyType().getKind())).
+                toList();
+        if (!keysQueries.isEmpty() && keysQueries.stream().allMatch(Optional::isPresent)) {
+            Pair<Set<String>, Set<String>> changes = dynMembershipUpdater.refresh(
+                    DYN_MEMBERS,
+                    merged.getKey(),
+                    null,
+                    merged.getDynMemberships().stream().map(memb -> memb.getAnyType().getKind()).toList(),
+                    keysQueries.stream().map(Optional::get).toList());
+
+            Set<String> changed = new HashSet<>(changes.getLeft());
+            changed.addAll(changes.getRight());
+            notifyDynMembershipChange(changed);
+
+            return merged;
+        }
+
         List<String> cleared = clearDynMembers(merged);
 
         merged.getDynMemberships().stream().map(memb -> searchDAO.search(
@@ -131,7 +171,7 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
             cleared.remove(any.getKey());
         }));
 
-        notifyDynMembershipRemoval(cleared);
+        notifyDynMembershipChange(cleared);
 
         return merged;
     }
@@ -143,7 +183,7 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
             return;
         }
 
-        notifyDynMembershipRemoval(clearDynMembers(dynRealm));
+        notifyDynMembershipChange(clearDynMembers(dynRealm));
 
         entityManager.remove(dynRealm);
     }
@@ -151,32 +191,25 @@ public class DynRealmRepoExtImpl implements DynRealmRepoExt {
     @Transactional
     @Override
     public void refreshDynMemberships(final Any<?> any) {
+        DynMembershipUpdater.Changes changes = DynMembershipUpdater.changes(any);
+        Set<String> before = dynMembershipUpdater.findOwners(DYN_MEMBERS, any.getKey());
+
+        Set<String> candidates = new HashSet<>();
+        Set<String> after = new HashSet<>();
         entityManager.createQuery(
                 "SELECT e FROM " + JPADynRealm.class.getSimpleName() + " e ", DynRealm.class).getResultStream().
                 forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).ifPresent(memb -> {
+                    candidates.add(dynRealm.getKey());
+                    if (dynMembershipUpdater.matches(
+                            any, changes, memb.getFIQLCond(), before.contains(dynRealm.getKey()))) {
 
-            boolean matches = anyMatchDAO.matches(
-                    any, SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()));
-
-            Query find = entityManager.createNativeQuery(
-                    "SELECT dynRealm_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-            find.setParameter(1, any.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-
-            if (matches && !existing) {
-                Query insert = entityManager.
-                        createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, any.getKey());
-                insert.setParameter(2, dynRealm.getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager.createNativeQuery(
-                        "DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=? AND any_id=?");
-                delete.setParameter(1, dynRealm.getKey());
-                delete.setParameter(2, any.getKey());
-                delete.executeUpdate();
-            }
-        }));
+                        after.add(dynRealm.getKey());
+                    }
+                }));
+
+        before.retainAll(candidates);
+
+        dynMembershipUpdater.update(DYN_MEMBERS, any, before, after);
     }
 
     @Override
@@ -21,7 +21,6 @@ package org.apache.syncope.core.persistence.jpa.dao.repo;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.types.IdMEntitlement;
@@ -43,10 +42,10 @@ import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PullPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PushPolicy;
 import org.apache.syncope.core.persistence.jpa.entity.JPAExternalResource;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 
 public class ExternalResourceRepoExtImpl implements ExternalResourceRepoExt {
 
@@ -93,10 +92,9 @@ public class ExternalResourceRepoExtImpl implements ExternalResourceRepoExt {
             return null;
         }
 
-        Set<String> authRealms = AuthContextUtils.getAuthorizations().get(IdMEntitlement.RESOURCE_READ);
-        if (authRealms == null || authRealms.isEmpty()
-                || !authRealms.stream().anyMatch(realm -> resource.getConnector() != null
-                && resource.getConnector().getAdminRealm().getFullPath().startsWith(realm))) {
+        RealmScope authScope = AuthContextUtils.getRealmScope(IdMEntitlement.RESOURCE_READ);
+        if (resource.getConnector() == null
+                || !authScope.includes(resource.getConnector().getAdminRealm().getFullPath())) {
 
             throw new DelegatedAdministrationException(
                     resource.getConnector().getAdminRealm().getFullPath(),
@@ -155,17 +153,17 @@ public class ExternalResourceRepoExtImpl implements ExternalResourceRepoExt {
     @Transactional(readOnly = true)
     @Override
     public List<? extends ExternalResource> findAll() {
-        Set<String> authRealms = AuthContextUtils.getAuthorizations().get(IdMEntitlement.RESOURCE_LIST);
-        if (CollectionUtils.isEmpty(authRealms)) {
+        RealmScope authScope = AuthContextUtils.getRealmScope(IdMEntitlement.RESOURCE_LIST);
+        if (authScope.getRealms().isEmpty()) {
             return List.of();
         }
 
         TypedQuery<ExternalResource> query = entityManager.createQuery(
                 "SELECT e FROM  " + JPAExternalResource.class.getSimpleName() + " e", ExternalResource.class);
 
-        return query.getResultList().stream().filter(resource -> authRealms.stream().
-                anyMatch(realm -> resource.getConnector() != null
-                && resource.getConnector().getAdminRealm().getFullPath().startsWith(realm))).
+        return query.getResultList().stream().
+                filter(resource -> resource.getConnector() != null
+                && authScope.includes(resource.getConnector().getAdminRealm().getFullPath())).
                 toList();
     }
 
@@ -24,6 +24,7 @@ import jakarta.persistence.TypedQuery;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,10 +38,12 @@ import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
@@ -58,6 +61,8 @@ import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipUpdater;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
@@ -65,7 +70,7 @@ import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
 import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
-import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.identityconnectors.framework.common.objects.SyncDeltaType;
@@ -75,6 +80,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements GroupRepoExt {
 
+    protected static final DynMembershipUpdater.MembersTable U_DYN_MEMBERS =
+            new DynMembershipUpdater.MembersTable(UDYNMEMB_TABLE, JPAGroup.TABLE, "group_id", false);
+
+    protected static final DynMembershipUpdater.MembersTable A_DYN_MEMBERS =
+            new DynMembershipUpdater.MembersTable(ADYNMEMB_TABLE, JPAGroup.TABLE, "group_id", true);
+
     protected final ApplicationEventPublisher publisher;
 
     protected final AnyMatchDAO anyMatchDAO;
@@ -87,6 +98,8 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
 
     protected final SearchCondVisitor searchCondVisitor;
 
+    protected final DynMembershipUpdater dynMembershipUpdater;
+
     public GroupRepoExtImpl(
             final AnyUtilsFactory anyUtilsFactory,
             final ApplicationEventPublisher publisher,
@@ -98,12 +111,16 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
             final AnyObjectDAO anyObjectDAO,
             final AnySearchDAO searchDAO,
             final SearchCondVisitor searchCondVisitor,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         super(
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager,
                 anyUtilsFactory.getInstance(AnyTypeKind.GROUP));
         this.publisher = publisher;
@@ -112,6 +129,7 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
         this.anyObjectDAO = anyObjectDAO;
         this.anySearchDAO = searchDAO;
         this.searchCondVisitor = searchCondVisitor;
+        this.dynMembershipUpdater = new DynMembershipUpdater(searchCondVisitor, anyMatchDAO, entityManager);
     }
 
     @Transactional(readOnly = true)
@@ -139,27 +157,34 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
             final String key,
             final String realm) {
 
+        securityChecks(RealmScope.of(authRealms), key, realm);
+    }
+
+    protected void securityChecks(
+            final RealmScope authScope,
+            final String key,
+            final String realm) {
+
         // 1. check if AuthContextUtils.getUsername() is owner of the group, or
         // if group is in Realm (or descendants) for which AuthContextUtils.getUsername() owns entitlement
-        boolean authorized = authRealms.stream().anyMatch(authRealm -> realm.startsWith(authRealm)
-                || authRealm.equals(RealmUtils.getGroupOwnerRealm(realm, key)));
+        boolean authorized = authScope.includes(realm) || authScope.ownsGroup(key);
 
         // 2. check if groups is in at least one DynRealm for which AuthContextUtils.getUsername() owns entitlement
-        if (!authorized) {
-            authorized = findDynRealms(key).stream().anyMatch(authRealms::contains);
+        if (!authorized && key != null && !authScope.getDynRealms().isEmpty()) {
+            authorized = authScope.includesAnyDynRealm(findDynRealms(key));
         }
 
-        if (authRealms.isEmpty() || !authorized) {
+        if (authScope.isEmpty() || !authorized) {
             throw new DelegatedAdministrationException(realm, AnyTypeKind.GROUP.name(), key);
         }
     }
 
     @Override
     protected void securityChecks(final Group group) {
-        Set<String> authRealms = AuthContextUtils.getAuthorizations().
-                getOrDefault(IdRepoEntitlement.GROUP_READ, Set.of());
-
-        securityChecks(authRealms, group.getKey(), group.getRealm().getFullPath());
+        securityChecks(
+                AuthContextUtils.getRealmScope(IdRepoEntitlement.GROUP_READ),
+                group.getKey(),
+                group.getRealm().getFullPath());
     }
 
     @Transactional(readOnly = true)
@@ -205,63 +230,130 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
         return SearchCondConverter.convert(searchCondVisitor, baseCondFIQL);
     }
 
+    /**
+     * Publishes update events for the given any objects, loaded in chunks.
+     *
+     * @param dao DAO for the given any objects
+     * @param changes keys of added and removed dynamic members
+     */
+    protected void publishUpdates(final AnyDAO<?> dao, final Pair<Set<String>, Set<String>> changes) {
+        List<String> keys = new ArrayList<>(changes.getLeft());
+        keys.addAll(changes.getRight());
+        for (int i = 0; i < keys.size(); i += IN_CLAUSE_MAX_SIZE) {
+            dao.findByKeys(keys.subList(i, Math.min(i + IN_CLAUSE_MAX_SIZE, keys.size()))).
+                    forEach(any -> publisher.publishEvent(new EntityLifecycleEvent<>(
+                            this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain())));
+        }
+    }
+
+    protected void refreshUDynMembers(final Group group) {
+        clearUDynMembers(group);
+
+        SearchCond cond = buildDynMembershipCond(group.getUDynMembership().getFIQLCond());
+        int count = anySearchDAO.count(
+                group.getRealm(), true, Set.of(group.getRealm().getFullPath()), cond, AnyTypeKind.USER);
+        for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE); page++) {
+            List<User> matching = anySearchDAO.search(
+                    group.getRealm(),
+                    true,
+                    Set.of(group.getRealm().getFullPath()),
+                    cond,
+                    PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE),
+                    AnyTypeKind.USER);
+
+            matching.forEach(user -> {
+                Query insert = entityManager.createNativeQuery(
+                        "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
+                insert.setParameter(1, user.getKey());
+                insert.setParameter(2, group.getKey());
+                insert.executeUpdate();
+
+                publisher.publishEvent(
+                        new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, user, AuthContextUtils.getDomain()));
+            });
+        }
+    }
+
+    protected void refreshADynMembers(final Group group, final ADynGroupMembership memb) {
+        Query delete = entityManager.createNativeQuery(
+                "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND anyType_id=?");
+        delete.setParameter(1, group.getKey());
+        delete.setParameter(2, memb.getAnyType().getKey());
+        delete.executeUpdate();
+
+        SearchCond cond = buildDynMembershipCond(memb.getFIQLCond());
+        int count = anySearchDAO.count(
+                group.getRealm(), true, Set.of(group.getRealm().getFullPath()), cond, AnyTypeKind.ANY_OBJECT);
+        for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE); page++) {
+            List<AnyObject> matching = anySearchDAO.search(
+                    group.getRealm(),
+                    true,
+                    Set.of(group.getRealm().getFullPath()),
+                    cond,
+                    PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE),
+                    AnyTypeKind.ANY_OBJECT);
+
+            matching.forEach(any -> {
+                Query insert = entityManager.createNativeQuery(
+                        "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
+                insert.setParameter(1, any.getType().getKey());
+                insert.setParameter(2, any.getKey());
+                insert.setParameter(3, group.getKey());
+                insert.executeUpdate();
+
+                publisher.publishEvent(
+                        new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain()));
+            });
+        }
+    }
+
     @Override
     public Group saveAndRefreshDynMemberships(final Group group) {
         Group merged = entityManager.merge(group);
+        searchStoreDAO.refresh(merged);
+
+        // refresh dynamic memberships: set-based when conditions can be translated into SQL, one by one otherwise
+        Set<String> adminRealms = Set.of(merged.getRealm().getFullPath());
 
-        // refresh dynamic memberships
-        clearUDynMembers(merged);
-        if (merged.getUDynMembership() != null) {
+        if (merged.getUDynMembership() == null) {
+            clearUDynMembers(merged);
+        } else {
             SearchCond cond = buildDynMembershipCond(merged.getUDynMembership().getFIQLCond());
-            int count = anySearchDAO.count(
-                    merged.getRealm(), true, Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.USER);
-            for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE); page++) {
-                List<User> matching = anySearchDAO.search(
-                        merged.getRealm(),
-                        true,
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE),
-                        AnyTypeKind.USER);
-
-                matching.forEach(user -> {
-                    Query insert = entityManager.createNativeQuery(
-                            "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                    insert.setParameter(1, user.getKey());
-                    insert.setParameter(2, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(
-                            new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, user, AuthContextUtils.getDomain()));
-                });
-            }
+            anySearchDAO.keysQuery(merged.getRealm(), true, adminRealms, cond, AnyTypeKind.USER).ifPresentOrElse(
+                    keysQuery -> publishUpdates(userDAO, dynMembershipUpdater.refresh(
+                            U_DYN_MEMBERS, merged.getKey(), null, List.of(AnyTypeKind.USER), List.of(keysQuery))),
+                    () -> refreshUDynMembers(merged));
+        }
+
+        Set<String> anyTypes = merged.getADynMemberships().stream().
+                map(memb -> memb.getAnyType().getKey()).collect(Collectors.toSet());
+        Query delete = entityManager.createNativeQuery(
+                "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=?"
+                + (anyTypes.isEmpty()
+                ? ""
+                : " AND anyType_id NOT IN (" + anyTypes.stream().map(k -> "?").collect(Collectors.joining(",")) + ")"));
+        delete.setParameter(1, merged.getKey());
+        int param = 2;
+        for (String anyType : anyTypes) {
+            delete.setParameter(param++, anyType);
         }
-        clearADynMembers(merged);
+        delete.executeUpdate();
+
         merged.getADynMemberships().forEach(memb -> {
-            SearchCond cond = buildDynMembershipCond(memb.getFIQLCond());
-            int count = anySearchDAO.count(
-                    merged.getRealm(), true, Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.ANY_OBJECT);
-            for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE); page++) {
-                List<AnyObject> matching = anySearchDAO.search(
-                        merged.getRealm(),
-                        true,
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE),
-                        AnyTypeKind.ANY_OBJECT);
-
-                matching.forEach(any -> {
-                    Query insert = entityManager.createNativeQuery(
-                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                    insert.setParameter(1, any.getType().getKey());
-                    insert.setParameter(2, any.getKey());
-                    insert.setParameter(3, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(
-                            new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, any, AuthContextUtils.getDomain()));
-                });
-            }
+            AnyTypeCond anyTypeCond = new AnyTypeCond();
+            anyTypeCond.setAnyTypeKey(memb.getAnyType().getKey());
+            SearchCond cond = SearchCond.getAnd(
+                    buildDynMembershipCond(memb.getFIQLCond()), SearchCond.getLeaf(anyTypeCond));
+
+            anySearchDAO.keysQuery(merged.getRealm(), true, adminRealms, cond, AnyTypeKind.ANY_OBJECT).
+                    ifPresentOrElse(
+                            keysQuery -> publishUpdates(anyObjectDAO, dynMembershipUpdater.refresh(
+                                    A_DYN_MEMBERS,
+                                    merged.getKey(),
+                                    memb.getAnyType().getKey(),
+                                    List.of(AnyTypeKind.ANY_OBJECT),
+                                    List.of(keysQuery))),
+                            () -> refreshADynMembers(merged, memb));
         });
 
         dynRealmDAO.refreshDynMemberships(merged);
@@ -407,41 +499,28 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
-        Set<String> before = new HashSet<>();
+        DynMembershipUpdater.Changes changes = DynMembershipUpdater.changes(anyObject);
+        Set<String> before = dynMembershipUpdater.findOwners(A_DYN_MEMBERS, anyObject.getKey());
+
+        Map<String, Group> candidates = new HashMap<>();
         Set<String> after = new HashSet<>();
         findWithADynMemberships(anyObject.getType()).forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(anyObject, buildDynMembershipCond(memb.getFIQLCond()));
-            if (matches) {
+            candidates.put(memb.getGroup().getKey(), memb.getGroup());
+            if (dynMembershipUpdater.matches(
+                    anyObject, changes, memb.getFIQLCond(), before.contains(memb.getGroup().getKey()))) {
+
                 after.add(memb.getGroup().getKey());
             }
+        });
 
-            Query find = entityManager.createNativeQuery(
-                    "SELECT any_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, anyObject.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
+        before.retainAll(candidates.keySet());
 
-            if (matches && !existing) {
-                Query insert = entityManager.createNativeQuery(
-                        "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                insert.setParameter(1, anyObject.getType().getKey());
-                insert.setParameter(2, anyObject.getKey());
-                insert.setParameter(3, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager.createNativeQuery(
-                        "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, anyObject.getKey());
-                delete.executeUpdate();
-            }
+        dynMembershipUpdater.update(A_DYN_MEMBERS, anyObject, before, after);
 
-            publisher.publishEvent(new EntityLifecycleEvent<>(
-                    this, SyncDeltaType.UPDATE, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
+        candidates.values().stream().
+                filter(group -> before.contains(group.getKey()) != after.contains(group.getKey())).
+                forEach(group -> publisher.publishEvent(new EntityLifecycleEvent<>(
+                        this, SyncDeltaType.UPDATE, group, AuthContextUtils.getDomain())));
 
         return Pair.of(before, after);
     }
@@ -499,40 +578,28 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final User user) {
-        Set<String> before = new HashSet<>();
+        DynMembershipUpdater.Changes changes = DynMembershipUpdater.changes(user);
+        Set<String> before = dynMembershipUpdater.findOwners(U_DYN_MEMBERS, user.getKey());
+
+        Map<String, Group> candidates = new HashMap<>();
         Set<String> after = new HashSet<>();
         findWithUDynMemberships().forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(user, buildDynMembershipCond(memb.getFIQLCond()));
-            if (matches) {
+            candidates.put(memb.getGroup().getKey(), memb.getGroup());
+            if (dynMembershipUpdater.matches(
+                    user, changes, memb.getFIQLCond(), before.contains(memb.getGroup().getKey()))) {
+
                 after.add(memb.getGroup().getKey());
             }
+        });
 
-            Query find = entityManager.createNativeQuery(
-                    "SELECT any_id FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, user.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
+        before.retainAll(candidates.keySet());
 
-            if (matches && !existing) {
-                Query insert = entityManager.createNativeQuery(
-                        "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager.createNativeQuery(
-                        "DELETE FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
-            }
+        dynMembershipUpdater.update(U_DYN_MEMBERS, user, before, after);
 
-            publisher.publishEvent(new EntityLifecycleEvent<>(
-                    this, SyncDeltaType.UPDATE, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
+        candidates.values().stream().
+                filter(group -> before.contains(group.getKey()) != after.contains(group.getKey())).
+                forEach(group -> publisher.publishEvent(new EntityLifecycleEvent<>(
+                        this, SyncDeltaType.UPDATE, group, AuthContextUtils.getDomain())));
 
         return Pair.of(before, after);
     }
@@ -566,6 +633,8 @@ public class GroupRepoExtImpl extends AbstractAnyRepoExt<Group> implements Group
 
     @Override
     public <S extends Group> S save(final S group) {
-        return entityManager.merge(group);
+        S merged = entityManager.merge(group);
+        searchStoreDAO.refresh(merged);
+        return merged;
     }
 }
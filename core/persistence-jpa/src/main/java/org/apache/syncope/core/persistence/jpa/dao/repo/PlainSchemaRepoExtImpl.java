@@ -39,6 +39,8 @@ import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class PlainSchemaRepoExtImpl extends AbstractSchemaRepoExt implements PlainSchemaRepoExt {
 
@@ -69,11 +71,12 @@ public class PlainSchemaRepoExtImpl extends AbstractSchemaRepoExt implements Pla
     protected final ExternalResourceDAO resourceDAO;
 
     public PlainSchemaRepoExtImpl(
+            final ApplicationEventPublisher publisher,
             final AnyUtilsFactory anyUtilsFactory,
             final ExternalResourceDAO resourceDAO,
             final EntityManager entityManager) {
 
-        super(entityManager);
+        super(publisher, entityManager);
         this.anyUtilsFactory = anyUtilsFactory;
         this.resourceDAO = resourceDAO;
     }
@@ -108,7 +111,11 @@ public class PlainSchemaRepoExtImpl extends AbstractSchemaRepoExt implements Pla
     @Override
     public PlainSchema save(final PlainSchema schema) {
         ((JPAPlainSchema) schema).map2json();
-        return entityManager.merge(schema);
+        PlainSchema merged = entityManager.merge(schema);
+
+        publish(SyncDeltaType.UPDATE, merged);
+
+        return merged;
     }
 
     protected void deleteAttrs(final PlainSchema schema) {
@@ -131,6 +138,8 @@ public class PlainSchemaRepoExtImpl extends AbstractSchemaRepoExt implements Pla
         Optional.ofNullable(schema.getAnyTypeClass()).ifPresent(c -> c.getPlainSchemas().remove(schema));
 
         entityManager.remove(schema);
+
+        publish(SyncDeltaType.DELETE, schema);
     }
 
     @Override
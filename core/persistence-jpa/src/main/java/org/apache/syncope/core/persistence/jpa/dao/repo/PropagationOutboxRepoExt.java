@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao.repo;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
+
+public interface PropagationOutboxRepoExt {
+
+    List<? extends PropagationOutboxEntry> findByResource(String resource, int max);
+
+    List<? extends PropagationOutboxEntry> findByLane(String resource, int lane, int max);
+
+    boolean existsByEntity(String resource, String entityKey);
+
+    Map<String, Long> countByResource();
+
+    int removeAll(Collection<String> keys);
+
+    void retry(String key, int attempts, OffsetDateTime notBefore);
+
+    boolean acquire(String resource, int lane, String owner, OffsetDateTime expiry);
+
+    void release(String resource, int lane, String owner);
+
+    int releaseAll(String owner);
+
+    List<? extends PropagationOutboxLease> findLeases();
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.openjpa.jdbc.meta.MappingRepository;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.apache.openjpa.jdbc.sql.H2Dictionary;
+import org.apache.openjpa.jdbc.sql.MariaDBDictionary;
+import org.apache.openjpa.jdbc.sql.MySQLDictionary;
+import org.apache.openjpa.jdbc.sql.OracleDictionary;
+import org.apache.openjpa.jdbc.sql.PostgresDictionary;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxEntry;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxLease;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+public class PropagationOutboxRepoExtImpl implements PropagationOutboxRepoExt {
+
+    private static final Map<String, Boolean> IS_SKIP_LOCKED_SUPPORTED = new ConcurrentHashMap<>();
+
+    protected final EntityManagerFactory entityManagerFactory;
+
+    protected final EntityManager entityManager;
+
+    public PropagationOutboxRepoExtImpl(
+            final EntityManagerFactory entityManagerFactory,
+            final EntityManager entityManager) {
+
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+    }
+
+    protected boolean isSkipLockedSupported() {
+        return IS_SKIP_LOCKED_SUPPORTED.computeIfAbsent(
+                AuthContextUtils.getDomain(),
+                k -> {
+                    OpenJPAEntityManagerFactorySPI emfspi =
+                            entityManagerFactory.unwrap(OpenJPAEntityManagerFactorySPI.class);
+                    DBDictionary dict = ((MappingRepository) emfspi.getConfiguration().
+                            getMetaDataRepositoryInstance()).getDBDictionary();
+                    return dict instanceof PostgresDictionary
+                            || dict instanceof OracleDictionary
+                            || dict instanceof MySQLDictionary
+                            || dict instanceof MariaDBDictionary
+                            || dict instanceof H2Dictionary;
+                });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<? extends PropagationOutboxEntry> findByResource(final String resource, final int max) {
+        TypedQuery<JPAPropagationOutboxEntry> query = entityManager.createQuery(
+                "SELECT e FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE e.resourceKey=:resource ORDER BY e.enqueued, e.id", JPAPropagationOutboxEntry.class);
+        query.setParameter("resource", resource);
+        query.setMaxResults(max);
+        return query.getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<? extends PropagationOutboxEntry> findByLane(final String resource, final int lane, final int max) {
+        TypedQuery<JPAPropagationOutboxEntry> query = entityManager.createQuery(
+                "SELECT e FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE e.resourceKey=:resource AND e.lane=:lane "
+                + "AND NOT EXISTS (SELECT r.id FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " r "
+                + "WHERE r.resourceKey=e.resourceKey AND r.entityKey=e.entityKey AND r.notBefore > :now) "
+                + "ORDER BY e.enqueued, e.id",
+                JPAPropagationOutboxEntry.class);
+        query.setParameter("resource", resource);
+        query.setParameter("lane", lane);
+        query.setParameter("now", OffsetDateTime.now());
+        query.setMaxResults(max);
+        return query.getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public boolean existsByEntity(final String resource, final String entityKey) {
+        Query query = entityManager.createQuery(
+                "SELECT COUNT(e) FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "WHERE e.resourceKey=:resource AND e.entityKey=:entityKey");
+        query.setParameter("resource", resource);
+        query.setParameter("entityKey", entityKey);
+        return ((Number) query.getSingleResult()).longValue() > 0;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, Long> countByResource() {
+        Query query = entityManager.createQuery(
+                "SELECT e.resourceKey, COUNT(e) FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "GROUP BY e.resourceKey");
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+        return results.stream().collect(Collectors.toMap(
+                result -> (String) result[0],
+                result -> ((Number) result[1]).longValue()));
+    }
+
+    @Transactional
+    @Override
+    public int removeAll(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Query query = entityManager.createQuery(
+                "DELETE FROM " + JPAPropagationOutboxEntry.class.getSimpleName() + " e WHERE e.id IN :keys");
+        query.setParameter("keys", keys);
+        return query.executeUpdate();
+    }
+
+    @Transactional
+    @Override
+    public void retry(final String key, final int attempts, final OffsetDateTime notBefore) {
+        Query query = entityManager.createQuery(
+                "UPDATE " + JPAPropagationOutboxEntry.class.getSimpleName() + " e "
+                + "SET e.attempts=:attempts, e.notBefore=:notBefore WHERE e.id=:key");
+        query.setParameter("attempts", attempts);
+        query.setParameter("notBefore", notBefore);
+        query.setParameter("key", key);
+        query.executeUpdate();
+    }
+
+    @Transactional
+    @Override
+    public boolean acquire(final String resource, final int lane, final String owner, final OffsetDateTime expiry) {
+        String key = JPAPropagationOutboxLease.key(resource, lane);
+
+        // where supported, do not wait for leases being acquired by other nodes right now
+        boolean locked = true;
+        if (isSkipLockedSupported()) {
+            Query lock = entityManager.createNativeQuery(
+                    "SELECT id FROM " + JPAPropagationOutboxLease.TABLE + " WHERE id=? FOR UPDATE SKIP LOCKED");
+            lock.setParameter(1, key);
+            locked = !lock.getResultList().isEmpty();
+        }
+
+        if (locked) {
+            Query update = entityManager.createQuery(
+                    "UPDATE " + JPAPropagationOutboxLease.class.getSimpleName() + " e "
+                    + "SET e.owner=:owner, e.expiry=:expiry "
+                    + "WHERE e.id=:key AND (e.owner IS NULL OR e.owner=:owner OR e.expiry < :now)");
+            update.setParameter("owner", owner);
+            update.setParameter("expiry", expiry);
+            update.setParameter("key", key);
+            update.setParameter("now", OffsetDateTime.now());
+            if (update.executeUpdate() > 0) {
+                return true;
+            }
+        }
+
+        Query exists = entityManager.createNativeQuery(
+                "SELECT COUNT(id) FROM " + JPAPropagationOutboxLease.TABLE + " WHERE id=?");
+        exists.setParameter(1, key);
+        if (((Number) exists.getSingleResult()).longValue() > 0) {
+            return false;
+        }
+
+        // first time this lane is drained: concurrent acquisitions will fail on commit
+        JPAPropagationOutboxLease lease = new JPAPropagationOutboxLease();
+        lease.setKey(key);
+        lease.setResource(resource);
+        lease.setLane(lane);
+        lease.setOwner(owner);
+        lease.setExpiry(expiry);
+        entityManager.persist(lease);
+        return true;
+    }
+
+    @Transactional
+    @Override
+    public void release(final String resource, final int lane, final String owner) {
+        Query query = entityManager.createQuery(
+                "UPDATE " + JPAPropagationOutboxLease.class.getSimpleName() + " e "
+                + "SET e.owner=NULL, e.expiry=NULL WHERE e.id=:key AND e.owner=:owner");
+        query.setParameter("key", JPAPropagationOutboxLease.key(resource, lane));
+        query.setParameter("owner", owner);
+        query.executeUpdate();
+    }
+
+    @Transactional
+    @Override
+    public int releaseAll(final String owner) {
+        Query query = entityManager.createQuery(
+                "UPDATE " + JPAPropagationOutboxLease.class.getSimpleName() + " e "
+                + "SET e.owner=NULL, e.expiry=NULL WHERE e.owner=:owner");
+        query.setParameter("owner", owner);
+        return query.executeUpdate();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<? extends PropagationOutboxLease> findLeases() {
+        TypedQuery<JPAPropagationOutboxLease> query = entityManager.createQuery(
+                "SELECT e FROM " + JPAPropagationOutboxLease.class.getSimpleName() + " e "
+                + "WHERE e.owner IS NOT NULL ORDER BY e.id", JPAPropagationOutboxLease.class);
+        return query.getResultList();
+    }
+}
@@ -24,7 +24,10 @@ import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.core.persistence.api.dao.MalformedPathException;
@@ -40,6 +43,7 @@ import org.apache.syncope.core.persistence.api.entity.policy.Policy;
 import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.ProvisioningPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.TicketExpirationPolicy;
+import org.apache.syncope.core.persistence.jpa.dao.RealmTreeIndex;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
 import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -96,19 +100,29 @@ public class RealmRepoExtImpl implements RealmRepoExt {
                 : StringUtils.appendIfMissing(realm.getParent().getFullPath(), "/") + realm.getName();
     }
 
+    protected static String getName(final String fullPath) {
+        return SyncopeConstants.ROOT_REALM.equals(fullPath)
+                ? fullPath
+                : StringUtils.substringAfterLast(fullPath, "/");
+    }
+
     protected final RoleDAO roleDAO;
 
     protected final ApplicationEventPublisher publisher;
 
+    protected final RealmTreeIndex realmTreeIndex;
+
     protected final EntityManager entityManager;
 
     public RealmRepoExtImpl(
             final RoleDAO roleDAO,
             final ApplicationEventPublisher publisher,
+            final RealmTreeIndex realmTreeIndex,
             final EntityManager entityManager) {
 
         this.publisher = publisher;
         this.roleDAO = roleDAO;
+        this.realmTreeIndex = realmTreeIndex;
         this.entityManager = entityManager;
     }
 
@@ -163,8 +177,32 @@ public class RealmRepoExtImpl implements RealmRepoExt {
         return query.getResultList();
     }
 
+    /**
+     * Whether descendants can be looked up via {@link RealmTreeIndex}: keywords including {@code %} wildcards are
+     * left to the database.
+     *
+     * @param keyword name filter, may be null
+     * @return whether the realm tree index can be used
+     */
+    protected boolean isIndexed(final String keyword) {
+        return realmTreeIndex.isUsable() && StringUtils.indexOf(keyword, '%') == -1;
+    }
+
+    protected List<String> findIndexedDescendants(final String base, final String keyword) {
+        String lowerKeyword = Optional.ofNullable(keyword).map(String::toLowerCase).orElse(null);
+
+        return realmTreeIndex.findDescendants(base).entrySet().stream().
+                filter(entry -> lowerKeyword == null || getName(entry.getKey()).toLowerCase().contains(lowerKeyword)).
+                map(Map.Entry::getValue).
+                toList();
+    }
+
     @Override
     public long countDescendants(final String base, final String keyword) {
+        if (isIndexed(keyword)) {
+            return findIndexedDescendants(base, keyword).size();
+        }
+
         List<Object> parameters = new ArrayList<>();
 
         StringBuilder queryString = buildDescendantQuery(base, keyword, parameters);
@@ -182,6 +220,17 @@ public class RealmRepoExtImpl implements RealmRepoExt {
 
     @Override
     public List<Realm> findDescendants(final String base, final String keyword, final Pageable pageable) {
+        if (isIndexed(keyword)) {
+            Stream<String> keys = findIndexedDescendants(base, keyword).stream();
+            if (pageable.isPaged()) {
+                keys = keys.skip((long) pageable.getPageSize() * pageable.getPageNumber()).
+                        limit(pageable.getPageSize());
+            }
+            return keys.<Realm>map(key -> entityManager.find(JPARealm.class, key)).
+                    filter(Objects::nonNull).
+                    toList();
+        }
+
         List<Object> parameters = new ArrayList<>();
 
         StringBuilder queryString = buildDescendantQuery(base, keyword, parameters);
@@ -202,6 +251,13 @@ public class RealmRepoExtImpl implements RealmRepoExt {
 
     @Override
     public List<String> findDescendants(final String base, final String prefix) {
+        if (realmTreeIndex.isUsable()) {
+            return realmTreeIndex.findDescendants(base).entrySet().stream().
+                    filter(entry -> RealmTreeIndex.isDescendant(entry.getKey(), prefix)).
+                    map(Map.Entry::getValue).
+                    toList();
+        }
+
         List<Object> parameters = new ArrayList<>();
 
         StringBuilder queryString = buildDescendantQuery(base, null, parameters);
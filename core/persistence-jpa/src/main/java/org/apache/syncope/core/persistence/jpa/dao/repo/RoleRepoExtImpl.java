@@ -21,7 +21,9 @@ package org.apache.syncope.core.persistence.jpa.dao.repo;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -30,6 +32,7 @@ import org.apache.syncope.core.persistence.api.entity.Role;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipUpdater;
 import org.apache.syncope.core.persistence.jpa.entity.JPARole;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
@@ -40,6 +43,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class RoleRepoExtImpl implements RoleRepoExt {
 
+    protected static final DynMembershipUpdater.MembersTable DYN_MEMBERS =
+            new DynMembershipUpdater.MembersTable(DYNMEMB_TABLE, JPARole.TABLE, "role_id", false);
+
     protected final ApplicationEventPublisher publisher;
 
     protected final AnyMatchDAO anyMatchDAO;
@@ -52,6 +58,8 @@ public class RoleRepoExtImpl implements RoleRepoExt {
 
     protected final EntityManager entityManager;
 
+    protected final DynMembershipUpdater dynMembershipUpdater;
+
     public RoleRepoExtImpl(
             final ApplicationEventPublisher publisher,
             final AnyMatchDAO anyMatchDAO,
@@ -66,12 +74,18 @@ public class RoleRepoExtImpl implements RoleRepoExt {
         this.delegationDAO = delegationDAO;
         this.searchCondVisitor = searchCondVisitor;
         this.entityManager = entityManager;
+        this.dynMembershipUpdater = new DynMembershipUpdater(searchCondVisitor, anyMatchDAO, entityManager);
     }
 
     @Override
     public Role save(final Role role) {
         ((JPARole) role).list2json();
-        return entityManager.merge(role);
+        Role merged = entityManager.merge(role);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.UPDATE, merged, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     @Override
@@ -116,6 +130,9 @@ public class RoleRepoExtImpl implements RoleRepoExt {
         delegationDAO.findByRoles(role).forEach(delegation -> delegation.getRoles().remove(role));
 
         entityManager.remove(role);
+
+        publisher.publishEvent(
+                new EntityLifecycleEvent<>(this, SyncDeltaType.DELETE, role, AuthContextUtils.getDomain()));
     }
 
     @Override
@@ -144,32 +161,25 @@ public class RoleRepoExtImpl implements RoleRepoExt {
     @Transactional
     @Override
     public void refreshDynMemberships(final User user) {
+        DynMembershipUpdater.Changes changes = DynMembershipUpdater.changes(user);
+        Set<String> before = dynMembershipUpdater.findOwners(DYN_MEMBERS, user.getKey());
+
+        Set<String> candidates = new HashSet<>();
+        Set<String> after = new HashSet<>();
         entityManager.createQuery(
                 "SELECT e FROM " + JPARole.class.getSimpleName() + " e WHERE e.dynMembership IS NOT NULL", Role.class).
                 getResultStream().forEach(role -> {
-                    boolean matches = anyMatchDAO.matches(
-                            user,
-                            SearchCondConverter.convert(searchCondVisitor, role.getDynMembership().getFIQLCond()));
-
-                    Query find = entityManager.createNativeQuery(
-                            "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE role_id=?");
-                    find.setParameter(1, role.getKey());
-                    boolean existing = !find.getResultList().isEmpty();
-
-                    if (matches && !existing) {
-                        Query insert = entityManager.createNativeQuery(
-                                "INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                        insert.setParameter(1, user.getKey());
-                        insert.setParameter(2, role.getKey());
-                        insert.executeUpdate();
-                    } else if (!matches && existing) {
-                        Query delete = entityManager.createNativeQuery(
-                                "DELETE FROM " + DYNMEMB_TABLE + " WHERE role_id=? AND any_id=?");
-                        delete.setParameter(1, role.getKey());
-                        delete.setParameter(2, user.getKey());
-                        delete.executeUpdate();
+                    candidates.add(role.getKey());
+                    if (dynMembershipUpdater.matches(
+                            user, changes, role.getDynMembership().getFIQLCond(), before.contains(role.getKey()))) {
+
+                        after.add(role.getKey());
                     }
                 });
+
+        before.retainAll(candidates);
+
+        dynMembershipUpdater.update(DYN_MEMBERS, user, before, after);
     }
 
     @Override
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Role;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
@@ -50,10 +51,14 @@ public interface UserRepoExt extends AnyRepoExt<User> {
 
     List<Role> findDynRoles(String key);
 
+    Map<String, List<Role>> findDynRoles(Collection<String> keys);
+
     Collection<Role> findAllRoles(User user);
 
     List<Group> findDynGroups(String key);
 
+    Map<String, List<Group>> findDynGroups(Collection<String> keys);
+
     Collection<Group> findAllGroups(User user);
 
     Collection<String> findAllGroupKeys(User user);
@@ -66,6 +71,8 @@ public interface UserRepoExt extends AnyRepoExt<User> {
 
     boolean linkedAccountExists(String userKey, String connObjectKeyValue);
 
+    void updateLogins(Collection<UserDAO.LoginUpdate> updates);
+
     @Override
     <S extends User> S save(S user);
 
@@ -18,14 +18,15 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao.repo;
 
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,6 +34,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchStoreDAO;
 import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
@@ -40,6 +42,7 @@ import org.apache.syncope.core.persistence.api.dao.FIQLQueryDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -47,15 +50,18 @@ import org.apache.syncope.core.persistence.api.entity.Role;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAllowedSchemasCacheDAO;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPALinkedAccount;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
-import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRepoExt {
 
@@ -82,12 +88,16 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
             final DelegationDAO delegationDAO,
             final FIQLQueryDAO fiqlQueryDAO,
             final SecurityProperties securityProperties,
+            final AnySearchStoreDAO searchStoreDAO,
+            final JPAAllowedSchemasCacheDAO allowedSchemasCacheDAO,
             final EntityManager entityManager) {
 
         super(
                 plainSchemaDAO,
                 derSchemaDAO,
                 dynRealmDAO,
+                searchStoreDAO,
+                allowedSchemasCacheDAO,
                 entityManager,
                 anyUtilsFactory.getInstance(AnyTypeKind.USER));
         this.roleDAO = roleDAO;
@@ -136,20 +146,26 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
             final String realm,
             final Collection<String> groups) {
 
-        // 1. check if AuthContextUtils.getUsername() is owner of at least one group of which user is member
-        boolean authorized = authRealms.stream().
-                map(authRealm -> RealmUtils.parseGroupOwnerRealm(authRealm).orElse(null)).
-                filter(Objects::nonNull).
-                anyMatch(pair -> groups.contains(pair.getRight()));
+        securityChecks(RealmScope.of(authRealms), key, realm, groups);
+    }
+
+    protected void securityChecks(
+            final RealmScope authScope,
+            final String key,
+            final String realm,
+            final Collection<String> groups) {
 
-        // 2. check if user is in at least one DynRealm for which AuthContextUtils.getUsername() owns entitlement
+        // 1. check if user is in Realm (or descendants) for which AuthContextUtils.getUsername() owns entitlement
+        boolean authorized = authScope.includes(realm);
+
+        // 2. check if AuthContextUtils.getUsername() is owner of at least one group of which user is member
         if (!authorized) {
-            authorized = findDynRealms(key).stream().anyMatch(authRealms::contains);
+            authorized = authScope.ownsAnyGroup(groups);
         }
 
-        // 3. check if user is in Realm (or descendants) for which AuthContextUtils.getUsername() owns entitlement
-        if (!authorized) {
-            authorized = authRealms.stream().anyMatch(realm::startsWith);
+        // 3. check if user is in at least one DynRealm for which AuthContextUtils.getUsername() owns entitlement
+        if (!authorized && key != null && !authScope.getDynRealms().isEmpty()) {
+            authorized = authScope.includesAnyDynRealm(findDynRealms(key));
         }
 
         if (!authorized) {
@@ -164,10 +180,11 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
         if (!AuthContextUtils.getUsername().equals(securityProperties.getAnonymousUser())
                 && !AuthContextUtils.getUsername().equals(user.getUsername())) {
 
-            Set<String> authRealms = AuthContextUtils.getAuthorizations().
-                    getOrDefault(IdRepoEntitlement.USER_READ, Set.of());
-
-            securityChecks(authRealms, user.getKey(), user.getRealm().getFullPath(), findAllGroupKeys(user));
+            securityChecks(
+                    AuthContextUtils.getRealmScope(IdRepoEntitlement.USER_READ),
+                    user.getKey(),
+                    user.getRealm().getFullPath(),
+                    findAllGroupKeys(user));
         }
     }
 
@@ -178,6 +195,7 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
 
     protected Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
         User merged = entityManager.merge(user);
+        searchStoreDAO.refresh(merged);
         roleDAO.refreshDynMemberships(merged);
         Pair<Set<String>, Set<String>> dynGroupMembs = groupDAO.refreshDynMemberships(merged);
         dynRealmDAO.refreshDynMemberships(merged);
@@ -238,6 +256,12 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
                 collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Override
+    public Map<String, List<Role>> findDynRoles(final Collection<String> keys) {
+        return findByAnyKeys(RoleRepoExt.DYNMEMB_TABLE, "role_id", keys, roleDAO::findById);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     public List<Group> findDynGroups(final String key) {
@@ -254,6 +278,12 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
                 collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Override
+    public Map<String, List<Group>> findDynGroups(final Collection<String> keys) {
+        return findByAnyKeys(GroupRepoExt.UDYNMEMB_TABLE, "group_id", keys, groupDAO::findById);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     public Collection<Group> findAllGroups(final User user) {
@@ -303,4 +333,57 @@ public class UserRepoExtImpl extends AbstractAnyRepoExt<User> implements UserRep
 
         return ((Number) query.getSingleResult()).longValue() > 0;
     }
+
+    @Transactional
+    @Override
+    public void updateLogins(final Collection<UserDAO.LoginUpdate> updates) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+
+        updates.forEach(update -> {
+            List<String> assignments = new ArrayList<>();
+            if (update.lastLoginDate() != null) {
+                assignments.add("e.lastLoginDate=:lastLoginDate");
+            }
+            if (update.resetFailedLogins()) {
+                assignments.add("e.failedLogins=:failedLogins");
+            }
+            if (!assignments.isEmpty()) {
+                Query query = entityManager.createQuery(
+                        "UPDATE " + JPAUser.class.getSimpleName() + " e SET " + String.join(", ", assignments)
+                        + " WHERE e.id=:key");
+                if (update.lastLoginDate() != null) {
+                    query.setParameter("lastLoginDate", update.lastLoginDate());
+                }
+                if (update.resetFailedLogins()) {
+                    query.setParameter("failedLogins", update.failedLogins());
+                }
+                query.setParameter("key", update.key());
+                query.executeUpdate();
+            }
+
+            // JPQL does not allow arithmetic over COALESCE in bulk updates
+            if (!update.resetFailedLogins() && update.failedLogins() != 0) {
+                Query query = entityManager.createNativeQuery(
+                        "UPDATE " + JPAUser.TABLE + " SET failedLogins=COALESCE(failedLogins, 0) + ? WHERE id=?");
+                query.setParameter(1, update.failedLogins());
+                query.setParameter(2, update.key());
+                query.executeUpdate();
+            }
+
+        });
+
+        // bulk updates bypass the second level cache: evict once committed, as concurrent transactions might have
+        // cached the previous state meanwhile
+        Runnable evict = () -> updates.forEach(update -> cache.evict(JPAUser.class, update.key()));
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
 }
@@ -29,13 +29,19 @@ import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.jpa.entity.JPAVirSchema;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.springframework.context.ApplicationEventPublisher;
 
 public class VirSchemaRepoExtImpl extends AbstractSchemaRepoExt implements VirSchemaRepoExt {
 
     protected final ExternalResourceDAO resourceDAO;
 
-    public VirSchemaRepoExtImpl(final ExternalResourceDAO resourceDAO, final EntityManager entityManager) {
-        super(entityManager);
+    public VirSchemaRepoExtImpl(
+            final ApplicationEventPublisher publisher,
+            final ExternalResourceDAO resourceDAO,
+            final EntityManager entityManager) {
+
+        super(publisher, entityManager);
         this.resourceDAO = resourceDAO;
     }
 
@@ -62,7 +68,11 @@ public class VirSchemaRepoExtImpl extends AbstractSchemaRepoExt implements VirSc
     @Override
     public VirSchema save(final VirSchema schema) {
         ((JPAVirSchema) schema).map2json();
-        return entityManager.merge(schema);
+        VirSchema merged = entityManager.merge(schema);
+
+        publish(SyncDeltaType.UPDATE, merged);
+
+        return merged;
     }
 
     @Override
@@ -83,5 +93,7 @@ public class VirSchemaRepoExtImpl extends AbstractSchemaRepoExt implements VirSc
                 ifPresent(anyTypeClass -> anyTypeClass.getVirSchemas().remove(schema));
 
         entityManager.remove(schema);
+
+        publish(SyncDeltaType.DELETE, schema);
     }
 }
@@ -87,6 +87,8 @@ import org.apache.syncope.core.persistence.api.entity.policy.TicketExpirationPol
 import org.apache.syncope.core.persistence.api.entity.task.AnyTemplatePullTask;
 import org.apache.syncope.core.persistence.api.entity.task.MacroTask;
 import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
@@ -140,6 +142,8 @@ import org.apache.syncope.core.persistence.jpa.entity.policy.JPATicketExpiration
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAAnyTemplatePullTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAMacroTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPANotificationTask;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxEntry;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationOutboxLease;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPropagationTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPullTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPushTask;
@@ -266,6 +270,10 @@ public class JPAEntityFactory implements EntityFactory {
             result = (E) new JPANotificationTask();
         } else if (reference.equals(PropagationTask.class)) {
             result = (E) new JPAPropagationTask();
+        } else if (reference.equals(PropagationOutboxEntry.class)) {
+            result = (E) new JPAPropagationOutboxEntry();
+        } else if (reference.equals(PropagationOutboxLease.class)) {
+            result = (E) new JPAPropagationOutboxLease();
         } else if (reference.equals(PushTask.class)) {
             result = (E) new JPAPushTask();
         } else if (reference.equals(PullTask.class)) {
@@ -105,6 +105,21 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
      */
     private Integer propagationPriority;
 
+    /**
+     * Maximum number of concurrent requests to the connector, unbounded if null.
+     */
+    private Integer maxConcurrentRequests;
+
+    /**
+     * Number of consecutive connector failures opening the circuit breaker, disabled if null.
+     */
+    private Integer circuitBreakerThreshold;
+
+    /**
+     * Seconds the circuit breaker stays open before letting a probe request through.
+     */
+    private Integer circuitBreakerDelay;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     private TraceLevel createTraceLevel = TraceLevel.FAILURES;
@@ -231,6 +246,36 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
         this.propagationPriority = propagationPriority;
     }
 
+    @Override
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @Override
+    public void setMaxConcurrentRequests(final Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    @Override
+    public Integer getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    @Override
+    public void setCircuitBreakerThreshold(final Integer circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    @Override
+    public Integer getCircuitBreakerDelay() {
+        return circuitBreakerDelay;
+    }
+
+    @Override
+    public void setCircuitBreakerDelay(final Integer circuitBreakerDelay) {
+        this.circuitBreakerDelay = circuitBreakerDelay;
+    }
+
     @Override
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
@@ -25,6 +25,7 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import java.util.Optional;
+import org.apache.syncope.common.lib.types.AfterObjStrategy;
 import org.apache.syncope.common.lib.types.BackOffStrategy;
 import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
 
@@ -39,6 +40,9 @@ public class JPAPropagationPolicy extends AbstractPolicy implements PropagationP
     @NotNull
     private Boolean fetchAroundProvisioning = true;
 
+    @Enumerated(EnumType.STRING)
+    private AfterObjStrategy afterObjStrategy = AfterObjStrategy.FULL_READ;
+
     @NotNull
     private Boolean updateDelta = false;
 
@@ -62,6 +66,16 @@ public class JPAPropagationPolicy extends AbstractPolicy implements PropagationP
         this.fetchAroundProvisioning = fetchAroundProvisioning;
     }
 
+    @Override
+    public AfterObjStrategy getAfterObjStrategy() {
+        return Optional.ofNullable(afterObjStrategy).orElse(AfterObjStrategy.FULL_READ);
+    }
+
+    @Override
+    public void setAfterObjStrategy(final AfterObjStrategy afterObjStrategy) {
+        this.afterObjStrategy = afterObjStrategy;
+    }
+
     @Override
     public boolean isUpdateDelta() {
         return updateDelta;
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity.task;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.jpa.entity.AbstractGeneratedKeyEntity;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+
+@Entity
+@Table(name = JPAPropagationOutboxEntry.TABLE)
+public class JPAPropagationOutboxEntry extends AbstractGeneratedKeyEntity implements PropagationOutboxEntry {
+
+    private static final long serialVersionUID = -2447180387260311387L;
+
+    public static final String TABLE = "PropagationOutbox";
+
+    /**
+     * Key of the resource to which the propagation happens; not a foreign key, as entries are meant to be
+     * discarded rather than to prevent resource removal.
+     */
+    @Column(nullable = false)
+    private String resourceKey;
+
+    /**
+     * Partition of the resource's entries: all entries about the same entity go to the same lane, which is drained
+     * by one Core node at a time.
+     */
+    private int lane;
+
+    private String connObjectKey;
+
+    private String oldConnObjectKey;
+
+    @Lob
+    private String propagationData;
+
+    private String objectClassName;
+
+    @Enumerated(EnumType.STRING)
+    private ResourceOperation operation;
+
+    private String entityKey;
+
+    @Enumerated(EnumType.STRING)
+    private AnyTypeKind anyTypeKind;
+
+    private String anyType;
+
+    private String executor;
+
+    @Column(nullable = false)
+    private OffsetDateTime enqueued;
+
+    /**
+     * Key of the propagation task recording previous attempts, if any.
+     */
+    private String taskKey;
+
+    /**
+     * Number of attempts already failed.
+     */
+    private int attempts;
+
+    /**
+     * Earliest time for the next attempt; entries about the same entity are not drained before then.
+     */
+    private OffsetDateTime notBefore;
+
+    @Override
+    public String getResource() {
+        return resourceKey;
+    }
+
+    @Override
+    public void setResource(final String resource) {
+        this.resourceKey = resource;
+    }
+
+    @Override
+    public int getLane() {
+        return lane;
+    }
+
+    @Override
+    public void setLane(final int lane) {
+        this.lane = lane;
+    }
+
+    @Override
+    public String getConnObjectKey() {
+        return connObjectKey;
+    }
+
+    @Override
+    public void setConnObjectKey(final String connObjectKey) {
+        this.connObjectKey = connObjectKey;
+    }
+
+    @Override
+    public String getOldConnObjectKey() {
+        return oldConnObjectKey;
+    }
+
+    @Override
+    public void setOldConnObjectKey(final String oldConnObjectKey) {
+        this.oldConnObjectKey = oldConnObjectKey;
+    }
+
+    @Override
+    public PropagationData getPropagationData() {
+        PropagationData result = null;
+        if (StringUtils.isNotBlank(propagationData)) {
+            result = POJOHelper.deserialize(propagationData, PropagationData.class);
+        }
+        return result;
+    }
+
+    @Override
+    public void setPropagationData(final PropagationData propagationData) {
+        this.propagationData = POJOHelper.serialize(propagationData);
+    }
+
+    @Override
+    public String getObjectClassName() {
+        return objectClassName;
+    }
+
+    @Override
+    public void setObjectClassName(final String objectClassName) {
+        this.objectClassName = objectClassName;
+    }
+
+    @Override
+    public ResourceOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public void setOperation(final ResourceOperation operation) {
+        this.operation = operation;
+    }
+
+    @Override
+    public String getEntityKey() {
+        return entityKey;
+    }
+
+    @Override
+    public void setEntityKey(final String entityKey) {
+        this.entityKey = entityKey;
+    }
+
+    @Override
+    public AnyTypeKind getAnyTypeKind() {
+        return anyTypeKind;
+    }
+
+    @Override
+    public void setAnyTypeKind(final AnyTypeKind anyTypeKind) {
+        this.anyTypeKind = anyTypeKind;
+    }
+
+    @Override
+    public String getAnyType() {
+        return anyType;
+    }
+
+    @Override
+    public void setAnyType(final String anyType) {
+        this.anyType = anyType;
+    }
+
+    @Override
+    public String getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void setExecutor(final String executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public OffsetDateTime getEnqueued() {
+        return enqueued;
+    }
+
+    @Override
+    public void setEnqueued(final OffsetDateTime enqueued) {
+        this.enqueued = enqueued;
+    }
+
+    @Override
+    public String getTaskKey() {
+        return taskKey;
+    }
+
+    @Override
+    public void setTaskKey(final String taskKey) {
+        this.taskKey = taskKey;
+    }
+
+    @Override
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public void setAttempts(final int attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public OffsetDateTime getNotBefore() {
+        return notBefore;
+    }
+
+    @Override
+    public void setNotBefore(final OffsetDateTime notBefore) {
+        this.notBefore = notBefore;
+    }
+}
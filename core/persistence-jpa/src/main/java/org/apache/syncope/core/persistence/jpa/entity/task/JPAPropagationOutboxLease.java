@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity.task;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
+import org.apache.syncope.core.persistence.jpa.entity.AbstractProvidedKeyEntity;
+
+@Entity
+@Table(name = JPAPropagationOutboxLease.TABLE)
+public class JPAPropagationOutboxLease extends AbstractProvidedKeyEntity implements PropagationOutboxLease {
+
+    private static final long serialVersionUID = 6310473928470233916L;
+
+    public static final String TABLE = "PropagationOutboxLease";
+
+    public static String key(final String resource, final int lane) {
+        return resource + '#' + lane;
+    }
+
+    @Column(nullable = false)
+    private String resourceKey;
+
+    private int lane;
+
+    private String owner;
+
+    private OffsetDateTime expiry;
+
+    @Override
+    public String getResource() {
+        return resourceKey;
+    }
+
+    @Override
+    public void setResource(final String resource) {
+        this.resourceKey = resource;
+    }
+
+    @Override
+    public int getLane() {
+        return lane;
+    }
+
+    @Override
+    public void setLane(final int lane) {
+        this.lane = lane;
+    }
+
+    @Override
+    public String getOwner() {
+        return owner;
+    }
+
+    @Override
+    public void setOwner(final String owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public OffsetDateTime getExpiry() {
+        return expiry;
+    }
+
+    @Override
+    public void setExpiry(final OffsetDateTime expiry) {
+        this.expiry = expiry;
+    }
+}
@@ -50,7 +50,7 @@ import org.apache.syncope.core.persistence.jpa.entity.JPAExternalResource;
 import org.apache.syncope.core.persistence.jpa.entity.JPAPrivilege;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
-import org.apache.syncope.core.spring.security.Encryptor;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 
 @Entity
 @Table(name = JPALinkedAccount.TABLE, uniqueConstraints =
@@ -61,8 +61,6 @@ public class JPALinkedAccount extends AbstractGeneratedKeyEntity implements Link
 
     public static final String TABLE = "LinkedAccount";
 
-    private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
-
     @NotNull
     private String connObjectKeyValue;
 
@@ -171,7 +169,7 @@ public class JPALinkedAccount extends AbstractGeneratedKeyEntity implements Link
     @Override
     public void setPassword(final String password) {
         try {
-            this.password = ENCRYPTOR.encode(password, cipherAlgorithm == null
+            this.password = PasswordHashingService.encodeWithAvailable(password, cipherAlgorithm == null
                     ? CipherAlgorithm.valueOf(ApplicationContextProvider.getBeanFactory().getBean(ConfParamOps.class).
                     get(AuthContextUtils.getDomain(), "password.cipher.algorithm", CipherAlgorithm.AES.name(),
                             String.class))
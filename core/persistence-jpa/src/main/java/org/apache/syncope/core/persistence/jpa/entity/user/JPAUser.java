@@ -62,7 +62,7 @@ import org.apache.syncope.core.persistence.jpa.entity.JPARole;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
-import org.apache.syncope.core.spring.security.Encryptor;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecureRandomUtils;
 
 @Entity
@@ -76,8 +76,6 @@ public class JPAUser
 
     public static final String TABLE = "SyncopeUser";
 
-    protected static final Encryptor ENCRYPTOR = Encryptor.getInstance();
-
     protected static final TypeReference<List<String>> TYPEREF = new TypeReference<List<String>>() {
     };
 
@@ -225,7 +223,7 @@ public class JPAUser
     @Override
     public void setPassword(final String password) {
         try {
-            this.password = ENCRYPTOR.encode(password, cipherAlgorithm == null
+            this.password = PasswordHashingService.encodeWithAvailable(password, cipherAlgorithm == null
                     ? CipherAlgorithm.valueOf(ApplicationContextProvider.getBeanFactory().getBean(ConfParamOps.class).
                             get(AuthContextUtils.getDomain(), "password.cipher.algorithm", CipherAlgorithm.AES.name(),
                                     String.class))
@@ -413,7 +411,7 @@ public class JPAUser
     @Override
     public void setSecurityAnswer(final String securityAnswer) {
         try {
-            this.securityAnswer = ENCRYPTOR.encode(securityAnswer, cipherAlgorithm == null
+            this.securityAnswer = PasswordHashingService.encodeWithAvailable(securityAnswer, cipherAlgorithm == null
                     ? CipherAlgorithm.valueOf(ApplicationContextProvider.getBeanFactory().getBean(ConfParamOps.class).
                             get(AuthContextUtils.getDomain(), "password.cipher.algorithm", CipherAlgorithm.AES.name(),
                                     String.class))
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.util.StringId;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes {@link RemoteCommitCacheEvent} in case HA is set up and changes are performed by another node in the
+ * OpenJPA cluster.
+ */
+public class CacheRemoteCommitListener implements RemoteCommitListener, Serializable {
+
+    private static final long serialVersionUID = -5397474391233553437L;
+
+    protected static final Logger LOG = LoggerFactory.getLogger(CacheRemoteCommitListener.class);
+
+    protected final String domain;
+
+    public CacheRemoteCommitListener(final String domain) {
+        this.domain = domain;
+    }
+
+    protected static void addKeys(final Collection<?> ids, final Map<Class<?>, Set<String>> keys) {
+        if (ids != null) {
+            ids.stream().filter(StringId.class::isInstance).map(StringId.class::cast).
+                    forEach(id -> keys.computeIfAbsent(id.getType(), k -> new HashSet<>()).add(id.getId()));
+        }
+    }
+
+    protected static void addTypes(final Collection<?> typeNames, final Set<Class<?>> types) {
+        if (typeNames != null) {
+            typeNames.forEach(typeName -> {
+                try {
+                    types.add(ClassUtils.getClass(typeName.toString()));
+                } catch (ClassNotFoundException e) {
+                    LOG.error("Could not load {}", typeName, e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCommit(final RemoteCommitEvent event) {
+        Map<Class<?>, Set<String>> keys = new HashMap<>();
+        Set<Class<?>> types = new HashSet<>();
+
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            addTypes(event.getPersistedTypeNames(), types);
+            addTypes(event.getUpdatedTypeNames(), types);
+            addTypes(event.getDeletedTypeNames(), types);
+        } else {
+            if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_OIDS_WITH_ADDS) {
+                addKeys(event.getPersistedObjectIds(), keys);
+            } else {
+                addTypes(event.getPersistedTypeNames(), types);
+            }
+            addKeys(event.getUpdatedObjectIds(), keys);
+            addKeys(event.getDeletedObjectIds(), keys);
+        }
+
+        if (!keys.isEmpty() || !types.isEmpty()) {
+            ApplicationContextProvider.getApplicationContext().
+                    publishEvent(new RemoteCommitCacheEvent(this, domain, keys, types));
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
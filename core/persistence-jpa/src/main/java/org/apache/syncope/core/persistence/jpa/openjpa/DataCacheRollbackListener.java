@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import org.apache.openjpa.datacache.DataCache;
+import org.apache.openjpa.event.AbstractTransactionListener;
+import org.apache.openjpa.event.TransactionEvent;
+import org.apache.openjpa.kernel.Broker;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+
+/**
+ * OpenJPA stores the whole state of an entity into the data cache whenever one of its lazy fields is loaded, including
+ * changes not flushed yet; entities involved in a transaction which is then rolled back are therefore evicted from the
+ * data cache, to prevent such changes from being served afterwards.
+ */
+public class DataCacheRollbackListener extends AbstractTransactionListener {
+
+    @Override
+    public void afterRollback(final TransactionEvent event) {
+        if (!(event.getSource() instanceof Broker broker) || event.getTransactionalObjects() == null) {
+            return;
+        }
+
+        for (Object entity : event.getTransactionalObjects()) {
+            OpenJPAStateManager sm = broker.getStateManager(entity);
+            if (sm != null && sm.getObjectId() != null) {
+                DataCache cache = sm.getMetaData().getDataCache();
+                if (cache != null) {
+                    cache.remove(sm.getObjectId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when changes committed by another node in the OpenJPA cluster are received, so that in-memory caches can
+ * be invalidated.
+ */
+public class RemoteCommitCacheEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -1946351730417469585L;
+
+    private final String domain;
+
+    private final Map<Class<?>, Set<String>> keys;
+
+    private final Set<Class<?>> types;
+
+    /**
+     * @param source source
+     * @param domain domain
+     * @param keys keys of the persisted, updated or deleted entities, by entity class
+     * @param types classes of persisted, updated or deleted entities whose keys are not known
+     */
+    public RemoteCommitCacheEvent(
+            final Object source,
+            final String domain,
+            final Map<Class<?>, Set<String>> keys,
+            final Set<Class<?>> types) {
+
+        super(source);
+
+        this.domain = domain;
+        this.keys = keys;
+        this.types = types;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public boolean affects(final Class<?> reference) {
+        return types.stream().anyMatch(reference::isAssignableFrom)
+                || keys.keySet().stream().anyMatch(reference::isAssignableFrom);
+    }
+
+    /**
+     * Keys of the changed entities of the given class.
+     *
+     * @param reference entity class or interface
+     * @return keys of the changed entities, or empty if some entities were changed but their keys are not known
+     */
+    public Optional<Set<String>> getKeys(final Class<?> reference) {
+        if (types.stream().anyMatch(reference::isAssignableFrom)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(keys.entrySet().stream().
+                filter(entry -> reference.isAssignableFrom(entry.getKey())).
+                flatMap(entry -> entry.getValue().stream()).
+                collect(Collectors.toSet()));
+    }
+}
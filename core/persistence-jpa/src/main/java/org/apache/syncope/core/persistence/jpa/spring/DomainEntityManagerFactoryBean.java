@@ -21,7 +21,9 @@ package org.apache.syncope.core.persistence.jpa.spring;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.spi.PersistenceUnitInfo;
 import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.syncope.core.persistence.jpa.openjpa.CacheRemoteCommitListener;
 import org.apache.syncope.core.persistence.jpa.openjpa.ConnectorManagerRemoteCommitListener;
+import org.apache.syncope.core.persistence.jpa.openjpa.DataCacheRollbackListener;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 /**
@@ -60,5 +62,8 @@ public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerF
 
         OpenJPAEntityManagerFactorySPI emfspi = emf.unwrap(OpenJPAEntityManagerFactorySPI.class);
         emfspi.getConfiguration().getRemoteCommitEventManager().addListener(connectorManagerRemoteCommitListener);
+        emfspi.getConfiguration().getRemoteCommitEventManager().
+                addListener(new CacheRemoteCommitListener(pui.getPersistenceUnitName()));
+        emfspi.addTransactionListener(new DataCacheRollbackListener());
     }
 }
@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.jpa.validation.entity;
 import jakarta.validation.ConstraintValidatorContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 
@@ -44,6 +45,16 @@ public class PlainSchemaValidator extends AbstractValidator<PlainSchemaCheck, Pl
                         getTemplate(EntityViolationType.InvalidSchemaEncrypted,
                                 "SecretKey or CipherAlgorithm missing")).
                         addPropertyNode("secretKey").addPropertyNode("cipherAlgorithm").addConstraintViolation();
+            } else if (schema.getType() == AttrSchemaType.Encrypted
+                    && schema.getCipherAlgorithm() == CipherAlgorithm.AES_GCM) {
+
+                // encrypted values are searched and checked for uniqueness by comparing their encoded form
+                isValid = false;
+                context.disableDefaultConstraintViolation();
+                context.buildConstraintViolationWithTemplate(
+                        getTemplate(EntityViolationType.InvalidSchemaEncrypted,
+                                "Non-deterministic CipherAlgorithm " + CipherAlgorithm.AES_GCM + " not allowed")).
+                        addPropertyNode("cipherAlgorithm").addConstraintViolation();
             } else {
                 isValid = !schema.isMultivalue() || !schema.isUniqueConstraint();
                 if (!isValid) {
@@ -44,9 +44,11 @@ import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.jndi.JndiObjectFactoryBean;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Import(PersistenceContext.class)
 @Configuration(proxyBeanMethods = false)
+@EnableTransactionManagement
 public class PersistenceTestContext {
 
     public static final ThreadLocal<String> TEST_DOMAIN = ThreadLocal.withInitial(() -> SyncopeConstants.MASTER_DOMAIN);
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
+import org.apache.syncope.core.persistence.api.dao.AllowedSchemasCacheDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeClassDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAnyTypeClass;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
+import org.apache.syncope.core.persistence.jpa.openjpa.RemoteCommitCacheEvent;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class AllowedSchemasCacheTest extends AbstractTest {
+
+    @Autowired
+    private AllowedSchemasCacheDAO allowedSchemasCacheDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private AnyTypeClassDAO anyTypeClassDAO;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    private long statistic(final String name) {
+        return ((Number) allowedSchemasCacheDAO.getStatistics().get(name)).longValue();
+    }
+
+    private void publishGroupUpdate(final String key) {
+        publisher.publishEvent(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.UPDATE, groupDAO.findById(key).orElseThrow(), AuthContextUtils.getDomain()));
+    }
+
+    @BeforeEach
+    public void clearCache() {
+        allowedSchemasCacheDAO.clearCache();
+    }
+
+    @Test
+    public void reuse() {
+        long hits = statistic("hits");
+        long misses = statistic("misses");
+
+        User rossini = userDAO.findByUsername("rossini").orElseThrow();
+
+        AllowedSchemas<PlainSchema> computed = userDAO.findAllowedSchemas(rossini, PlainSchema.class);
+        assertEquals(misses + 1, statistic("misses"));
+        assertTrue(computed.forSelfContains("firstname"));
+
+        AllowedSchemas<PlainSchema> cached = userDAO.findAllowedSchemas(rossini, PlainSchema.class);
+        assertEquals(hits + 1, statistic("hits"));
+        assertEquals(computed.getForSelf(), cached.getForSelf());
+        assertEquals(computed.getForMemberships(), cached.getForMemberships());
+
+        assertThrows(UnsupportedOperationException.class, () -> cached.getForSelf().clear());
+    }
+
+    @Test
+    public void invalidateOnAnyTypeClassChange() {
+        userDAO.findAllowedSchemas(userDAO.findByUsername("rossini").orElseThrow(), PlainSchema.class);
+        assertEquals(1, statistic("size"));
+
+        anyTypeClassDAO.save(anyTypeClassDAO.findById("minimal user").orElseThrow());
+        assertEquals(0, statistic("size"));
+    }
+
+    @Test
+    public void invalidateOnGroupChange() {
+        userDAO.findAllowedSchemas(userDAO.findByUsername("rossini").orElseThrow(), PlainSchema.class);
+        assertEquals(1, statistic("size"));
+
+        // rossini is not member of fake
+        publishGroupUpdate("e7ff94e8-19c9-4f0a-b8b7-28327edbf6ed");
+        assertEquals(1, statistic("size"));
+
+        // rossini is member of otherchild
+        publishGroupUpdate("f779c0d4-633b-4be5-8f57-32eb478a3ca5");
+        assertEquals(0, statistic("size"));
+    }
+
+    @Test
+    public void invalidateOnRemoteCommit() {
+        userDAO.findAllowedSchemas(userDAO.findByUsername("rossini").orElseThrow(), PlainSchema.class);
+        assertEquals(1, statistic("size"));
+
+        // rossini is not member of fake
+        publisher.publishEvent(new RemoteCommitCacheEvent(
+                this,
+                AuthContextUtils.getDomain(),
+                Map.of(JPAGroup.class, Set.of("e7ff94e8-19c9-4f0a-b8b7-28327edbf6ed")),
+                Set.of()));
+        assertEquals(1, statistic("size"));
+
+        publisher.publishEvent(new RemoteCommitCacheEvent(
+                this, AuthContextUtils.getDomain(), Map.of(), Set.of(JPAAnyTypeClass.class)));
+        assertEquals(0, statistic("size"));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class AnyGraphLoaderTest extends AbstractTest {
+
+    @Autowired
+    private AnySearchDAO searchDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private AnyObjectDAO anyObjectDAO;
+
+    @Test
+    public void prefetchAssociations() {
+        entityManager.clear();
+
+        List<User> users = searchDAO.search(userDAO.getAllMatchingCond(), AnyTypeKind.USER);
+        assertFalse(users.isEmpty());
+
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        users.forEach(user -> {
+            assertTrue(util.isLoaded(user, "plainAttrs"));
+            assertTrue(util.isLoaded(user, "memberships"));
+            assertTrue(util.isLoaded(user, "relationships"));
+            assertTrue(util.isLoaded(user, "linkedAccounts"));
+            assertTrue(util.isLoaded(user, "auxClasses"));
+            user.getPlainAttrs().forEach(attr -> assertTrue(util.isLoaded(attr, "values")));
+        });
+    }
+
+    @Test
+    public void batchDynMemberships() {
+        List<String> userKeys = userDAO.findAll().stream().map(User::getKey).toList();
+
+        Map<String, List<Group>> dynGroups = userDAO.findDynGroups(userKeys);
+        Map<String, List<Role>> dynRoles = userDAO.findDynRoles(userKeys);
+        Map<String, List<String>> dynRealms = userDAO.findDynRealms(userKeys);
+        userKeys.forEach(key -> {
+            assertEquals(
+                    new HashSet<>(userDAO.findDynGroups(key)),
+                    new HashSet<>(dynGroups.getOrDefault(key, List.of())));
+            assertEquals(
+                    new HashSet<>(userDAO.findDynRoles(key)),
+                    new HashSet<>(dynRoles.getOrDefault(key, List.of())));
+            assertEquals(
+                    new HashSet<>(userDAO.findDynRealms(key)),
+                    new HashSet<>(dynRealms.getOrDefault(key, List.of())));
+        });
+
+        List<String> anyObjectKeys = anyObjectDAO.findAll().stream().map(AnyObject::getKey).toList();
+
+        Map<String, List<Group>> aDynGroups = anyObjectDAO.findDynGroups(anyObjectKeys);
+        anyObjectKeys.forEach(key -> assertEquals(
+                new HashSet<>(anyObjectDAO.findDynGroups(key)),
+                new HashSet<>(aDynGroups.getOrDefault(key, List.of()))));
+
+        assertTrue(userDAO.findDynGroups(List.of()).isEmpty());
+    }
+}
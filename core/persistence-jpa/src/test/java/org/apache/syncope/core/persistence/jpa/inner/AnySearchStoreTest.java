@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import java.util.List;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPAAnySearchStoreDAO;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchPlanCacheDAO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Tag("plainAttrTable")
+@Transactional
+public class AnySearchStoreTest extends AbstractTest {
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private DynRealmDAO dynRealmDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private AnyObjectDAO anyObjectDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private PlainAttrValidationManager validator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AnySearchDAO searchDAO;
+
+    private JPAAnySearchStoreDAO searchStoreDAO;
+
+    private AnySearchDAO storeSearchDAO;
+
+    @BeforeEach
+    public void setUp() {
+        searchStoreDAO = new JPAAnySearchStoreDAO(true, entityManager);
+        storeSearchDAO = new JPAAnySearchDAO(
+                realmDAO,
+                dynRealmDAO,
+                userDAO,
+                groupDAO,
+                anyObjectDAO,
+                plainSchemaDAO,
+                entityFactory,
+                anyUtilsFactory,
+                validator,
+                searchStoreDAO,
+                new JPASearchPlanCacheDAO(null),
+                entityManagerFactory,
+                entityManager);
+    }
+
+    private long count(final String table, final String anyKey) {
+        Query query = entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table
+                + (anyKey == null ? "" : " WHERE any_id=?1"));
+        if (anyKey != null) {
+            query.setParameter(1, anyKey);
+        }
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private List<String> search(final AnySearchDAO dao, final AttrCond cond) {
+        return dao.<User>search(SearchCond.getLeaf(cond), AnyTypeKind.USER).stream().
+                map(User::getKey).sorted().toList();
+    }
+
+    @Test
+    public void rebuild() {
+        searchStoreDAO.rebuild(AnyTypeKind.USER);
+
+        assertTrue(count("user_search_attr", null) > 0);
+        assertEquals(count("user_search_attr", null), count("user_search_attr_store", null));
+        assertEquals(count("user_search_unique_attr", null), count("user_search_unique_attr_store", null));
+
+        AttrCond surname = new AttrCond(AttrCond.Type.LIKE);
+        surname.setSchema("surname");
+        surname.setExpression("%i%");
+        List<String> expected = search(searchDAO, surname);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, search(storeSearchDAO, surname));
+
+        AttrCond fullname = new AttrCond(AttrCond.Type.ILIKE);
+        fullname.setSchema("fullname");
+        fullname.setExpression("%o%");
+        expected = search(searchDAO, fullname);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, search(storeSearchDAO, fullname));
+    }
+
+    @Test
+    public void refreshAndCascade() {
+        searchStoreDAO.rebuild(AnyTypeKind.USER);
+
+        User rossini = userDAO.findByUsername("rossini").orElseThrow();
+        rossini.getPlainAttr("surname").get().getValues().get(0).setStringValue("Rossinis");
+        rossini = userDAO.save(rossini);
+
+        AttrCond surname = new AttrCond(AttrCond.Type.EQ);
+        surname.setSchema("surname");
+        surname.setExpression("Rossinis");
+        assertTrue(search(storeSearchDAO, surname).isEmpty());
+
+        searchStoreDAO.refresh(rossini);
+        assertEquals(List.of(rossini.getKey()), search(storeSearchDAO, surname));
+
+        long rows = count("user_search_attr_store", rossini.getKey());
+        assertTrue(rows > 0);
+        assertEquals(count("user_search_attr", rossini.getKey()), rows);
+
+        userDAO.delete(rossini);
+        entityManager.flush();
+
+        assertEquals(0, count("user_search_attr_store", rossini.getKey()));
+        assertEquals(0, count("user_search_unique_attr_store", rossini.getKey()));
+    }
+}
@@ -33,8 +33,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -60,6 +62,7 @@ import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.ContinuationToken;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
@@ -70,9 +73,12 @@ import org.apache.syncope.core.spring.security.SyncopeGrantedAuthority;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
@@ -292,6 +298,114 @@ public class AnySearchTest extends AbstractTest {
         assertTrue(users.isEmpty());
     }
 
+    @Test
+    public void estimateCount() {
+        AttrCond firstnameCond = new AttrCond(AttrCond.Type.LIKE);
+        firstnameCond.setSchema("firstname");
+        firstnameCond.setExpression("Gi%");
+
+        SearchCond cond = SearchCond.getLeaf(firstnameCond);
+
+        Pair<Integer, CountMode> estimate = searchDAO.estimateCount(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER);
+        if (estimate.getRight() == CountMode.EXACT) {
+            // no planner estimate available, e.g. on H2: falls back to exact count, and reports so
+            assertEquals(
+                    searchDAO.count(
+                            realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER),
+                    estimate.getLeft());
+        } else {
+            assertEquals(CountMode.ESTIMATED, estimate.getRight());
+            assertTrue(estimate.getLeft() >= 0);
+        }
+    }
+
+    @Test
+    public void searchWithKeysetPagination() {
+        SearchCond cond = userDAO.getAllMatchingCond();
+        List<Sort.Order> orderBy = List.of(Sort.Order.desc("username"));
+
+        List<String> expected = searchDAO.<User>search(cond, orderBy, AnyTypeKind.USER).stream().
+                map(User::getKey).toList();
+        assertTrue(expected.size() > 2);
+
+        List<String> actual = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<User> window;
+        do {
+            window = searchDAO.search(
+                    realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond,
+                    position, 2, orderBy, AnyTypeKind.USER);
+            assertTrue(window.size() <= 2);
+            window.forEach(user -> actual.add(user.getKey()));
+
+            if (window.hasNext()) {
+                // simulate round-trip through the REST layer
+                position = ContinuationToken.decode(
+                        ContinuationToken.encode((KeysetScrollPosition) window.positionAt(window.size() - 1)));
+            }
+        } while (window.hasNext());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void searchWithKeysetPaginationOnNullableField() {
+        SearchCond cond = userDAO.getAllMatchingCond();
+        List<Sort.Order> orderBy = List.of(Sort.Order.asc("lastLoginDate"));
+
+        Set<String> expected = searchDAO.<User>search(cond, orderBy, AnyTypeKind.USER).stream().
+                map(User::getKey).collect(Collectors.toSet());
+        assertTrue(expected.size() > 2);
+
+        // NULL values for lastLoginDate must not be skipped after the first page
+        List<String> actual = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<User> window;
+        do {
+            window = searchDAO.search(
+                    realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond,
+                    position, 2, orderBy, AnyTypeKind.USER);
+            window.forEach(user -> actual.add(user.getKey()));
+
+            if (window.hasNext()) {
+                position = ContinuationToken.decode(
+                        ContinuationToken.encode((KeysetScrollPosition) window.positionAt(window.size() - 1)));
+            }
+        } while (window.hasNext());
+
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, new HashSet<>(actual));
+    }
+
+    @Test
+    public void searchKeys() {
+        SearchCond cond = userDAO.getAllMatchingCond();
+        List<Sort.Order> orderBy = List.of(Sort.Order.asc("username"));
+
+        List<String> expected = searchDAO.<User>search(cond, orderBy, AnyTypeKind.USER).stream().
+                map(User::getKey).toList();
+        assertFalse(expected.isEmpty());
+
+        try (Stream<String> keys = searchDAO.searchKeys(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, orderBy, AnyTypeKind.USER)) {
+
+            assertEquals(expected, keys.toList());
+        }
+
+        // changes not yet committed are visible, as the current transaction is joined
+        User verdi = userDAO.findByUsername("verdi").orElseThrow();
+        verdi.setUsername("aaaverdi");
+        userDAO.save(verdi);
+        entityManager.flush();
+
+        try (Stream<String> keys = searchDAO.searchKeys(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS, cond, orderBy, AnyTypeKind.USER)) {
+
+            assertEquals(verdi.getKey(), keys.findFirst().orElseThrow());
+        }
+    }
+
     @Test
     public void searchByGroup() {
         MembershipCond groupCond = new MembershipCond();
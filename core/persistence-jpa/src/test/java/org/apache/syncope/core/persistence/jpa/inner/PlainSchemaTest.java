@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Locale;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
@@ -160,6 +161,25 @@ public class PlainSchemaTest extends AbstractTest {
         });
     }
 
+    @Test
+    public void checkForEncryptedType() {
+        PlainSchema schema = entityFactory.newEntity(PlainSchema.class);
+        schema.setType(AttrSchemaType.Encrypted);
+        schema.setKey("secret");
+        schema.setSecretKey("1abcdefghilmnopqrstuvz9");
+        schema.setCipherAlgorithm(CipherAlgorithm.AES_GCM);
+
+        try {
+            plainSchemaDAO.save(schema);
+            fail("This should not happen");
+        } catch (InvalidEntityException e) {
+            assertTrue(e.hasViolation(EntityViolationType.InvalidSchemaEncrypted));
+        }
+
+        schema.setCipherAlgorithm(CipherAlgorithm.AES);
+        plainSchemaDAO.save(schema);
+    }
+
     @Test
     public void delete() {
         PlainSchema firstname = plainSchemaDAO.findById("firstname").orElseThrow();
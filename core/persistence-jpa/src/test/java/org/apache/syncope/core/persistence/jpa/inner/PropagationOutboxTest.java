@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class PropagationOutboxTest extends AbstractTest {
+
+    @Autowired
+    private PropagationOutboxDAO outboxDAO;
+
+    private PropagationOutboxEntry enqueue(
+            final String resource,
+            final String connObjectKey,
+            final ResourceOperation operation,
+            final OffsetDateTime enqueued) {
+
+        PropagationOutboxEntry entry = entityFactory.newEntity(PropagationOutboxEntry.class);
+        entry.setResource(resource);
+        entry.setLane(1);
+        entry.setOperation(operation);
+        entry.setConnObjectKey(connObjectKey);
+        entry.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        entry.setAnyTypeKind(AnyTypeKind.USER);
+        entry.setAnyType(AnyTypeKind.USER.name());
+        entry.setEntityKey("1417acbe-cbf6-4277-9372-e75e04f97000");
+        entry.setPropagationData(new PropagationData(Set.of(AttributeBuilder.build("email", connObjectKey))));
+        entry.setExecutor("admin");
+        entry.setEnqueued(enqueued);
+        return outboxDAO.save(entry);
+    }
+
+    @Test
+    public void drainOrder() {
+        OffsetDateTime now = OffsetDateTime.now();
+        PropagationOutboxEntry second = enqueue("resource-testdb", "rossini", ResourceOperation.UPDATE, now);
+        PropagationOutboxEntry first = enqueue(
+                "resource-testdb", "rossini", ResourceOperation.CREATE, now.minusSeconds(1));
+        PropagationOutboxEntry other = enqueue("resource-ldap", "rossini", ResourceOperation.DELETE, now);
+
+        entityManager.flush();
+
+        assertEquals(Set.of("resource-testdb", "resource-ldap"), Set.copyOf(outboxDAO.findResources()));
+        assertEquals(Map.of("resource-testdb", 2L, "resource-ldap", 1L), outboxDAO.countByResource());
+        assertEquals(List.of(1), outboxDAO.findLanes("resource-testdb"));
+        assertTrue(outboxDAO.findLanes("resource-db-scripted").isEmpty());
+
+        List<? extends PropagationOutboxEntry> batch = outboxDAO.findByResource("resource-testdb", 10);
+        assertEquals(
+                List.of(first.getKey(), second.getKey()),
+                batch.stream().map(PropagationOutboxEntry::getKey).toList());
+        assertEquals(ResourceOperation.CREATE, batch.getFirst().getOperation());
+        assertEquals("rossini", batch.getFirst().getPropagationData().getAttributes().iterator().next().
+                getValue().getFirst());
+
+        assertEquals(1, outboxDAO.findByResource("resource-testdb", 1).size());
+        assertEquals(
+                List.of(first.getKey(), second.getKey()),
+                outboxDAO.findByLane("resource-testdb", 1, 10).stream().map(PropagationOutboxEntry::getKey).toList());
+        assertTrue(outboxDAO.findByLane("resource-testdb", 0, 10).isEmpty());
+
+        assertEquals(2, outboxDAO.removeAll(List.of(first.getKey(), other.getKey())));
+        entityManager.clear();
+
+        assertEquals(List.of(second.getKey()),
+                outboxDAO.findByResource("resource-testdb", 10).stream().map(PropagationOutboxEntry::getKey).toList());
+        assertTrue(outboxDAO.findByResource("resource-ldap", 10).isEmpty());
+    }
+
+    @Test
+    public void lease() {
+        OffsetDateTime expiry = OffsetDateTime.now().plusMinutes(5);
+
+        // first acquisition creates the lease, which cannot be taken by other nodes until released or expired
+        assertTrue(outboxDAO.acquire("resource-testdb", 0, "node1", expiry));
+        entityManager.flush();
+        assertFalse(outboxDAO.acquire("resource-testdb", 0, "node2", expiry));
+        assertTrue(outboxDAO.acquire("resource-testdb", 0, "node1", expiry.plusMinutes(1)));
+        assertTrue(outboxDAO.acquire("resource-testdb", 1, "node2", expiry));
+
+        outboxDAO.release("resource-testdb", 0, "node2");
+        entityManager.clear();
+        assertEquals(
+                List.of("node1", "node2"),
+                outboxDAO.findLeases().stream().map(PropagationOutboxLease::getOwner).toList());
+
+        outboxDAO.release("resource-testdb", 0, "node1");
+        assertTrue(outboxDAO.acquire("resource-testdb", 0, "node2", OffsetDateTime.now().minusSeconds(1)));
+
+        // expired
+        assertTrue(outboxDAO.acquire("resource-testdb", 0, "node1", expiry));
+
+        assertEquals(1, outboxDAO.releaseAll("node2"));
+        entityManager.clear();
+        assertEquals(
+                List.of("resource-testdb"),
+                outboxDAO.findLeases().stream().map(PropagationOutboxLease::getResource).toList());
+    }
+
+    @Test
+    public void retry() {
+        OffsetDateTime now = OffsetDateTime.now();
+        PropagationOutboxEntry failed = enqueue("resource-testdb", "rossini", ResourceOperation.UPDATE, now);
+        PropagationOutboxEntry next = enqueue("resource-testdb", "rossini", ResourceOperation.UPDATE, now);
+        PropagationOutboxEntry other = enqueue("resource-testdb", "verdi", ResourceOperation.UPDATE, now);
+        other.setEntityKey("c9b2dec2-00a7-4855-97c0-d854842b4b24");
+        entityManager.flush();
+
+        assertTrue(outboxDAO.existsByEntity("resource-testdb", failed.getEntityKey()));
+        assertFalse(outboxDAO.existsByEntity("resource-csv", failed.getEntityKey()));
+
+        // entries about the same entity wait for the retry to be due
+        outboxDAO.retry(failed.getKey(), 1, now.plusMinutes(5));
+        entityManager.clear();
+        assertEquals(
+                List.of(other.getKey()),
+                outboxDAO.findByLane("resource-testdb", 1, 10).stream().map(PropagationOutboxEntry::getKey).toList());
+
+        outboxDAO.retry(failed.getKey(), 2, now.minusSeconds(1));
+        entityManager.clear();
+        List<? extends PropagationOutboxEntry> batch = outboxDAO.findByLane("resource-testdb", 1, 10);
+        assertEquals(
+                Set.of(failed.getKey(), next.getKey(), other.getKey()),
+                batch.stream().map(PropagationOutboxEntry::getKey).collect(Collectors.toSet()));
+        assertEquals(2, batch.stream().filter(e -> e.getKey().equals(failed.getKey())).findFirst().orElseThrow().
+                getAttempts());
+    }
+}
@@ -101,6 +101,53 @@ public class RealmTest extends AbstractTest {
         assertEquals(4, realmDAO.findAll(Pageable.unpaged()).stream().count());
     }
 
+    @Test
+    public void findDescendants() {
+        assertEquals(
+                List.of("/even", "/even/two"),
+                realmDAO.findDescendants("/even", null, Pageable.unpaged()).stream().
+                        map(Realm::getFullPath).toList());
+        assertEquals(2, realmDAO.countDescendants("/even", null));
+        assertEquals(1, realmDAO.countDescendants("/even", "TW"));
+        assertEquals(0, realmDAO.countDescendants("/odd", "two"));
+        assertEquals(
+                List.of("/even/two"),
+                realmDAO.findDescendants("/even", null, Pageable.ofSize(1).withPage(1)).stream().
+                        map(Realm::getFullPath).toList());
+
+        Realm realm = entityFactory.newEntity(Realm.class);
+        realm.setName("evenmore");
+        realm.setParent(realmDAO.getRoot());
+        realm = realmDAO.save(realm);
+
+        // sibling sharing the same prefix is not a descendant
+        assertEquals(2, realmDAO.countDescendants("/even", null));
+        assertEquals(
+                List.of(realmDAO.findByFullPath("/even/two").orElseThrow().getKey()),
+                realmDAO.findDescendants(SyncopeConstants.ROOT_REALM, "/even/two"));
+
+        Realm child = entityFactory.newEntity(Realm.class);
+        child.setName("child");
+        child.setParent(realm);
+        child = realmDAO.save(child);
+        assertEquals(List.of(realm.getKey(), child.getKey()), realmDAO.findDescendants("/evenmore", "/"));
+
+        // renaming moves descendants as well
+        realm.setName("renamed");
+        realmDAO.save(realm);
+        assertTrue(realmDAO.findDescendants("/evenmore", null, Pageable.unpaged()).isEmpty());
+        assertEquals(
+                List.of("/renamed", "/renamed/child"),
+                realmDAO.findDescendants("/renamed", null, Pageable.unpaged()).stream().
+                        map(Realm::getFullPath).toList());
+
+        realmDAO.delete(child);
+        assertEquals(1, realmDAO.countDescendants("/renamed", null));
+        realmDAO.delete(realm);
+        assertEquals(0, realmDAO.countDescendants("/renamed", null));
+        assertEquals(4, realmDAO.countDescendants(SyncopeConstants.ROOT_REALM, null));
+    }
+
     @Test
     public void save() {
         Realm realm = entityFactory.newEntity(Realm.class);
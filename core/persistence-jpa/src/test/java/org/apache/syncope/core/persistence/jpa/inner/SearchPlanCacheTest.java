@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchPlanCacheDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
+import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.JPASearchPlanCacheDAO;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.persistence.jpa.openjpa.RemoteCommitCacheEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class SearchPlanCacheTest extends AbstractTest {
+
+    @Autowired
+    private AnySearchDAO searchDAO;
+
+    @Autowired
+    private SearchPlanCacheDAO searchPlanCacheDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    private static SearchCond firstnameAndUsername(final String firstname, final String username) {
+        AttrCond firstnameCond = new AttrCond(AttrCond.Type.EQ);
+        firstnameCond.setSchema("firstname");
+        firstnameCond.setExpression(firstname);
+
+        AnyCond usernameCond = new AnyCond(AttrCond.Type.LIKE);
+        usernameCond.setSchema("username");
+        usernameCond.setExpression(username);
+
+        return SearchCond.getAnd(SearchCond.getLeaf(firstnameCond), SearchCond.getLeaf(usernameCond));
+    }
+
+    private long statistic(final String name) {
+        return ((Number) searchPlanCacheDAO.getStatistics().get(name)).longValue();
+    }
+
+    private List<String> search(final SearchCond cond) {
+        return searchDAO.<User>search(cond, AnyTypeKind.USER).stream().map(User::getUsername).toList();
+    }
+
+    @BeforeEach
+    public void clearCache() {
+        searchPlanCacheDAO.clearCache();
+    }
+
+    @Test
+    public void reuse() {
+        long hits = statistic("hits");
+        long misses = statistic("misses");
+
+        assertEquals(List.of("rossini"), search(firstnameAndUsername("Gioacchino", "ros%")));
+        assertEquals(misses + 1, statistic("misses"));
+        assertEquals(1, statistic("size"));
+
+        // same shape, different values: only parameters are bound
+        assertEquals(List.of("verdi"), search(firstnameAndUsername("Giuseppe", "ver%")));
+        assertEquals(hits + 1, statistic("hits"));
+        assertEquals(1, statistic("size"));
+
+        assertEquals(List.of(), search(firstnameAndUsername("Giuseppe", "ros%")));
+        assertEquals(hits + 2, statistic("hits"));
+
+        // count queries are cached separately
+        assertEquals(1, searchDAO.count(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS,
+                firstnameAndUsername("Gioacchino", "ros%"), AnyTypeKind.USER));
+        assertEquals(1, searchDAO.count(
+                realmDAO.getRoot(), true, SyncopeConstants.FULL_ADMIN_REALMS,
+                firstnameAndUsername("Giuseppe", "ver%"), AnyTypeKind.USER));
+        assertEquals(2, statistic("size"));
+        assertEquals(hits + 3, statistic("hits"));
+    }
+
+    @Test
+    public void notCacheable() {
+        MembershipCond membershipCond = new MembershipCond();
+        membershipCond.setGroup("root");
+
+        search(SearchCond.getLeaf(membershipCond));
+        assertEquals(0, statistic("size"));
+    }
+
+    @Test
+    public void invalidateOnSchemaChange() {
+        search(firstnameAndUsername("Gioacchino", "ros%"));
+        assertEquals(1, statistic("size"));
+
+        plainSchemaDAO.save(plainSchemaDAO.findById("firstname").orElseThrow());
+        assertEquals(0, statistic("size"));
+    }
+
+    @Test
+    public void schemaChangeSeenByNextSearch() {
+        long misses = statistic("misses");
+
+        assertEquals(List.of("rossini"), search(firstnameAndUsername("Gioacchino", "ros%")));
+        assertEquals(misses + 1, statistic("misses"));
+
+        // unique values are looked up in another table, a stale plan would still match rossini
+        PlainSchema firstname = plainSchemaDAO.findById("firstname").orElseThrow();
+        firstname.setUniqueConstraint(true);
+        plainSchemaDAO.save(firstname);
+        entityManager.flush();
+
+        List<String> afterChange = search(firstnameAndUsername("Gioacchino", "ros%"));
+        assertEquals(misses + 2, statistic("misses"));
+        assertEquals(List.of(), afterChange);
+
+        searchPlanCacheDAO.clearCache();
+        assertEquals(search(firstnameAndUsername("Gioacchino", "ros%")), afterChange);
+    }
+
+    @Test
+    public void invalidateOnRemoteCommit() {
+        JPASearchPlanCacheDAO cacheDAO = (JPASearchPlanCacheDAO) searchPlanCacheDAO;
+
+        search(firstnameAndUsername("Gioacchino", "ros%"));
+        assertEquals(1, statistic("size"));
+
+        publisher.publishEvent(new RemoteCommitCacheEvent(
+                this, AuthContextUtils.getDomain(), Map.of(JPAUser.class, Set.of("rossini")), Set.of()));
+        assertEquals(1, statistic("size"));
+
+        long version = cacheDAO.version();
+        publisher.publishEvent(new RemoteCommitCacheEvent(
+                this, AuthContextUtils.getDomain(), Map.of(), Set.of(JPAPlainSchema.class)));
+        assertEquals(0, statistic("size"));
+
+        // plans generated before the change are not served
+        cacheDAO.put(version, "shape", new JPASearchPlanCacheDAO.Plan("head", "tail"));
+        assertTrue(cacheDAO.get("shape").isEmpty());
+    }
+}
@@ -199,6 +199,31 @@ public class UserTest extends AbstractTest {
         assertNotNull(actual);
     }
 
+    @Test
+    public void updateLogins() {
+        String key = "1417acbe-cbf6-4277-9372-e75e04f97000";
+        OffsetDateTime lastLoginDate = OffsetDateTime.now().withNano(0);
+
+        userDAO.updateLogins(List.of(new UserDAO.LoginUpdate(key, null, false, 2)));
+        entityManager.clear();
+
+        User user = userDAO.findById(key).orElseThrow();
+        assertEquals(2, user.getFailedLogins());
+
+        userDAO.updateLogins(List.of(new UserDAO.LoginUpdate(key, null, false, 1)));
+        entityManager.clear();
+
+        user = userDAO.findById(key).orElseThrow();
+        assertEquals(3, user.getFailedLogins());
+
+        userDAO.updateLogins(List.of(new UserDAO.LoginUpdate(key, lastLoginDate, true, 0)));
+        entityManager.clear();
+
+        user = userDAO.findById(key).orElseThrow();
+        assertEquals(0, user.getFailedLogins());
+        assertTrue(lastLoginDate.isEqual(user.getLastLoginDate()));
+    }
+
     @Test
     public void delete() {
         User user = userDAO.findById("b3cbc78d-32e6-4bd4-92e0-bbe07566a2ee").orElseThrow();
@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.jpa.outer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -28,6 +29,7 @@ import java.util.UUID;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.entity.AccessToken;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -113,4 +115,42 @@ public class AccessTokenTest extends AbstractTest {
         accessToken = accessTokenDAO.findByOwner("bellini").orElse(null);
         assertNull(accessToken);
     }
+
+    @Test
+    public void expiredLeftForBulkRemoval() {
+        String expired = UUID.randomUUID().toString();
+        create(expired, 60);
+        String live = UUID.randomUUID().toString();
+        create(live, -60);
+        entityManager.flush();
+
+        assertTrue(accessTokenDAO.findById(live).isPresent());
+        assertTrue(accessTokenDAO.findById(live).isPresent());
+
+        // once known as expired, not looked up anymore
+        accessTokenDAO.findById(expired);
+        assertTrue(accessTokenDAO.findById(expired).isEmpty());
+
+        assertTrue(accessTokenDAO.deleteExpired(OffsetDateTime.now()) > 0);
+        entityManager.flush();
+        entityManager.clear();
+        assertNull(entityManager.find(JPAAccessToken.class, expired));
+        assertTrue(accessTokenDAO.findById(live).isPresent());
+    }
+
+    @Test
+    public void deleteExpiredById() {
+        String expired = UUID.randomUUID().toString();
+        create(expired, 60);
+        entityManager.flush();
+
+        accessTokenDAO.findById(expired);
+        assertTrue(accessTokenDAO.findById(expired).isEmpty());
+
+        // explicit removals, as for logout, are performed even when known as expired
+        accessTokenDAO.deleteById(expired);
+        entityManager.flush();
+        entityManager.clear();
+        assertNull(entityManager.find(JPAAccessToken.class, expired));
+    }
 }
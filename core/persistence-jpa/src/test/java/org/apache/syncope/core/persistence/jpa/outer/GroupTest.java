@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.jpa.outer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,10 +33,12 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.PlainAttrValidationManager;
+import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeClassDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
@@ -44,6 +47,7 @@ import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.anyobject.ADynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.anyobject.APlainAttr;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
@@ -55,7 +59,9 @@ import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.dao.DynMembershipUpdater;
 import org.apache.syncope.core.persistence.jpa.dao.repo.GroupRepoExt;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
@@ -93,6 +99,12 @@ public class GroupTest extends AbstractTest {
     @Autowired
     private PlainAttrValidationManager validator;
 
+    @Autowired
+    private SearchCondVisitor searchCondVisitor;
+
+    @Autowired
+    private AnyMatchDAO anyMatchDAO;
+
     @Test
     public void findByResourcesContaining() {
         List<Group> found = groupDAO.findByResourcesContaining(resourceDAO.findById("resource-csv").orElseThrow());
@@ -315,6 +327,121 @@ public class GroupTest extends AbstractTest {
         assertTrue(dynGroupMemberships.isEmpty());
     }
 
+    @Test
+    public void udynMembershipRefresh() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("username==bellini");
+        dynMembership.setGroup(group);
+
+        group.setUDynMembership(dynMembership);
+
+        Group actual = groupDAO.saveAndRefreshDynMemberships(group);
+        entityManager.flush();
+
+        User user = userDAO.findByUsername("bellini").orElseThrow();
+        assertEquals(List.of(actual), findDynGroups(user));
+
+        // unchanged membership
+        Pair<Set<String>, Set<String>> refreshed = groupDAO.refreshDynMemberships(user);
+        assertEquals(Set.of(actual.getKey()), refreshed.getLeft());
+        assertEquals(Set.of(actual.getKey()), refreshed.getRight());
+        assertEquals(List.of(actual), findDynGroups(user));
+
+        // no longer matching
+        user.setUsername("notbellini");
+        refreshed = groupDAO.refreshDynMemberships(user);
+        assertEquals(Set.of(actual.getKey()), refreshed.getLeft());
+        assertTrue(refreshed.getRight().isEmpty());
+        assertTrue(findDynGroups(user).isEmpty());
+
+        refreshed = groupDAO.refreshDynMemberships(user);
+        assertTrue(refreshed.getLeft().isEmpty());
+        assertTrue(refreshed.getRight().isEmpty());
+
+        // matching again
+        user.setUsername("bellini");
+        refreshed = groupDAO.refreshDynMemberships(user);
+        assertTrue(refreshed.getLeft().isEmpty());
+        assertEquals(Set.of(actual.getKey()), refreshed.getRight());
+        assertEquals(List.of(actual), findDynGroups(user));
+    }
+
+    @Test
+    public void dynMembershipDependencies() {
+        DynMembershipUpdater updater = new DynMembershipUpdater(searchCondVisitor, anyMatchDAO, entityManager);
+
+        SearchCond cond = updater.compile("username==bellini");
+        assertEquals(cond, updater.compile("username==bellini"));
+        assertNotSame(cond, updater.compile("username==bellini"));
+
+        DynMembershipUpdater.Dependencies onUsername = updater.dependencies("username==bellini");
+        assertFalse(onUsername.always());
+        assertEquals(Set.of("username"), onUsername.fields());
+        assertTrue(onUsername.schemas().isEmpty());
+
+        DynMembershipUpdater.Dependencies onUserId = updater.dependencies("userId==bellini@apache.org");
+        assertFalse(onUserId.always());
+        assertTrue(onUserId.fields().isEmpty());
+        assertEquals(Set.of("userId"), onUserId.schemas());
+
+        assertTrue(updater.dependencies("username==bellini;$groups==root").always());
+
+        User user = userDAO.findByUsername("bellini").orElseThrow();
+        DynMembershipUpdater.Changes changes = DynMembershipUpdater.changes(user);
+        assertFalse(changes.affect(onUsername));
+        // unaffected conditions are not evaluated
+        assertTrue(updater.matches(user, changes, "username==rossini", true));
+
+        user.setUsername("notbellini");
+        changes = DynMembershipUpdater.changes(user);
+        assertTrue(changes.affect(onUsername));
+        assertFalse(updater.matches(user, changes, "username==rossini", true));
+
+        user.getPlainAttr("userId").orElseThrow().getUniqueValue().setStringValue("notbellini@apache.org");
+        changes = DynMembershipUpdater.changes(user);
+        assertTrue(changes.affect(onUserId));
+        assertFalse(updater.matches(user, changes, "userId==bellini@apache.org", true));
+    }
+
+    @Test
+    public void udynMembershipCondChange() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("username==bellini,username==rossini");
+        dynMembership.setGroup(group);
+
+        group.setUDynMembership(dynMembership);
+
+        Group actual = groupDAO.saveAndRefreshDynMemberships(group);
+        entityManager.flush();
+
+        String bellini = userDAO.findKey("bellini").orElseThrow();
+        String rossini = userDAO.findKey("rossini").orElseThrow();
+        String verdi = userDAO.findKey("verdi").orElseThrow();
+        assertEquals(Set.of(bellini, rossini), new HashSet<>(groupDAO.findUDynMembers(actual)));
+
+        // members no longer matching are removed, new matching members are added, others are kept
+        actual.getUDynMembership().setFIQLCond("username==rossini,username==verdi");
+        actual = groupDAO.saveAndRefreshDynMemberships(actual);
+        entityManager.flush();
+
+        assertEquals(Set.of(rossini, verdi), new HashSet<>(groupDAO.findUDynMembers(actual)));
+
+        // no more dynamic membership
+        actual.setUDynMembership(null);
+        actual = groupDAO.saveAndRefreshDynMemberships(actual);
+        entityManager.flush();
+
+        assertTrue(findDynGroups(userDAO.findByUsername("rossini").orElseThrow()).isEmpty());
+    }
+
     /**
      * Static copy of {@link org.apache.syncope.core.persistence.jpa.dao.repo.AnyObjectRepoExtImpl} method with same
      * signature: required for avoiding creating of a new transaction - good for general use case but bad for the way
@@ -65,4 +65,23 @@ public class RealmTest extends AbstractTest {
         role = roleDAO.findById("User reviewer").orElseThrow();
         assertEquals(beforeSize - 1, role.getRealms().size());
     }
+
+    @Test
+    public void descendantsChangedWithinTransaction() {
+        long before = realmDAO.countDescendants("/even", null);
+
+        Realm realm = entityFactory.newEntity(Realm.class);
+        realm.setName("uncommitted");
+        realm.setParent(realmDAO.findByFullPath("/even").orElseThrow());
+        realm = realmDAO.save(realm);
+
+        // changes are applied to the realm tree index only once committed: the database is queried meanwhile
+        assertEquals(before + 1, realmDAO.countDescendants("/even", null));
+        assertTrue(realmDAO.findDescendants("/even", "/even/uncommitted").contains(realm.getKey()));
+
+        realmDAO.delete(realm);
+        entityManager.flush();
+
+        assertEquals(before, realmDAO.countDescendants("/even", null));
+    }
 }
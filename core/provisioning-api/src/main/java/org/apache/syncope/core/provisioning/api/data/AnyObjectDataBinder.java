@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.List;
 import org.apache.syncope.common.lib.request.AnyObjectCR;
 import org.apache.syncope.common.lib.request.AnyObjectUR;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
@@ -30,6 +31,16 @@ public interface AnyObjectDataBinder {
 
     AnyObjectTO getAnyObjectTO(AnyObject anyObject, boolean details);
 
+    /**
+     * Builds transfer objects for several {@link AnyObject} instances at once, as a page of search results: dynamic
+     * memberships are read in batch for all given entities rather than one by one.
+     *
+     * @param anyObjects entities to convert
+     * @param details whether detailed information is to be included
+     * @return transfer objects, in the same order as the given entities
+     */
+    List<AnyObjectTO> getAnyObjectTOs(List<AnyObject> anyObjects, boolean details);
+
     void create(AnyObject anyObject, AnyObjectCR anyObjectCR);
 
     PropagationByResource<String> update(AnyObject toBeUpdated, AnyObjectUR anyObjectUR);
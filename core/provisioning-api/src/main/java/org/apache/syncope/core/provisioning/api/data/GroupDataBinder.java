@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.List;
 import java.util.Map;
 import org.apache.syncope.common.lib.request.GroupCR;
 import org.apache.syncope.common.lib.request.GroupUR;
@@ -35,6 +36,16 @@ public interface GroupDataBinder {
 
     GroupTO getGroupTO(Group group, boolean details);
 
+    /**
+     * Builds transfer objects for several {@link Group} instances at once, as a page of search results: dynamic
+     * memberships are read in batch for all given entities rather than one by one.
+     *
+     * @param groups entities to convert
+     * @param details whether detailed information is to be included
+     * @return transfer objects, in the same order as the given entities
+     */
+    List<GroupTO> getGroupTOs(List<Group> groups, boolean details);
+
     void create(Group group, GroupCR groupCR);
 
     PropagationByResource<String> update(Group group, GroupUR groupUR);
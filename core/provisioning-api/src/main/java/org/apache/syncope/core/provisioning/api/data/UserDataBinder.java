@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.data;
 
+import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.request.UserCR;
 import org.apache.syncope.common.lib.request.UserUR;
@@ -35,6 +36,16 @@ public interface UserDataBinder {
 
     UserTO getUserTO(User user, boolean details);
 
+    /**
+     * Builds transfer objects for several {@link User} instances at once, as a page of search results: dynamic
+     * memberships are read in batch for all given entities rather than one by one.
+     *
+     * @param users entities to convert
+     * @param details whether detailed information is to be included
+     * @return transfer objects, in the same order as the given entities
+     */
+    List<UserTO> getUserTOs(List<User> users, boolean details);
+
     LinkedAccountTO getLinkedAccountTO(LinkedAccount account);
 
     void create(User user, UserCR userCR);
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.propagation;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Durable outbox for propagation tasks related to resources with no priority: tasks are stored as part of the
+ * transaction requesting them and later sent to the resources - at least once, possibly by another Core node sharing
+ * the same database - after coalescing the changes targeting the same connector object.
+ *
+ * When enabled, the outbox also holds the tasks waiting for another attempt after failure, according to the
+ * resource's propagation policy.
+ */
+public interface PropagationOutbox {
+
+    /**
+     * @return whether the outbox is enabled for the current deployment
+     */
+    boolean isEnabled();
+
+    /**
+     * Checks whether the given task can be handled via the outbox, i.e. it carries everything needed for later
+     * execution.
+     *
+     * @param taskInfo propagation task
+     * @return whether the given task can be handled via the outbox
+     */
+    boolean accepts(PropagationTaskInfo taskInfo);
+
+    /**
+     * Checks whether the outbox holds any task about the same entity and resource as the given task - for example,
+     * waiting for another attempt: if so, the given task shall be stored as well rather than executed right away, in
+     * order not to overtake the pending ones.
+     *
+     * @param taskInfo propagation task
+     * @return whether the outbox holds any task about the same entity and resource
+     */
+    boolean holdsEntity(PropagationTaskInfo taskInfo);
+
+    /**
+     * Stores the given task for later execution.
+     *
+     * @param taskInfo propagation task
+     * @param executor the executor of the given task
+     */
+    void enqueue(PropagationTaskInfo taskInfo, String executor);
+
+    /**
+     * Schedules another attempt of the given task, which just failed.
+     *
+     * @param taskInfo propagation task, reporting the number of attempts already failed
+     * @param executor the executor of the given task
+     * @param notBefore earliest time for the next attempt
+     * @return whether the next attempt was scheduled, false if the outbox is not enabled or the given task cannot be
+     * stored
+     */
+    boolean retry(PropagationTaskInfo taskInfo, String executor, OffsetDateTime notBefore);
+
+    /**
+     * Sends pending tasks to the related resources, for all domains.
+     */
+    void drain();
+
+    /**
+     * @return queue depth and coalescing figures
+     */
+    Map<String, Object> getStatistics();
+}
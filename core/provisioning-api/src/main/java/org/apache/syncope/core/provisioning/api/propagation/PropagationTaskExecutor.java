@@ -31,13 +31,6 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 @SuppressWarnings("squid:S1214")
 public interface PropagationTaskExecutor {
 
-    /**
-     * Remove any RetryTemplate defined for the given External Resource from local cache.
-     *
-     * @param resource External Resource name
-     */
-    void expireRetryTemplate(String resource);
-
     /**
      * Execute the given task and returns the generated {@link TaskExec}.
      *
@@ -56,6 +56,8 @@ public class PropagationTaskInfo {
 
     private AnyUR updateRequest;
 
+    private int attempts;
+
     public PropagationTaskInfo(
             final ExternalResource resource,
             final ResourceOperation operation,
@@ -152,6 +154,17 @@ public class PropagationTaskInfo {
         this.updateRequest = updateRequest;
     }
 
+    /**
+     * @return number of attempts already failed for this task
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(final int attempts) {
+        this.attempts = attempts;
+    }
+
     @Override
     public String toString() {
         return "PropagationTaskInfo{"
@@ -168,6 +181,7 @@ public class PropagationTaskInfo {
                 + ", connector=" + connector
                 + ", beforeObj=" + beforeObj
                 + ", updateRequest=" + updateRequest
+                + ", attempts=" + attempts
                 + '}';
     }
 }
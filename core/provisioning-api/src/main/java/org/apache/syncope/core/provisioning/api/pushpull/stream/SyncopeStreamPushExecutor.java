@@ -19,9 +19,9 @@
 package org.apache.syncope.core.provisioning.api.pushpull.stream;
 
 import java.util.List;
+import java.util.stream.Stream;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.to.PushTaskTO;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.quartz.JobExecutionException;
@@ -31,7 +31,7 @@ public interface SyncopeStreamPushExecutor {
 
     List<ProvisioningReport> push(
             AnyType anyType,
-            List<? extends Any<?>> anys,
+            Stream<String> keys,
             List<String> columns,
             Connector connector,
             List<String> propagationActions,
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.syncope.common.lib.SyncopeConstants;
+
+/**
+ * Compiled form of the realms attached to an entitlement: realm paths are arranged into a prefix trie, so that
+ * checking whether a realm lies under one of them costs O(depth); group ownership and dynamic realm entries are
+ * split into dedicated sets, so that their string encodings are parsed only once.
+ */
+public final class RealmScope {
+
+    public static final RealmScope EMPTY = new RealmScope();
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private boolean granted;
+    }
+
+    public static RealmScope of(final Collection<String> authRealms) {
+        if (authRealms == null || authRealms.isEmpty()) {
+            return EMPTY;
+        }
+
+        RealmScope scope = new RealmScope();
+        authRealms.forEach(authRealm -> RealmUtils.parseGroupOwnerRealm(authRealm).ifPresentOrElse(
+                groupOwner -> scope.groupOwners.add(groupOwner.getRight()),
+                () -> {
+                    if (authRealm.startsWith(SyncopeConstants.ROOT_REALM)) {
+                        scope.add(authRealm);
+                    } else {
+                        scope.dynRealms.add(authRealm);
+                    }
+                }));
+        return scope;
+    }
+
+    private static String[] segments(final String realmPath) {
+        return realmPath.length() <= 1 ? new String[0] : realmPath.substring(1).split("/");
+    }
+
+    private final Node root = new Node();
+
+    private final Set<String> realms = new HashSet<>();
+
+    private final Set<String> groupOwners = new HashSet<>();
+
+    private final Set<String> dynRealms = new HashSet<>();
+
+    private RealmScope() {
+        // use of(Collection)
+    }
+
+    private void add(final String realmPath) {
+        realms.add(realmPath);
+
+        Node node = root;
+        for (String segment : segments(realmPath)) {
+            node = node.children.computeIfAbsent(segment, k -> new Node());
+        }
+        node.granted = true;
+    }
+
+    public boolean isEmpty() {
+        return realms.isEmpty() && groupOwners.isEmpty() && dynRealms.isEmpty();
+    }
+
+    /**
+     * Checks whether the given realm is one of the realms in scope, or any of their descendants.
+     *
+     * @param realmPath realm full path
+     * @return whether the given realm is in scope
+     */
+    public boolean includes(final String realmPath) {
+        if (realmPath == null || realms.isEmpty()) {
+            return false;
+        }
+
+        Node node = root;
+        if (node.granted) {
+            return true;
+        }
+        for (String segment : segments(realmPath)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+            if (node.granted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean ownsGroup(final String groupKey) {
+        return groupKey != null && groupOwners.contains(groupKey);
+    }
+
+    public boolean ownsAnyGroup(final Collection<String> groupKeys) {
+        return !groupOwners.isEmpty() && groupKeys.stream().anyMatch(groupOwners::contains);
+    }
+
+    public boolean includesAnyDynRealm(final Collection<String> dynRealmKeys) {
+        return !dynRealms.isEmpty() && dynRealmKeys.stream().anyMatch(dynRealms::contains);
+    }
+
+    public Set<String> getRealms() {
+        return Collections.unmodifiableSet(realms);
+    }
+
+    public Set<String> getGroupOwners() {
+        return Collections.unmodifiableSet(groupOwners);
+    }
+
+    public Set<String> getDynRealms() {
+        return Collections.unmodifiableSet(dynRealms);
+    }
+}
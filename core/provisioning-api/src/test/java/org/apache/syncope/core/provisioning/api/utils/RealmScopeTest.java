@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.apache.syncope.core.provisioning.api.AbstractTest;
+import org.junit.jupiter.api.Test;
+
+public class RealmScopeTest extends AbstractTest {
+
+    @Test
+    public void includes() {
+        RealmScope scope = RealmScope.of(Set.of("/even/two", "/odd"));
+        assertTrue(scope.includes("/even/two"));
+        assertTrue(scope.includes("/even/two/three"));
+        assertTrue(scope.includes("/odd"));
+        assertFalse(scope.includes("/even"));
+        assertFalse(scope.includes("/even/twofold"));
+        assertFalse(scope.includes("/"));
+
+        scope = RealmScope.of(Set.of("/"));
+        assertTrue(scope.includes("/"));
+        assertTrue(scope.includes("/even/two"));
+
+        assertFalse(RealmScope.EMPTY.includes("/"));
+        assertTrue(RealmScope.of(null).isEmpty());
+    }
+
+    @Test
+    public void groupOwnersAndDynRealms() {
+        RealmScope scope = RealmScope.of(Set.of(
+                "/even",
+                RealmUtils.getGroupOwnerRealm("/odd", "groupKey"),
+                "dynRealmKey"));
+
+        assertEquals(Set.of("/even"), scope.getRealms());
+        assertEquals(Set.of("groupKey"), scope.getGroupOwners());
+        assertEquals(Set.of("dynRealmKey"), scope.getDynRealms());
+
+        assertFalse(scope.includes("/odd"));
+        assertTrue(scope.ownsGroup("groupKey"));
+        assertTrue(scope.ownsAnyGroup(List.of("other", "groupKey")));
+        assertFalse(scope.ownsAnyGroup(List.of("other")));
+        assertTrue(scope.includesAnyDynRealm(List.of("dynRealmKey")));
+        assertFalse(scope.includesAnyDynRealm(List.of("other")));
+    }
+}
@@ -47,7 +47,7 @@ public class AsyncConnectorFacade {
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConnectorFacade.class);
 
     @Async
-    public Future<Uid> authenticate(
+    public CompletableFuture<Uid> authenticate(
             final ConnectorFacade connector,
             final String username,
             final GuardedString password,
@@ -58,7 +58,7 @@ public class AsyncConnectorFacade {
     }
 
     @Async
-    public Future<Uid> create(
+    public CompletableFuture<Uid> create(
             final ConnectorFacade connector,
             final ObjectClass objectClass,
             final Set<Attribute> attrs,
@@ -68,7 +68,7 @@ public class AsyncConnectorFacade {
     }
 
     @Async
-    public Future<Uid> update(
+    public CompletableFuture<Uid> update(
             final ConnectorFacade connector,
             final ObjectClass objectClass,
             final Uid uid,
@@ -79,7 +79,7 @@ public class AsyncConnectorFacade {
     }
 
     @Async
-    public Future<Set<AttributeDelta>> updateDelta(
+    public CompletableFuture<Set<AttributeDelta>> updateDelta(
             final ConnectorFacade connector,
             final ObjectClass objectClass,
             final Uid uid,
@@ -90,7 +90,7 @@ public class AsyncConnectorFacade {
     }
 
     @Async
-    public Future<Uid> delete(
+    public CompletableFuture<Uid> delete(
             final ConnectorFacade connector,
             final ObjectClass objectClass,
             final Uid uid,
@@ -101,14 +101,14 @@ public class AsyncConnectorFacade {
     }
 
     @Async
-    public Future<SyncToken> getLatestSyncToken(
+    public CompletableFuture<SyncToken> getLatestSyncToken(
             final ConnectorFacade connector, final ObjectClass objectClass) {
 
         return CompletableFuture.completedFuture(connector.getLatestSyncToken(objectClass));
     }
 
     @Async
-    public Future<ConnectorObject> getObject(
+    public CompletableFuture<ConnectorObject> getObject(
             final ConnectorFacade connector,
             final ObjectClass objectClass,
             final Attribute connObjectKey,
@@ -76,6 +76,8 @@ public class ConnectorFacadeProxy implements Connector {
 
     private final AsyncConnectorFacade asyncFacade;
 
+    private final ConnectorGuard guard;
+
     /**
      * Use the passed connector instance to build a ConnectorFacade that will be used to make all wrapped calls.
      *
@@ -87,8 +89,25 @@ public class ConnectorFacadeProxy implements Connector {
      * @see ConnectorFacade
      */
     public ConnectorFacadeProxy(final ConnInstance connInstance, final AsyncConnectorFacade asyncFacade) {
+        this(connInstance, asyncFacade, ConnectorGuard.UNGUARDED);
+    }
+
+    /**
+     * Use the passed connector instance to build a ConnectorFacade that will be used to make all wrapped calls;
+     * requests to the target system are performed through the given guard.
+     *
+     * @param connInstance the connector instance
+     * @param asyncFacade the async connectot facade
+     * @param guard bulkhead and circuit breaker for the resource using this connector
+     */
+    public ConnectorFacadeProxy(
+            final ConnInstance connInstance,
+            final AsyncConnectorFacade asyncFacade,
+            final ConnectorGuard guard) {
+
         this.connInstance = connInstance;
         this.asyncFacade = asyncFacade;
+        this.guard = guard;
 
         ConnIdBundleManager connIdBundleManager =
                 ApplicationContextProvider.getBeanFactory().getBean(ConnIdBundleManager.class);
@@ -127,26 +146,29 @@ public class ConnectorFacadeProxy implements Connector {
         connector.validate();
     }
 
+    private <T> T get(final Future<T> future) {
+        try {
+            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            future.cancel(true);
+            throw new TimeoutException("Request timeout");
+        } catch (Exception e) {
+            LOG.error("Connector request execution failure", e);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
     @Override
     public Uid authenticate(final String username, final String password, final OperationOptions options) {
         Uid result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.AUTHENTICATE)) {
-            Future<Uid> future = asyncFacade.authenticate(
-                    connector, username, new GuardedString(password.toCharArray()), options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = guard.callAsync(() -> asyncFacade.authenticate(
+                    connector, username, new GuardedString(password.toCharArray()), options), this::get);
         } else {
             LOG.info("Authenticate was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -165,22 +187,11 @@ public class ConnectorFacadeProxy implements Connector {
         Uid result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.CREATE)) {
-            propagationAttempted.set(true);
-
-            Future<Uid> future = asyncFacade.create(connector, objectClass, attrs, options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = guard.callAsync(() -> {
+                propagationAttempted.set(true);
+
+                return asyncFacade.create(connector, objectClass, attrs, options);
+            }, this::get);
         } else {
             LOG.info("Create was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -200,23 +211,11 @@ public class ConnectorFacadeProxy implements Connector {
         Uid result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.UPDATE)) {
-            propagationAttempted.set(true);
-
-            Future<Uid> future = asyncFacade.update(connector, objectClass, uid, attrs, options);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = guard.callAsync(() -> {
+                propagationAttempted.set(true);
+
+                return asyncFacade.update(connector, objectClass, uid, attrs, options);
+            }, this::get);
         } else {
             LOG.info("Update for {} was attempted, although the "
                     + "connector only has these capabilities: {}. No action.",
@@ -237,24 +236,11 @@ public class ConnectorFacadeProxy implements Connector {
         Set<AttributeDelta> result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.UPDATE_DELTA)) {
-            propagationAttempted.set(true);
-
-            Future<Set<AttributeDelta>> future =
-                    asyncFacade.updateDelta(connector, objectClass, uid, modifications, options);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = guard.callAsync(() -> {
+                propagationAttempted.set(true);
+
+                return asyncFacade.updateDelta(connector, objectClass, uid, modifications, options);
+            }, this::get);
         } else {
             LOG.info("UpdateDelta for {} was attempted, although the "
                     + "connector only has these capabilities: {}. No action.",
@@ -272,23 +258,11 @@ public class ConnectorFacadeProxy implements Connector {
             final AtomicReference<Boolean> propagationAttempted) {
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.DELETE)) {
-            propagationAttempted.set(true);
-
-            Future<Uid> future = asyncFacade.delete(connector, objectClass, uid, options);
-
-            try {
-                future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            guard.callAsync(() -> {
+                propagationAttempted.set(true);
+
+                return asyncFacade.delete(connector, objectClass, uid, options);
+            }, this::get);
         } else {
             LOG.info("Delete for {} was attempted, although the connector only has these capabilities: {}. No action.",
                     uid.getUidValue(), connInstance.getCapabilities());
@@ -300,7 +274,7 @@ public class ConnectorFacadeProxy implements Connector {
             final OperationOptions options) {
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            connector.sync(objectClass, token, handler, options);
+            guard.runOutsideBulkhead(() -> connector.sync(objectClass, token, handler, options));
         } else {
             LOG.info("Sync was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -312,21 +286,7 @@ public class ConnectorFacadeProxy implements Connector {
         SyncToken result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            Future<SyncToken> future = asyncFacade.getLatestSyncToken(connector, objectClass);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException runtimeException) {
-                    throw runtimeException;
-                } else {
-                    throw new RuntimeException(e.getCause());
-                }
-            }
+            result = guard.callAsync(() -> asyncFacade.getLatestSyncToken(connector, objectClass), this::get);
         } else {
             LOG.info("getLatestSyncToken was attempted, although the "
                     + "connector only has these capabilities: {}. No action.", connInstance.getCapabilities());
@@ -356,56 +316,17 @@ public class ConnectorFacadeProxy implements Connector {
 
     @Override
     public Set<ObjectClassInfo> getObjectClassInfo() {
-        Future<Set<ObjectClassInfo>> future = asyncFacade.getObjectClassInfo(connector);
-        try {
-            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        return get(asyncFacade.getObjectClassInfo(connector));
     }
 
     @Override
     public void validate() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        get(asyncFacade.test(connector));
     }
 
     @Override
     public void test() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        get(asyncFacade.test(connector));
     }
 
     @Override
@@ -415,29 +336,15 @@ public class ConnectorFacadeProxy implements Connector {
             final boolean ignoreCaseMatch,
             final OperationOptions options) {
 
-        Future<ConnectorObject> future;
-
-        if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            future = asyncFacade.getObject(connector, objectClass, connObjectKey, ignoreCaseMatch, options);
-        } else {
+        if (!connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
             LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
             return null;
         }
 
-        try {
-            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException runtimeException) {
-                throw runtimeException;
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        return guard.callAsync(
+                () -> asyncFacade.getObject(connector, objectClass, connObjectKey, ignoreCaseMatch, options),
+                this::get);
     }
 
     @Override
@@ -450,36 +357,51 @@ public class ConnectorFacadeProxy implements Connector {
         SearchResult result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
-                OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
-                        setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
-
-                final String[] cookies = new String[] { null };
-                do {
-                    if (cookies[0] != null) {
-                        builder.setPagedResultsCookie(cookies[0]);
-                    }
+            result = doSearch(objectClass, filter, handler, options);
+        } else {
+            LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
+                    connInstance.getCapabilities());
+        }
 
-                    result = connector.search(objectClass, filter, new SearchResultsHandler() {
+        return result;
+    }
 
-                        @Override
-                        public void handleResult(final SearchResult result) {
-                            handler.handleResult(result);
-                            cookies[0] = result.getPagedResultsCookie();
-                        }
+    private SearchResult doSearch(
+            final ObjectClass objectClass,
+            final Filter filter,
+            final SearchResultsHandler handler,
+            final OperationOptions options) {
 
-                        @Override
-                        public boolean handle(final ConnectorObject connectorObject) {
-                            return handler.handle(connectorObject);
-                        }
-                    }, builder.build());
-                } while (cookies[0] != null);
-            } else {
-                result = connector.search(objectClass, filter, handler, options);
-            }
+        SearchResult result;
+
+        if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
+            OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
+                    setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
+
+            final String[] cookies = new String[] { null };
+            do {
+                if (cookies[0] != null) {
+                    builder.setPagedResultsCookie(cookies[0]);
+                }
+
+                // each page is a separate request, so that a full search does not hold a permit for its whole duration
+                OperationOptions pageOptions = builder.build();
+                result = guard.call(() -> connector.search(objectClass, filter, new SearchResultsHandler() {
+
+                    @Override
+                    public void handleResult(final SearchResult result) {
+                        handler.handleResult(result);
+                        cookies[0] = result.getPagedResultsCookie();
+                    }
+
+                    @Override
+                    public boolean handle(final ConnectorObject connectorObject) {
+                        return handler.handle(connectorObject);
+                    }
+                }, pageOptions));
+            } while (cookies[0] != null);
         } else {
-            LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
-                    connInstance.getCapabilities());
+            result = guard.call(() -> connector.search(objectClass, filter, handler, options));
         }
 
         return result;
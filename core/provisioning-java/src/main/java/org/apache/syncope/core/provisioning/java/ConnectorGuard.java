@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.identityconnectors.framework.common.exceptions.OperationTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Protects an {@link org.apache.syncope.core.persistence.api.entity.ExternalResource} - and the rest of the system -
+ * from an unresponsive target system by means of:
+ * <ol>
+ * <li>a bulkhead, limiting the number of concurrent requests: requests beyond the limit are refused right away,
+ * rather than waiting for a free slot;</li>
+ * <li>a circuit breaker, refusing any request for the configured delay after the configured number of consecutive
+ * failures; once the delay is elapsed, a single probe request is let through, and its outcome determines whether the
+ * circuit is closed again or kept open for another delay.</li>
+ * </ol>
+ * Only timeouts and connection failures count as failures: any other exception means that the target system was
+ * reachable.
+ */
+public class ConnectorGuard {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ConnectorGuard.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+
+    }
+
+    public static final ConnectorGuard UNGUARDED = new ConnectorGuard(null, null, null, null);
+
+    protected static boolean isFailure(final RuntimeException e) {
+        return e instanceof TimeoutException
+                || e instanceof ConnectorIOException
+                || e instanceof OperationTimeoutException;
+    }
+
+    protected final String resource;
+
+    protected final Semaphore permits;
+
+    protected final Integer failureThreshold;
+
+    protected final long delayMillis;
+
+    protected State state = State.CLOSED;
+
+    protected int failures;
+
+    protected long openedAt;
+
+    public ConnectorGuard(
+            final String resource,
+            final Integer maxConcurrentRequests,
+            final Integer failureThreshold,
+            final Integer delaySeconds) {
+
+        this.resource = resource;
+        this.permits = maxConcurrentRequests == null || maxConcurrentRequests <= 0
+                ? null
+                : new Semaphore(maxConcurrentRequests);
+        this.failureThreshold = failureThreshold == null || failureThreshold <= 0 ? null : failureThreshold;
+        this.delayMillis = delaySeconds == null ? 0 : delaySeconds * 1000L;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether the circuit allows a request.
+     *
+     * @return whether the request is a probe for an open circuit
+     * @throws ConnectorUnavailableException if the circuit is open
+     */
+    protected synchronized boolean admit() {
+        switch (state) {
+            case OPEN -> {
+                if (System.currentTimeMillis() - openedAt < delayMillis) {
+                    throw new ConnectorUnavailableException("Circuit breaker open for " + resource);
+                }
+                state = State.HALF_OPEN;
+                return true;
+            }
+
+            case HALF_OPEN ->
+                throw new ConnectorUnavailableException("Circuit breaker half-open for " + resource);
+
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    protected synchronized void onOutcome(final boolean probe, final boolean failure) {
+        if (!failure) {
+            if (state != State.CLOSED) {
+                LOG.info("Closing circuit breaker for {}", resource);
+            }
+            state = State.CLOSED;
+            failures = 0;
+        } else if (probe || (state == State.CLOSED && ++failures >= failureThreshold)) {
+            LOG.warn("Opening circuit breaker for {} for {} ms", resource, delayMillis);
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    protected synchronized void abort(final boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    protected void acquire(final boolean probe) {
+        if (permits != null && !permits.tryAcquire()) {
+            if (probe) {
+                abort(probe);
+            }
+            throw new ConnectorUnavailableException("Too many concurrent requests for " + resource);
+        }
+    }
+
+    protected void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    protected <T> T track(final boolean probe, final Supplier<T> request) {
+        try {
+            T result = request.get();
+            if (failureThreshold != null) {
+                onOutcome(probe, false);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (failureThreshold != null) {
+                onOutcome(probe, isFailure(e));
+            }
+            throw e;
+        } catch (Throwable t) {
+            // not telling anything about the target system, but a probe must not leave the circuit half-open
+            abort(probe);
+            throw t;
+        }
+    }
+
+    /**
+     * Performs the given request, if allowed.
+     *
+     * @param <T> request result type
+     * @param request request to perform
+     * @return request result
+     * @throws ConnectorUnavailableException if the request was refused
+     */
+    public <T> T call(final Supplier<T> request) {
+        boolean probe = failureThreshold != null && admit();
+        acquire(probe);
+        try {
+            return track(probe, request);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Submits the given asynchronous request, if allowed, and waits for its result by means of the given function.
+     * Unlike {@link #call(Supplier)}, the permit is held until the submitted request actually completes: when the
+     * caller gives up waiting - for example on timeout - the target system is still busy serving it.
+     * The function is given a copy of the submitted future, so that cancelling it does not release the permit.
+     *
+     * @param <T> request result type
+     * @param request submits the request to perform
+     * @param await waits for the request result
+     * @return request result
+     * @throws ConnectorUnavailableException if the request was refused
+     */
+    public <T> T callAsync(final Supplier<CompletableFuture<T>> request, final Function<Future<T>, T> await) {
+        boolean probe = failureThreshold != null && admit();
+        acquire(probe);
+
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (Throwable t) {
+            release();
+            abort(probe);
+            throw t;
+        }
+        future.whenComplete((result, error) -> release());
+
+        return track(probe, () -> await.apply(future.copy()));
+    }
+
+    public void run(final Runnable request) {
+        call(() -> {
+            request.run();
+            return null;
+        });
+    }
+
+    /**
+     * Performs the given request, if allowed by the circuit breaker, without taking any bulkhead permit: meant for
+     * long-running requests, as sync, which would otherwise hold a permit for their whole duration.
+     *
+     * @param request request to perform
+     * @throws ConnectorUnavailableException if the request was refused
+     */
+    public void runOutsideBulkhead(final Runnable request) {
+        boolean probe = failureThreshold != null && admit();
+        track(probe, () -> {
+            request.run();
+            return null;
+        });
+    }
+}
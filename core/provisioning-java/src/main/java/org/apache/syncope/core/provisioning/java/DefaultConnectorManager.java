@@ -163,6 +163,20 @@ public class DefaultConnectorManager implements ConnectorManager {
         return new ConnectorFacadeProxy(connInstance, asyncFacade);
     }
 
+    protected ConnectorGuard createConnectorGuard(final ExternalResource resource) {
+        return resource.getMaxConcurrentRequests() == null && resource.getCircuitBreakerThreshold() == null
+                ? ConnectorGuard.UNGUARDED
+                : new ConnectorGuard(
+                        resource.getKey(),
+                        resource.getMaxConcurrentRequests(),
+                        resource.getCircuitBreakerThreshold(),
+                        resource.getCircuitBreakerDelay());
+    }
+
+    protected Connector createConnector(final ConnInstance connInstance, final ExternalResource resource) {
+        return new ConnectorFacadeProxy(connInstance, asyncFacade, createConnectorGuard(resource));
+    }
+
     @Override
     public void registerConnector(final ExternalResource resource) {
         String beanName = getBeanName(resource);
@@ -175,7 +189,7 @@ public class DefaultConnectorManager implements ConnectorManager {
                 connInstanceDataBinder.getConnInstanceTO(resource.getConnector()),
                 resource.getConfOverride(),
                 resource.isOverrideCapabilities() ? Optional.of(resource.getCapabilitiesOverride()) : Optional.empty());
-        Connector connector = createConnector(connInstance);
+        Connector connector = createConnector(connInstance, resource);
         LOG.debug("Connector to be registered: {}", connector);
 
         ApplicationContextProvider.getBeanFactory().registerSingleton(beanName, connector);
@@ -49,6 +49,7 @@ import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrValueDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RelationshipTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportDAO;
@@ -113,6 +114,7 @@ import org.apache.syncope.core.provisioning.api.job.JobManager;
 import org.apache.syncope.core.provisioning.api.notification.NotificationJobDelegate;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationOutbox;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.java.cache.CaffeineVirAttrCache;
 import org.apache.syncope.core.provisioning.java.data.AccessTokenDataBinderImpl;
@@ -158,6 +160,7 @@ import org.apache.syncope.core.provisioning.java.job.notification.MailNotificati
 import org.apache.syncope.core.provisioning.java.job.notification.NotificationJob;
 import org.apache.syncope.core.provisioning.java.notification.DefaultNotificationManager;
 import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationManager;
+import org.apache.syncope.core.provisioning.java.propagation.DefaultPropagationOutbox;
 import org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.java.pushpull.InboundMatcher;
 import org.apache.syncope.core.provisioning.java.pushpull.OutboundMatcher;
@@ -165,6 +168,7 @@ import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
 import org.apache.syncope.core.provisioning.java.utils.TemplateUtils;
 import org.apache.syncope.core.spring.security.DefaultCredentialChecker;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.spring.security.jws.AccessTokenJWSSigner;
 import org.apache.syncope.core.spring.task.VirtualThreadPoolTaskExecutor;
@@ -484,7 +488,8 @@ public class ProvisioningContext {
             final TemplateUtils templateUtils,
             final RealmDAO realmDAO,
             final UserDAO userDAO,
-            final ExternalResourceDAO resourceDAO) {
+            final ExternalResourceDAO resourceDAO,
+            final PasswordHashingService passwordHashingService) {
 
         return new ConnObjectUtils(
                 templateUtils,
@@ -493,7 +498,8 @@ public class ProvisioningContext {
                 resourceDAO,
                 passwordGenerator,
                 mappingManager,
-                anyUtilsFactory);
+                anyUtilsFactory,
+                passwordHashingService);
     }
 
     @ConditionalOnMissingBean
@@ -534,6 +540,23 @@ public class ProvisioningContext {
         return new IntAttrNameParser(plainSchemaDAO, derSchemaDAO, virSchemaDAO, anyUtilsFactory);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutbox propagationOutbox(
+            final ProvisioningProperties props,
+            final PropagationOutboxDAO propagationOutboxDAO,
+            final ExternalResourceDAO resourceDAO,
+            final EntityFactory entityFactory,
+            final DomainHolder domainHolder) {
+
+        return new DefaultPropagationOutbox(
+                props.getPropagationOutbox(),
+                propagationOutboxDAO,
+                resourceDAO,
+                entityFactory,
+                domainHolder);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public PropagationTaskExecutor propagationTaskExecutor(
@@ -551,7 +574,8 @@ public class ProvisioningContext {
             final TaskDataBinder taskDataBinder,
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
-            final ApplicationEventPublisher publisher) {
+            final ApplicationEventPublisher publisher,
+            final PropagationOutbox propagationOutbox) {
 
         return new PriorityPropagationTaskExecutor(
                 connectorManager,
@@ -567,7 +591,8 @@ public class ProvisioningContext {
                 outboundMatcher,
                 validator,
                 publisher,
-                propagationTaskExecutorAsyncExecutor);
+                propagationTaskExecutorAsyncExecutor,
+                propagationOutbox);
     }
 
     @ConditionalOnMissingBean
@@ -1030,8 +1055,7 @@ public class ProvisioningContext {
             final AnyTypeClassDAO anyTypeClassDAO,
             final ImplementationDAO implementationDAO,
             final PlainSchemaDAO plainSchemaDAO,
-            final IntAttrNameParser intAttrNameParser,
-            final PropagationTaskExecutor propagationTaskExecutor) {
+            final IntAttrNameParser intAttrNameParser) {
 
         return new ResourceDataBinderImpl(
                 anyTypeDAO,
@@ -1042,8 +1066,7 @@ public class ProvisioningContext {
                 implementationDAO,
                 plainSchemaDAO,
                 entityFactory,
-                intAttrNameParser,
-                propagationTaskExecutor);
+                intAttrNameParser);
     }
 
     @ConditionalOnMissingBean
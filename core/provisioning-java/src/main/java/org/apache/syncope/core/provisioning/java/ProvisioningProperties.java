@@ -89,10 +89,75 @@ public class ProvisioningProperties {
         }
     }
 
+    public static class PropagationOutboxProperties {
+
+        private boolean enabled = false;
+
+        private long interval = 1000;
+
+        private int batchSize = 100;
+
+        private int concurrency = 2;
+
+        private String node;
+
+        private long leaseTimeout = 300000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(final long interval) {
+            this.interval = interval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(final int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public String getNode() {
+            return node;
+        }
+
+        public void setNode(final String node) {
+            this.node = node;
+        }
+
+        public long getLeaseTimeout() {
+            return leaseTimeout;
+        }
+
+        public void setLeaseTimeout(final long leaseTimeout) {
+            this.leaseTimeout = leaseTimeout;
+        }
+    }
+
     private final ExecutorProperties asyncConnectorFacadeExecutor = new ExecutorProperties();
 
     private final ExecutorProperties propagationTaskExecutorAsyncExecutor = new ExecutorProperties();
 
+    private final PropagationOutboxProperties propagationOutbox = new PropagationOutboxProperties();
+
     private String virAttrCacheSpec = "maximumSize=5000,expireAfterAccess=1m";
 
     private final List<String> connIdLocation = new ArrayList<>();
@@ -115,6 +180,10 @@ public class ProvisioningProperties {
         return propagationTaskExecutorAsyncExecutor;
     }
 
+    public PropagationOutboxProperties getPropagationOutbox() {
+        return propagationOutbox;
+    }
+
     public List<String> getConnIdLocation() {
         return connIdLocation;
     }
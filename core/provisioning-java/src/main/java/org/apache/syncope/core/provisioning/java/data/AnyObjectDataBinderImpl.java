@@ -18,12 +18,14 @@
  */
 package org.apache.syncope.core.provisioning.java.data;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeClientCompositeException;
@@ -53,6 +55,7 @@ import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.RelationshipType;
@@ -123,6 +126,46 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
     @Transactional(readOnly = true)
     @Override
     public AnyObjectTO getAnyObjectTO(final AnyObject anyObject, final boolean details) {
+        return getAnyObjectTO(
+                anyObject,
+                details,
+                anyObjectDAO.findAllResources(anyObject),
+                anyObjectDAO.findDynRealms(anyObject.getKey()),
+                () -> anyObjectDAO.findDynGroups(anyObject.getKey()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyObjectTO> getAnyObjectTOs(final List<AnyObject> anyObjects, final boolean details) {
+        List<String> keys = anyObjects.stream().map(AnyObject::getKey).toList();
+        Map<String, List<String>> dynRealms = anyObjectDAO.findDynRealms(keys);
+        Map<String, List<Group>> dynGroups = anyObjectDAO.findDynGroups(keys);
+
+        return anyObjects.stream().map(anyObject -> {
+            List<Group> anyObjectDynGroups = dynGroups.getOrDefault(anyObject.getKey(), List.of());
+            return getAnyObjectTO(
+                    anyObject,
+                    details,
+                    getAllResources(anyObject, anyObjectDynGroups),
+                    dynRealms.getOrDefault(anyObject.getKey(), List.of()),
+                    () -> anyObjectDynGroups);
+        }).toList();
+    }
+
+    protected Set<ExternalResource> getAllResources(final AnyObject anyObject, final Collection<Group> dynGroups) {
+        Set<ExternalResource> resources = new HashSet<>(anyObject.getResources());
+        anyObject.getMemberships().forEach(membership -> resources.addAll(membership.getRightEnd().getResources()));
+        dynGroups.forEach(group -> resources.addAll(group.getResources()));
+        return resources;
+    }
+
+    protected AnyObjectTO getAnyObjectTO(
+            final AnyObject anyObject,
+            final boolean details,
+            final Collection<? extends ExternalResource> resources,
+            final List<String> dynRealms,
+            final Supplier<List<Group>> dynGroups) {
+
         AnyObjectTO anyObjectTO = new AnyObjectTO();
 
         anyObjectTO.setCreator(anyObject.getCreator());
@@ -145,10 +188,10 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
                 anyObject.getPlainAttrs(),
                 derAttrHandler.getValues(anyObject),
                 virAttrValues,
-                anyObjectDAO.findAllResources(anyObject));
+                resources);
 
         // dynamic realms
-        anyObjectTO.getDynRealms().addAll(anyObjectDAO.findDynRealms(anyObject.getKey()));
+        anyObjectTO.getDynRealms().addAll(dynRealms);
 
         if (details) {
             // relationships
@@ -171,7 +214,7 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
 
             // dynamic memberships
             anyObjectTO.getDynMemberships().addAll(
-                    anyObjectDAO.findDynGroups(anyObject.getKey()).stream().
+                    dynGroups.get().stream().
                             map(group -> new MembershipTO.Builder(group.getKey()).groupName(group.getName()).build()).
                             toList());
         }
@@ -373,9 +373,7 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
         return typeExtTO;
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public GroupTO getGroupTO(final Group group, final boolean details) {
+    protected GroupTO getGroupTO(final Group group, final boolean details, final List<String> dynRealms) {
         GroupTO groupTO = new GroupTO();
 
         groupTO.setCreator(group.getCreator());
@@ -409,7 +407,7 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
                 group.getResources());
 
         // dynamic realms
-        groupTO.getDynRealms().addAll(groupDAO.findDynRealms(group.getKey()));
+        groupTO.getDynRealms().addAll(dynRealms);
 
         // Static user and AnyType membership counts
         groupTO.setStaticUserMembershipCount(groupDAO.countUMembers(group.getKey()));
@@ -431,6 +429,22 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
         return groupTO;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public GroupTO getGroupTO(final Group group, final boolean details) {
+        return getGroupTO(group, details, groupDAO.findDynRealms(group.getKey()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<GroupTO> getGroupTOs(final List<Group> groups, final boolean details) {
+        Map<String, List<String>> dynRealms = groupDAO.findDynRealms(groups.stream().map(Group::getKey).toList());
+
+        return groups.stream().
+                map(group -> getGroupTO(group, details, dynRealms.getOrDefault(group.getKey(), List.of()))).
+                toList();
+    }
+
     @Transactional(readOnly = true)
     @Override
     public GroupTO getGroupTO(final String key) {
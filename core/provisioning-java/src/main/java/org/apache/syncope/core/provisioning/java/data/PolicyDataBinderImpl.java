@@ -133,6 +133,7 @@ public class PolicyDataBinderImpl implements PolicyDataBinder {
             PropagationPolicyTO propagationPolicyTO = PropagationPolicyTO.class.cast(policyTO);
 
             propagationPolicy.setFetchAroundProvisioning(propagationPolicyTO.isFetchAroundProvisioning());
+            propagationPolicy.setAfterObjStrategy(propagationPolicyTO.getAfterObjStrategy());
             propagationPolicy.setUpdateDelta(propagationPolicyTO.isUpdateDelta());
             propagationPolicy.setBackOffStrategy(propagationPolicyTO.getBackOffStrategy());
             propagationPolicy.setBackOffParams(propagationPolicyTO.getBackOffParams());
@@ -289,6 +290,7 @@ public class PolicyDataBinderImpl implements PolicyDataBinder {
             policyTO = (T) propagationPolicyTO;
 
             propagationPolicyTO.setFetchAroundProvisioning(propagationPolicy.isFetchAroundProvisioning());
+            propagationPolicyTO.setAfterObjStrategy(propagationPolicy.getAfterObjStrategy());
             propagationPolicyTO.setUpdateDelta(propagationPolicy.isUpdateDelta());
             propagationPolicyTO.setBackOffStrategy(propagationPolicy.getBackOffStrategy());
             propagationPolicyTO.setBackOffParams(propagationPolicy.getBackOffParams());
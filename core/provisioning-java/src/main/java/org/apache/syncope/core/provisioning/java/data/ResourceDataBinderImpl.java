@@ -65,7 +65,6 @@ import org.apache.syncope.core.provisioning.api.IntAttrName;
 import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
 import org.apache.syncope.core.provisioning.api.data.ResourceDataBinder;
 import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
-import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,8 +91,6 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
 
     protected final IntAttrNameParser intAttrNameParser;
 
-    protected final PropagationTaskExecutor propagationTaskExecutor;
-
     public ResourceDataBinderImpl(
             final AnyTypeDAO anyTypeDAO,
             final ConnInstanceDAO connInstanceDAO,
@@ -103,8 +100,7 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
             final ImplementationDAO implementationDAO,
             final PlainSchemaDAO plainSchemaDAO,
             final EntityFactory entityFactory,
-            final IntAttrNameParser intAttrNameParser,
-            final PropagationTaskExecutor propagationTaskExecutor) {
+            final IntAttrNameParser intAttrNameParser) {
 
         this.anyTypeDAO = anyTypeDAO;
         this.connInstanceDAO = connInstanceDAO;
@@ -115,7 +111,6 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         this.plainSchemaDAO = plainSchemaDAO;
         this.entityFactory = entityFactory;
         this.intAttrNameParser = intAttrNameParser;
-        this.propagationTaskExecutor = propagationTaskExecutor;
     }
 
     @Override
@@ -140,6 +135,9 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resource.setEnforceMandatoryCondition(resourceTO.isEnforceMandatoryCondition());
 
         resource.setPropagationPriority(resourceTO.getPropagationPriority());
+        resource.setMaxConcurrentRequests(resourceTO.getMaxConcurrentRequests());
+        resource.setCircuitBreakerThreshold(resourceTO.getCircuitBreakerThreshold());
+        resource.setCircuitBreakerDelay(resourceTO.getCircuitBreakerDelay());
 
         // 1. add or update all (valid) provisions from TO
         resourceTO.getProvisions().forEach(provisionTO -> {
@@ -353,11 +351,6 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resource.setAccountPolicy(resourceTO.getAccountPolicy() == null
                 ? null : policyDAO.findById(resourceTO.getAccountPolicy(), AccountPolicy.class).orElse(null));
 
-        if (resource.getPropagationPolicy() != null
-                && !resource.getPropagationPolicy().getKey().equals(resourceTO.getPropagationPolicy())) {
-
-            propagationTaskExecutor.expireRetryTemplate(resource.getKey());
-        }
         resource.setPropagationPolicy(resourceTO.getPropagationPolicy() == null
                 ? null : policyDAO.findById(resourceTO.getPropagationPolicy(), PropagationPolicy.class).orElse(null));
 
@@ -643,6 +636,9 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
         resourceTO.setEnforceMandatoryCondition(resource.isEnforceMandatoryCondition());
 
         resourceTO.setPropagationPriority(resource.getPropagationPriority());
+        resourceTO.setMaxConcurrentRequests(resource.getMaxConcurrentRequests());
+        resourceTO.setCircuitBreakerThreshold(resource.getCircuitBreakerThreshold());
+        resourceTO.setCircuitBreakerDelay(resource.getCircuitBreakerDelay());
 
         resourceTO.setCreateTraceLevel(resource.getCreateTraceLevel());
         resourceTO.setUpdateTraceLevel(resource.getUpdateTraceLevel());
@@ -19,13 +19,16 @@
 package org.apache.syncope.core.provisioning.java.data;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -748,11 +751,25 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
         return getLinkedAccountTO(account, true);
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public UserTO getUserTO(final User user, final boolean details) {
-        Boolean returnPasswordValue = confParamOps.get(AuthContextUtils.getDomain(),
-                "return.password.value", Boolean.FALSE, Boolean.class);
+    protected boolean returnPasswordValue() {
+        return confParamOps.get(AuthContextUtils.getDomain(), "return.password.value", Boolean.FALSE, Boolean.class);
+    }
+
+    protected Set<ExternalResource> getAllResources(final User user, final Collection<Group> dynGroups) {
+        Set<ExternalResource> resources = new HashSet<>(user.getResources());
+        user.getMemberships().forEach(membership -> resources.addAll(membership.getRightEnd().getResources()));
+        dynGroups.forEach(group -> resources.addAll(group.getResources()));
+        return resources;
+    }
+
+    protected UserTO getUserTO(
+            final User user,
+            final boolean details,
+            final boolean returnPasswordValue,
+            final Collection<? extends ExternalResource> resources,
+            final List<String> dynRealms,
+            final Supplier<List<Role>> dynRoles,
+            final Supplier<List<Group>> dynGroups) {
 
         UserTO userTO = new UserTO();
         userTO.setKey(user.getKey());
@@ -792,21 +809,21 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
                 user.getPlainAttrs(),
                 derAttrHandler.getValues(user),
                 details ? virAttrHandler.getValues(user) : Map.of(),
-                userDAO.findAllResources(user));
+                resources);
 
         // dynamic realms
-        userTO.getDynRealms().addAll(userDAO.findDynRealms(user.getKey()));
+        userTO.getDynRealms().addAll(dynRealms);
 
         if (details) {
             // roles
             userTO.getRoles().addAll(user.getRoles().stream().map(Role::getKey).toList());
 
             // dynamic roles
-            userTO.getDynRoles().addAll(
-                    userDAO.findDynRoles(user.getKey()).stream().map(Role::getKey).toList());
+            List<Role> userDynRoles = dynRoles.get();
+            userTO.getDynRoles().addAll(userDynRoles.stream().map(Role::getKey).toList());
 
             // privileges
-            userTO.getPrivileges().addAll(userDAO.findAllRoles(user).stream().
+            userTO.getPrivileges().addAll(Stream.concat(user.getRoles().stream(), userDynRoles.stream()).
                     flatMap(role -> role.getPrivileges().stream()).map(Privilege::getKey).collect(Collectors.toSet()));
 
             // relationships
@@ -822,7 +839,7 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
                     membership)).toList());
 
             // dynamic memberships
-            userTO.getDynMemberships().addAll(userDAO.findDynGroups(user.getKey()).stream().
+            userTO.getDynMemberships().addAll(dynGroups.get().stream().
                     map(group -> new MembershipTO.Builder(group.getKey()).groupName(group.getName()).build()).
                     toList());
 
@@ -841,6 +858,42 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
         return userTO;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public UserTO getUserTO(final User user, final boolean details) {
+        return getUserTO(
+                user,
+                details,
+                returnPasswordValue(),
+                userDAO.findAllResources(user),
+                userDAO.findDynRealms(user.getKey()),
+                () -> userDAO.findDynRoles(user.getKey()),
+                () -> userDAO.findDynGroups(user.getKey()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<UserTO> getUserTOs(final List<User> users, final boolean details) {
+        boolean returnPasswordValue = returnPasswordValue();
+
+        List<String> keys = users.stream().map(User::getKey).toList();
+        Map<String, List<String>> dynRealms = userDAO.findDynRealms(keys);
+        Map<String, List<Group>> dynGroups = userDAO.findDynGroups(keys);
+        Map<String, List<Role>> dynRoles = details ? userDAO.findDynRoles(keys) : Map.of();
+
+        return users.stream().map(user -> {
+            List<Group> userDynGroups = dynGroups.getOrDefault(user.getKey(), List.of());
+            return getUserTO(
+                    user,
+                    details,
+                    returnPasswordValue,
+                    getAllResources(user, userDynGroups),
+                    dynRealms.getOrDefault(user.getKey(), List.of()),
+                    () -> dynRoles.getOrDefault(user.getKey(), List.of()),
+                    () -> userDynGroups);
+        }).toList();
+    }
+
     @Transactional(readOnly = true)
     @Override
     public UserTO getUserTO(final String key) {
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.spring.policy.HaveIBeenPwnedPasswordRule;
+import org.apache.syncope.core.spring.policy.PwnedPasswordCorpus;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Builds the offline corpus used by {@link org.apache.syncope.core.spring.policy.HaveIBeenPwnedPasswordRule} out of
+ * the range dumps downloaded from the "Have I Been Pwned?" service.
+ *
+ * The directory containing range dumps and the corpus file to build are read from the
+ * {@code pwnedPasswords.rangeDumps} and {@code pwnedPasswords.offlineCorpus} conf params, respectively; the latter is
+ * also read by the rule when not configured with its own offline corpus.
+ * If already loaded, the corpus is reloaded by this job and swapped in once ready.
+ */
+public class PwnedPasswordCorpusLoader extends AbstractSchedTaskJobDelegate<SchedTask> {
+
+    public static final String RANGE_DUMPS = "pwnedPasswords.rangeDumps";
+
+    public static final String OFFLINE_CORPUS = HaveIBeenPwnedPasswordRule.OFFLINE_CORPUS;
+
+    @Autowired
+    private ConfParamOps confParamOps;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor, final JobExecutionContext context)
+            throws JobExecutionException {
+
+        String rangeDumps = confParamOps.get(AuthContextUtils.getDomain(), RANGE_DUMPS, null, String.class);
+        String offlineCorpus = confParamOps.get(AuthContextUtils.getDomain(), OFFLINE_CORPUS, null, String.class);
+        if (StringUtils.isBlank(rangeDumps) || StringUtils.isBlank(offlineCorpus)) {
+            throw new JobExecutionException("Both " + RANGE_DUMPS + " and " + OFFLINE_CORPUS + " must be set");
+        }
+
+        if (dryRun) {
+            return "Would build " + offlineCorpus + " out of " + rangeDumps;
+        }
+
+        setStatus("Building " + offlineCorpus + " out of " + rangeDumps);
+        try {
+            long count = PwnedPasswordCorpus.build(Path.of(rangeDumps), Path.of(offlineCorpus));
+
+            setStatus("Reloading " + offlineCorpus);
+            boolean reloaded = PwnedPasswordCorpus.reload(Path.of(offlineCorpus));
+
+            return "Built " + offlineCorpus + " with " + count + " hashes" + (reloaded ? ", reloaded" : "");
+        } catch (IOException e) {
+            throw new JobExecutionException("While building " + offlineCorpus, e);
+        }
+    }
+}
@@ -19,15 +19,16 @@
 package org.apache.syncope.core.provisioning.java.propagation;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -35,8 +36,11 @@ import org.apache.syncope.common.lib.to.ExecTO;
 import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.OrgUnit;
 import org.apache.syncope.common.lib.to.Provision;
+import org.apache.syncope.common.lib.types.AfterObjStrategy;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
+import org.apache.syncope.common.lib.types.BackOffStrategy;
+import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.common.lib.types.ExecStatus;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TaskType;
@@ -57,12 +61,14 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
 import org.apache.syncope.core.provisioning.api.TimeoutException;
 import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
 import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationActions;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationOutbox;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
@@ -87,12 +93,6 @@ import org.identityconnectors.framework.common.objects.Uid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.retry.RetryException;
-import org.springframework.retry.backoff.ExponentialBackOffPolicy;
-import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
-import org.springframework.retry.backoff.FixedBackOffPolicy;
-import org.springframework.retry.policy.SimpleRetryPolicy;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(rollbackFor = { Throwable.class })
@@ -100,8 +100,6 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
 
     protected static final Logger LOG = LoggerFactory.getLogger(PropagationTaskExecutor.class);
 
-    protected final Map<String, RetryTemplate> retryTemplates = Collections.synchronizedMap(new HashMap<>());
-
     protected final ConnectorManager connectorManager;
 
     protected final ConnObjectUtils connObjectUtils;
@@ -128,6 +126,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
 
     protected final ApplicationEventPublisher publisher;
 
+    protected final PropagationOutbox propagationOutbox;
+
     protected final Map<String, PropagationActions> perContextActions = new ConcurrentHashMap<>();
 
     public AbstractPropagationTaskExecutor(
@@ -143,7 +143,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             final TaskUtilsFactory taskUtilsFactory,
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
-            final ApplicationEventPublisher publisher) {
+            final ApplicationEventPublisher publisher,
+            final PropagationOutbox propagationOutbox) {
 
         this.connectorManager = connectorManager;
         this.connObjectUtils = connObjectUtils;
@@ -158,11 +159,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         this.outboundMatcher = outboundMatcher;
         this.validator = validator;
         this.publisher = publisher;
-    }
-
-    @Override
-    public void expireRetryTemplate(final String resource) {
-        retryTemplates.remove(resource);
+        this.propagationOutbox = propagationOutbox;
     }
 
     protected List<PropagationActions> getPropagationActions(final ExternalResource resource) {
@@ -393,111 +390,104 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         return result;
     }
 
-    protected Optional<RetryTemplate> retryTemplate(final ExternalResource resource) {
-        RetryTemplate retryTemplate = null;
-
-        if (resource.getPropagationPolicy() != null) {
-            retryTemplate = retryTemplates.get(resource.getKey());
-            if (retryTemplate == null) {
-                retryTemplate = new RetryTemplate();
-
-                SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy();
-                retryPolicy.setMaxAttempts(resource.getPropagationPolicy().getMaxAttempts());
-                retryTemplate.setRetryPolicy(retryPolicy);
-
-                String[] params = resource.getPropagationPolicy().getBackOffParams().split(";");
-
-                switch (resource.getPropagationPolicy().getBackOffStrategy()) {
-                    case EXPONENTIAL:
-                        ExponentialBackOffPolicy eBackOffPolicy = new ExponentialBackOffPolicy();
-                        if (params.length > 0) {
-                            try {
-                                eBackOffPolicy.setInitialInterval(Long.parseLong(params[0]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to long: {}", params[0], e);
-                            }
-                        }
-                        if (params.length > 1) {
-                            try {
-                                eBackOffPolicy.setMaxInterval(Long.parseLong(params[1]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to long: {}", params[1], e);
-                            }
-                        }
-                        if (params.length > 2) {
-                            try {
-                                eBackOffPolicy.setMultiplier(Double.parseDouble(params[2]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to double: {}", params[2], e);
-                            }
-                        }
-                        retryTemplate.setBackOffPolicy(eBackOffPolicy);
-                        break;
-
-                    case RANDOM:
-                        ExponentialRandomBackOffPolicy erBackOffPolicy = new ExponentialRandomBackOffPolicy();
-                        if (params.length > 0) {
-                            try {
-                                erBackOffPolicy.setInitialInterval(Long.parseLong(params[0]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to long: {}", params[0], e);
-                            }
-                        }
-                        if (params.length > 1) {
-                            try {
-                                erBackOffPolicy.setMaxInterval(Long.parseLong(params[1]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to long: {}", params[1], e);
-                            }
-                        }
-                        if (params.length > 2) {
-                            try {
-                                erBackOffPolicy.setMultiplier(Double.parseDouble(params[2]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to double: {}", params[2], e);
-                            }
-                        }
-                        retryTemplate.setBackOffPolicy(erBackOffPolicy);
-                        break;
-
-                    case FIXED:
-                    default:
-                        FixedBackOffPolicy fBackOffPolicy = new FixedBackOffPolicy();
-                        if (params.length > 0) {
-                            try {
-                                fBackOffPolicy.setBackOffPeriod(Long.parseLong(params[0]));
-                            } catch (NumberFormatException e) {
-                                LOG.error("Could not convert to long: {}", params[0], e);
-                            }
-
-                        }
-                        retryTemplate.setBackOffPolicy(fBackOffPolicy);
-                }
+    protected static long parseLong(final String[] params, final int index, final long defaultValue) {
+        if (params.length > index) {
+            try {
+                return Long.parseLong(params[index]);
+            } catch (NumberFormatException e) {
+                LOG.error("Could not convert to long: {}", params[index], e);
+            }
+        }
+        return defaultValue;
+    }
 
-                retryTemplates.put(resource.getKey(), retryTemplate);
+    protected static double parseDouble(final String[] params, final int index, final double defaultValue) {
+        if (params.length > index) {
+            try {
+                return Double.parseDouble(params[index]);
+            } catch (NumberFormatException e) {
+                LOG.error("Could not convert to double: {}", params[index], e);
             }
         }
+        return defaultValue;
+    }
 
-        return Optional.ofNullable(retryTemplate);
+    /**
+     * Computes how long to wait before the next attempt, according to the back-off settings of the given policy.
+     *
+     * @param policy propagation policy
+     * @param attempts number of attempts already failed
+     * @return milliseconds to wait before the next attempt
+     */
+    protected static long backOff(final PropagationPolicy policy, final int attempts) {
+        String[] params = policy.getBackOffParams().split(";");
+
+        switch (policy.getBackOffStrategy()) {
+            case EXPONENTIAL:
+            case RANDOM:
+                long initialInterval = parseLong(params, 0, 100L);
+                long maxInterval = parseLong(params, 1, 30000L);
+                double multiplier = parseDouble(params, 2, 2D);
+
+                long interval = (long) Math.min(
+                        initialInterval * Math.pow(multiplier, Math.max(0, attempts - 1)), maxInterval);
+                if (policy.getBackOffStrategy() == BackOffStrategy.RANDOM) {
+                    // a random multiple of the interval, between 1 and the multiplier
+                    interval += (long) (interval * (multiplier - 1) * ThreadLocalRandom.current().nextDouble());
+                }
+                return interval;
+
+            case FIXED:
+            default:
+                return parseLong(params, 0, 1000L);
+        }
     }
 
+    /**
+     * Executes the given task; in case of failure, if allowed by the resource's propagation policy, another attempt
+     * is scheduled via the {@link PropagationOutbox}, when enabled, thus not holding the current thread while backing
+     * off. Otherwise - or for tasks which cannot be stored there, as for resources with propagation priority, whose
+     * outcome is needed right away - tasks are attempted again inline.
+     *
+     * @param taskInfo to be executed
+     * @param reporter to report propagation execution status
+     * @param executor the executor of this task
+     * @return the generated TaskExec.
+     */
     @Override
     public TaskExec<PropagationTask> execute(
             final PropagationTaskInfo taskInfo,
             final PropagationReporter reporter,
             final String executor) {
 
-        return retryTemplate(taskInfo.getResource()).map(rt -> rt.execute(context -> {
-            LOG.debug("#{} Propagation attempt", context.getRetryCount());
+        TaskExec<PropagationTask> exec = doExecute(taskInfo, reporter, executor);
+
+        PropagationPolicy policy = taskInfo.getResource().getPropagationPolicy();
+        while (policy != null && !ExecStatus.SUCCESS.name().equals(exec.getStatus())) {
+            taskInfo.setAttempts(taskInfo.getAttempts() + 1);
+            if (taskInfo.getAttempts() >= policy.getMaxAttempts()) {
+                break;
+            }
 
-            TaskExec<PropagationTask> exec = doExecute(taskInfo, reporter, executor);
-            if (context.getRetryCount() < taskInfo.getResource().getPropagationPolicy().getMaxAttempts() - 1
-                    && !ExecStatus.SUCCESS.name().equals(exec.getStatus())) {
+            long backOff = backOff(policy, taskInfo.getAttempts());
+            if (propagationOutbox.retry(
+                    taskInfo, executor, OffsetDateTime.now().plus(backOff, ChronoUnit.MILLIS))) {
 
-                throw new RetryException("Attempt #" + context.getRetryCount() + " failed");
+                LOG.debug("Attempt #{} failed, next in {} ms", taskInfo.getAttempts(), backOff);
+                break;
             }
-            return exec;
-        })).orElseGet(() -> doExecute(taskInfo, reporter, executor));
+
+            LOG.debug("Attempt #{} failed, retrying inline in {} ms", taskInfo.getAttempts(), backOff);
+            try {
+                Thread.sleep(backOff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            exec = doExecute(taskInfo, reporter, executor);
+        }
+
+        return exec;
     }
 
     protected boolean isFetchRemoteObj(final PropagationTaskInfo taskInfo) {
@@ -506,6 +496,99 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 orElse(true);
     }
 
+    protected AfterObjStrategy getAfterObjStrategy(final PropagationTaskInfo taskInfo) {
+        return Optional.ofNullable(taskInfo.getResource().getPropagationPolicy()).
+                map(PropagationPolicy::getAfterObjStrategy).
+                orElse(AfterObjStrategy.FULL_READ);
+    }
+
+    /**
+     * Checks whether the remote object needs to be read before the actual operation, when fetching around
+     * provisioning.
+     *
+     * @param taskInfo propagation task
+     * @param connector connector
+     * @param afterObjStrategy how the remote object after the actual operation is obtained
+     * @return whether the remote object needs to be read before the actual operation
+     */
+    protected boolean isFetchBeforeObj(
+            final PropagationTaskInfo taskInfo,
+            final Connector connector,
+            final AfterObjStrategy afterObjStrategy) {
+
+        if (afterObjStrategy == AfterObjStrategy.FULL_READ) {
+            return true;
+        }
+
+        return switch (taskInfo.getOperation()) {
+            // no way to fall back to update if the remote object already exists
+            case CREATE ->
+                connector.getConnInstance().getCapabilities().contains(ConnectorCapability.UPDATE);
+
+            // delta updates don't need the remote object, unless to reconstruct it
+            case UPDATE ->
+                taskInfo.getPropagationData().getAttributeDeltas() == null
+                || afterObjStrategy == AfterObjStrategy.RECONSTRUCT;
+
+            default ->
+                true;
+        };
+    }
+
+    /**
+     * Builds the remote object after a successful operation, without reading it.
+     *
+     * @param taskInfo propagation task
+     * @param beforeObj remote object before the operation, if available
+     * @param uid Uid returned by the operation, if available
+     * @return remote object after the operation
+     */
+    protected ConnectorObject reconstructAfterObj(
+            final PropagationTaskInfo taskInfo,
+            final ConnectorObject beforeObj,
+            final Uid uid) {
+
+        if (taskInfo.getOperation() == ResourceOperation.DELETE) {
+            return null;
+        }
+
+        Map<String, Attribute> attrs = new LinkedHashMap<>();
+        Optional.ofNullable(beforeObj).ifPresent(obj -> obj.getAttributes().
+                forEach(attr -> attrs.put(attr.getName().toUpperCase(), attr)));
+
+        PropagationData propagationData = taskInfo.getPropagationData();
+        if (propagationData.getAttributeDeltas() == null) {
+            propagationData.getAttributes().forEach(attr -> attrs.put(attr.getName().toUpperCase(), attr));
+        } else {
+            propagationData.getAttributeDeltas().forEach(delta -> {
+                String name = delta.getName().toUpperCase();
+                if (delta.getValuesToReplace() == null) {
+                    List<Object> values = new ArrayList<>(Optional.ofNullable(attrs.get(name)).
+                            map(Attribute::getValue).orElseGet(List::of));
+                    Optional.ofNullable(delta.getValuesToRemove()).ifPresent(values::removeAll);
+                    Optional.ofNullable(delta.getValuesToAdd()).ifPresent(values::addAll);
+                    attrs.put(name, AttributeBuilder.build(delta.getName(), values));
+                } else {
+                    attrs.put(name, AttributeBuilder.build(delta.getName(), delta.getValuesToReplace()));
+                }
+            });
+        }
+        attrs.remove(OperationalAttributes.PASSWORD_NAME);
+        attrs.remove(OperationalAttributes.CURRENT_PASSWORD_NAME);
+
+        ConnectorObjectBuilder builder = new ConnectorObjectBuilder().setObjectClass(taskInfo.getObjectClass());
+        attrs.values().stream().
+                filter(attr -> !Uid.NAME.equals(attr.getName()) && !Name.NAME.equals(attr.getName())).
+                forEach(builder::addAttribute);
+        builder.setUid(Optional.ofNullable(uid).
+                or(() -> Optional.ofNullable(beforeObj).map(ConnectorObject::getUid)).
+                orElseGet(() -> new Uid(taskInfo.getConnObjectKey())));
+        builder.setName(Optional.ofNullable(AttributeUtil.getNameFromAttributes(propagationData.getAttributes())).
+                or(() -> Optional.ofNullable(beforeObj).map(ConnectorObject::getName)).
+                orElseGet(() -> new Name(taskInfo.getConnObjectKey())));
+        return builder.build();
+    }
+
     protected TaskExec<PropagationTask> doExecute(
             final PropagationTaskInfo taskInfo,
             final PropagationReporter reporter,
@@ -530,6 +613,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         AtomicReference<Boolean> propagationAttempted = new AtomicReference<>(false);
 
         boolean fetchRemoteObj = isFetchRemoteObj(taskInfo);
+        AfterObjStrategy afterObjStrategy = getAfterObjStrategy(taskInfo);
 
         ConnectorObject beforeObj = null;
         ConnectorObject afterObj = null;
@@ -544,7 +628,7 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             orgUnit = taskInfo.getResource().getOrgUnit();
 
             if (taskInfo.getBeforeObj().isEmpty()) {
-                if (fetchRemoteObj) {
+                if (fetchRemoteObj && isFetchBeforeObj(taskInfo, connector, afterObjStrategy)) {
                     // Try to read remote object BEFORE any actual operation
                     beforeObj = provision == null && orgUnit == null
                             ? null
@@ -582,7 +666,9 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         } catch (Exception e) {
             result = Result.FAILURE;
 
-            exec.setStatus(ExecStatus.FAILURE.name());
+            exec.setStatus(e instanceof ConnectorUnavailableException
+                    ? ExecStatus.UNAVAILABLE.name()
+                    : ExecStatus.FAILURE.name());
 
             propagationAttempted.set(true);
 
@@ -611,15 +697,30 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 taskInfo.setConnObjectKey(uid.getUidValue());
             }
             if (fetchRemoteObj) {
-                try {
-                    afterObj = provision == null && orgUnit == null
-                            ? null
-                            : orgUnit == null
-                                    ? getRemoteObject(taskInfo, connector, provision, actions, true)
-                                    : getRemoteObject(taskInfo, connector, orgUnit, actions, true);
-                } catch (Exception ignore) {
-                    // ignore exception
-                    LOG.error("Error retrieving after object", ignore);
+                switch (afterObjStrategy) {
+                    case RECONSTRUCT -> {
+                        if (ExecStatus.SUCCESS.name().equals(exec.getStatus())) {
+                            afterObj = reconstructAfterObj(taskInfo, beforeObj, uid);
+                        } else if (ExecStatus.NOT_ATTEMPTED.name().equals(exec.getStatus())) {
+                            afterObj = beforeObj;
+                        }
+                    }
+
+                    case NONE -> {
+                    }
+
+                    default -> {
+                        try {
+                            afterObj = provision == null && orgUnit == null
+                                    ? null
+                                    : orgUnit == null
+                                            ? getRemoteObject(taskInfo, connector, provision, actions, true)
+                                            : getRemoteObject(taskInfo, connector, orgUnit, actions, true);
+                        } catch (Exception ignore) {
+                            // ignore exception
+                            LOG.error("Error retrieving after object", ignore);
+                        }
+                    }
                 }
             }
 
@@ -862,9 +963,9 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                         MappingUtils.buildOperationOptions(
                                 MappingUtils.getPropagationItems(orgUnit.getItems().stream()),
                                 moreAttrsToGet.toArray(String[]::new)));
-            } catch (TimeoutException toe) {
-                LOG.debug("Request timeout", toe);
-                throw toe;
+            } catch (TimeoutException | ConnectorUnavailableException e) {
+                LOG.debug("Request not performed", e);
+                throw e;
             } catch (RuntimeException ignore) {
                 LOG.debug("While resolving {}", connObjectKey, ignore);
             }
@@ -0,0 +1,584 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.DomainHolder;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxLease;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationOutbox;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskCallable;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Stores propagation tasks in the {@code PropagationOutbox} table and periodically drains it.
+ *
+ * Entries of each resource are partitioned into {@code concurrency} lanes by entity, so that all changes about the
+ * same entity fall in the same lane. Each lane is drained by a single worker, on the Core node holding the lane's
+ * lease: Core nodes sharing the same database thus share the work, while tasks about the same entity are executed
+ * in the order they were enqueued.
+ *
+ * Entries for the same connector object - identified by resource and connObjectKey, following renames - are
+ * coalesced upon draining: consecutive updates are merged into a single update, while a create or an update followed by
+ * a delete becomes a delete. A create followed by a delete cannot cancel out, as the create might have been performed
+ * as an update because the remote object already existed.
+ *
+ * Entries are removed only after execution: should a Core node stop while draining, its leases expire after
+ * {@code leaseTimeout} - or are released as soon as the node is back - and the pending entries are executed again.
+ * Leases are renewed while draining; should renewal fail, draining stops and pending entries are left to the new
+ * owner.
+ *
+ * The {@code node} name identifies the leases of this Core node: it defaults to the host name, hence it must be set
+ * explicitly when several Core nodes sharing the same database run on the same host.
+ *
+ * When enabled, failed tasks to be attempted again are kept - or stored, when not coming from the outbox - with the
+ * time of their next attempt; until then, no other entry about the same entity is drained.
+ * When not enabled, the outbox is drained only once at startup, for the entries left from when it was enabled.
+ */
+public class DefaultPropagationOutbox implements PropagationOutbox, DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PropagationOutbox.class);
+
+    protected record Pending(PropagationTaskInfo taskInfo, String executor, List<String> keys) {
+    }
+
+    protected final ProvisioningProperties.PropagationOutboxProperties props;
+
+    protected final PropagationOutboxDAO outboxDAO;
+
+    protected final ExternalResourceDAO resourceDAO;
+
+    protected final EntityFactory entityFactory;
+
+    protected final DomainHolder domainHolder;
+
+    protected final String node;
+
+    protected final Set<String> draining = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Tasks being executed by the drainer, with the time of their next attempt, if any.
+     */
+    protected final Map<PropagationTaskInfo, OffsetDateTime> inFlight =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    protected final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    protected final ScheduledExecutorService drainer;
+
+    protected final LongAdder enqueued = new LongAdder();
+
+    protected final LongAdder drained = new LongAdder();
+
+    protected final LongAdder executed = new LongAdder();
+
+    protected final LongAdder failed = new LongAdder();
+
+    protected final LongAdder retried = new LongAdder();
+
+    public DefaultPropagationOutbox(
+            final ProvisioningProperties.PropagationOutboxProperties props,
+            final PropagationOutboxDAO outboxDAO,
+            final ExternalResourceDAO resourceDAO,
+            final EntityFactory entityFactory,
+            final DomainHolder domainHolder) {
+
+        this.props = props;
+        this.outboxDAO = outboxDAO;
+        this.resourceDAO = resourceDAO;
+        this.entityFactory = entityFactory;
+        this.domainHolder = domainHolder;
+        this.node = Optional.ofNullable(props.getNode()).orElseGet(DefaultPropagationOutbox::hostname);
+
+        drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "propagationOutboxDrainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drainer.execute(this::recover);
+        if (props.isEnabled()) {
+            drainer.scheduleWithFixedDelay(
+                    this::drain, props.getInterval(), props.getInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            drainer.schedule(() -> drain(), props.getInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    protected static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            LOG.warn("Could not determine local host name, using a random node name", e);
+            return SecureRandomUtils.generateRandomUUID().toString();
+        }
+    }
+
+    /**
+     * Releases the leases held by this node before it was last stopped, so that entries left pending can be
+     * executed again right away, without waiting for the leases to expire.
+     */
+    protected void recover() {
+        domainHolder.getDomains().keySet().forEach(domain -> {
+            try {
+                int released = AuthContextUtils.callAsAdmin(domain, () -> outboxDAO.releaseAll(node));
+                if (released > 0) {
+                    LOG.info("Released {} outbox leases held by {} on domain {}", released, node, domain);
+                }
+            } catch (Exception e) {
+                LOG.error("While releasing outbox leases held by {} on domain {}", node, domain, e);
+            }
+        });
+    }
+
+    protected int lane(final String entityKey) {
+        return Math.floorMod(Objects.hashCode(entityKey), Math.max(1, props.getConcurrency()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    @Override
+    public boolean accepts(final PropagationTaskInfo taskInfo) {
+        // tasks carrying a specific connector or the originating update request cannot be stored: the latter
+        // include all delta updates, hence the outbox only ever holds tasks with full attribute sets
+        return taskInfo.getResource().getPropagationPriority() == null
+                && taskInfo.getAnyTypeKind() != null
+                && taskInfo.getConnObjectKey() != null
+                && taskInfo.getConnector() == null
+                && taskInfo.getUpdateRequest() == null;
+    }
+
+    @Override
+    public boolean holdsEntity(final PropagationTaskInfo taskInfo) {
+        return taskInfo.getEntityKey() != null
+                && outboxDAO.existsByEntity(taskInfo.getResource().getKey(), taskInfo.getEntityKey());
+    }
+
+    protected PropagationOutboxEntry newEntry(final PropagationTaskInfo taskInfo, final String executor) {
+        PropagationOutboxEntry entry = entityFactory.newEntity(PropagationOutboxEntry.class);
+        entry.setResource(taskInfo.getResource().getKey());
+        entry.setLane(lane(taskInfo.getEntityKey()));
+        entry.setOperation(taskInfo.getOperation());
+        entry.setConnObjectKey(taskInfo.getConnObjectKey());
+        entry.setOldConnObjectKey(taskInfo.getOldConnObjectKey());
+        entry.setObjectClassName(taskInfo.getObjectClass().getObjectClassValue());
+        entry.setAnyTypeKind(taskInfo.getAnyTypeKind());
+        entry.setAnyType(taskInfo.getAnyType());
+        entry.setEntityKey(taskInfo.getEntityKey());
+        entry.setPropagationData(taskInfo.getPropagationData());
+        entry.setExecutor(executor);
+        entry.setEnqueued(OffsetDateTime.now());
+        return entry;
+    }
+
+    @Override
+    public void enqueue(final PropagationTaskInfo taskInfo, final String executor) {
+        outboxDAO.save(newEntry(taskInfo, executor));
+        enqueued.increment();
+    }
+
+    @Override
+    public boolean retry(
+            final PropagationTaskInfo taskInfo,
+            final String executor,
+            final OffsetDateTime notBefore) {
+
+        if (!isEnabled()) {
+            return false;
+        }
+
+        if (inFlight.containsKey(taskInfo)) {
+            // the drainer will keep the related entries
+            inFlight.put(taskInfo, notBefore);
+            return true;
+        }
+
+        if (!accepts(taskInfo)) {
+            return false;
+        }
+
+        PropagationOutboxEntry entry = newEntry(taskInfo, executor);
+        entry.setTaskKey(taskInfo.getKey());
+        entry.setAttempts(taskInfo.getAttempts());
+        entry.setNotBefore(notBefore);
+        outboxDAO.save(entry);
+        retried.increment();
+        return true;
+    }
+
+    @Override
+    public void drain() {
+        domainHolder.getDomains().keySet().forEach(domain -> {
+            try {
+                AuthContextUtils.runAsAdmin(domain, () -> outboxDAO.findResources().forEach(resource -> outboxDAO.
+                        findLanes(resource).forEach(lane -> submit(domain, resource, lane))));
+            } catch (Exception e) {
+                LOG.error("While looking for outbox entries on domain {}", domain, e);
+            }
+        });
+    }
+
+    protected void submit(final String domain, final String resource, final int lane) {
+        String key = domain + '/' + resource + '/' + lane;
+        if (draining.add(key)) {
+            workers.submit(() -> {
+                try {
+                    AuthContextUtils.runAsAdmin(domain, () -> drain(resource, lane));
+                } catch (Exception e) {
+                    LOG.error("While draining outbox for {} / {} on domain {}", resource, lane, domain, e);
+                } finally {
+                    draining.remove(key);
+                }
+            });
+        }
+    }
+
+    protected boolean acquire(final String resourceKey, final int lane) {
+        try {
+            return outboxDAO.acquire(
+                    resourceKey, lane, node, OffsetDateTime.now().plus(props.getLeaseTimeout(), ChronoUnit.MILLIS));
+        } catch (Exception e) {
+            // most likely another node acquired the same lease concurrently
+            LOG.debug("Could not acquire lease for {} / {}", resourceKey, lane, e);
+            return false;
+        }
+    }
+
+    protected void drain(final String resourceKey, final int lane) {
+        if (!acquire(resourceKey, lane)) {
+            return;
+        }
+
+        // renew the lease while executing tasks, as soon as half of its timeout is elapsed
+        long[] renewed = { System.currentTimeMillis() };
+        boolean[] leased = { true };
+        BooleanSupplier renew = () -> {
+            if (System.currentTimeMillis() - renewed[0] >= props.getLeaseTimeout() / 2) {
+                leased[0] = acquire(resourceKey, lane);
+                renewed[0] = System.currentTimeMillis();
+                if (!leased[0]) {
+                    LOG.warn("Lost lease for {} / {}, leaving remaining entries to its new owner", resourceKey, lane);
+                }
+            }
+            return leased[0];
+        };
+
+        try {
+            List<? extends PropagationOutboxEntry> batch;
+            do {
+                batch = outboxDAO.findByLane(resourceKey, lane, props.getBatchSize());
+                if (batch.isEmpty()) {
+                    return;
+                }
+
+                List<String> keys = batch.stream().map(PropagationOutboxEntry::getKey).toList();
+                Optional<? extends ExternalResource> resource = resourceDAO.findById(resourceKey);
+                if (resource.isEmpty()) {
+                    LOG.warn("Resource {} not found, discarding {} outbox entries", resourceKey, keys.size());
+                    outboxDAO.removeAll(keys);
+                    return;
+                }
+
+                Set<String> retained = execute(coalesce(resource.get(), batch), renew);
+
+                drained.add(outboxDAO.removeAll(keys.stream().filter(key -> !retained.contains(key)).toList()));
+            } while (leased[0] && batch.size() >= props.getBatchSize() && acquire(resourceKey, lane));
+        } finally {
+            outboxDAO.release(resourceKey, lane, node);
+        }
+    }
+
+    protected PropagationTaskCallable newPropagationTaskCallable(final Pending pending) {
+        PropagationTaskCallable callable = ApplicationContextProvider.getBeanFactory().
+                createBean(DefaultPropagationTaskCallable.class);
+        callable.setTaskInfo(pending.taskInfo());
+        callable.setReporter(new DefaultPropagationReporter());
+        callable.setExecutor(pending.executor());
+        return callable;
+    }
+
+    /**
+     * Executes the given tasks; as soon as a task fails and is to be attempted again, the remaining tasks of its group
+     * are left for later. Before executing each task, the lease is checked via the given function: once lost, all
+     * remaining tasks are left to the new lease owner.
+     *
+     * @param groups tasks to execute, grouped by connector object
+     * @param renew renews the lease, if needed, and tells whether it is still held
+     * @return keys of the entries to keep in the outbox
+     */
+    protected Set<String> execute(final List<List<Pending>> groups, final BooleanSupplier renew) {
+        Set<String> retained = new HashSet<>();
+        boolean leased = true;
+        for (List<Pending> group : groups) {
+            for (int i = 0; i < group.size(); i++) {
+                Pending pending = group.get(i);
+
+                leased = leased && renew.getAsBoolean();
+                if (!leased) {
+                    group.subList(i, group.size()).forEach(next -> retained.addAll(next.keys()));
+                    break;
+                }
+
+                OffsetDateTime notBefore;
+                inFlight.put(pending.taskInfo(), null);
+                try {
+                    TaskExec<PropagationTask> exec = newPropagationTaskCallable(pending).call();
+                    if (!ExecStatus.SUCCESS.name().equals(exec.getStatus())) {
+                        failed.increment();
+                    }
+                } catch (Exception e) {
+                    LOG.error("While executing outbox task", e);
+                    failed.increment();
+                } finally {
+                    notBefore = inFlight.remove(pending.taskInfo());
+                }
+                executed.increment();
+
+                if (notBefore != null) {
+                    outboxDAO.retry(pending.keys().getFirst(), pending.taskInfo().getAttempts(), notBefore);
+                    group.subList(i, group.size()).forEach(next -> retained.addAll(next.keys()));
+                    retried.increment();
+                    break;
+                }
+            }
+        }
+        return retained;
+    }
+
+    protected PropagationTaskInfo toTaskInfo(final ExternalResource resource, final PropagationOutboxEntry entry) {
+        PropagationTaskInfo taskInfo = new PropagationTaskInfo(
+                resource,
+                entry.getOperation(),
+                new ObjectClass(entry.getObjectClassName()),
+                entry.getAnyTypeKind(),
+                entry.getAnyType(),
+                entry.getEntityKey(),
+                entry.getConnObjectKey(),
+                entry.getPropagationData());
+        taskInfo.setKey(entry.getTaskKey());
+        taskInfo.setOldConnObjectKey(entry.getOldConnObjectKey());
+        taskInfo.setAttempts(entry.getAttempts());
+        return taskInfo;
+    }
+
+    /**
+     * Groups the given entries by connector object and merges consecutive changes within each group, whenever
+     * possible.
+     *
+     * @param resource resource
+     * @param entries outbox entries, in the order they were enqueued
+     * @return tasks to execute, grouped by connector object
+     */
+    protected List<List<Pending>> coalesce(
+            final ExternalResource resource,
+            final List<? extends PropagationOutboxEntry> entries) {
+
+        List<List<Pending>> groups = new ArrayList<>();
+        Map<String, List<Pending>> byConnObjectKey = new HashMap<>();
+
+        entries.forEach(entry -> {
+            Pending next = new Pending(toTaskInfo(resource, entry), entry.getExecutor(), List.of(entry.getKey()));
+
+            List<Pending> group = byConnObjectKey.remove(
+                    Optional.ofNullable(entry.getOldConnObjectKey()).orElseGet(entry::getConnObjectKey));
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.add(group);
+            }
+
+            if (group.isEmpty()) {
+                group.add(next);
+            } else {
+                Pending last = group.getLast();
+                switch (last.taskInfo().getOperation()) {
+                    case CREATE -> {
+                        if (next.taskInfo().getOperation() == ResourceOperation.DELETE) {
+                            group.set(group.size() - 1, delete(last, next));
+                        } else if (next.taskInfo().getOperation() == ResourceOperation.UPDATE) {
+                            group.set(group.size() - 1, merge(ResourceOperation.CREATE, last, next));
+                        } else {
+                            group.add(next);
+                        }
+                    }
+
+                    case UPDATE -> {
+                        if (next.taskInfo().getOperation() == ResourceOperation.DELETE) {
+                            group.set(group.size() - 1, delete(last, next));
+                        } else if (next.taskInfo().getOperation() == ResourceOperation.UPDATE) {
+                            group.set(group.size() - 1, merge(ResourceOperation.UPDATE, last, next));
+                        } else {
+                            group.add(next);
+                        }
+                    }
+
+                    default ->
+                        group.add(next);
+                }
+            }
+
+            List<Pending> current = byConnObjectKey.putIfAbsent(entry.getConnObjectKey(), group);
+            if (current != null && current != group) {
+                // another connector object was renamed into this connObjectKey: process both sequentially
+                current.addAll(group);
+                group.clear();
+            }
+        });
+
+        return groups.stream().filter(group -> !group.isEmpty()).toList();
+    }
+
+    protected Pending merge(final ResourceOperation operation, final Pending last, final Pending next) {
+        PropagationData lastData = last.taskInfo().getPropagationData();
+        PropagationData nextData = next.taskInfo().getPropagationData();
+
+        PropagationData data = new PropagationData(mergeAttributes(lastData.getAttributes(), nextData.getAttributes()));
+
+        PropagationTaskInfo taskInfo = new PropagationTaskInfo(
+                next.taskInfo().getResource(),
+                operation,
+                next.taskInfo().getObjectClass(),
+                next.taskInfo().getAnyTypeKind(),
+                next.taskInfo().getAnyType(),
+                next.taskInfo().getEntityKey(),
+                next.taskInfo().getConnObjectKey(),
+                data);
+        if (operation == ResourceOperation.UPDATE) {
+            // the remote object is still known by the connObjectKey it had before the first of the merged updates
+            taskInfo.setOldConnObjectKey(Optional.ofNullable(last.taskInfo().getOldConnObjectKey()).
+                    orElseGet(() -> next.taskInfo().getOldConnObjectKey()));
+        }
+
+        return merged(taskInfo, last, next);
+    }
+
+    protected Pending delete(final Pending last, final Pending next) {
+        PropagationTaskInfo taskInfo = new PropagationTaskInfo(
+                next.taskInfo().getResource(),
+                ResourceOperation.DELETE,
+                next.taskInfo().getObjectClass(),
+                next.taskInfo().getAnyTypeKind(),
+                next.taskInfo().getAnyType(),
+                next.taskInfo().getEntityKey(),
+                Optional.ofNullable(last.taskInfo().getOldConnObjectKey()).
+                        orElseGet(() -> next.taskInfo().getConnObjectKey()),
+                next.taskInfo().getPropagationData());
+
+        return merged(taskInfo, last, next);
+    }
+
+    protected static Pending merged(final PropagationTaskInfo taskInfo, final Pending last, final Pending next) {
+        taskInfo.setAttempts(Math.max(last.taskInfo().getAttempts(), next.taskInfo().getAttempts()));
+        return new Pending(
+                taskInfo,
+                next.executor(),
+                Stream.concat(last.keys().stream(), next.keys().stream()).toList());
+    }
+
+    protected static Set<Attribute> mergeAttributes(final Set<Attribute> last, final Set<Attribute> next) {
+        Map<String, Attribute> merged = new LinkedHashMap<>();
+        Optional.ofNullable(last).ifPresent(attrs -> attrs.forEach(attr -> merged.put(attr.getName(), attr)));
+        Optional.ofNullable(next).ifPresent(attrs -> attrs.forEach(attr -> merged.put(attr.getName(), attr)));
+        return new LinkedHashSet<>(merged.values());
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Map<String, Long>> depth = new LinkedHashMap<>();
+        Map<String, Map<String, String>> leases = new LinkedHashMap<>();
+        domainHolder.getDomains().keySet().forEach(domain -> {
+            try {
+                depth.put(domain, AuthContextUtils.callAsAdmin(domain, outboxDAO::countByResource));
+                leases.put(domain, AuthContextUtils.callAsAdmin(domain, outboxDAO::findLeases).stream().
+                        collect(Collectors.toMap(
+                                PropagationOutboxLease::getKey,
+                                PropagationOutboxLease::getOwner,
+                                (first, second) -> first,
+                                LinkedHashMap::new)));
+            } catch (Exception e) {
+                LOG.error("While counting outbox entries on domain {}", domain, e);
+            }
+        });
+
+        long drainedCount = drained.sum();
+        long executedCount = executed.sum();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", isEnabled());
+        statistics.put("node", node);
+        statistics.put("depth", depth);
+        statistics.put("leases", leases);
+        statistics.put("enqueued", enqueued.sum());
+        statistics.put("drained", drainedCount);
+        statistics.put("executed", executedCount);
+        statistics.put("failed", failed.sum());
+        statistics.put("retried", retried.sum());
+        statistics.put("coalescingRatio", drainedCount == 0 ? 0D : 1D - (double) executedCount / drainedCount);
+        return statistics;
+    }
+
+    @Override
+    public void destroy() {
+        drainer.shutdownNow();
+        workers.shutdown();
+    }
+}
@@ -41,6 +41,7 @@ import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationException;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationOutbox;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskCallable;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
@@ -56,6 +57,10 @@ import org.springframework.context.ApplicationEventPublisher;
  * Tasks related to resources with NULL priority are executed after other tasks, concurrently.
  * Failure during execution of a task related to resource with non-NULL priority are treated as fatal and will interrupt
  * the whole process, resulting in a global failure.
+ * When async processing is required and the {@link PropagationOutbox} is enabled, tasks related to resources with
+ * NULL priority are stored there instead, for later coalesced execution; this also happens when async processing is
+ * not required, but the outbox already holds tasks about the same entity - such as failed tasks waiting for another
+ * attempt - which must not be overtaken.
  */
 public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExecutor {
 
@@ -97,7 +102,8 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
             final OutboundMatcher outboundMatcher,
             final PlainAttrValidationManager validator,
             final ApplicationEventPublisher publisher,
-            final VirtualThreadPoolTaskExecutor taskExecutor) {
+            final VirtualThreadPoolTaskExecutor taskExecutor,
+            final PropagationOutbox propagationOutbox) {
 
         super(connectorManager,
                 connObjectUtils,
@@ -111,7 +117,8 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
                 taskUtilsFactory,
                 outboundMatcher,
                 validator,
-                publisher);
+                publisher,
+                propagationOutbox);
         this.taskExecutor = taskExecutor;
     }
 
@@ -162,6 +169,15 @@ public class PriorityPropagationTaskExecutor extends AbstractPropagationTaskExec
 
                 concurrentTasks.forEach(taskInfo -> {
                     try {
+                        if (propagationOutbox.isEnabled() && propagationOutbox.accepts(taskInfo)
+                                && (nullPriorityAsync || propagationOutbox.holdsEntity(taskInfo))) {
+
+                            propagationOutbox.enqueue(taskInfo, executor);
+                            reporter.onSuccessOrNonPriorityResourceFailures(
+                                    taskInfo, ExecStatus.CREATED, null, null, null, null);
+                            return;
+                        }
+
                         futures.add(completionService.submit(newPropagationTaskCallable(taskInfo, reporter, executor)));
 
                         if (nullPriorityAsync) {
@@ -533,6 +533,7 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
     protected static ProvisioningReport.Status toProvisioningReportStatus(final ExecStatus status) {
         switch (status) {
             case FAILURE:
+            case UNAVAILABLE:
                 return ProvisioningReport.Status.FAILURE;
 
             case SUCCESS:
@@ -41,6 +41,7 @@ import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
 import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
 import org.apache.syncope.core.provisioning.api.TimeoutException;
@@ -91,6 +92,7 @@ public class DefaultRealmPushResultHandler
     protected static ProvisioningReport.Status toProvisioningReportStatus(final ExecStatus status) {
         switch (status) {
             case FAILURE:
+            case UNAVAILABLE:
                 return ProvisioningReport.Status.FAILURE;
 
             case SUCCESS:
@@ -231,9 +233,9 @@ public class DefaultRealmPushResultHandler
                     AttributeBuilder.build(connObjectKey, connObjectKeyValue),
                     ignoreCaseMatch,
                     MappingUtils.buildOperationOptions(mapItems));
-        } catch (TimeoutException toe) {
-            LOG.debug("Request timeout", toe);
-            throw toe;
+        } catch (TimeoutException | ConnectorUnavailableException e) {
+            LOG.debug("Request not performed", e);
+            throw e;
         } catch (RuntimeException ignore) {
             LOG.debug("While resolving {}", connObjectKeyValue, ignore);
         }
@@ -40,6 +40,7 @@ import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.policy.PushCorrelationRuleEntity;
 import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
 import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.TimeoutException;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
@@ -275,9 +276,9 @@ public class OutboundMatcher {
                     return true;
                 }
             }, MappingUtils.buildOperationOptions(items, moreAttrsToGet.orElse(null)));
-        } catch (TimeoutException toe) {
-            LOG.debug("Request timeout", toe);
-            throw toe;
+        } catch (TimeoutException | ConnectorUnavailableException e) {
+            LOG.debug("Request not performed", e);
+            throw e;
         } catch (RuntimeException ignore) {
             LOG.debug("Unexpected exception", ignore);
         }
@@ -309,9 +310,9 @@ public class OutboundMatcher {
                     AttributeBuilder.build(connObjectKeyItem.getExtAttrName(), connObjectKeyValue),
                     provision.isIgnoreCaseMatch(),
                     MappingUtils.buildOperationOptions(items, moreAttrsToGet.orElse(null)));
-        } catch (TimeoutException toe) {
-            LOG.debug("Request timeout", toe);
-            throw toe;
+        } catch (TimeoutException | ConnectorUnavailableException e) {
+            LOG.debug("Request not performed", e);
+            throw e;
         } catch (RuntimeException ignore) {
             LOG.debug("While resolving {}", connObjectKeyValue, ignore);
         }
@@ -19,11 +19,13 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -34,7 +36,6 @@ import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
@@ -59,7 +60,6 @@ import org.apache.syncope.core.spring.implementation.ImplementationManager;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> implements SyncopePushExecutor {
@@ -113,18 +113,20 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
     }
 
     protected boolean doHandle(
-            final List<? extends Any<?>> anys,
+            final String anyType,
+            final Stream<String> keys,
             final PushResultHandlerDispatcher dispatcher,
             final ExternalResource resource)
             throws JobExecutionException {
 
         boolean result = true;
-        for (int i = 0; i < anys.size() && result; i++) {
+        for (Iterator<String> itor = keys.iterator(); itor.hasNext() && result;) {
+            String key = itor.next();
             try {
-                result = dispatcher.handle(anys.get(i).getType().getKey(), anys.get(i).getKey());
+                result = dispatcher.handle(anyType, key);
             } catch (Exception e) {
-                LOG.warn("Failure pushing '{}' on '{}'", anys.get(i), resource, e);
-                throw new JobExecutionException("While pushing " + anys.get(i) + " on " + resource, e);
+                LOG.warn("Failure pushing {} '{}' on '{}'", anyType, key, resource, e);
+                throw new JobExecutionException("While pushing " + anyType + " " + key + " on " + resource, e);
             }
         }
         return result;
@@ -255,22 +257,15 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> i
             SearchCond cond = StringUtils.isBlank(filter)
                     ? anyDAO.getAllMatchingCond()
                     : SearchCondConverter.convert(searchCondVisitor, filter);
-            int count = searchDAO.count(
+            try (Stream<String> keys = searchDAO.searchKeys(
                     profile.getTask().getSourceRealm(),
                     true,
                     Set.of(profile.getTask().getSourceRealm().getFullPath()),
                     cond,
-                    anyType.getKind());
-            boolean result = true;
-            for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) && result; page++) {
-                List<? extends Any<?>> anys = searchDAO.search(
-                        profile.getTask().getSourceRealm(),
-                        true,
-                        Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                        cond,
-                        PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE),
-                        anyType.getKind());
-                result = doHandle(anys, dispatcher, pushTask.getResource());
+                    List.of(),
+                    anyType.getKind())) {
+
+                doHandle(anyType.getKey(), keys, dispatcher, pushTask.getResource());
             }
         }
 
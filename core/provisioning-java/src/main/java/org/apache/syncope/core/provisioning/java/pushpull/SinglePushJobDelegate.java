@@ -20,6 +20,7 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.to.PushTaskTO;
@@ -116,7 +117,7 @@ public class SinglePushJobDelegate extends PushJobDelegate implements SyncopeSin
                 return handler;
             });
 
-            doHandle(List.of(any), dispatcher, resource);
+            doHandle(anyType.getKey(), Stream.of(any.getKey()), dispatcher, resource);
 
             for (PushActions action : profile.getActions()) {
                 action.afterAll(profile);
@@ -20,6 +20,7 @@ package org.apache.syncope.core.provisioning.java.pushpull.stream;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.syncope.common.lib.to.Item;
 import org.apache.syncope.common.lib.to.Mapping;
 import org.apache.syncope.common.lib.to.Provision;
@@ -30,7 +31,6 @@ import org.apache.syncope.common.lib.types.IdMImplementationType;
 import org.apache.syncope.common.lib.types.MappingPurpose;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
-import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
@@ -116,7 +116,7 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
     @Override
     public List<ProvisioningReport> push(
             final AnyType anyType,
-            final List<? extends Any<?>> anys,
+            final Stream<String> keys,
             final List<String> columns,
             final Connector connector,
             final List<String> propagationActions,
@@ -170,7 +170,7 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
                 return handler;
             });
 
-            doHandle(anys, dispatcher, resource);
+            doHandle(anyType.getKey(), keys, dispatcher, resource);
 
             for (PushActions action : profile.getActions()) {
                 action.afterAll(profile);
@@ -50,8 +50,8 @@ import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
-import org.apache.syncope.core.spring.security.Encryptor;
 import org.apache.syncope.core.spring.security.PasswordGenerator;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.identityconnectors.common.security.GuardedByteArray;
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.common.security.SecurityUtil;
@@ -67,8 +67,6 @@ public class ConnObjectUtils {
 
     protected static final Logger LOG = LoggerFactory.getLogger(ConnObjectUtils.class);
 
-    protected static final Encryptor ENCRYPTOR = Encryptor.getInstance();
-
     public static SyncToken toSyncToken(final String syncToken) {
         return Optional.ofNullable(syncToken).map(st -> POJOHelper.deserialize(st, SyncToken.class)).orElse(null);
     }
@@ -149,6 +147,8 @@ public class ConnObjectUtils {
 
     protected final AnyUtilsFactory anyUtilsFactory;
 
+    protected final PasswordHashingService passwordHashingService;
+
     public ConnObjectUtils(
             final TemplateUtils templateUtils,
             final RealmDAO realmDAO,
@@ -156,7 +156,8 @@ public class ConnObjectUtils {
             final ExternalResourceDAO resourceDAO,
             final PasswordGenerator passwordGenerator,
             final MappingManager mappingManager,
-            final AnyUtilsFactory anyUtilsFactory) {
+            final AnyUtilsFactory anyUtilsFactory,
+            final PasswordHashingService passwordHashingService) {
 
         this.templateUtils = templateUtils;
         this.realmDAO = realmDAO;
@@ -165,6 +166,7 @@ public class ConnObjectUtils {
         this.passwordGenerator = passwordGenerator;
         this.mappingManager = mappingManager;
         this.anyUtilsFactory = anyUtilsFactory;
+        this.passwordHashingService = passwordHashingService;
     }
 
     /**
@@ -267,7 +269,7 @@ public class ConnObjectUtils {
                 // update password if and only if password is really changed
                 User user = userDAO.authFind(key);
                 if (StringUtils.isBlank(updatedUser.getPassword())
-                        || ENCRYPTOR.verify(updatedUser.getPassword(),
+                        || passwordHashingService.verify(updatedUser.getPassword(),
                                 user.getCipherAlgorithm(), user.getPassword())) {
 
                     updatedUser.setPassword(null);
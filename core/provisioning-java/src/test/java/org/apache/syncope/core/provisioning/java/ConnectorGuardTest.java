@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.identityconnectors.framework.common.exceptions.ConnectionFailedException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.junit.jupiter.api.Test;
+
+public class ConnectorGuardTest {
+
+    @Test
+    public void bulkhead() throws Exception {
+        ConnectorGuard guard = new ConnectorGuard("resource", 1, null, null);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> running = Executors.newVirtualThreadPerTaskExecutor().submit(() -> guard.call(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        }));
+        started.await();
+
+        assertThrows(ConnectorUnavailableException.class, () -> guard.call(() -> "second"));
+
+        release.countDown();
+        assertEquals("first", running.get());
+        assertEquals("third", guard.call(() -> "third"));
+    }
+
+    @Test
+    public void bulkheadHoldsPermitUntilCompletion() throws Exception {
+        ConnectorGuard guard = new ConnectorGuard("resource", 1, null, null);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> pending = CompletableFuture.supplyAsync(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        }, Executors.newVirtualThreadPerTaskExecutor());
+
+        // the caller gives up waiting, but the request is still in progress
+        assertThrows(TimeoutException.class, () -> guard.callAsync(() -> pending, future -> {
+            future.cancel(true);
+            throw new TimeoutException();
+        }));
+        assertFalse(pending.isDone());
+        assertThrows(ConnectorUnavailableException.class, () -> guard.call(() -> "second"));
+
+        // requests outside the bulkhead are still let through
+        guard.runOutsideBulkhead(() -> {
+        });
+
+        release.countDown();
+        assertEquals("first", pending.get());
+        assertEquals("third", guard.call(() -> "third"));
+    }
+
+    @Test
+    public void circuitBreaker() throws InterruptedException {
+        ConnectorGuard guard = new ConnectorGuard("resource", null, 2, 1);
+
+        // only timeouts and connection failures count
+        assertThrows(UnknownUidException.class, () -> guard.run(() -> {
+            throw new UnknownUidException();
+        }));
+        assertThrows(TimeoutException.class, () -> guard.run(() -> {
+            throw new TimeoutException();
+        }));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+        assertThrows(ConnectionFailedException.class, () -> guard.run(() -> {
+            throw new ConnectionFailedException("down");
+        }));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        // short-circuited while open
+        assertThrows(ConnectorUnavailableException.class, () -> guard.call(() -> "short-circuited"));
+
+        Thread.sleep(1100);
+
+        // failed probe opens the circuit again
+        assertThrows(TimeoutException.class, () -> guard.run(() -> {
+            throw new TimeoutException();
+        }));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+        assertThrows(ConnectorUnavailableException.class, () -> guard.call(() -> "short-circuited"));
+
+        Thread.sleep(1100);
+
+        // successful probe closes the circuit
+        assertEquals("probe", guard.call(() -> "probe"));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+        assertEquals("closed", guard.call(() -> "closed"));
+    }
+
+    @Test
+    public void probeError() throws InterruptedException {
+        ConnectorGuard guard = new ConnectorGuard("resource", 1, 1, 1);
+
+        assertThrows(TimeoutException.class, () -> guard.run(() -> {
+            throw new TimeoutException();
+        }));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        Thread.sleep(1100);
+
+        // errors do not leave the circuit half-open
+        assertThrows(NoClassDefFoundError.class, () -> guard.run(() -> {
+            throw new NoClassDefFoundError();
+        }));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        // nor hold the permit when raised while submitting
+        assertThrows(NoClassDefFoundError.class, () -> guard.callAsync(() -> {
+            throw new NoClassDefFoundError();
+        }, future -> "unreachable"));
+        assertEquals(ConnectorGuard.State.OPEN, guard.getState());
+
+        assertEquals("probe", guard.call(() -> "probe"));
+        assertEquals(ConnectorGuard.State.CLOSED, guard.getState());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.apache.syncope.common.lib.types.AfterObjStrategy;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.entity.ConnInstance;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.AttributeDeltaBuilder;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class AfterObjStrategyTest extends AbstractTest {
+
+    @Autowired
+    private PropagationTaskExecutor taskExecutor;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    private PropagationTaskInfo taskInfo(final ResourceOperation operation, final PropagationData propagationData) {
+        ExternalResource resource = resourceDAO.findById("resource-testdb").orElseThrow();
+        return new PropagationTaskInfo(
+                resource,
+                operation,
+                ObjectClass.ACCOUNT,
+                AnyTypeKind.USER,
+                AnyTypeKind.USER.name(),
+                "1417acbe-cbf6-4277-9372-e75e04f97000",
+                "rossini",
+                propagationData);
+    }
+
+    private static ConnectorObject beforeObj() {
+        return new ConnectorObjectBuilder().
+                setObjectClass(ObjectClass.ACCOUNT).
+                setUid("rossini").
+                setName("rossini").
+                addAttribute(AttributeBuilder.build("surname", "Rossini")).
+                addAttribute(AttributeBuilder.build("groups", "g1", "g2")).
+                build();
+    }
+
+    @Test
+    public void reconstructCreate() {
+        PropagationTaskInfo taskInfo = taskInfo(ResourceOperation.CREATE, new PropagationData(Set.of(
+                new Name("rossini"),
+                AttributeBuilder.build("surname", "Rossini"),
+                AttributeBuilder.buildPassword("password123".toCharArray()))));
+
+        ConnectorObject afterObj = ((AbstractPropagationTaskExecutor) taskExecutor).
+                reconstructAfterObj(taskInfo, null, new Uid("1"));
+        assertEquals("1", afterObj.getUid().getUidValue());
+        assertEquals("rossini", afterObj.getName().getNameValue());
+        assertEquals("Rossini", AttributeUtil.getStringValue(afterObj.getAttributeByName("surname")));
+        assertNull(afterObj.getAttributeByName(OperationalAttributes.PASSWORD_NAME));
+    }
+
+    @Test
+    public void reconstructUpdate() {
+        PropagationTaskInfo taskInfo = taskInfo(ResourceOperation.UPDATE, new PropagationData(Set.of(
+                AttributeBuilder.build("SURNAME", "Rossini Gioachino"))));
+
+        ConnectorObject afterObj = ((AbstractPropagationTaskExecutor) taskExecutor).
+                reconstructAfterObj(taskInfo, beforeObj(), null);
+        assertEquals("rossini", afterObj.getUid().getUidValue());
+        assertEquals("rossini", afterObj.getName().getNameValue());
+        assertEquals("Rossini Gioachino", AttributeUtil.getStringValue(afterObj.getAttributeByName("SURNAME")));
+        assertEquals(List.of("g1", "g2"), afterObj.getAttributeByName("groups").getValue());
+    }
+
+    @Test
+    public void reconstructUpdateDelta() {
+        PropagationData propagationData = new PropagationData(Set.of());
+        propagationData.setAttributeDeltas(Set.of(
+                AttributeDeltaBuilder.build("groups", List.of("g3"), List.of("g1")),
+                AttributeDeltaBuilder.build("surname", List.of("Rossini G."))));
+        PropagationTaskInfo taskInfo = taskInfo(ResourceOperation.UPDATE, propagationData);
+
+        ConnectorObject afterObj = ((AbstractPropagationTaskExecutor) taskExecutor).
+                reconstructAfterObj(taskInfo, beforeObj(), new Uid("rossini"));
+        assertEquals(List.of("g2", "g3"), afterObj.getAttributeByName("groups").getValue());
+        assertEquals("Rossini G.", AttributeUtil.getStringValue(afterObj.getAttributeByName("surname")));
+
+        assertNull(((AbstractPropagationTaskExecutor) taskExecutor).reconstructAfterObj(
+                taskInfo(ResourceOperation.DELETE, new PropagationData(Set.of())), beforeObj(), null));
+    }
+
+    @Test
+    public void fetchBeforeObj() {
+        ConnInstance connInstance = mock(ConnInstance.class);
+        when(connInstance.getCapabilities()).thenReturn(Set.of(ConnectorCapability.CREATE));
+        Connector connector = mock(Connector.class);
+        when(connector.getConnInstance()).thenReturn(connInstance);
+
+        AbstractPropagationTaskExecutor executor = (AbstractPropagationTaskExecutor) taskExecutor;
+
+        PropagationTaskInfo create = taskInfo(ResourceOperation.CREATE, new PropagationData(Set.of()));
+        assertTrue(executor.isFetchBeforeObj(create, connector, AfterObjStrategy.FULL_READ));
+        assertFalse(executor.isFetchBeforeObj(create, connector, AfterObjStrategy.RECONSTRUCT));
+
+        PropagationData deltas = new PropagationData(Set.of());
+        deltas.setAttributeDeltas(Set.of(AttributeDeltaBuilder.build("surname", List.of("Rossini"))));
+        PropagationTaskInfo updateDelta = taskInfo(ResourceOperation.UPDATE, deltas);
+        assertTrue(executor.isFetchBeforeObj(updateDelta, connector, AfterObjStrategy.RECONSTRUCT));
+        assertFalse(executor.isFetchBeforeObj(updateDelta, connector, AfterObjStrategy.NONE));
+
+        PropagationTaskInfo delete = taskInfo(ResourceOperation.DELETE, new PropagationData(Set.of()));
+        assertTrue(executor.isFetchBeforeObj(delete, connector, AfterObjStrategy.NONE));
+    }
+}
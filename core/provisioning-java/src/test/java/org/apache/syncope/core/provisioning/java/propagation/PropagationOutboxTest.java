@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.provisioning.java.ProvisioningProperties;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class PropagationOutboxTest extends AbstractTest {
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    private final List<PropagationOutboxEntry> entries = new ArrayList<>();
+
+    private void enqueue(
+            final ResourceOperation operation,
+            final String oldConnObjectKey,
+            final String connObjectKey,
+            final PropagationData propagationData) {
+
+        PropagationOutboxEntry entry = entityFactory.newEntity(PropagationOutboxEntry.class);
+        entry.setResource("resource-testdb");
+        entry.setOperation(operation);
+        entry.setOldConnObjectKey(oldConnObjectKey);
+        entry.setConnObjectKey(connObjectKey);
+        entry.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        entry.setAnyTypeKind(AnyTypeKind.USER);
+        entry.setAnyType(AnyTypeKind.USER.name());
+        entry.setEntityKey(connObjectKey);
+        entry.setPropagationData(propagationData);
+        entry.setExecutor("admin");
+        entry.setEnqueued(OffsetDateTime.now());
+        entries.add(entry);
+    }
+
+    private static PropagationData attrs(final String... nameValues) {
+        Set<Attribute> attributes = new LinkedHashSet<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            attributes.add(AttributeBuilder.build(nameValues[i], nameValues[i + 1]));
+        }
+        return new PropagationData(attributes);
+    }
+
+    private static Object value(final PropagationTaskInfo taskInfo, final String name) {
+        return taskInfo.getPropagationData().getAttributes().stream().
+                filter(attr -> name.equals(attr.getName())).findFirst().
+                map(attr -> attr.getValue().getFirst()).orElse(null);
+    }
+
+    @Test
+    public void coalesce() {
+        ExternalResource resource = resourceDAO.findById("resource-testdb").orElseThrow();
+
+        // create followed by updates: single create
+        enqueue(ResourceOperation.CREATE, null, "a", attrs("email", "a@syncope.org", "surname", "A"));
+        enqueue(ResourceOperation.UPDATE, null, "a", attrs("email", "a1@syncope.org"));
+        enqueue(ResourceOperation.UPDATE, null, "a", attrs("email", "a2@syncope.org"));
+
+        // rename followed by update: single update from the original connObjectKey
+        enqueue(ResourceOperation.UPDATE, "c", "d", attrs("__NAME__", "d"));
+        enqueue(ResourceOperation.UPDATE, null, "d", attrs("surname", "D"));
+
+        // create followed by delete: single delete, as the remote object might have existed already
+        enqueue(ResourceOperation.CREATE, null, "e", attrs("surname", "E"));
+        enqueue(ResourceOperation.DELETE, null, "e", attrs());
+
+        // update followed by delete: single delete
+        enqueue(ResourceOperation.UPDATE, null, "f", attrs("surname", "F"));
+        enqueue(ResourceOperation.DELETE, null, "f", attrs());
+
+        DefaultPropagationOutbox outbox = new DefaultPropagationOutbox(
+                new ProvisioningProperties.PropagationOutboxProperties(), null, resourceDAO, entityFactory, null);
+        List<List<DefaultPropagationOutbox.Pending>> groups = outbox.coalesce(resource, entries);
+        assertEquals(4, groups.size());
+        groups.forEach(group -> assertEquals(1, group.size()));
+
+        Map<String, PropagationTaskInfo> tasks = groups.stream().map(group -> group.getFirst().taskInfo()).
+                collect(Collectors.toMap(PropagationTaskInfo::getConnObjectKey, Function.identity()));
+        assertEquals(Set.of("a", "d", "e", "f"), tasks.keySet());
+
+        PropagationTaskInfo a = tasks.get("a");
+        assertEquals(ResourceOperation.CREATE, a.getOperation());
+        assertEquals("a2@syncope.org", value(a, "email"));
+        assertEquals("A", value(a, "surname"));
+
+        PropagationTaskInfo d = tasks.get("d");
+        assertEquals(ResourceOperation.UPDATE, d.getOperation());
+        assertEquals("c", d.getOldConnObjectKey());
+        assertEquals("d", value(d, "__NAME__"));
+        assertEquals("D", value(d, "surname"));
+
+        PropagationTaskInfo f = tasks.get("f");
+        assertEquals(ResourceOperation.DELETE, f.getOperation());
+        assertNull(f.getOldConnObjectKey());
+
+        PropagationTaskInfo e = tasks.get("e");
+        assertEquals(ResourceOperation.DELETE, e.getOperation());
+        assertEquals(2, groups.stream().filter(group -> "e".equals(group.getFirst().taskInfo().getConnObjectKey())).
+                findFirst().orElseThrow().getFirst().keys().size());
+    }
+
+    @Test
+    public void leaseLost() {
+        ExternalResource resource = resourceDAO.findById("resource-testdb").orElseThrow();
+
+        enqueue(ResourceOperation.CREATE, null, "a", attrs("surname", "A"));
+        enqueue(ResourceOperation.CREATE, null, "b", attrs("surname", "B"));
+
+        DefaultPropagationOutbox outbox = new DefaultPropagationOutbox(
+                new ProvisioningProperties.PropagationOutboxProperties(), null, resourceDAO, entityFactory, null);
+
+        // nothing is executed once the lease is lost, and all entries are kept for the new owner
+        assertEquals(
+                entries.stream().map(PropagationOutboxEntry::getKey).collect(Collectors.toSet()),
+                outbox.execute(outbox.coalesce(resource, entries), () -> false));
+        assertEquals(0L, outbox.executed.sum());
+    }
+
+    @Test
+    public void lanes() {
+        ProvisioningProperties.PropagationOutboxProperties props =
+                new ProvisioningProperties.PropagationOutboxProperties();
+        props.setConcurrency(4);
+        props.setNode("node1");
+        DefaultPropagationOutbox outbox = new DefaultPropagationOutbox(props, null, resourceDAO, entityFactory, null);
+        assertEquals("node1", outbox.node);
+
+        Set<Integer> lanes = new LinkedHashSet<>();
+        for (int i = 0; i < 100; i++) {
+            String entityKey = "entity" + i;
+            int lane = outbox.lane(entityKey);
+            assertTrue(lane >= 0 && lane < 4);
+            assertEquals(lane, outbox.lane(entityKey));
+            lanes.add(lane);
+        }
+        assertEquals(4, lanes.size());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.BackOffStrategy;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PropagationOutboxDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.policy.PropagationPolicy;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationData;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationOutboxEntry;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationOutbox;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+public class PropagationRetryTest extends AbstractTest {
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private PropagationOutboxDAO outboxDAO;
+
+    @Autowired
+    private PropagationOutbox outbox;
+
+    private PropagationPolicy policy(final BackOffStrategy backOffStrategy, final String backOffParams) {
+        PropagationPolicy policy = entityFactory.newEntity(PropagationPolicy.class);
+        policy.setBackOffStrategy(backOffStrategy);
+        policy.setBackOffParams(backOffParams);
+        return policy;
+    }
+
+    private PropagationTaskInfo taskInfo() {
+        return new PropagationTaskInfo(
+                resourceDAO.findById("resource-testdb").orElseThrow(),
+                ResourceOperation.UPDATE,
+                ObjectClass.ACCOUNT,
+                AnyTypeKind.USER,
+                AnyTypeKind.USER.name(),
+                "1417acbe-cbf6-4277-9372-e75e04f97000",
+                "rossini",
+                new PropagationData(Set.of(AttributeBuilder.build("surname", "Rossini"))));
+    }
+
+    @Test
+    public void backOff() {
+        PropagationPolicy fixed = policy(BackOffStrategy.FIXED, "500");
+        assertEquals(500, AbstractPropagationTaskExecutor.backOff(fixed, 1));
+        assertEquals(500, AbstractPropagationTaskExecutor.backOff(fixed, 3));
+        assertEquals(1000, AbstractPropagationTaskExecutor.backOff(policy(BackOffStrategy.FIXED, "wrong"), 1));
+
+        PropagationPolicy exponential = policy(BackOffStrategy.EXPONENTIAL, "100;1000;2");
+        assertEquals(
+                List.of(100L, 200L, 400L, 800L, 1000L),
+                List.of(1, 2, 3, 4, 5).stream().
+                        map(attempts -> AbstractPropagationTaskExecutor.backOff(exponential, attempts)).toList());
+
+        PropagationPolicy random = policy(BackOffStrategy.RANDOM, "100;1000;2");
+        for (int i = 0; i < 10; i++) {
+            long backOff = AbstractPropagationTaskExecutor.backOff(random, 2);
+            assertTrue(backOff >= 200 && backOff <= 400);
+        }
+    }
+
+    @Test
+    public void retry() {
+        OffsetDateTime notBefore = OffsetDateTime.now().plusMinutes(1);
+        DefaultPropagationOutbox defaultOutbox = (DefaultPropagationOutbox) outbox;
+
+        // when the outbox is not enabled, tasks are to be attempted again inline
+        assertFalse(outbox.retry(taskInfo(), "admin", notBefore));
+        assertFalse(outbox.holdsEntity(taskInfo()));
+
+        defaultOutbox.props.setEnabled(true);
+        try {
+            // stored with the number of attempts failed and the time for the next one
+            PropagationTaskInfo taskInfo = taskInfo();
+            taskInfo.setAttempts(2);
+            assertTrue(outbox.retry(taskInfo, "admin", notBefore));
+            entityManager.flush();
+
+            List<? extends PropagationOutboxEntry> entries = outboxDAO.findByResource("resource-testdb", 10);
+            assertEquals(1, entries.size());
+            assertEquals(2, entries.getFirst().getAttempts());
+            assertEquals(notBefore.toInstant(), entries.getFirst().getNotBefore().toInstant());
+            assertTrue(outboxDAO.findByLane("resource-testdb", entries.getFirst().getLane(), 10).isEmpty());
+
+            // further tasks about the same entity must not overtake the pending retry
+            assertTrue(outbox.holdsEntity(taskInfo()));
+
+            // tasks being drained are not stored again
+            PropagationTaskInfo draining = taskInfo();
+            defaultOutbox.inFlight.put(draining, null);
+            try {
+                assertTrue(outbox.retry(draining, "admin", notBefore));
+                assertEquals(notBefore, defaultOutbox.inFlight.get(draining));
+            } finally {
+                defaultOutbox.inFlight.remove(draining);
+            }
+
+            // tasks which cannot be stored are to be attempted again inline
+            PropagationTaskInfo withRequest = taskInfo();
+            withRequest.setUpdateRequest(new UserUR.Builder("1417acbe-cbf6-4277-9372-e75e04f97000").build());
+            assertFalse(outbox.retry(withRequest, "admin", notBefore));
+
+            entityManager.flush();
+            assertEquals(1, outboxDAO.findByResource("resource-testdb", 10).size());
+        } finally {
+            defaultOutbox.props.setEnabled(false);
+        }
+    }
+}
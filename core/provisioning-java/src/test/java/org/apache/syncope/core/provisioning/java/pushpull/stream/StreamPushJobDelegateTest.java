@@ -38,6 +38,7 @@ import org.apache.syncope.common.lib.types.MatchingRule;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.pushpull.stream.SyncopeStreamPushExecutor;
 import org.apache.syncope.core.provisioning.java.AbstractTest;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -85,7 +86,7 @@ public class StreamPushJobDelegateTest extends AbstractTest {
 
                 return executor().push(
                         anyTypeDAO.getUser(),
-                        userDAO.findAll(),
+                        userDAO.findAll().stream().map(User::getKey),
                         List.of("username", "firstname", "surname", "email", "status", "loginDate"),
                         connector,
                         List.of(),
@@ -18,11 +18,12 @@
  */
 package org.apache.syncope.core.keymaster.rest.security;
 
-import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.KeymasterProperties;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.apache.syncope.core.spring.security.AuthDataAccessor;
 import org.apache.syncope.core.spring.security.DefaultCredentialChecker;
+import org.apache.syncope.core.spring.security.DomainCache;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.spring.security.SyncopeAuthenticationDetails;
 import org.apache.syncope.core.spring.security.UsernamePasswordAuthenticationProvider;
@@ -33,14 +34,16 @@ public class SelfKeymasterUsernamePasswordAuthenticationProvider extends Usernam
     protected final KeymasterProperties keymasterProperties;
 
     public SelfKeymasterUsernamePasswordAuthenticationProvider(
-            final DomainOps domainOps,
+            final DomainCache domainCache,
             final AuthDataAccessor dataAccessor,
             final UserProvisioningManager provisioningManager,
             final DefaultCredentialChecker credentialChecker,
+            final PasswordHashingService passwordHashingService,
             final SecurityProperties securityProperties,
             final KeymasterProperties keymasterProperties) {
 
-        super(domainOps, dataAccessor, provisioningManager, credentialChecker, securityProperties);
+        super(domainCache, dataAccessor, provisioningManager, credentialChecker, passwordHashingService,
+                securityProperties);
         this.keymasterProperties = keymasterProperties;
     }
 
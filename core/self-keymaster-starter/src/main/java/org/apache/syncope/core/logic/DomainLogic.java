@@ -21,6 +21,7 @@ package org.apache.syncope.core.logic;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Objects;
+import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.DomainWatcher;
 import org.apache.syncope.common.keymaster.client.api.KeymasterException;
 import org.apache.syncope.common.keymaster.client.api.model.Domain;
@@ -70,6 +71,7 @@ public class DomainLogic extends AbstractTransactionalLogic<EntityTO> {
         if (Objects.equals(domain.getKey(), SyncopeConstants.MASTER_DOMAIN)) {
             throw new KeymasterException("Cannot create domain " + SyncopeConstants.MASTER_DOMAIN);
         }
+        DomainOps.checkAdminCipherAlgorithm(domain.getAdminCipherAlgorithm());
 
         if (domainDAO.existsById(domain.getKey())) {
             throw new DuplicateException("Domain " + domain.getKey() + " already existing");
@@ -87,6 +89,8 @@ public class DomainLogic extends AbstractTransactionalLogic<EntityTO> {
 
     @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name")
     public void changeAdminPassword(final String key, final String password, final CipherAlgorithm cipherAlgorithm) {
+        DomainOps.checkAdminCipherAlgorithm(cipherAlgorithm);
+
         DomainEntity domain = domainDAO.findById(key).
                 orElseThrow(() -> new NotFoundException("Domain " + key));
 
@@ -95,6 +99,8 @@ public class DomainLogic extends AbstractTransactionalLogic<EntityTO> {
         domainObj.setAdminCipherAlgorithm(cipherAlgorithm);
         domain.set(domainObj);
         domainDAO.save(domain);
+
+        domainWatcher.updated(domainObj);
     }
 
     @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name")
@@ -107,6 +113,8 @@ public class DomainLogic extends AbstractTransactionalLogic<EntityTO> {
         domainObj.setPoolMinIdle(poolMinIdle);
         domain.set(domainObj);
         domainDAO.save(domain);
+
+        domainWatcher.updated(domainObj);
     }
 
     @PreAuthorize("@environment.getProperty('keymaster.username') == authentication.name")
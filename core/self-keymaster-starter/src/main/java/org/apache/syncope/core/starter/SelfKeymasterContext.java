@@ -71,6 +71,8 @@ import org.apache.syncope.core.rest.cxf.JavaDocUtils;
 import org.apache.syncope.core.rest.cxf.RestServiceExceptionMapper;
 import org.apache.syncope.core.spring.security.AuthDataAccessor;
 import org.apache.syncope.core.spring.security.DefaultCredentialChecker;
+import org.apache.syncope.core.spring.security.DomainCache;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.spring.security.UsernamePasswordAuthenticationProvider;
 import org.apache.syncope.core.spring.security.WebSecurityContext;
@@ -191,18 +193,20 @@ public class SelfKeymasterContext {
 
     @Bean
     public UsernamePasswordAuthenticationProvider usernamePasswordAuthenticationProvider(
-            final DomainOps domainOps,
+            final DomainCache domainCache,
             final AuthDataAccessor dataAccessor,
             final UserProvisioningManager provisioningManager,
             final DefaultCredentialChecker credentialChecker,
+            final PasswordHashingService passwordHashingService,
             final SecurityProperties securityProperties,
             final KeymasterProperties keymasterProperties) {
 
         return new SelfKeymasterUsernamePasswordAuthenticationProvider(
-                domainOps,
+                domainCache,
                 dataAccessor,
                 provisioningManager,
                 credentialChecker,
+                passwordHashingService,
                 securityProperties,
                 keymasterProperties);
     }
@@ -20,6 +20,7 @@ package org.apache.syncope.core.spring.policy;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
@@ -28,6 +29,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.lib.policy.HaveIBeenPwnedPasswordRuleConf;
 import org.apache.syncope.common.lib.policy.PasswordRuleConf;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
@@ -35,9 +37,11 @@ import org.apache.syncope.core.persistence.api.entity.user.LinkedAccount;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.rules.PasswordRule;
 import org.apache.syncope.core.provisioning.api.rules.PasswordRuleConfClass;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.Encryptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -51,8 +55,13 @@ public class HaveIBeenPwnedPasswordRule implements PasswordRule {
 
     protected static final Logger LOG = LoggerFactory.getLogger(HaveIBeenPwnedPasswordRule.class);
 
+    public static final String OFFLINE_CORPUS = "pwnedPasswords.offlineCorpus";
+
     private static final Encryptor ENCRYPTOR = Encryptor.getInstance();
 
+    @Autowired
+    private ConfParamOps confParamOps;
+
     private HaveIBeenPwnedPasswordRuleConf conf;
 
     @Override
@@ -70,9 +79,43 @@ public class HaveIBeenPwnedPasswordRule implements PasswordRule {
         }
     }
 
+    /**
+     * Returns the offline corpus to check passwords against, if configured either by this rule or by the
+     * {@value #OFFLINE_CORPUS} configuration parameter.
+     *
+     * @return offline corpus path, if configured
+     */
+    protected Optional<String> getOfflineCorpus() {
+        return Optional.ofNullable(conf.getOfflineCorpus()).filter(StringUtils::isNotBlank).
+                or(() -> Optional.ofNullable(confParamOps).
+                map(ops -> ops.get(AuthContextUtils.getDomain(), OFFLINE_CORPUS, null, String.class)).
+                filter(StringUtils::isNotBlank));
+    }
+
+    protected void enforceOffline(final String offlineCorpus, final String sha1) {
+        Optional<PwnedPasswordCorpus> corpus = PwnedPasswordCorpus.get(
+                Path.of(offlineCorpus), conf.getBloomFilterBitsPerEntry());
+        if (corpus.isEmpty()) {
+            if (conf.isFailOpen()) {
+                LOG.warn("Offline corpus {} not available, password not checked", offlineCorpus);
+                return;
+            }
+            throw new PasswordPolicyException("Offline corpus not available, password cannot be checked");
+        }
+
+        if (corpus.get().contains(sha1)) {
+            throw new PasswordPolicyException("Password pwned");
+        }
+    }
+
     protected void enforce(final String clearPassword) {
         try {
             String sha1 = ENCRYPTOR.encode(clearPassword, CipherAlgorithm.SHA1);
+            Optional<String> offlineCorpus = getOfflineCorpus();
+            if (offlineCorpus.isPresent()) {
+                enforceOffline(offlineCorpus.get(), sha1);
+                return;
+            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.set(HttpHeaders.USER_AGENT, "Apache Syncope");
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Offline corpus of breached password SHA-1 hashes, as published by the "Have I Been Pwned?" service.
+ *
+ * The corpus file is the plain concatenation of the binary SHA-1 digests, sorted in ascending unsigned order; it is
+ * memory-mapped and binary searched, optionally with an in-heap Bloom filter in front so that most negative lookups
+ * never touch the file.
+ *
+ * Corpora are loaded in background and swapped in atomically once ready, so that lookups never wait for loading.
+ */
+public final class PwnedPasswordCorpus {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PwnedPasswordCorpus.class);
+
+    public static final int RECORD_SIZE = 20;
+
+    private static final long RECORDS_PER_SEGMENT = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private static final Map<Path, PwnedPasswordCorpus> CORPORA = new ConcurrentHashMap<>();
+
+    private static final Map<Path, CompletableFuture<Void>> LOADING = new ConcurrentHashMap<>();
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "pwnedPasswordCorpusLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Loads the corpus for the given file and swaps it in, replacing the corpus previously loaded for the same file.
+     *
+     * @param file corpus file
+     * @param bloomBitsPerEntry Bloom filter bits per corpus entry, 0 to disable
+     * @return corpus for the given file
+     * @throws IOException if the corpus file could not be read
+     */
+    public static PwnedPasswordCorpus load(final Path file, final int bloomBitsPerEntry) throws IOException {
+        PwnedPasswordCorpus corpus = new PwnedPasswordCorpus(
+                file, Files.getLastModifiedTime(file), bloomBitsPerEntry);
+        CORPORA.put(file, corpus);
+        return corpus;
+    }
+
+    /**
+     * Reloads the corpus for the given file, if already loaded, with the same Bloom filter size.
+     *
+     * @param file corpus file
+     * @return whether the corpus was reloaded
+     * @throws IOException if the corpus file could not be read
+     */
+    public static boolean reload(final Path file) throws IOException {
+        PwnedPasswordCorpus current = CORPORA.get(file);
+        if (current == null) {
+            return false;
+        }
+
+        load(file, current.bloomBitsPerEntry);
+        return true;
+    }
+
+    /**
+     * Returns the corpus loaded for the given file, if any; when not loaded yet or outdated - because the file was
+     * modified since or a different Bloom filter size is requested - the corpus is (re)loaded in background, while
+     * the outdated corpus, if any, is returned meanwhile.
+     *
+     * @param file corpus file
+     * @param bloomBitsPerEntry Bloom filter bits per corpus entry, 0 to disable
+     * @return corpus for the given file, if loaded
+     */
+    public static Optional<PwnedPasswordCorpus> get(final Path file, final int bloomBitsPerEntry) {
+        PwnedPasswordCorpus corpus = CORPORA.get(file);
+
+        boolean outdated;
+        try {
+            outdated = corpus == null
+                    || !corpus.lastModified.equals(Files.getLastModifiedTime(file))
+                    || corpus.bloomBitsPerEntry != bloomBitsPerEntry;
+        } catch (IOException e) {
+            LOG.error("Could not access {}", file, e);
+            outdated = false;
+        }
+
+        if (outdated) {
+            LOADING.computeIfAbsent(file, f -> CompletableFuture.runAsync(() -> {
+                try {
+                    load(f, bloomBitsPerEntry);
+                } catch (IOException e) {
+                    LOG.error("Could not load {}", f, e);
+                } finally {
+                    LOADING.remove(f);
+                }
+            }, LOADER));
+        }
+
+        return Optional.ofNullable(corpus);
+    }
+
+    private static int compare(
+            final ByteBuffer segment, final int offset, final long high, final long mid, final int low) {
+
+        int result = Long.compareUnsigned(segment.getLong(offset), high);
+        if (result == 0) {
+            result = Long.compareUnsigned(segment.getLong(offset + Long.BYTES), mid);
+        }
+        if (result == 0) {
+            result = Integer.compareUnsigned(segment.getInt(offset + 2 * Long.BYTES), low);
+        }
+        return result;
+    }
+
+    private static String parseLine(final String prefix, final String line) {
+        String hash = StringUtils.substringBefore(line, ':').trim();
+        return hash.isEmpty() ? hash : (prefix + hash).toUpperCase();
+    }
+
+    /**
+     * Builds a corpus file out of the range dumps found in the given directory, as downloaded from the "Have I Been
+     * Pwned?" service; each dump can be either named after the 5 characters SHA-1 prefix and containing lines as
+     * {@code SUFFIX:COUNT}, or containing full {@code HASH:COUNT} lines, sorted by hash.
+     *
+     * @param rangeDumps directory containing the range dumps
+     * @param target corpus file to build, atomically replaced when done
+     * @return number of hashes written
+     * @throws IOException if range dumps could not be read or corpus file could not be written
+     */
+    public static long build(final Path rangeDumps, final Path target) throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(rangeDumps)) {
+            dumps = files.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        long count = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+
+            byte[] previous = null;
+            for (Path dump : dumps) {
+                String name = StringUtils.substringBefore(dump.getFileName().toString(), '.');
+                String prefix = name.length() == 5 && name.chars().allMatch(c -> Character.digit(c, 16) != -1)
+                        ? name.toUpperCase()
+                        : StringUtils.EMPTY;
+
+                try (BufferedReader reader = Files.newBufferedReader(dump)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String hash = parseLine(prefix, line);
+                        if (hash.isEmpty()) {
+                            continue;
+                        }
+                        if (hash.length() != RECORD_SIZE * 2) {
+                            throw new IOException("Unexpected line in " + dump + ": " + line);
+                        }
+
+                        byte[] record = HEX.parseHex(hash);
+                        if (previous != null) {
+                            int comparison = Arrays.compareUnsigned(previous, record);
+                            if (comparison > 0) {
+                                throw new IOException("Range dumps are not sorted, found " + hash + " in " + dump);
+                            }
+                            if (comparison == 0) {
+                                continue;
+                            }
+                        }
+
+                        out.write(record);
+                        previous = record;
+                        count++;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOG.info("Built {} with {} hashes out of {} range dumps", target, count, dumps.size());
+        return count;
+    }
+
+    private final FileTime lastModified;
+
+    private final int bloomBitsPerEntry;
+
+    private final long size;
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+
+    private final long[] bloom;
+
+    private final long bloomBits;
+
+    private final int bloomHashes;
+
+    private PwnedPasswordCorpus(final Path file, final FileTime lastModified, final int bloomBitsPerEntry)
+            throws IOException {
+
+        this.lastModified = lastModified;
+        this.bloomBitsPerEntry = bloomBitsPerEntry;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() % RECORD_SIZE != 0) {
+                throw new IOException(file + " is not a valid corpus file, size is not a multiple of " + RECORD_SIZE);
+            }
+            size = channel.size() / RECORD_SIZE;
+
+            for (long start = 0; start < size; start += RECORDS_PER_SEGMENT) {
+                long records = Math.min(RECORDS_PER_SEGMENT, size - start);
+                MappedByteBuffer segment = channel.map(
+                        FileChannel.MapMode.READ_ONLY, start * RECORD_SIZE, records * RECORD_SIZE);
+                segments.add(segment);
+            }
+        }
+
+        if (bloomBitsPerEntry > 0 && size > 0) {
+            bloomBits = Math.max(Long.SIZE, size * bloomBitsPerEntry);
+            bloomHashes = Math.max(1, (int) Math.round(bloomBitsPerEntry * Math.log(2)));
+            bloom = new long[(int) Math.ceilDiv(bloomBits, Long.SIZE)];
+            for (ByteBuffer segment : segments) {
+                for (int offset = 0; offset < segment.limit(); offset += RECORD_SIZE) {
+                    addToBloom(segment.getLong(offset), segment.getLong(offset + Long.BYTES));
+                }
+            }
+        } else {
+            bloomBits = 0;
+            bloomHashes = 0;
+            bloom = null;
+        }
+
+        LOG.info("Loaded {} with {} hashes, Bloom filter of {} bits", file, size, bloomBits);
+    }
+
+    private void addToBloom(final long h1, final long h2) {
+        for (int i = 0; i < bloomHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bloomBits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(final long h1, final long h2) {
+        for (int i = 0; i < bloomHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bloomBits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the given SHA-1 digest is part of this corpus.
+     *
+     * @param sha1 binary SHA-1 digest
+     * @return whether the given SHA-1 digest is part of this corpus
+     */
+    public boolean contains(final byte[] sha1) {
+        if (sha1.length != RECORD_SIZE) {
+            throw new IllegalArgumentException("Expected " + RECORD_SIZE + " bytes, got " + sha1.length);
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(sha1);
+        long high = key.getLong(0);
+        long mid = key.getLong(Long.BYTES);
+        int low = key.getInt(2 * Long.BYTES);
+
+        if (bloom != null && !mightContain(high, mid)) {
+            return false;
+        }
+
+        long from = 0;
+        long to = size - 1;
+        while (from <= to) {
+            long index = (from + to) >>> 1;
+            int comparison = compare(
+                    segments.get((int) (index / RECORDS_PER_SEGMENT)),
+                    (int) (index % RECORDS_PER_SEGMENT) * RECORD_SIZE,
+                    high, mid, low);
+            if (comparison < 0) {
+                from = index + 1;
+            } else if (comparison > 0) {
+                to = index - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given hex-encoded SHA-1 digest is part of this corpus.
+     *
+     * @param sha1 hex-encoded SHA-1 digest
+     * @return whether the given SHA-1 digest is part of this corpus
+     */
+    public boolean contains(final String sha1) {
+        return contains(HEX.parseHex(sha1));
+    }
+}
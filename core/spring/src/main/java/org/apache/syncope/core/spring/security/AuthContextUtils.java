@@ -29,6 +29,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntitlementsHolder;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -96,6 +97,23 @@ public final class AuthContextUtils {
                 orElse(Map.of());
     }
 
+    /**
+     * Returns the compiled realm scope for the given entitlement, as owned by the current authentication.
+     *
+     * @param entitlement entitlement
+     * @return compiled realm scope, empty if the current authentication does not own the given entitlement
+     */
+    public static RealmScope getRealmScope(final String entitlement) {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication()).
+                flatMap(authentication -> authentication.getAuthorities().stream().
+                filter(SyncopeGrantedAuthority.class::isInstance).
+                map(SyncopeGrantedAuthority.class::cast).
+                filter(authority -> entitlement.equals(authority.getAuthority())).
+                findFirst()).
+                map(SyncopeGrantedAuthority::getRealmScope).
+                orElse(RealmScope.EMPTY);
+    }
+
     public static String getDomain() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
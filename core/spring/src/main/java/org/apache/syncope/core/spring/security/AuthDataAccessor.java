@@ -18,7 +18,10 @@
  */
 package org.apache.syncope.core.spring.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.security.auth.login.AccountNotFoundException;
 import org.apache.commons.lang3.ArrayUtils;
@@ -38,6 +42,7 @@ import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.Provision;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.common.lib.types.EntitlementsHolder;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
@@ -51,22 +56,29 @@ import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Delegation;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
+import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.entity.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.identityconnectors.framework.common.objects.Uid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.session.SessionAuthenticationException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Domain-sensible (via {@code @Transactional}) access to authentication / authorization data.
@@ -89,6 +101,45 @@ public class AuthDataAccessor {
     protected static final Set<SyncopeGrantedAuthority> MUST_CHANGE_PASSWORD_AUTHORITIES =
             Set.of(new SyncopeGrantedAuthority(IdRepoEntitlement.MUST_CHANGE_PASSWORD));
 
+    protected record UserKey(String domain, String userKey) {
+
+    }
+
+    protected record UserAuthorities(Set<String> ownedGroups, Set<SyncopeGrantedAuthority> authorities) {
+
+    }
+
+    protected record RoleCombination(String domain, Set<String> roles) {
+
+    }
+
+    protected record DelegationUsers(String domain, String delegating, String delegated) {
+
+    }
+
+    protected record DelegationKey(String domain, String key) {
+
+    }
+
+    /**
+     * Delegation data as needed to grant authorities.
+     *
+     * @param key delegation key
+     * @param delegating delegating user key
+     * @param end delegation end date, null if unbounded
+     * @param authorities authorities granted by delegation roles, null if the delegating user's authorities apply
+     */
+    protected record CachedDelegation(
+            String key,
+            String delegating,
+            OffsetDateTime end,
+            Set<SyncopeGrantedAuthority> authorities) {
+
+        boolean isExpired(final OffsetDateTime now) {
+            return end != null && end.isBefore(now);
+        }
+    }
+
     protected final SecurityProperties securityProperties;
 
     protected final RealmDAO realmDAO;
@@ -113,8 +164,34 @@ public class AuthDataAccessor {
 
     protected final MappingManager mappingManager;
 
+    protected final PasswordHashingService passwordHashingService;
+
+    protected final LoginRecorder loginRecorder;
+
     private final List<JWTSSOProvider> jwtSSOProviders;
 
+    /**
+     * Authorities granted to users, by domain and user key.
+     */
+    protected final Cache<UserKey, UserAuthorities> userAuthorities;
+
+    /**
+     * Authorities granted by role combinations, by domain and role keys: users with the same roles share the same
+     * set instance.
+     */
+    protected final Cache<RoleCombination, Set<SyncopeGrantedAuthority>> roleAuthorities;
+
+    /**
+     * Delegations found valid, by domain, delegating and delegated user keys; entries are not served anymore once
+     * the delegation end date is passed.
+     */
+    protected final Cache<DelegationUsers, CachedDelegation> validDelegations;
+
+    /**
+     * Delegations, by domain and delegation key.
+     */
+    protected final Cache<DelegationKey, CachedDelegation> delegations;
+
     public AuthDataAccessor(
             final SecurityProperties securityProperties,
             final RealmDAO realmDAO,
@@ -128,6 +205,8 @@ public class AuthDataAccessor {
             final ConnectorManager connectorManager,
             final AuditManager auditManager,
             final MappingManager mappingManager,
+            final PasswordHashingService passwordHashingService,
+            final LoginRecorder loginRecorder,
             final List<JWTSSOProvider> jwtSSOProviders) {
 
         this.securityProperties = securityProperties;
@@ -142,7 +221,25 @@ public class AuthDataAccessor {
         this.connectorManager = connectorManager;
         this.auditManager = auditManager;
         this.mappingManager = mappingManager;
+        this.passwordHashingService = passwordHashingService;
+        this.loginRecorder = loginRecorder;
         this.jwtSSOProviders = jwtSSOProviders;
+
+        if (StringUtils.isBlank(securityProperties.getAuthoritiesCache())) {
+            this.userAuthorities = null;
+            this.roleAuthorities = null;
+        } else {
+            this.userAuthorities = Caffeine.from(securityProperties.getAuthoritiesCache()).build();
+            this.roleAuthorities = Caffeine.from(securityProperties.getAuthoritiesCache()).build();
+        }
+
+        if (StringUtils.isBlank(securityProperties.getDelegationCache())) {
+            this.validDelegations = null;
+            this.delegations = null;
+        } else {
+            this.validDelegations = Caffeine.from(securityProperties.getDelegationCache()).build();
+            this.delegations = Caffeine.from(securityProperties.getDelegationCache()).build();
+        }
     }
 
     public JWTSSOProvider getJWTSSOProvider(final String issuer) {
@@ -170,11 +267,67 @@ public class AuthDataAccessor {
 
         LOG.debug("Delegation request: delegating:{}, delegated:{}", delegatingKey, delegatedKey);
 
-        return delegationDAO.findValidFor(delegatingKey, delegatedKey, OffsetDateTime.now()).
+        return findValidDelegation(delegatingKey, delegatedKey).
                 orElseThrow(() -> new SessionAuthenticationException(
                 "Delegation by " + delegatingKey + " was requested but none found"));
     }
 
+    protected CachedDelegation cache(final Delegation delegation) {
+        return new CachedDelegation(
+                delegation.getKey(),
+                delegation.getDelegating().getKey(),
+                delegation.getEnd(),
+                delegation.getRoles().isEmpty() ? null : Set.copyOf(getDelegatedAuthorities(delegation)));
+    }
+
+    /**
+     * Finds the key of the delegation currently valid from the given delegating user to the given delegated user;
+     * cached outcomes are served until the delegation end date.
+     *
+     * @param delegatingKey delegating user key
+     * @param delegatedKey delegated user key
+     * @return key of the valid delegation, if any
+     */
+    protected Optional<String> findValidDelegation(final String delegatingKey, final String delegatedKey) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (validDelegations == null) {
+            return delegationDAO.findValidFor(delegatingKey, delegatedKey, now);
+        }
+
+        DelegationUsers users = new DelegationUsers(AuthContextUtils.getDomain(), delegatingKey, delegatedKey);
+        CachedDelegation cached = validDelegations.getIfPresent(users);
+        if (cached != null && !cached.isExpired(now)) {
+            return Optional.of(cached.key());
+        }
+
+        Optional<CachedDelegation> found = delegationDAO.findValidFor(delegatingKey, delegatedKey, now).
+                flatMap(delegationDAO::findById).map(this::cache);
+        found.ifPresentOrElse(
+                delegation -> {
+                    validDelegations.put(users, delegation);
+                    delegations.put(new DelegationKey(users.domain(), delegation.key()), delegation);
+                },
+                () -> validDelegations.invalidate(users));
+        return found.map(CachedDelegation::key);
+    }
+
+    protected CachedDelegation getDelegation(final String delegationKey) {
+        Supplier<CachedDelegation> load = () -> delegationDAO.findById(delegationKey).map(this::cache).
+                orElseThrow(() -> new UsernameNotFoundException("Could not find delegation " + delegationKey));
+
+        if (delegations == null) {
+            return load.get();
+        }
+
+        DelegationKey key = new DelegationKey(AuthContextUtils.getDomain(), delegationKey);
+        CachedDelegation cached = delegations.getIfPresent(key);
+        if (cached == null || cached.isExpired(OffsetDateTime.now())) {
+            cached = load.get();
+            delegations.put(key, cached);
+        }
+        return cached;
+    }
+
     /**
      * Attempts to authenticate the given credentials against internal storage and pass-through resources (if
      * configured): the first succeeding causes global success.
@@ -224,36 +377,95 @@ public class AuthDataAccessor {
                 throw new DisabledException("User " + user.getUsername() + " not allowed to authenticate");
             }
 
-            boolean userModified = false;
             authenticated = authenticate(user, authentication.getCredentials().toString());
             if (authenticated) {
                 delegationKey = getDelegationKey(
                         SyncopeAuthenticationDetails.class.cast(authentication.getDetails()), user.getKey());
 
-                if (confParamOps.get(domain, "log.lastlogindate", true, Boolean.class)) {
-                    user.setLastLoginDate(OffsetDateTime.now());
-                    userModified = true;
-                }
+                OffsetDateTime lastLoginDate = confParamOps.get(domain, "log.lastlogindate", true, Boolean.class)
+                        ? OffsetDateTime.now()
+                        : null;
+
+                if (migratePassword(domain, user)
+                        || rehashPassword(user, authentication.getCredentials().toString())) {
 
-                if (user.getFailedLogins() != 0) {
+                    // the user is saved anyway, so login bookkeeping is not worth being recorded separately
+                    loginRecorder.discard(domain, user.getKey());
+                    if (lastLoginDate != null) {
+                        user.setLastLoginDate(lastLoginDate);
+                    }
                     user.setFailedLogins(0);
-                    userModified = true;
+                    userDAO.save(user);
+                } else {
+                    loginRecorder.success(domain, user, lastLoginDate);
                 }
             } else {
-                user.setFailedLogins(user.getFailedLogins() + 1);
-                userModified = true;
-            }
-
-            if (userModified) {
-                userDAO.save(user);
+                loginRecorder.failure(domain, user);
             }
         }
 
         return Triple.of(user, authenticated, delegationKey);
     }
 
+    /**
+     * Re-encodes the password of the given user with {@link CipherAlgorithm#AES_GCM}, if currently encoded with
+     * {@link CipherAlgorithm#AES} and the former is the configured password cipher algorithm.
+     *
+     * @param domain domain
+     * @param user user
+     * @return whether the password was re-encoded
+     */
+    protected boolean migratePassword(final String domain, final User user) {
+        if (user.getCipherAlgorithm() != CipherAlgorithm.AES || user.getPassword() == null
+                || !CipherAlgorithm.AES_GCM.name().equals(confParamOps.get(
+                        domain, "password.cipher.algorithm", CipherAlgorithm.AES.name(), String.class))) {
+
+            return false;
+        }
+
+        try {
+            boolean mustChangePassword = user.isMustChangePassword();
+            user.setEncodedPassword(
+                    ENCRYPTOR.reencode(user.getPassword(), CipherAlgorithm.AES, CipherAlgorithm.AES_GCM),
+                    CipherAlgorithm.AES_GCM);
+            user.setMustChangePassword(mustChangePassword);
+            return true;
+        } catch (Exception e) {
+            LOG.error("Could not re-encode password for {} with {}", user.getUsername(), CipherAlgorithm.AES_GCM, e);
+            return false;
+        }
+    }
+
+    /**
+     * Re-hashes the password of the given user, if hashed with weaker settings than currently configured and
+     * matching the given password.
+     *
+     * @param user user
+     * @param password password provided for authentication
+     * @return whether the password was re-hashed
+     */
+    protected boolean rehashPassword(final User user, final String password) {
+        if (!passwordHashingService.needsRehash(user.getCipherAlgorithm(), user.getPassword())
+                || !passwordHashingService.verify(password, user.getCipherAlgorithm(), user.getPassword())) {
+
+            return false;
+        }
+
+        try {
+            boolean mustChangePassword = user.isMustChangePassword();
+            user.setEncodedPassword(
+                    passwordHashingService.encode(password, user.getCipherAlgorithm()), user.getCipherAlgorithm());
+            user.setMustChangePassword(mustChangePassword);
+            return true;
+        } catch (Exception e) {
+            LOG.error("Could not re-hash password for {}", user.getUsername(), e);
+            return false;
+        }
+    }
+
     protected boolean authenticate(final User user, final String password) {
-        boolean authenticated = ENCRYPTOR.verify(password, user.getCipherAlgorithm(), user.getPassword());
+        boolean authenticated = passwordHashingService.authenticate(
+                password, user.getCipherAlgorithm(), user.getPassword());
         LOG.debug("{} authenticated on internal storage: {}", user.getUsername(), authenticated);
 
         for (Iterator<? extends ExternalResource> itor = getPassthroughResources(user).iterator();
@@ -331,64 +543,158 @@ public class AuthDataAccessor {
         return authorities;
     }
 
-    protected Set<SyncopeGrantedAuthority> getUserAuthorities(final User user) {
-        if (user.isMustChangePassword()) {
-            return MUST_CHANGE_PASSWORD_AUTHORITIES;
-        }
+    protected static void addRoleEntitlements(
+            final Map<String, Set<String>> entForRealms,
+            final Collection<? extends Role> roles) {
 
-        Map<String, Set<String>> entForRealms = new HashMap<>();
-
-        // Give entitlements as assigned by roles (with static or dynamic realms, where applicable) - assigned
-        // either statically and dynamically
-        userDAO.findAllRoles(user).stream().
-                filter(role -> !GROUP_OWNER_ROLE.equals(role.getKey())).
+        roles.stream().filter(role -> !GROUP_OWNER_ROLE.equals(role.getKey())).
                 forEach(role -> role.getEntitlements().forEach(entitlement -> {
-            Set<String> realms = Optional.ofNullable(entForRealms.get(entitlement)).orElseGet(() -> {
-                Set<String> r = new HashSet<>();
-                entForRealms.put(entitlement, r);
-                return r;
-            });
+            Set<String> realms = entForRealms.computeIfAbsent(entitlement, k -> new HashSet<>());
 
             realms.addAll(role.getRealms().stream().map(Realm::getFullPath).collect(Collectors.toSet()));
             if (!entitlement.endsWith("_CREATE") && !entitlement.endsWith("_DELETE")) {
                 realms.addAll(role.getDynRealms().stream().map(DynRealm::getKey).toList());
             }
         }));
+    }
+
+    /**
+     * Returns the authorities granted by the given roles, shared among all users with the same role combination.
+     *
+     * @param roles roles
+     * @return authorities granted by the given roles
+     */
+    protected Set<SyncopeGrantedAuthority> getRoleAuthorities(final Collection<? extends Role> roles) {
+        Supplier<Set<SyncopeGrantedAuthority>> compute = () -> {
+            Map<String, Set<String>> entForRealms = new HashMap<>();
+            addRoleEntitlements(entForRealms, roles);
+            return Set.copyOf(buildAuthorities(entForRealms));
+        };
+
+        if (roleAuthorities == null) {
+            return compute.get();
+        }
+
+        return roleAuthorities.get(
+                new RoleCombination(
+                        AuthContextUtils.getDomain(),
+                        roles.stream().map(Role::getKey).collect(Collectors.toUnmodifiableSet())),
+                k -> compute.get());
+    }
+
+    protected UserAuthorities computeUserAuthorities(final User user) {
+        // Give entitlements as assigned by roles (with static or dynamic realms, where applicable) - assigned
+        // either statically and dynamically
+        Collection<Role> roles = userDAO.findAllRoles(user);
+
+        List<Group> ownedGroups = groupDAO.findOwnedByUser(user.getKey());
+        if (ownedGroups.isEmpty()) {
+            return new UserAuthorities(Set.of(), getRoleAuthorities(roles));
+        }
+
+        Map<String, Set<String>> entForRealms = new HashMap<>();
+        addRoleEntitlements(entForRealms, roles);
 
         // Give group entitlements for owned groups
-        groupDAO.findOwnedByUser(user.getKey()).forEach(group -> roleDAO.findById(GROUP_OWNER_ROLE).ifPresentOrElse(
-                groupOwnerRole -> groupOwnerRole.getEntitlements().forEach(entitlement -> {
-                    Set<String> realms = Optional.ofNullable(entForRealms.get(entitlement)).orElseGet(() -> {
-                        HashSet<String> r = new HashSet<>();
-                        entForRealms.put(entitlement, r);
-                        return r;
-                    });
-
-                    realms.add(RealmUtils.getGroupOwnerRealm(group.getRealm().getFullPath(), group.getKey()));
-                }),
+        ownedGroups.forEach(group -> roleDAO.findById(GROUP_OWNER_ROLE).ifPresentOrElse(
+                groupOwnerRole -> groupOwnerRole.getEntitlements().forEach(entitlement -> entForRealms.
+                computeIfAbsent(entitlement, k -> new HashSet<>()).
+                add(RealmUtils.getGroupOwnerRealm(group.getRealm().getFullPath(), group.getKey()))),
                 () -> LOG.warn("Role {} was not found", GROUP_OWNER_ROLE)));
 
-        return buildAuthorities(entForRealms);
+        return new UserAuthorities(
+                ownedGroups.stream().map(Group::getKey).collect(Collectors.toUnmodifiableSet()),
+                Set.copyOf(buildAuthorities(entForRealms)));
+    }
+
+    protected Set<SyncopeGrantedAuthority> getUserAuthorities(final User user) {
+        if (user.isMustChangePassword()) {
+            return MUST_CHANGE_PASSWORD_AUTHORITIES;
+        }
+
+        if (userAuthorities == null) {
+            return computeUserAuthorities(user).authorities();
+        }
+
+        return userAuthorities.get(
+                new UserKey(AuthContextUtils.getDomain(), user.getKey()),
+                k -> computeUserAuthorities(user)).authorities();
     }
 
     protected Set<SyncopeGrantedAuthority> getDelegatedAuthorities(final Delegation delegation) {
         Map<String, Set<String>> entForRealms = new HashMap<>();
+        addRoleEntitlements(entForRealms, delegation.getRoles());
+        return buildAuthorities(entForRealms);
+    }
 
-        delegation.getRoles().stream().filter(role -> !GROUP_OWNER_ROLE.equals(role.getKey())).
-                forEach(role -> role.getEntitlements().forEach(entitlement -> {
-            Set<String> realms = Optional.ofNullable(entForRealms.get(entitlement)).orElseGet(() -> {
-                HashSet<String> r = new HashSet<>();
-                entForRealms.put(entitlement, r);
-                return r;
-            });
+    protected void evictAuthorities(final EntityLifecycleEvent<Entity> event) {
+        if (userAuthorities == null) {
+            return;
+        }
 
-            realms.addAll(role.getRealms().stream().map(Realm::getFullPath).collect(Collectors.toSet()));
-            if (!entitlement.endsWith("_CREATE") && !entitlement.endsWith("_DELETE")) {
-                realms.addAll(role.getDynRealms().stream().map(DynRealm::getKey).toList());
-            }
-        }));
+        if (event.getEntity() instanceof User user) {
+            userAuthorities.invalidate(new UserKey(event.getDomain(), user.getKey()));
+        } else if (event.getEntity() instanceof Group group) {
+            String userOwner = Optional.ofNullable(group.getUserOwner()).map(User::getKey).orElse(null);
+            userAuthorities.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && (group.getGroupOwner() != null
+                    || entry.getKey().userKey().equals(userOwner)
+                    || entry.getValue().ownedGroups().contains(group.getKey())));
+        } else if (event.getEntity() instanceof Role
+                || event.getEntity() instanceof Realm
+                || event.getEntity() instanceof DynRealm) {
+
+            userAuthorities.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain()));
+            roleAuthorities.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain()));
+        }
+    }
 
-        return buildAuthorities(entForRealms);
+    protected void evictDelegations(final EntityLifecycleEvent<Entity> event) {
+        if (validDelegations == null) {
+            return;
+        }
+
+        if (event.getEntity() instanceof Delegation delegation) {
+            validDelegations.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && entry.getValue().key().equals(delegation.getKey()));
+            delegations.invalidate(new DelegationKey(event.getDomain(), delegation.getKey()));
+        } else if (event.getEntity() instanceof User user) {
+            validDelegations.asMap().keySet().removeIf(key -> key.domain().equals(event.getDomain())
+                    && (key.delegating().equals(user.getKey()) || key.delegated().equals(user.getKey())));
+            delegations.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && entry.getValue().delegating().equals(user.getKey()));
+        } else if (event.getEntity() instanceof Role
+                || event.getEntity() instanceof Realm
+                || event.getEntity() instanceof DynRealm) {
+
+            validDelegations.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && entry.getValue().authorities() != null);
+            delegations.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && entry.getValue().authorities() != null);
+        }
+    }
+
+    /**
+     * Evicts cached authorities and delegations as soon as users, groups, roles, realms or delegations are changed.
+     *
+     * @param event entity lifecycle event
+     */
+    @EventListener
+    public void entityChanged(final EntityLifecycleEvent<Entity> event) {
+        evictAuthorities(event);
+        evictDelegations(event);
+    }
+
+    /**
+     * Evicts cached authorities and delegations again once changes are committed, as concurrent requests might have
+     * cached the previous state meanwhile.
+     *
+     * @param event entity lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void entityChangeCommitted(final EntityLifecycleEvent<Entity> event) {
+        evictAuthorities(event);
+        evictDelegations(event);
     }
 
     @Transactional
@@ -400,13 +706,13 @@ public class AuthDataAccessor {
         } else if (securityProperties.getAdminUser().equals(username)) {
             authorities = getAdminAuthorities();
         } else if (delegationKey != null) {
-            Delegation delegation = delegationDAO.findById(delegationKey).
-                    orElseThrow(() -> new UsernameNotFoundException(
-                    "Could not find delegation " + delegationKey));
+            CachedDelegation delegation = getDelegation(delegationKey);
 
-            authorities = delegation.getRoles().isEmpty()
-                    ? getUserAuthorities(delegation.getDelegating())
-                    : getDelegatedAuthorities(delegation);
+            authorities = delegation.authorities() == null
+                    ? getUserAuthorities(userDAO.findById(delegation.delegating()).
+                            orElseThrow(() -> new UsernameNotFoundException(
+                            "Could not find delegating user " + delegation.delegating())))
+                    : delegation.authorities();
         } else {
             User user = userDAO.findByUsername(username).
                     orElseThrow(() -> new UsernameNotFoundException(
@@ -418,8 +724,15 @@ public class AuthDataAccessor {
         return authorities;
     }
 
+    /**
+     * Resolves the principal of the given JWT, once its signature was verified.
+     *
+     * @param authentication JWT authentication
+     * @return user key (null for admin), username and authorities
+     */
     @Transactional
-    public Pair<String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
+    public Triple<String, String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
+        String userKey = null;
         String username;
         Set<SyncopeGrantedAuthority> authorities;
 
@@ -441,6 +754,7 @@ public class AuthDataAccessor {
 
             User user = resolved.getLeft();
             String delegationKey = getDelegationKey(authentication.getDetails(), user.getKey());
+            userKey = user.getKey();
             username = user.getUsername();
             authorities = resolved.getRight() == null
                     ? Set.of()
@@ -470,7 +784,7 @@ public class AuthDataAccessor {
             }
         }
 
-        return Pair.of(username, authorities);
+        return Triple.of(userKey, username, authorities);
     }
 
     @Transactional
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.keymaster.client.api.DomainOps;
+import org.apache.syncope.common.keymaster.client.api.DomainWatcher;
+import org.apache.syncope.common.keymaster.client.api.model.Domain;
+
+/**
+ * Bounded cache of domain metadata as read via {@link DomainOps}, so that authenticating against non-Master domains
+ * does not require a roundtrip to Keymaster with every request.
+ * Entries are refreshed or evicted as domains are notified via {@link DomainWatcher} callbacks; as not all Keymaster
+ * flavors deliver such notifications to every Core instance, entries are also expired according to the configured
+ * cache specification.
+ */
+public class DomainCache {
+
+    protected final DomainOps domainOps;
+
+    protected final Cache<String, Domain> cache;
+
+    public DomainCache(final DomainOps domainOps, final String cacheSpec) {
+        this.domainOps = domainOps;
+        this.cache = StringUtils.isBlank(cacheSpec)
+                ? null
+                : Caffeine.from(cacheSpec).build();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Reads the given domain, from cache if available or via {@link DomainOps} otherwise; failed reads are not cached.
+     *
+     * @param key domain key
+     * @return domain
+     */
+    public Domain read(final String key) {
+        return cache == null
+                ? domainOps.read(key)
+                : cache.get(key, domainOps::read);
+    }
+
+    /**
+     * Replaces any cached entry for the given domain, as just created or updated.
+     *
+     * @param domain domain
+     */
+    public void put(final Domain domain) {
+        if (cache != null) {
+            cache.put(domain.getKey(), domain);
+        }
+    }
+
+    public void evict(final String key) {
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+}
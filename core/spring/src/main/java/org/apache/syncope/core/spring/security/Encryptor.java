@@ -20,15 +20,21 @@ package org.apache.syncope.core.spring.security;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +54,12 @@ public final class Encryptor {
 
     private static final String DEFAULT_SECRET_KEY = "1abcdefghilmnopqrstuvz2!";
 
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final int GCM_TAG_LENGTH = 128;
+
     public static Encryptor getInstance() {
         return getInstance(null);
     }
@@ -66,6 +78,16 @@ public final class Encryptor {
 
     private final Map<CipherAlgorithm, StandardStringDigester> digesters = new ConcurrentHashMap<>();
 
+    /**
+     * Initialized ciphers are not thread-safe but expensive to obtain, hence they are pooled rather than bound to
+     * threads, which would not play well with virtual threads.
+     */
+    private final BlockingQueue<Cipher> aesEncrypters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final BlockingQueue<Cipher> aesDecrypters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final BlockingQueue<Cipher> aesGcmCiphers = new ArrayBlockingQueue<>(POOL_SIZE);
+
     private SecretKeySpec keySpec;
 
     private Encryptor(final String secretKey) {
@@ -91,6 +113,85 @@ public final class Encryptor {
         }
     }
 
+    private static boolean isAES(final CipherAlgorithm cipherAlgorithm) {
+        return cipherAlgorithm == null || cipherAlgorithm == CipherAlgorithm.AES;
+    }
+
+    private Cipher borrow(final BlockingQueue<Cipher> pool, final String transformation)
+            throws NoSuchAlgorithmException, NoSuchPaddingException {
+
+        Cipher cipher = pool.poll();
+        return cipher == null ? Cipher.getInstance(transformation) : cipher;
+    }
+
+    private byte[] encryptAES(final byte[] value)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        Cipher cipher = aesEncrypters.poll();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+            cipher.init(Cipher.ENCRYPT_MODE, keySpec);
+        }
+
+        // once doFinal completes, ECB ciphers are reset to their initialized state, hence can be reused as-is
+        byte[] encrypted = cipher.doFinal(value);
+        aesEncrypters.offer(cipher);
+        return encrypted;
+    }
+
+    private byte[] decryptAES(final byte[] encrypted)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        Cipher cipher = aesDecrypters.poll();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+            cipher.init(Cipher.DECRYPT_MODE, keySpec);
+        }
+
+        byte[] decrypted = cipher.doFinal(encrypted);
+        aesDecrypters.offer(cipher);
+        return decrypted;
+    }
+
+    private byte[] encryptAESGCM(final byte[] value)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+
+        byte[] iv = SecureRandomUtils.generateRandomBytes(GCM_IV_LENGTH);
+
+        // GCM ciphers must be initialized with a fresh IV for each encryption
+        Cipher cipher = borrow(aesGcmCiphers, CipherAlgorithm.AES_GCM.getAlgorithm());
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+
+        byte[] encrypted = new byte[GCM_IV_LENGTH + cipher.getOutputSize(value.length)];
+        System.arraycopy(iv, 0, encrypted, 0, GCM_IV_LENGTH);
+        try {
+            cipher.doFinal(value, 0, value.length, encrypted, GCM_IV_LENGTH);
+        } catch (ShortBufferException e) {
+            throw new IllegalBlockSizeException(e.getMessage());
+        }
+        aesGcmCiphers.offer(cipher);
+        return encrypted;
+    }
+
+    private byte[] decryptAESGCM(final byte[] encrypted)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+
+        if (encrypted.length < GCM_IV_LENGTH) {
+            throw new IllegalBlockSizeException("Encrypted value is too short");
+        }
+
+        Cipher cipher = borrow(aesGcmCiphers, CipherAlgorithm.AES_GCM.getAlgorithm());
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, new GCMParameterSpec(GCM_TAG_LENGTH, encrypted, 0, GCM_IV_LENGTH));
+
+        byte[] decrypted = cipher.doFinal(encrypted, GCM_IV_LENGTH, encrypted.length - GCM_IV_LENGTH);
+        aesGcmCiphers.offer(cipher);
+        return decrypted;
+    }
+
     public String encode(final String value, final CipherAlgorithm cipherAlgorithm)
             throws UnsupportedEncodingException, NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
             IllegalBlockSizeException, BadPaddingException {
@@ -98,11 +199,15 @@ public final class Encryptor {
         String encoded = null;
 
         if (value != null) {
-            if (cipherAlgorithm == null || cipherAlgorithm == CipherAlgorithm.AES) {
-                Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
-                cipher.init(Cipher.ENCRYPT_MODE, keySpec);
-
-                encoded = Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+            if (isAES(cipherAlgorithm)) {
+                encoded = Base64.getEncoder().encodeToString(encryptAES(value.getBytes(StandardCharsets.UTF_8)));
+            } else if (cipherAlgorithm == CipherAlgorithm.AES_GCM) {
+                try {
+                    encoded = Base64.getEncoder().encodeToString(
+                            encryptAESGCM(value.getBytes(StandardCharsets.UTF_8)));
+                } catch (InvalidAlgorithmParameterException e) {
+                    throw new InvalidKeyException(e);
+                }
             } else if (cipherAlgorithm == CipherAlgorithm.BCRYPT) {
                 encoded = BCrypt.hashpw(value, BCrypt.gensalt());
             } else {
@@ -117,9 +222,15 @@ public final class Encryptor {
         boolean verified = false;
 
         try {
-            if (value != null) {
-                if (cipherAlgorithm == null || cipherAlgorithm == CipherAlgorithm.AES) {
-                    verified = encode(value, cipherAlgorithm).equals(encoded);
+            if (value != null && encoded != null) {
+                if (isAES(cipherAlgorithm)) {
+                    verified = MessageDigest.isEqual(
+                            encryptAES(value.getBytes(StandardCharsets.UTF_8)),
+                            Base64.getDecoder().decode(encoded));
+                } else if (cipherAlgorithm == CipherAlgorithm.AES_GCM) {
+                    verified = MessageDigest.isEqual(
+                            value.getBytes(StandardCharsets.UTF_8),
+                            decryptAESGCM(Base64.getDecoder().decode(encoded)));
                 } else if (cipherAlgorithm == CipherAlgorithm.BCRYPT) {
                     verified = BCrypt.checkpw(value, encoded);
                 } else {
@@ -139,16 +250,48 @@ public final class Encryptor {
 
         String decoded = null;
 
-        if (encoded != null && cipherAlgorithm == CipherAlgorithm.AES) {
-            Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
-            cipher.init(Cipher.DECRYPT_MODE, keySpec);
-
-            decoded = new String(cipher.doFinal(Base64.getDecoder().decode(encoded)), StandardCharsets.UTF_8);
+        if (encoded != null) {
+            if (cipherAlgorithm == CipherAlgorithm.AES) {
+                decoded = new String(decryptAES(Base64.getDecoder().decode(encoded)), StandardCharsets.UTF_8);
+            } else if (cipherAlgorithm == CipherAlgorithm.AES_GCM) {
+                try {
+                    decoded = new String(
+                            decryptAESGCM(Base64.getDecoder().decode(encoded)), StandardCharsets.UTF_8);
+                } catch (InvalidAlgorithmParameterException e) {
+                    throw new InvalidKeyException(e);
+                }
+            }
         }
 
         return decoded;
     }
 
+    /**
+     * Re-encodes the given value, encoded with an invertible algorithm, with another algorithm: this is meant to
+     * migrate values encoded via {@link CipherAlgorithm#AES} to {@link CipherAlgorithm#AES_GCM}, without the
+     * need to know the cleartext value.
+     *
+     * @param encoded encoded value
+     * @param from cipher algorithm used for the given value, must be invertible
+     * @param to cipher algorithm to use for re-encoding
+     * @return re-encoded value
+     * @throws UnsupportedEncodingException if encoding fails
+     * @throws NoSuchAlgorithmException if encoding fails
+     * @throws NoSuchPaddingException if encoding fails
+     * @throws InvalidKeyException if encoding fails
+     * @throws IllegalBlockSizeException if encoding fails
+     * @throws BadPaddingException if encoding fails
+     */
+    public String reencode(final String encoded, final CipherAlgorithm from, final CipherAlgorithm to)
+            throws UnsupportedEncodingException, NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            IllegalBlockSizeException, BadPaddingException {
+
+        if (from == null || !from.isInvertible()) {
+            throw new IllegalArgumentException("Cannot re-encode values encoded with " + from);
+        }
+        return encode(decode(encoded, from), to);
+    }
+
     private StandardStringDigester getDigester(final CipherAlgorithm cipherAlgorithm) {
         StandardStringDigester digester = digesters.get(cipherAlgorithm);
         if (digester == null) {
@@ -30,7 +30,7 @@ import java.text.ParseException;
 import java.util.Date;
 import java.util.Optional;
 import java.util.Set;
-import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -58,18 +58,68 @@ public class JWTAuthenticationFilter extends BasicAuthenticationFilter {
 
     private final DefaultCredentialChecker credentialChecker;
 
+    private final VerifiedJWTCache verifiedJWTCache;
+
     public JWTAuthenticationFilter(
             final AuthenticationManager authenticationManager,
             final AuthenticationEntryPoint authenticationEntryPoint,
             final SyncopeAuthenticationDetailsSource authenticationDetailsSource,
             final AuthDataAccessor dataAccessor,
-            final DefaultCredentialChecker credentialChecker) {
+            final DefaultCredentialChecker credentialChecker,
+            final VerifiedJWTCache verifiedJWTCache) {
 
         super(authenticationManager);
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.authenticationDetailsSource = authenticationDetailsSource;
         this.dataAccessor = dataAccessor;
         this.credentialChecker = credentialChecker;
+        this.verifiedJWTCache = verifiedJWTCache;
+    }
+
+    private JWTAuthentication authenticate(final String stringToken, final SyncopeAuthenticationDetails details)
+            throws ParseException, JOSEException {
+
+        // 0. parse JWT
+        SignedJWT jwt = SignedJWT.parse(stringToken);
+
+        // 1. check signature
+        JWTSSOProvider jwtSSOProvider = dataAccessor.getJWTSSOProvider(jwt.getJWTClaimsSet().getIssuer());
+        if (!jwt.verify(jwtSSOProvider)) {
+            throw new BadCredentialsException("Invalid signature found in JWT");
+        }
+
+        JWTClaimsSet claims = jwt.getJWTClaimsSet();
+        long referenceTime = System.currentTimeMillis();
+
+        // 2. check expiration
+        Date expirationTime = claims.getExpirationTime();
+        if (expirationTime != null && expirationTime.getTime() < referenceTime) {
+            dataAccessor.removeExpired(claims.getJWTID());
+            throw new CredentialsExpiredException("JWT is expired");
+        }
+
+        // 3. check not before
+        Date notBefore = claims.getNotBeforeTime();
+        if (notBefore != null && notBefore.getTime() > referenceTime) {
+            throw new CredentialsExpiredException("JWT not valid yet");
+        }
+
+        // 4. generate the authentication object
+        JWTAuthentication jwtAuthentication = new JWTAuthentication(claims, details);
+        AuthContextUtils.runAsAdmin(details.getDomain(), () -> {
+            Triple<String, String, Set<SyncopeGrantedAuthority>> authenticated =
+                    dataAccessor.authenticate(jwtAuthentication);
+            jwtAuthentication.setUsername(authenticated.getMiddle());
+            jwtAuthentication.getAuthorities().addAll(authenticated.getRight());
+
+            // 5. cache the resolved principal, unless under delegation
+            if (details.getDelegatedBy() == null) {
+                verifiedJWTCache.put(details.getDomain(), stringToken, new VerifiedJWTCache.Principal(
+                        claims, authenticated.getLeft(), authenticated.getMiddle(), authenticated.getRight()));
+            }
+        });
+
+        return jwtAuthentication;
     }
 
     @Override
@@ -92,40 +142,23 @@ public class JWTAuthenticationFilter extends BasicAuthenticationFilter {
         try {
             credentialChecker.checkIsDefaultJWSKeyInUse();
 
-            // 0. parse JWT
-            SignedJWT jwt = SignedJWT.parse(stringToken);
+            SyncopeAuthenticationDetails details = authenticationDetailsSource.buildDetails(request);
 
-            // 1. check signature
-            JWTSSOProvider jwtSSOProvider = dataAccessor.getJWTSSOProvider(jwt.getJWTClaimsSet().getIssuer());
-            if (!jwt.verify(jwtSSOProvider)) {
-                throw new BadCredentialsException("Invalid signature found in JWT");
-            }
-
-            JWTClaimsSet claims = jwt.getJWTClaimsSet();
-            long referenceTime = System.currentTimeMillis();
+            Optional<VerifiedJWTCache.Principal> verified = details.getDelegatedBy() == null
+                    ? verifiedJWTCache.get(details.getDomain(), stringToken)
+                    : Optional.empty();
 
-            // 2. check expiration
-            Date expirationTime = claims.getExpirationTime();
-            if (expirationTime != null && expirationTime.getTime() < referenceTime) {
-                dataAccessor.removeExpired(claims.getJWTID());
-                throw new CredentialsExpiredException("JWT is expired");
-            }
+            JWTAuthentication jwtAuthentication;
+            if (verified.isPresent()) {
+                LOG.debug("JWT {} was already verified", verified.get().claims().getJWTID());
 
-            // 3. check not before
-            Date notBefore = claims.getNotBeforeTime();
-            if (notBefore != null && notBefore.getTime() > referenceTime) {
-                throw new CredentialsExpiredException("JWT not valid yet");
+                jwtAuthentication = new JWTAuthentication(verified.get().claims(), details);
+                jwtAuthentication.setUsername(verified.get().username());
+                jwtAuthentication.getAuthorities().addAll(verified.get().authorities());
+            } else {
+                jwtAuthentication = authenticate(stringToken, details);
             }
-
-            // 4. generate and set the authentication object
-            JWTAuthentication jwtAuthentication =
-                    new JWTAuthentication(claims, authenticationDetailsSource.buildDetails(request));
             jwtAuthentication.setAuthenticated(true);
-            AuthContextUtils.runAsAdmin(jwtAuthentication.getDetails().getDomain(), () -> {
-                Pair<String, Set<SyncopeGrantedAuthority>> authenticated = dataAccessor.authenticate(jwtAuthentication);
-                jwtAuthentication.setUsername(authenticated.getLeft());
-                jwtAuthentication.getAuthorities().addAll(authenticated.getRight());
-            });
             SecurityContextHolder.getContext().setAuthentication(jwtAuthentication);
 
             chain.doFilter(request, response);
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Write-behind recorder for login bookkeeping: last login dates are coalesced in memory per user and periodically
+ * flushed as direct statements, rather than merging the whole user entity upon each authentication.
+ *
+ * Failed logins are instead always written through - as atomic increments, or as reset upon successful
+ * authentication - so that suspension is enforced timely across Core instances and no later flush can overwrite
+ * changes meanwhile performed by administrators.
+ */
+public class LoginRecorder implements DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(LoginRecorder.class);
+
+    protected record PendingKey(String domain, String userKey) {
+    }
+
+    protected static class PendingLogin {
+
+        protected final long since = System.nanoTime();
+
+        protected OffsetDateTime lastLoginDate;
+
+        protected UserDAO.LoginUpdate toUpdate(final String userKey) {
+            return new UserDAO.LoginUpdate(userKey, lastLoginDate, false, 0);
+        }
+    }
+
+    protected final SecurityProperties.LoginRecorderProperties props;
+
+    protected final UserDAO userDAO;
+
+    protected final ConcurrentMap<PendingKey, PendingLogin> pending = new ConcurrentHashMap<>();
+
+    protected final ScheduledExecutorService flusher;
+
+    protected final LongAdder flushes = new LongAdder();
+
+    protected final LongAdder flushedUpdates = new LongAdder();
+
+    protected final LongAdder failedFlushes = new LongAdder();
+
+    protected final LongAdder writeThroughs = new LongAdder();
+
+    protected final AtomicLong lastFlushLag = new AtomicLong();
+
+    protected final LongAccumulator maxFlushLag = new LongAccumulator(Math::max, 0);
+
+    public LoginRecorder(
+            final SecurityProperties.LoginRecorderProperties props,
+            final UserDAO userDAO) {
+
+        this.props = props;
+        this.userDAO = userDAO;
+
+        if (props.getFlushInterval() > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "loginRecorderFlusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(
+                    this::flush, props.getFlushInterval(), props.getFlushInterval(), TimeUnit.SECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    public boolean isWriteBehind() {
+        return flusher != null;
+    }
+
+    /**
+     * Records a successful authentication for the given user: failed logins, if any, are reset right away along with
+     * the last login date, which is otherwise written behind.
+     *
+     * @param domain domain
+     * @param user authenticated user
+     * @param lastLoginDate last login date to set, or {@code null} if not tracked
+     */
+    public void success(final String domain, final User user, final OffsetDateTime lastLoginDate) {
+        if (user.getFailedLogins() != null && user.getFailedLogins() > 0) {
+            if (lastLoginDate != null) {
+                discard(domain, user.getKey());
+            }
+            write(new UserDAO.LoginUpdate(user.getKey(), lastLoginDate, true, 0));
+        } else if (lastLoginDate != null) {
+            if (isWriteBehind()) {
+                pending.compute(new PendingKey(domain, user.getKey()), (key, login) -> {
+                    PendingLogin updated = login == null ? new PendingLogin() : login;
+                    updated.lastLoginDate = lastLoginDate;
+                    return updated;
+                });
+            } else {
+                write(new UserDAO.LoginUpdate(user.getKey(), lastLoginDate, false, 0));
+            }
+        }
+    }
+
+    /**
+     * Records a failed authentication for the given user, written through as an atomic increment.
+     *
+     * @param domain domain
+     * @param user user which failed to authenticate
+     */
+    public void failure(final String domain, final User user) {
+        write(new UserDAO.LoginUpdate(user.getKey(), null, false, 1));
+    }
+
+    /**
+     * Discards any pending update for the given user, typically because the user entity is being saved anyway.
+     *
+     * @param domain domain
+     * @param userKey user key
+     */
+    public void discard(final String domain, final String userKey) {
+        pending.remove(new PendingKey(domain, userKey));
+    }
+
+    protected void write(final UserDAO.LoginUpdate update) {
+        writeThroughs.increment();
+        userDAO.updateLogins(List.of(update));
+    }
+
+    /**
+     * Flushes all pending updates, one transaction per domain; updates which could not be flushed are merged back
+     * for the next attempt.
+     */
+    public void flush() {
+        Map<String, Map<PendingKey, PendingLogin>> byDomain = new HashMap<>();
+        long oldest = Long.MAX_VALUE;
+        for (PendingKey key : Set.copyOf(pending.keySet())) {
+            PendingLogin login = pending.remove(key);
+            if (login != null) {
+                byDomain.computeIfAbsent(key.domain(), k -> new HashMap<>()).put(key, login);
+                oldest = Math.min(oldest, login.since);
+            }
+        }
+        if (byDomain.isEmpty()) {
+            return;
+        }
+
+        byDomain.forEach((domain, logins) -> {
+            List<UserDAO.LoginUpdate> updates = new ArrayList<>(logins.size());
+            logins.forEach((key, login) -> updates.add(login.toUpdate(key.userKey())));
+
+            try {
+                AuthContextUtils.runAsAdmin(domain, () -> userDAO.updateLogins(updates));
+                flushedUpdates.add(updates.size());
+            } catch (Exception e) {
+                LOG.error("While flushing {} login updates for domain {}, will retry", updates.size(), domain, e);
+                failedFlushes.increment();
+                logins.forEach(this::requeue);
+            }
+        });
+
+        flushes.increment();
+        long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+        lastFlushLag.set(lag);
+        maxFlushLag.accumulate(lag);
+    }
+
+    protected void requeue(final PendingKey key, final PendingLogin failed) {
+        // current was recorded after failed, hence takes precedence
+        pending.merge(key, failed, (current, previous) -> current);
+    }
+
+    public Map<String, Object> getStatistics() {
+        long oldest = pending.values().stream().mapToLong(login -> login.since).min().orElse(System.nanoTime());
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("writeBehind", isWriteBehind());
+        statistics.put("pending", pending.size());
+        statistics.put("pendingAgeMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest));
+        statistics.put("flushes", flushes.sum());
+        statistics.put("flushedUpdates", flushedUpdates.sum());
+        statistics.put("failedFlushes", failedFlushes.sum());
+        statistics.put("writeThroughs", writeThroughs.sum());
+        statistics.put("lastFlushLagMillis", lastFlushLag.get());
+        statistics.put("maxFlushLagMillis", maxFlushLag.get());
+        return statistics;
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flush();
+        }
+    }
+}
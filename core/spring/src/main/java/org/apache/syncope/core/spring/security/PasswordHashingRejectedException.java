@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when {@link PasswordHashingService} has no capacity left to serve an authentication request.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = -4096744466447406374L;
+
+    /**
+     * Value for the {@code Retry-After} header sent back to clients along with {@code 503 Service Unavailable}.
+     */
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public PasswordHashingRejectedException(final String msg) {
+        super(msg);
+    }
+}
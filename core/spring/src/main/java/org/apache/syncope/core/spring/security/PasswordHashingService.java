@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Runs CPU-intensive password hashing (BCRYPT and salted digests) on a bounded pool of workers, so that login storms
+ * or large pulls cannot saturate all processors and starve other requests.
+ *
+ * Authentication requests fail fast with {@link PasswordHashingRejectedException} when the pool is saturated, while
+ * provisioning requests wait for capacity to become available.
+ */
+public class PasswordHashingService implements DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    protected static final Encryptor ENCRYPTOR = Encryptor.getInstance();
+
+    protected static class LatencyHistogram {
+
+        protected static final long[] BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000 };
+
+        protected final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+
+        protected final LongAdder count = new LongAdder();
+
+        protected final LongAdder sum = new LongAdder();
+
+        protected final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        protected LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        protected void record(final long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+
+            int bucket = 0;
+            while (bucket < BOUNDS_MICROS.length && micros > BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+
+            count.increment();
+            sum.add(micros);
+            max.accumulate(micros);
+        }
+
+        protected Map<String, Object> snapshot() {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+                histogram.put("le" + BOUNDS_MICROS[i] + "us", buckets[i].sum());
+            }
+            histogram.put("gt" + BOUNDS_MICROS[BOUNDS_MICROS.length - 1] + "us", buckets[BOUNDS_MICROS.length].sum());
+
+            long total = count.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", total);
+            snapshot.put("meanMicros", total == 0 ? 0 : sum.sum() / total);
+            snapshot.put("maxMicros", max.get());
+            snapshot.put("histogram", histogram);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Encodes the given value via the {@link PasswordHashingService} bean, if available, otherwise directly via
+     * {@link Encryptor}: this is meant for callers which are not Spring beans, as JPA entities.
+     *
+     * @param value cleartext value
+     * @param cipherAlgorithm cipher algorithm
+     * @return encoded value
+     * @throws Exception if encoding fails
+     */
+    public static String encodeWithAvailable(final String value, final CipherAlgorithm cipherAlgorithm)
+            throws Exception {
+
+        PasswordHashingService service = Optional.ofNullable(ApplicationContextProvider.getBeanFactory()).
+                map(factory -> factory.getBeanProvider(PasswordHashingService.class).getIfAvailable()).
+                orElse(null);
+        return service == null
+                ? ENCRYPTOR.encode(value, cipherAlgorithm)
+                : service.encode(value, cipherAlgorithm);
+    }
+
+    protected static boolean isExpensive(final CipherAlgorithm cipherAlgorithm) {
+        return cipherAlgorithm == CipherAlgorithm.BCRYPT || (cipherAlgorithm != null && cipherAlgorithm.isSalted());
+    }
+
+    protected final SecurityProperties.HashingProperties props;
+
+    protected final int workers;
+
+    protected final int capacity;
+
+    protected final ExecutorService executor;
+
+    protected final Semaphore permits;
+
+    protected final LongAdder rejected = new LongAdder();
+
+    protected final Map<CipherAlgorithm, LatencyHistogram> latencies = new EnumMap<>(CipherAlgorithm.class);
+
+    public PasswordHashingService(final SecurityProperties.HashingProperties props) {
+        this.props = props;
+
+        workers = props.getWorkers() > 0 ? props.getWorkers() : Runtime.getRuntime().availableProcessors();
+        capacity = workers + props.getQueueCapacity();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "passwordHashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        permits = new Semaphore(capacity);
+
+        for (CipherAlgorithm cipherAlgorithm : CipherAlgorithm.values()) {
+            latencies.put(cipherAlgorithm, new LatencyHistogram());
+        }
+    }
+
+    protected <T> T timed(final CipherAlgorithm cipherAlgorithm, final Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            latencies.get(cipherAlgorithm == null ? CipherAlgorithm.AES : cipherAlgorithm).
+                    record(System.nanoTime() - start);
+        }
+    }
+
+    protected <T> T execute(final CipherAlgorithm cipherAlgorithm, final Callable<T> task, final boolean failFast)
+            throws Exception {
+
+        if (!isExpensive(cipherAlgorithm)) {
+            return timed(cipherAlgorithm, task);
+        }
+
+        if (failFast) {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                throw new PasswordHashingRejectedException(
+                        "Too many concurrent password hashing requests, please retry later");
+            }
+        } else {
+            permits.acquire();
+        }
+        try {
+            return executor.submit(() -> timed(cipherAlgorithm, task)).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ex ? ex : e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Verifies the given value against the encoded value, failing fast if there is no capacity left: this is meant
+     * for authentication requests.
+     *
+     * @param value cleartext value
+     * @param cipherAlgorithm cipher algorithm
+     * @param encoded encoded value
+     * @return whether the given value matches the encoded value
+     * @throws PasswordHashingRejectedException if there is no capacity left
+     */
+    public boolean authenticate(final String value, final CipherAlgorithm cipherAlgorithm, final String encoded) {
+        try {
+            return execute(cipherAlgorithm, () -> ENCRYPTOR.verify(value, cipherAlgorithm, encoded), true);
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            LOG.error("Could not verify encoded value", e);
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the given value against the encoded value, waiting for capacity to become available.
+     *
+     * @param value cleartext value
+     * @param cipherAlgorithm cipher algorithm
+     * @param encoded encoded value
+     * @return whether the given value matches the encoded value
+     */
+    public boolean verify(final String value, final CipherAlgorithm cipherAlgorithm, final String encoded) {
+        try {
+            return execute(cipherAlgorithm, () -> ENCRYPTOR.verify(value, cipherAlgorithm, encoded), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            LOG.error("Could not verify encoded value", e);
+            return false;
+        }
+    }
+
+    /**
+     * Encodes the given value, waiting for capacity to become available; BCRYPT uses the configured cost.
+     *
+     * @param value cleartext value
+     * @param cipherAlgorithm cipher algorithm
+     * @return encoded value
+     * @throws Exception if encoding fails
+     */
+    public String encode(final String value, final CipherAlgorithm cipherAlgorithm) throws Exception {
+        if (value == null) {
+            return null;
+        }
+
+        return execute(cipherAlgorithm, () -> cipherAlgorithm == CipherAlgorithm.BCRYPT
+                ? BCrypt.hashpw(value, BCrypt.gensalt(props.getBcryptCost()))
+                : ENCRYPTOR.encode(value, cipherAlgorithm), false);
+    }
+
+    /**
+     * Tells whether the given encoded value shall be re-hashed upon successful authentication, e.g. because it was
+     * hashed with a lower BCRYPT cost than currently configured.
+     *
+     * @param cipherAlgorithm cipher algorithm
+     * @param encoded encoded value
+     * @return whether the given encoded value shall be re-hashed
+     */
+    public boolean needsRehash(final CipherAlgorithm cipherAlgorithm, final String encoded) {
+        if (!props.isRehashOnLogin() || cipherAlgorithm != CipherAlgorithm.BCRYPT || encoded == null) {
+            return false;
+        }
+
+        // BCRYPT encoded values look like $2a$10$...
+        String[] parts = StringUtils.split(encoded, '$');
+        try {
+            return parts.length > 1 && Integer.parseInt(parts[1]) < props.getBcryptCost();
+        } catch (NumberFormatException e) {
+            LOG.debug("Could not parse BCRYPT cost from encoded value", e);
+            return false;
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> algorithms = new LinkedHashMap<>();
+        latencies.forEach((cipherAlgorithm, histogram) -> algorithms.put(cipherAlgorithm.name(), histogram.snapshot()));
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("workers", workers);
+        statistics.put("capacity", capacity);
+        statistics.put("inFlight", capacity - permits.availablePermits());
+        statistics.put("rejected", rejected.sum());
+        statistics.put("latencies", algorithms);
+        return statistics;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -53,6 +53,12 @@ public final class SecureRandomUtils {
         return FOR_PASSWORD.generate(tokenLength);
     }
 
+    public static byte[] generateRandomBytes(final int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
     public static String generateRandomLetter() {
         return FOR_LETTERS.generate(1);
     }
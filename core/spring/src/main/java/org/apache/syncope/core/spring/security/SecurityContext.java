@@ -128,6 +128,21 @@ public class SecurityContext {
         return new DefaultPasswordGenerator();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public PasswordHashingService passwordHashingService(final SecurityProperties props) {
+        return new PasswordHashingService(props.getHashing());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public LoginRecorder loginRecorder(
+            final SecurityProperties props,
+            final UserDAO userDAO) {
+
+        return new LoginRecorder(props.getLoginRecorder(), userDAO);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public RuleEnforcer ruleEnforcer(final RealmDAO realmDAO) {
@@ -82,6 +82,77 @@ public class SecurityProperties {
         }
     }
 
+    public static class HashingProperties {
+
+        /**
+         * Number of worker threads; 0 means as many as the available processors.
+         */
+        private int workers;
+
+        /**
+         * Maximum number of hashing requests waiting for a worker, beyond which authentication requests are
+         * rejected.
+         */
+        private int queueCapacity = 100;
+
+        private int bcryptCost = 10;
+
+        /**
+         * Whether BCRYPT passwords hashed with a lower cost than {@link #bcryptCost} shall be re-hashed upon
+         * successful authentication.
+         */
+        private boolean rehashOnLogin;
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(final int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBcryptCost() {
+            return bcryptCost;
+        }
+
+        public void setBcryptCost(final int bcryptCost) {
+            this.bcryptCost = bcryptCost;
+        }
+
+        public boolean isRehashOnLogin() {
+            return rehashOnLogin;
+        }
+
+        public void setRehashOnLogin(final boolean rehashOnLogin) {
+            this.rehashOnLogin = rehashOnLogin;
+        }
+    }
+
+    public static class LoginRecorderProperties {
+
+        /**
+         * Interval (in seconds) between flushes of pending last login dates; 0 means that updates are written
+         * through upon each authentication.
+         */
+        private long flushInterval = 5;
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
     private String adminUser;
 
     private String adminPassword;
@@ -100,8 +171,20 @@ public class SecurityProperties {
 
     private String secretKey;
 
+    private String verifiedJwtCache;
+
+    private String authoritiesCache;
+
+    private String domainCache = "maximumSize=1000,expireAfterWrite=1m";
+
+    private String delegationCache;
+
     private final DigesterProperties digester = new DigesterProperties();
 
+    private final HashingProperties hashing = new HashingProperties();
+
+    private final LoginRecorderProperties loginRecorder = new LoginRecorderProperties();
+
     public String getAdminUser() {
         return adminUser;
     }
@@ -174,7 +257,47 @@ public class SecurityProperties {
         this.secretKey = secretKey;
     }
 
+    public String getVerifiedJwtCache() {
+        return verifiedJwtCache;
+    }
+
+    public void setVerifiedJwtCache(final String verifiedJwtCache) {
+        this.verifiedJwtCache = verifiedJwtCache;
+    }
+
+    public String getAuthoritiesCache() {
+        return authoritiesCache;
+    }
+
+    public void setAuthoritiesCache(final String authoritiesCache) {
+        this.authoritiesCache = authoritiesCache;
+    }
+
+    public String getDomainCache() {
+        return domainCache;
+    }
+
+    public void setDomainCache(final String domainCache) {
+        this.domainCache = domainCache;
+    }
+
+    public String getDelegationCache() {
+        return delegationCache;
+    }
+
+    public void setDelegationCache(final String delegationCache) {
+        this.delegationCache = delegationCache;
+    }
+
     public DigesterProperties getDigester() {
         return digester;
     }
+
+    public HashingProperties getHashing() {
+        return hashing;
+    }
+
+    public LoginRecorderProperties getLoginRecorder() {
+        return loginRecorder;
+    }
 }
@@ -22,6 +22,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 
@@ -36,6 +38,12 @@ public class SyncopeBasicAuthenticationEntryPoint extends BasicAuthenticationEnt
 
         response.addHeader(RESTHeaders.ERROR_INFO, authException.getMessage());
 
-        super.commence(request, response, authException);
+        if (authException instanceof PasswordHashingRejectedException) {
+            response.addHeader(HttpHeaders.RETRY_AFTER, PasswordHashingRejectedException.RETRY_AFTER_SECONDS);
+            response.sendError(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        } else {
+            super.commence(request, response, authException);
+        }
     }
 }
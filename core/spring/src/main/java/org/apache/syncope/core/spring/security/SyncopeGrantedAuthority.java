@@ -28,6 +28,7 @@ import java.util.TreeSet;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.syncope.core.provisioning.api.utils.RealmScope;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.springframework.security.core.GrantedAuthority;
 
@@ -40,6 +41,8 @@ public class SyncopeGrantedAuthority implements GrantedAuthority {
 
     private final Set<String> realms = new TreeSet<>();
 
+    private transient volatile RealmScope realmScope;
+
     @JsonCreator
     public SyncopeGrantedAuthority(@JsonProperty("entitlement") final String entitlement) {
         this.entitlement = entitlement;
@@ -51,6 +54,7 @@ public class SyncopeGrantedAuthority implements GrantedAuthority {
     }
 
     public boolean addRealm(final String newRealm) {
+        realmScope = null;
         return RealmUtils.normalizingAddTo(realms, newRealm);
     }
 
@@ -62,6 +66,22 @@ public class SyncopeGrantedAuthority implements GrantedAuthority {
         return Collections.unmodifiableSet(realms);
     }
 
+    /**
+     * Returns the compiled form of {@link #getRealms()}, built on first access and then kept for as long as this
+     * authority - hence the owning authentication - lives.
+     *
+     * @return compiled realm scope
+     */
+    @JsonIgnore
+    public RealmScope getRealmScope() {
+        RealmScope scope = realmScope;
+        if (scope == null) {
+            scope = RealmScope.of(realms);
+            realmScope = scope;
+        }
+        return scope;
+    }
+
     @JsonIgnore
     @Override
     public String getAuthority() {
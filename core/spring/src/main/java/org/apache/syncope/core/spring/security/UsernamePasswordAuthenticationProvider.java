@@ -21,7 +21,6 @@ package org.apache.syncope.core.spring.security;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.tuple.Triple;
-import org.apache.syncope.common.keymaster.client.api.DomainOps;
 import org.apache.syncope.common.keymaster.client.api.KeymasterException;
 import org.apache.syncope.common.keymaster.client.api.model.Domain;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -42,9 +41,7 @@ public class UsernamePasswordAuthenticationProvider implements AuthenticationPro
 
     protected static final Logger LOG = LoggerFactory.getLogger(UsernamePasswordAuthenticationProvider.class);
 
-    protected static final Encryptor ENCRYPTOR = Encryptor.getInstance();
-
-    protected final DomainOps domainOps;
+    protected final DomainCache domainCache;
 
     protected final AuthDataAccessor dataAccessor;
 
@@ -52,19 +49,23 @@ public class UsernamePasswordAuthenticationProvider implements AuthenticationPro
 
     protected final DefaultCredentialChecker credentialChecker;
 
+    protected final PasswordHashingService passwordHashingService;
+
     protected final SecurityProperties securityProperties;
 
     public UsernamePasswordAuthenticationProvider(
-            final DomainOps domainOps,
+            final DomainCache domainCache,
             final AuthDataAccessor dataAccessor,
             final UserProvisioningManager provisioningManager,
             final DefaultCredentialChecker credentialChecker,
+            final PasswordHashingService passwordHashingService,
             final SecurityProperties securityProperties) {
 
-        this.domainOps = domainOps;
+        this.domainCache = domainCache;
         this.dataAccessor = dataAccessor;
         this.provisioningManager = provisioningManager;
         this.credentialChecker = credentialChecker;
+        this.passwordHashingService = passwordHashingService;
         this.securityProperties = securityProperties;
     }
 
@@ -77,7 +78,7 @@ public class UsernamePasswordAuthenticationProvider implements AuthenticationPro
             domain = new Domain.Builder(SyncopeConstants.MASTER_DOMAIN).build();
         } else {
             try {
-                domain = domainOps.read(
+                domain = domainCache.read(
                         SyncopeAuthenticationDetails.class.cast(authentication.getDetails()).getDomain());
             } catch (NotFoundException | KeymasterException e) {
                 throw new BadCredentialsException("Could not find domain "
@@ -97,12 +98,12 @@ public class UsernamePasswordAuthenticationProvider implements AuthenticationPro
             username.set(securityProperties.getAdminUser());
             if (SyncopeConstants.MASTER_DOMAIN.equals(domain.getKey())) {
                 credentialChecker.checkIsDefaultAdminPasswordInUse();
-                authenticated = ENCRYPTOR.verify(
+                authenticated = passwordHashingService.authenticate(
                         authentication.getCredentials().toString(),
                         securityProperties.getAdminPasswordAlgorithm(),
                         securityProperties.getAdminPassword());
             } else {
-                authenticated = ENCRYPTOR.verify(
+                authenticated = passwordHashingService.authenticate(
                         authentication.getCredentials().toString(),
                         domain.getAdminCipherAlgorithm(),
                         domain.getAdminPassword());
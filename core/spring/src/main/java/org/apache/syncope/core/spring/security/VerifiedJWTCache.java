@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.entity.AccessToken;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of JSON Web Tokens whose signature was verified and whose principal was successfully resolved, so
+ * that further requests bearing the same JWT do not need to parse, verify and resolve it again.
+ * Entries are keyed by domain and digest of the whole serialized JWT - hence a JWT with tampered header, payload or
+ * signature never matches an entry - and are evicted upon changes to the owning user or to the related
+ * access token; as such events are only observed by the Core instance where they occur, entries are also expired
+ * according to the configured cache specification.
+ */
+public class VerifiedJWTCache {
+
+    protected record Key(String domain, String digest) {
+
+    }
+
+    /**
+     * Resolved principal for a verified JWT.
+     *
+     * @param claims JWT claims
+     * @param userKey user key, null for admin
+     * @param username username
+     * @param authorities granted authorities
+     */
+    public record Principal(
+            JWTClaimsSet claims,
+            String userKey,
+            String username,
+            Set<SyncopeGrantedAuthority> authorities) {
+
+        public Principal {
+            authorities = Set.copyOf(authorities);
+        }
+    }
+
+    protected static String digest(final String jwt) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected final Cache<Key, Principal> cache;
+
+    public VerifiedJWTCache(final String cacheSpec) {
+        this.cache = StringUtils.isBlank(cacheSpec)
+                ? null
+                : Caffeine.from(cacheSpec).build();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Looks up the principal resolved for the given serialized JWT, provided that it is not expired meanwhile.
+     *
+     * @param domain domain
+     * @param jwt serialized JWT
+     * @return resolved principal, if available
+     */
+    public Optional<Principal> get(final String domain, final String jwt) {
+        if (cache == null) {
+            return Optional.empty();
+        }
+
+        Key key = new Key(domain, digest(jwt));
+        return Optional.ofNullable(cache.getIfPresent(key)).filter(principal -> {
+            if (principal.claims().getExpirationTime() != null
+                    && principal.claims().getExpirationTime().getTime() < System.currentTimeMillis()) {
+
+                cache.invalidate(key);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    public void put(final String domain, final String jwt, final Principal principal) {
+        if (cache != null) {
+            cache.put(new Key(domain, digest(jwt)), principal);
+        }
+    }
+
+    protected void evict(final EntityLifecycleEvent<Entity> event) {
+        if (cache == null) {
+            return;
+        }
+
+        if (event.getEntity() instanceof User user) {
+            cache.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && user.getKey().equals(entry.getValue().userKey()));
+        } else if (event.getEntity() instanceof AccessToken accessToken) {
+            cache.asMap().entrySet().removeIf(entry -> entry.getKey().domain().equals(event.getDomain())
+                    && accessToken.getKey().equals(entry.getValue().claims().getJWTID()));
+        }
+    }
+
+    /**
+     * Evicts entries as soon as users or access tokens are changed.
+     *
+     * @param event entity lifecycle event
+     */
+    @EventListener
+    public void entityChanged(final EntityLifecycleEvent<Entity> event) {
+        evict(event);
+    }
+
+    /**
+     * Evicts entries again once changes are committed, as concurrent requests might have cached the previous state
+     * meanwhile.
+     *
+     * @param event entity lifecycle event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void entityChangeCommitted(final EntityLifecycleEvent<Entity> event) {
+        evict(event);
+    }
+}
@@ -74,7 +74,8 @@ public class WebSecurityContext {
             final UsernamePasswordAuthenticationProvider usernamePasswordAuthenticationProvider,
             final AccessDeniedHandler accessDeniedHandler,
             final AuthDataAccessor dataAccessor,
-            final DefaultCredentialChecker defaultCredentialChecker) throws Exception {
+            final DefaultCredentialChecker defaultCredentialChecker,
+            final VerifiedJWTCache verifiedJWTCache) throws Exception {
 
         AuthenticationManager authenticationManager = http.getSharedObject(AuthenticationManagerBuilder.class).
                 parentAuthenticationManager(null).
@@ -97,7 +98,8 @@ public class WebSecurityContext {
                 basicAuthenticationEntryPoint,
                 authenticationDetailsSource,
                 dataAccessor,
-                defaultCredentialChecker);
+                defaultCredentialChecker,
+                verifiedJWTCache);
         http.addFilterBefore(jwtAuthenticationFilter, BasicAuthenticationFilter.class);
 
         MustChangePasswordFilter mustChangePasswordFilter = new MustChangePasswordFilter();
@@ -120,19 +122,33 @@ public class WebSecurityContext {
     @Bean
     public UsernamePasswordAuthenticationProvider usernamePasswordAuthenticationProvider(
             final SecurityProperties securityProperties,
-            final DomainOps domainOps,
+            final DomainCache domainCache,
             final AuthDataAccessor dataAccessor,
             final UserProvisioningManager provisioningManager,
-            final DefaultCredentialChecker credentialChecker) {
+            final DefaultCredentialChecker credentialChecker,
+            final PasswordHashingService passwordHashingService) {
 
         return new UsernamePasswordAuthenticationProvider(
-                domainOps,
+                domainCache,
                 dataAccessor,
                 provisioningManager,
                 credentialChecker,
+                passwordHashingService,
                 securityProperties);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public DomainCache domainCache(final SecurityProperties securityProperties, final DomainOps domainOps) {
+        return new DomainCache(domainOps, securityProperties.getDomainCache());
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public VerifiedJWTCache verifiedJWTCache(final SecurityProperties securityProperties) {
+        return new VerifiedJWTCache(securityProperties.getVerifiedJwtCache());
+    }
+
     @Bean
     public AccessDeniedHandler accessDeniedHandler() {
         return new SyncopeAccessDeniedHandler();
@@ -153,6 +169,8 @@ public class WebSecurityContext {
             final ConnectorManager connectorManager,
             final AuditManager auditManager,
             final MappingManager mappingManager,
+            final PasswordHashingService passwordHashingService,
+            final LoginRecorder loginRecorder,
             final List<JWTSSOProvider> jwtSSOProviders) {
 
         return new AuthDataAccessor(
@@ -168,6 +186,8 @@ public class WebSecurityContext {
                 connectorManager,
                 auditManager,
                 mappingManager,
+                passwordHashingService,
+                loginRecorder,
                 jwtSSOProviders);
     }
 }
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.policy;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.policy.HaveIBeenPwnedPasswordRuleConf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PwnedPasswordCorpusTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PwnedPasswordCorpusTest.class);
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private static String sha1(final String value) throws NoSuchAlgorithmException {
+        return HEX.formatHex(MessageDigest.getInstance("SHA-1").digest(value.getBytes()));
+    }
+
+    private static void writeRangeDumps(final Path dir, final List<String> hashes) throws IOException {
+        Map<String, List<String>> ranges = hashes.stream().collect(Collectors.groupingBy(
+                hash -> hash.substring(0, 5), TreeMap::new, Collectors.toList()));
+        for (Map.Entry<String, List<String>> range : ranges.entrySet()) {
+            Files.write(dir.resolve(range.getKey() + ".txt"), range.getValue().stream().sorted().
+                    map(hash -> hash.substring(5) + ":" + 1).toList());
+        }
+    }
+
+    @Test
+    public void rangeDumps(final @TempDir Path dir) throws Exception {
+        Path dumps = Files.createDirectory(dir.resolve("dumps"));
+        writeRangeDumps(dumps, List.of(sha1("password"), sha1("123456"), sha1("qwerty")));
+
+        Path corpusFile = dir.resolve("corpus.bin");
+        assertEquals(3, PwnedPasswordCorpus.build(dumps, corpusFile));
+
+        PwnedPasswordCorpus corpus = PwnedPasswordCorpus.load(corpusFile, 10);
+        assertEquals(3, corpus.size());
+        assertTrue(corpus.contains(sha1("password")));
+        assertTrue(corpus.contains(sha1("qwerty")));
+        assertFalse(corpus.contains(sha1("correct horse battery staple")));
+
+        // without Bloom filter, all lookups go through the file
+        corpus = PwnedPasswordCorpus.load(corpusFile, 0);
+        assertTrue(corpus.contains(sha1("123456")));
+        assertFalse(corpus.contains(sha1("correct horse battery staple")));
+    }
+
+    @Test
+    public void fullHashDump(final @TempDir Path dir) throws Exception {
+        Path dumps = Files.createDirectory(dir.resolve("dumps"));
+        Files.write(dumps.resolve("pwnedpasswords.txt"), List.of(sha1("password"), sha1("qwerty")).stream().
+                sorted().map(hash -> hash + ":42").toList());
+
+        Path corpusFile = dir.resolve("corpus.bin");
+        assertEquals(2, PwnedPasswordCorpus.build(dumps, corpusFile));
+        assertTrue(PwnedPasswordCorpus.load(corpusFile, 10).contains(sha1("password")));
+    }
+
+    @Test
+    public void unsorted(final @TempDir Path dir) throws Exception {
+        Path dumps = Files.createDirectory(dir.resolve("dumps"));
+        Files.write(dumps.resolve("pwnedpasswords.txt"), List.of(
+                "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF:1",
+                "0000000000000000000000000000000000000000:1"));
+
+        Path corpusFile = dir.resolve("corpus.bin");
+        assertThrows(IOException.class, () -> PwnedPasswordCorpus.build(dumps, corpusFile));
+        assertFalse(Files.exists(corpusFile));
+    }
+
+    @Test
+    public void enforce(final @TempDir Path dir) throws Exception {
+        Path dumps = Files.createDirectory(dir.resolve("dumps"));
+        writeRangeDumps(dumps, List.of(sha1("password")));
+        Path corpusFile = dir.resolve("corpus.bin");
+        PwnedPasswordCorpus.build(dumps, corpusFile);
+
+        HaveIBeenPwnedPasswordRuleConf conf = new HaveIBeenPwnedPasswordRuleConf();
+        conf.setOfflineCorpus(corpusFile.toString());
+        conf.setFailOpen(false);
+        HaveIBeenPwnedPasswordRule rule = new HaveIBeenPwnedPasswordRule();
+        rule.setConf(conf);
+
+        // loaded in background: meanwhile, passwords are rejected as configured
+        assertThrows(PasswordPolicyException.class, () -> rule.enforce("user", "correct horse battery staple"));
+        for (int i = 0; i < 100 && PwnedPasswordCorpus.get(corpusFile, 0).isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+
+        assertThrows(PasswordPolicyException.class, () -> rule.enforce("user", "password"));
+        assertDoesNotThrow(() -> rule.enforce("user", "correct horse battery staple"));
+    }
+
+    @Test
+    public void reload(final @TempDir Path dir) throws Exception {
+        Path dumps = Files.createDirectory(dir.resolve("dumps"));
+        writeRangeDumps(dumps, List.of(sha1("password")));
+        Path corpusFile = dir.resolve("corpus.bin");
+        PwnedPasswordCorpus.build(dumps, corpusFile);
+
+        assertFalse(PwnedPasswordCorpus.reload(corpusFile));
+        PwnedPasswordCorpus corpus = PwnedPasswordCorpus.load(corpusFile, 10);
+
+        writeRangeDumps(dumps, List.of(sha1("password"), sha1("qwerty")));
+        PwnedPasswordCorpus.build(dumps, corpusFile);
+
+        // outdated corpus is returned until reloaded
+        assertEquals(corpus, PwnedPasswordCorpus.get(corpusFile, 10).orElseThrow());
+        assertTrue(PwnedPasswordCorpus.reload(corpusFile));
+        assertTrue(PwnedPasswordCorpus.get(corpusFile, 10).orElseThrow().contains(sha1("qwerty")));
+    }
+
+    @Test
+    public void lookupsPerSecond(final @TempDir Path dir) throws Exception {
+        Random random = new Random(42);
+        byte[] digest = new byte[PwnedPasswordCorpus.RECORD_SIZE];
+
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            random.nextBytes(digest);
+            hashes.add(HEX.formatHex(digest));
+        }
+        Path dumps = Files.createDirectory(dir.resolve("dumps"));
+        Files.write(dumps.resolve("pwnedpasswords.txt"), hashes.stream().sorted().map(h -> h + ":1").toList());
+        Path corpusFile = dir.resolve("corpus.bin");
+        PwnedPasswordCorpus.build(dumps, corpusFile);
+
+        List<byte[]> lookups = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10 == 0) {
+                lookups.add(HEX.parseHex(hashes.get(random.nextInt(hashes.size()))));
+            } else {
+                random.nextBytes(digest);
+                lookups.add(digest.clone());
+            }
+        }
+
+        for (int bitsPerEntry : new int[] { 0, 10 }) {
+            PwnedPasswordCorpus corpus = PwnedPasswordCorpus.load(corpusFile, bitsPerEntry);
+
+            int found = 0;
+            long start = System.nanoTime();
+            for (byte[] lookup : lookups) {
+                if (corpus.contains(lookup)) {
+                    found++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(lookups.size() / 10, found);
+            LOG.info("{} lookups/s with Bloom filter of {} bits per entry",
+                    lookups.size() * 1_000_000_000L / Math.max(1, elapsed), bitsPerEntry);
+        }
+    }
+}
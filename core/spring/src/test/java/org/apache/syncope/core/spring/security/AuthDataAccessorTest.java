@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.DelegationDAO;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Delegation;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AuthDataAccessorTest {
+
+    @Mock
+    private UserDAO userDAO;
+
+    @Mock
+    private GroupDAO groupDAO;
+
+    @Mock
+    private RoleDAO roleDAO;
+
+    @Mock
+    private DelegationDAO delegationDAO;
+
+    private AuthDataAccessor dataAccessor;
+
+    private Role role;
+
+    private static User user(final String key) {
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(key);
+        when(user.getUsername()).thenReturn(key);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setAdminUser("admin");
+        securityProperties.setAnonymousUser("anonymous");
+        securityProperties.setAuthoritiesCache("maximumSize=100");
+        securityProperties.setDelegationCache("maximumSize=100");
+
+        dataAccessor = new AuthDataAccessor(
+                securityProperties,
+                null,
+                userDAO,
+                groupDAO,
+                null,
+                null,
+                null,
+                roleDAO,
+                delegationDAO,
+                null,
+                null,
+                null,
+                new PasswordHashingService(securityProperties.getHashing()),
+                new LoginRecorder(securityProperties.getLoginRecorder(), userDAO),
+                List.of());
+
+        Realm realm = mock(Realm.class);
+        when(realm.getFullPath()).thenReturn("/even");
+
+        role = mock(Role.class);
+        when(role.getKey()).thenReturn("User manager");
+        when(role.getEntitlements()).thenReturn(Set.of("USER_READ", "USER_UPDATE"));
+        when(role.getRealms()).thenAnswer(ic -> List.of(realm));
+
+        when(userDAO.findAllRoles(any())).thenReturn(List.of(role));
+        when(groupDAO.findOwnedByUser(any())).thenReturn(List.of());
+    }
+
+    private Set<SyncopeGrantedAuthority> getAuthorities(final User user) {
+        when(userDAO.findByUsername(user.getUsername())).thenAnswer(ic -> Optional.of(user));
+        return dataAccessor.getAuthorities(user.getUsername(), null);
+    }
+
+    @Test
+    void sharedByRoleCombination() {
+        User rossini = user("rossini");
+        User verdi = user("verdi");
+
+        Set<SyncopeGrantedAuthority> authorities = getAuthorities(rossini);
+        assertEquals(2, authorities.size());
+        assertTrue(authorities.stream().allMatch(authority -> authority.getRealms().equals(Set.of("/even"))));
+
+        assertSame(authorities, getAuthorities(verdi));
+
+        // cached by user
+        assertSame(authorities, getAuthorities(rossini));
+        verify(userDAO, times(2)).findAllRoles(any());
+    }
+
+    @Test
+    void evict() {
+        User rossini = user("rossini");
+
+        Set<SyncopeGrantedAuthority> authorities = getAuthorities(rossini);
+
+        dataAccessor.entityChanged(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.UPDATE, rossini, SyncopeConstants.MASTER_DOMAIN));
+        assertSame(authorities, getAuthorities(rossini));
+        verify(userDAO, times(2)).findAllRoles(any());
+
+        dataAccessor.entityChanged(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.UPDATE, role, SyncopeConstants.MASTER_DOMAIN));
+        Set<SyncopeGrantedAuthority> recomputed = getAuthorities(rossini);
+        assertNotSame(authorities, recomputed);
+        assertEquals(authorities, recomputed);
+        verify(userDAO, times(3)).findAllRoles(any());
+    }
+
+    @Test
+    void groupOwner() {
+        User rossini = user("rossini");
+
+        Role groupOwnerRole = mock(Role.class);
+        when(groupOwnerRole.getEntitlements()).thenReturn(Set.of("GROUP_UPDATE"));
+        when(roleDAO.findById(AuthDataAccessor.GROUP_OWNER_ROLE)).thenAnswer(ic -> Optional.of(groupOwnerRole));
+
+        Realm realm = mock(Realm.class);
+        when(realm.getFullPath()).thenReturn(SyncopeConstants.ROOT_REALM);
+
+        Group group = mock(Group.class);
+        when(group.getKey()).thenReturn("37d15e4c-cdc1-460b-a591-8505c8133806");
+        when(group.getRealm()).thenAnswer(ic -> realm);
+        when(groupDAO.findOwnedByUser("rossini")).thenAnswer(ic -> List.of(group));
+
+        assertEquals(3, getAuthorities(rossini).size());
+
+        // no longer owner
+        when(groupDAO.findOwnedByUser("rossini")).thenReturn(List.of());
+        assertEquals(3, getAuthorities(rossini).size());
+
+        dataAccessor.entityChangeCommitted(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.UPDATE, group, SyncopeConstants.MASTER_DOMAIN));
+        assertEquals(2, getAuthorities(rossini).size());
+    }
+
+    private Delegation delegation(final User delegating, final OffsetDateTime end) {
+        Delegation delegation = mock(Delegation.class);
+        when(delegation.getKey()).thenReturn("delegation");
+        when(delegation.getDelegating()).thenReturn(delegating);
+        when(delegation.getEnd()).thenReturn(end);
+        when(delegation.getRoles()).thenAnswer(ic -> Set.of());
+
+        when(delegationDAO.findValidFor(any(), any(), any())).thenReturn(Optional.of("delegation"));
+        when(delegationDAO.findById("delegation")).thenAnswer(ic -> Optional.of(delegation));
+        when(userDAO.findById(delegating.getKey())).thenAnswer(ic -> Optional.of(delegating));
+        return delegation;
+    }
+
+    @Test
+    void delegationCached() {
+        User rossini = user("rossini");
+        Delegation delegation = delegation(rossini, OffsetDateTime.now().plusHours(1));
+
+        assertEquals("delegation", dataAccessor.findValidDelegation("rossini", "verdi").orElseThrow());
+        assertEquals("delegation", dataAccessor.findValidDelegation("rossini", "verdi").orElseThrow());
+        assertEquals(2, dataAccessor.getAuthorities("verdi", "delegation").size());
+        verify(delegationDAO).findValidFor(any(), any(), any());
+        verify(delegationDAO).findById("delegation");
+
+        dataAccessor.entityChanged(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, delegation, SyncopeConstants.MASTER_DOMAIN));
+        when(delegationDAO.findValidFor(any(), any(), any())).thenReturn(Optional.empty());
+        assertTrue(dataAccessor.findValidDelegation("rossini", "verdi").isEmpty());
+    }
+
+    @Test
+    void delegationExpiresAtEnd() {
+        User rossini = user("rossini");
+        delegation(rossini, OffsetDateTime.now().minusSeconds(1));
+
+        dataAccessor.findValidDelegation("rossini", "verdi");
+        dataAccessor.findValidDelegation("rossini", "verdi");
+        verify(delegationDAO, times(2)).findValidFor(any(), any(), any());
+    }
+}
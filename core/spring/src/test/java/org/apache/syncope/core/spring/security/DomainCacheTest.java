@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.syncope.common.keymaster.client.api.DomainOps;
+import org.apache.syncope.common.keymaster.client.api.KeymasterException;
+import org.apache.syncope.common.keymaster.client.api.model.Domain;
+import org.junit.jupiter.api.Test;
+
+public class DomainCacheTest {
+
+    private static Domain domain(final String adminPassword) {
+        return new Domain.Builder("Two").adminPassword(adminPassword).build();
+    }
+
+    @Test
+    void readAndRefresh() {
+        DomainOps domainOps = mock(DomainOps.class);
+        when(domainOps.read("Two")).thenReturn(domain("password"));
+
+        DomainCache cache = new DomainCache(domainOps, "maximumSize=10");
+        assertEquals("password", cache.read("Two").getAdminPassword());
+        assertEquals("password", cache.read("Two").getAdminPassword());
+        verify(domainOps).read("Two");
+
+        // as notified via DomainWatcher#updated
+        cache.put(domain("changed"));
+        assertEquals("changed", cache.read("Two").getAdminPassword());
+
+        // as notified via DomainWatcher#removed
+        cache.evict("Two");
+        assertEquals("password", cache.read("Two").getAdminPassword());
+        verify(domainOps, times(2)).read("Two");
+    }
+
+    @Test
+    void failedReadNotCached() {
+        DomainOps domainOps = mock(DomainOps.class);
+        when(domainOps.read("Two")).thenThrow(new KeymasterException("unavailable")).thenReturn(domain("password"));
+
+        DomainCache cache = new DomainCache(domainOps, "maximumSize=10");
+        assertThrows(KeymasterException.class, () -> cache.read("Two"));
+        assertEquals("password", cache.read("Two").getAdminPassword());
+    }
+
+    @Test
+    void disabled() {
+        DomainOps domainOps = mock(DomainOps.class);
+        when(domainOps.read("Two")).thenReturn(domain("password"));
+
+        DomainCache cache = new DomainCache(domainOps, " ");
+        assertFalse(cache.isEnabled());
+
+        cache.read("Two");
+        cache.read("Two");
+        verify(domainOps, times(2)).read("Two");
+    }
+}
@@ -20,16 +20,29 @@ package org.apache.syncope.core.spring.security;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.AEADBadTagException;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class EncryptorTest {
 
+    private static final Logger LOG = LoggerFactory.getLogger(EncryptorTest.class);
+
     private static final String PASSWORD_VALUE = "password";
 
     private static Encryptor ENCRYPTOR;
@@ -89,4 +102,85 @@ public class EncryptorTest {
         String encPassword = "b098017d584647e3fa1f3e0eb437648aefa84093c15e0d3efb752a4183cfdcf3666ac543";
         assertTrue(ENCRYPTOR.verify(PASSWORD_VALUE, CipherAlgorithm.SSHA256, encPassword));
     }
+
+    @Test
+    public void aesGcm() throws Exception {
+        String encPassword = ENCRYPTOR.encode(PASSWORD_VALUE, CipherAlgorithm.AES_GCM);
+        assertEquals(PASSWORD_VALUE, ENCRYPTOR.decode(encPassword, CipherAlgorithm.AES_GCM));
+
+        // random IV: same value encodes differently
+        assertNotEquals(encPassword, ENCRYPTOR.encode(PASSWORD_VALUE, CipherAlgorithm.AES_GCM));
+
+        // authenticated: tampering is detected
+        byte[] tampered = Base64.getDecoder().decode(encPassword);
+        tampered[tampered.length - 1] ^= 1;
+        String tamperedPassword = Base64.getEncoder().encodeToString(tampered);
+        assertThrows(AEADBadTagException.class, () -> ENCRYPTOR.decode(tamperedPassword, CipherAlgorithm.AES_GCM));
+        assertFalse(ENCRYPTOR.verify(PASSWORD_VALUE, CipherAlgorithm.AES_GCM, tamperedPassword));
+    }
+
+    @Test
+    public void reencode() throws Exception {
+        String encPassword = ENCRYPTOR.encode(PASSWORD_VALUE, CipherAlgorithm.AES);
+
+        String reencPassword = ENCRYPTOR.reencode(encPassword, CipherAlgorithm.AES, CipherAlgorithm.AES_GCM);
+        assertTrue(ENCRYPTOR.verify(PASSWORD_VALUE, CipherAlgorithm.AES_GCM, reencPassword));
+        assertEquals(PASSWORD_VALUE, ENCRYPTOR.decode(reencPassword, CipherAlgorithm.AES_GCM));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ENCRYPTOR.reencode(encPassword, CipherAlgorithm.SHA256, CipherAlgorithm.AES_GCM));
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                String value = PASSWORD_VALUE + i;
+                CipherAlgorithm cipherAlgorithm = i % 2 == 0 ? CipherAlgorithm.AES : CipherAlgorithm.AES_GCM;
+                results.add(executor.submit(() -> {
+                    String encoded = ENCRYPTOR.encode(value, cipherAlgorithm);
+                    return ENCRYPTOR.verify(value, cipherAlgorithm, encoded)
+                            && value.equals(ENCRYPTOR.decode(encoded, cipherAlgorithm));
+                }));
+            }
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+
+    @Test
+    public void throughput() throws Exception {
+        for (CipherAlgorithm cipherAlgorithm : CipherAlgorithm.values()) {
+            int iterations = cipherAlgorithm == CipherAlgorithm.BCRYPT ? 10 : 10_000;
+
+            String encPassword = null;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                encPassword = ENCRYPTOR.encode(PASSWORD_VALUE, cipherAlgorithm);
+            }
+            long encode = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                assertTrue(ENCRYPTOR.verify(PASSWORD_VALUE, cipherAlgorithm, encPassword));
+            }
+            long verify = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            if (cipherAlgorithm.isInvertible()) {
+                for (int i = 0; i < iterations; i++) {
+                    assertEquals(PASSWORD_VALUE, ENCRYPTOR.decode(encPassword, cipherAlgorithm));
+                }
+            }
+            long decode = System.nanoTime() - start;
+
+            LOG.info("{}: {} ns/encode, {} ns/verify, {} ns/decode",
+                    cipherAlgorithm,
+                    encode / iterations,
+                    verify / iterations,
+                    cipherAlgorithm.isInvertible() ? decode / iterations : "-");
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LoginRecorderTest {
+
+    private static final String DOMAIN = SyncopeConstants.MASTER_DOMAIN;
+
+    private static final String KEY = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    private UserDAO userDAO;
+
+    @BeforeAll
+    public static void setUpContext() {
+        if (!ApplicationContextProvider.getBeanFactory().containsBean("securityProperties")) {
+            ApplicationContextProvider.getBeanFactory().
+                    registerSingleton("securityProperties", new SecurityProperties());
+        }
+        ApplicationContextProvider.getBeanFactory().getBean(SecurityProperties.class).setAdminUser("admin");
+    }
+
+    private static User user(final int failedLogins) {
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn(KEY);
+        when(user.getFailedLogins()).thenReturn(failedLogins);
+        return user;
+    }
+
+    private LoginRecorder recorder(final long flushInterval) {
+        SecurityProperties.LoginRecorderProperties props = new SecurityProperties.LoginRecorderProperties();
+        props.setFlushInterval(flushInterval);
+        return new LoginRecorder(props, userDAO);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        userDAO = mock(UserDAO.class);
+    }
+
+    @Test
+    public void coalesce() {
+        // long enough for scheduled flushes not to interfere
+        LoginRecorder recorder = recorder(3600);
+        try {
+            User user = user(0);
+            OffsetDateTime first = OffsetDateTime.now().minusSeconds(1);
+            OffsetDateTime last = OffsetDateTime.now();
+
+            recorder.success(DOMAIN, user, first);
+            recorder.success(DOMAIN, user, last);
+            verify(userDAO, never()).updateLogins(anyCollection());
+            assertEquals(1, recorder.getStatistics().get("pending"));
+
+            recorder.flush();
+            verify(userDAO).updateLogins(List.of(new UserDAO.LoginUpdate(KEY, last, false, 0)));
+            assertEquals(0, recorder.getStatistics().get("pending"));
+            assertEquals(1L, recorder.getStatistics().get("flushedUpdates"));
+        } finally {
+            recorder.destroy();
+        }
+    }
+
+    @Test
+    public void failedLoginsWrittenThrough() {
+        LoginRecorder recorder = recorder(3600);
+        try {
+            // failures are written through as increments, not overwriting the stored count
+            recorder.failure(DOMAIN, user(2));
+            recorder.failure(DOMAIN, user(2));
+            verify(userDAO, times(2)).updateLogins(List.of(new UserDAO.LoginUpdate(KEY, null, false, 1)));
+
+            // success resets failed logins right away, along with last login date
+            OffsetDateTime lastLoginDate = OffsetDateTime.now();
+            recorder.success(DOMAIN, user(4), lastLoginDate);
+            verify(userDAO).updateLogins(List.of(new UserDAO.LoginUpdate(KEY, lastLoginDate, true, 0)));
+
+            assertEquals(0, recorder.getStatistics().get("pending"));
+            assertEquals(3L, recorder.getStatistics().get("writeThroughs"));
+        } finally {
+            recorder.destroy();
+        }
+    }
+
+    @Test
+    public void writeThroughWhenDisabled() {
+        LoginRecorder recorder = recorder(0);
+        OffsetDateTime lastLoginDate = OffsetDateTime.now();
+
+        recorder.success(DOMAIN, user(0), lastLoginDate);
+        verify(userDAO).updateLogins(List.of(new UserDAO.LoginUpdate(KEY, lastLoginDate, false, 0)));
+
+        recorder.failure(DOMAIN, user(0));
+        verify(userDAO).updateLogins(List.of(new UserDAO.LoginUpdate(KEY, null, false, 1)));
+
+        // nothing to record
+        recorder.success(DOMAIN, user(0), null);
+        verify(userDAO, times(2)).updateLogins(anyCollection());
+    }
+
+    @Test
+    public void requeueOnFlushFailure() {
+        LoginRecorder recorder = recorder(3600);
+        try {
+            User user = user(0);
+            doThrow(new IllegalStateException("unavailable")).doNothing().
+                    when(userDAO).updateLogins(anyCollection());
+
+            OffsetDateTime first = OffsetDateTime.now().minusSeconds(1);
+            recorder.success(DOMAIN, user, first);
+            recorder.flush();
+            assertEquals(1L, recorder.getStatistics().get("failedFlushes"));
+            assertEquals(1, recorder.getStatistics().get("pending"));
+
+            OffsetDateTime last = OffsetDateTime.now();
+            recorder.success(DOMAIN, user, last);
+            recorder.flush();
+            verify(userDAO).updateLogins(List.of(new UserDAO.LoginUpdate(KEY, last, false, 0)));
+            assertEquals(0, recorder.getStatistics().get("pending"));
+        } finally {
+            recorder.destroy();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.junit.jupiter.api.Test;
+
+public class PasswordHashingServiceTest {
+
+    private static PasswordHashingService service(final int bcryptCost, final boolean rehashOnLogin) {
+        SecurityProperties.HashingProperties props = new SecurityProperties.HashingProperties();
+        props.setWorkers(1);
+        props.setQueueCapacity(0);
+        props.setBcryptCost(bcryptCost);
+        props.setRehashOnLogin(rehashOnLogin);
+        return new PasswordHashingService(props);
+    }
+
+    @Test
+    void encodeAndVerify() throws Exception {
+        PasswordHashingService service = service(4, false);
+        try {
+            for (CipherAlgorithm cipherAlgorithm : CipherAlgorithm.values()) {
+                String encoded = service.encode("password", cipherAlgorithm);
+                assertTrue(service.verify("password", cipherAlgorithm, encoded), cipherAlgorithm.name());
+                assertTrue(service.authenticate("password", cipherAlgorithm, encoded), cipherAlgorithm.name());
+                assertFalse(service.authenticate("other", cipherAlgorithm, encoded), cipherAlgorithm.name());
+            }
+
+            assertTrue(service.encode("password", CipherAlgorithm.BCRYPT).startsWith("$2a$04$"));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void rejectWhenSaturated() throws Exception {
+        PasswordHashingService service = service(4, false);
+        try {
+            String bcrypt = service.encode("password", CipherAlgorithm.BCRYPT);
+            String sha = service.encode("password", CipherAlgorithm.SHA256);
+
+            service.permits.acquire(service.capacity);
+            try {
+                assertThrows(PasswordHashingRejectedException.class,
+                        () -> service.authenticate("password", CipherAlgorithm.BCRYPT, bcrypt));
+
+                // cheap algorithms are not subject to the bound
+                assertTrue(service.authenticate("password", CipherAlgorithm.SHA256, sha));
+            } finally {
+                service.permits.release(service.capacity);
+            }
+
+            assertTrue(service.authenticate("password", CipherAlgorithm.BCRYPT, bcrypt));
+
+            Map<String, Object> statistics = service.getStatistics();
+            assertEquals(1L, statistics.get("rejected"));
+            assertEquals(0, statistics.get("inFlight"));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void needsRehash() throws Exception {
+        PasswordHashingService weak = service(4, false);
+        String encoded;
+        try {
+            encoded = weak.encode("password", CipherAlgorithm.BCRYPT);
+        } finally {
+            weak.destroy();
+        }
+
+        PasswordHashingService disabled = service(5, false);
+        PasswordHashingService enabled = service(5, true);
+        try {
+            assertFalse(disabled.needsRehash(CipherAlgorithm.BCRYPT, encoded));
+            assertTrue(enabled.needsRehash(CipherAlgorithm.BCRYPT, encoded));
+            assertFalse(enabled.needsRehash(
+                    CipherAlgorithm.BCRYPT, enabled.encode("password", CipherAlgorithm.BCRYPT)));
+            assertFalse(enabled.needsRehash(CipherAlgorithm.SSHA256, encoded));
+        } finally {
+            disabled.destroy();
+            enabled.destroy();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.util.Date;
+import java.util.Set;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.api.entity.AccessToken;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.EntityLifecycleEvent;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.junit.jupiter.api.Test;
+
+public class VerifiedJWTCacheTest {
+
+    private static final String JWT = "header.payload.signature";
+
+    private static VerifiedJWTCache.Principal principal(final String jwtId, final long expiration) {
+        return new VerifiedJWTCache.Principal(
+                new JWTClaimsSet.Builder().jwtID(jwtId).subject("rossini").
+                        expirationTime(new Date(System.currentTimeMillis() + expiration)).build(),
+                "1417acbe-cbf6-4277-9372-e75e04f97000",
+                "rossini",
+                Set.of(new SyncopeGrantedAuthority("USER_READ", SyncopeConstants.ROOT_REALM)));
+    }
+
+    @Test
+    void getAndPut() {
+        VerifiedJWTCache cache = new VerifiedJWTCache("maximumSize=10");
+        assertTrue(cache.isEnabled());
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).isPresent());
+
+        cache.put(SyncopeConstants.MASTER_DOMAIN, JWT, principal("jti", 60000));
+        assertEquals("rossini", cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).orElseThrow().username());
+
+        // tampered JWT or other domain
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT + "x").isPresent());
+        assertFalse(cache.get("Two", JWT).isPresent());
+    }
+
+    @Test
+    void expired() {
+        VerifiedJWTCache cache = new VerifiedJWTCache("maximumSize=10");
+
+        cache.put(SyncopeConstants.MASTER_DOMAIN, JWT, principal("jti", -1000));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).isPresent());
+    }
+
+    @Test
+    void disabled() {
+        VerifiedJWTCache cache = new VerifiedJWTCache(" ");
+        assertFalse(cache.isEnabled());
+
+        cache.put(SyncopeConstants.MASTER_DOMAIN, JWT, principal("jti", 60000));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).isPresent());
+    }
+
+    @Test
+    void evict() {
+        VerifiedJWTCache cache = new VerifiedJWTCache("maximumSize=10");
+
+        cache.put(SyncopeConstants.MASTER_DOMAIN, JWT, principal("jti", 60000));
+
+        AccessToken other = mock(AccessToken.class);
+        when(other.getKey()).thenReturn("other");
+        cache.entityChanged(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, other, SyncopeConstants.MASTER_DOMAIN));
+        assertTrue(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).isPresent());
+
+        AccessToken accessToken = mock(AccessToken.class);
+        when(accessToken.getKey()).thenReturn("jti");
+        cache.entityChanged(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.DELETE, accessToken, SyncopeConstants.MASTER_DOMAIN));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).isPresent());
+
+        cache.put(SyncopeConstants.MASTER_DOMAIN, JWT, principal("jti", 60000));
+
+        User user = mock(User.class);
+        when(user.getKey()).thenReturn("1417acbe-cbf6-4277-9372-e75e04f97000");
+        cache.entityChangeCommitted(new EntityLifecycleEvent<>(
+                this, SyncDeltaType.UPDATE, user, SyncopeConstants.MASTER_DOMAIN));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, JWT).isPresent());
+    }
+}
@@ -35,6 +35,7 @@ import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.dao.PersistenceInfoDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
+import org.apache.syncope.core.persistence.api.dao.SearchPlanCacheDAO;
 import org.apache.syncope.core.persistence.api.dao.SecurityQuestionDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -43,10 +44,17 @@ import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.ConnectorManager;
 import org.apache.syncope.core.provisioning.api.ImplementationLookup;
 import org.apache.syncope.core.provisioning.api.data.ConnInstanceDataBinder;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationOutbox;
+import org.apache.syncope.core.spring.security.LoginRecorder;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.starter.actuate.DefaultSyncopeCoreInfoContributor;
 import org.apache.syncope.core.starter.actuate.DomainsHealthIndicator;
 import org.apache.syncope.core.starter.actuate.EntityCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.ExternalResourcesHealthIndicator;
+import org.apache.syncope.core.starter.actuate.LoginRecorderEndpoint;
+import org.apache.syncope.core.starter.actuate.PasswordHashingEndpoint;
+import org.apache.syncope.core.starter.actuate.PropagationOutboxEndpoint;
+import org.apache.syncope.core.starter.actuate.SearchPlanCacheEndpoint;
 import org.apache.syncope.core.starter.actuate.SyncopeCoreInfoContributor;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -190,6 +198,30 @@ public class SyncopeCoreApplication extends SpringBootServletInitializer {
         return new EntityCacheEndpoint(entityCacheDAO);
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public SearchPlanCacheEndpoint searchPlanCacheEndpoint(final SearchPlanCacheDAO searchPlanCacheDAO) {
+        return new SearchPlanCacheEndpoint(searchPlanCacheDAO);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PasswordHashingEndpoint passwordHashingEndpoint(final PasswordHashingService passwordHashingService) {
+        return new PasswordHashingEndpoint(passwordHashingService);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public LoginRecorderEndpoint loginRecorderEndpoint(final LoginRecorder loginRecorder) {
+        return new LoginRecorderEndpoint(loginRecorder);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PropagationOutboxEndpoint propagationOutboxEndpoint(final PropagationOutbox propagationOutbox) {
+        return new PropagationOutboxEndpoint(propagationOutbox);
+    }
+
     @Bean
     public SyncopeStarterEventListener syncopeCoreEventListener(
             @Qualifier("syncopeCoreInfoContributor")
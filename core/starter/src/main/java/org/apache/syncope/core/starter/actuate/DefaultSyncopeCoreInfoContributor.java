@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.info.JavaImplInfo;
@@ -318,6 +319,12 @@ public class DefaultSyncopeCoreInfoContributor implements SyncopeCoreInfoContrib
 
         buildSystem();
         builder.withDetail("system", SYSTEM_INFO);
+
+        if (confParamOps instanceof CachingConfParamOps caching) {
+            builder.withDetail(
+                    "confParamCache",
+                    Map.of("hits", caching.getHitCount(), "misses", caching.getMissCount()));
+        }
     }
 
     @Override
@@ -50,7 +50,7 @@ import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
 import org.apache.syncope.core.spring.policy.AccountPolicyException;
 import org.apache.syncope.core.spring.policy.PasswordPolicyException;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
-import org.apache.syncope.core.spring.security.Encryptor;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
 import org.identityconnectors.framework.common.objects.SyncDeltaType;
@@ -75,6 +75,8 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
 
     protected final RuleEnforcer ruleEnforcer;
 
+    protected final PasswordHashingService passwordHashingService;
+
     public AbstractUserWorkflowAdapter(
             final UserDataBinder dataBinder,
             final UserDAO userDAO,
@@ -83,6 +85,7 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
             final RuleEnforcer ruleEnforcer,
+            final PasswordHashingService passwordHashingService,
             final ApplicationEventPublisher publisher) {
 
         super(groupDAO, entityFactory, publisher);
@@ -92,6 +95,7 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
         this.realmDAO = realmDAO;
         this.securityProperties = securityProperties;
         this.ruleEnforcer = ruleEnforcer;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @Override
@@ -133,7 +137,7 @@ public abstract class AbstractUserWorkflowAdapter extends AbstractWorkflowAdapte
                         matching = pwdHistory.subList(policy.getHistoryLength() >= pwdHistory.size()
                                 ? 0
                                 : pwdHistory.size() - policy.getHistoryLength(), pwdHistory.size()).stream().
-                                map(old -> Encryptor.getInstance().verify(
+                                map(old -> passwordHashingService.verify(
                                 clearPassword, user.getCipherAlgorithm(), old)).
                                 reduce(matching, (accumulator, item) -> accumulator | item);
                     }
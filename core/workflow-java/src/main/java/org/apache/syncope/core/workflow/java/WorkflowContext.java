@@ -28,6 +28,7 @@ import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.AnyObjectWorkflowAdapter;
 import org.apache.syncope.core.workflow.api.GroupWorkflowAdapter;
@@ -50,6 +51,7 @@ public class WorkflowContext {
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
             final RuleEnforcer ruleEnforcer,
+            final PasswordHashingService passwordHashingService,
             final ConfParamOps confParamOps,
             final ApplicationEventPublisher publisher) {
 
@@ -61,6 +63,7 @@ public class WorkflowContext {
                 entityFactory,
                 securityProperties,
                 ruleEnforcer,
+                passwordHashingService,
                 confParamOps,
                 publisher);
     }
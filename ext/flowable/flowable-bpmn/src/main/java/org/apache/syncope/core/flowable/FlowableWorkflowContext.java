@@ -47,6 +47,7 @@ import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.rules.RuleEnforcer;
+import org.apache.syncope.core.spring.security.PasswordHashingService;
 import org.apache.syncope.core.spring.security.SecurityProperties;
 import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
@@ -178,6 +179,7 @@ public class FlowableWorkflowContext {
             final EntityFactory entityFactory,
             final SecurityProperties securityProperties,
             final RuleEnforcer ruleEnforcer,
+            final PasswordHashingService passwordHashingService,
             final DomainProcessEngine engine,
             final UserRequestHandler userRequestHandler,
             final ApplicationEventPublisher publisher) {
@@ -190,6 +192,7 @@ public class FlowableWorkflowContext {
                 entityFactory,
                 securityProperties,
                 ruleEnforcer,
+                passwordHashingService,
                 engine,
                 userRequestHandler,
                 publisher);
@@ -48,6 +48,7 @@ import org.apache.syncope.common.lib.scim.SCIMUserAddressConf;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.MembershipTO;
 import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.common.lib.types.StatusRType;
 import org.apache.syncope.core.logic.scim.SCIMConfManager;
@@ -1005,7 +1006,8 @@ public class SCIMDataBinder {
 
         if (output(attributes, excludedAttributes, "members")) {
             long count = userLogic.search(
-                    searchCond, PageRequest.of(0, 1), SyncopeConstants.ROOT_REALM, true, false).getTotalElements();
+                    searchCond, PageRequest.of(0, 1), SyncopeConstants.ROOT_REALM, true, false, CountMode.EXACT).
+                    getTotalElements();
 
             for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE); page++) {
                 List<UserTO> users = userLogic.search(
@@ -1013,7 +1015,8 @@ public class SCIMDataBinder {
                         PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE),
                         SyncopeConstants.ROOT_REALM,
                         true,
-                        false).
+                        false,
+                        CountMode.NONE).
                         getContent();
                 users.forEach(userTO -> group.getMembers().add(new Member(
                         userTO.getKey(),
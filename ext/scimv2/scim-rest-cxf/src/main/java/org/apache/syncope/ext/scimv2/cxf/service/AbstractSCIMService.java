@@ -31,6 +31,7 @@ import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.AnyTO;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.core.logic.AbstractAnyLogic;
 import org.apache.syncope.core.logic.GroupLogic;
 import org.apache.syncope.core.logic.SCIMDataBinder;
@@ -179,7 +180,8 @@ abstract class AbstractSCIMService<R extends SCIMResource> {
                 PageRequest.of(startIndex, itemsPerPage, Sort.by(sort)),
                 SyncopeConstants.ROOT_REALM,
                 true,
-                false);
+                false,
+                CountMode.EXACT);
 
         if (result.getTotalElements() > confManager.get().getGeneralConf().getFilterMaxResults()) {
             throw new BadRequestException(ErrorType.tooMany, "Too many results found");
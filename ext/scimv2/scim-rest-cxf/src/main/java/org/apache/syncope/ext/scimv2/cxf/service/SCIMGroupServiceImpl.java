@@ -36,6 +36,7 @@ import org.apache.syncope.common.lib.request.UserUR;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.CountMode;
 import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.core.logic.GroupLogic;
 import org.apache.syncope.core.logic.SCIMDataBinder;
@@ -125,14 +126,16 @@ public class SCIMGroupServiceImpl extends AbstractSCIMService<SCIMGroup> impleme
         membCond.setGroup(group);
         SearchCond searchCond = SearchCond.getLeaf(membCond);
         long count = userLogic.search(
-                searchCond, PageRequest.of(0, 1), SyncopeConstants.ROOT_REALM, true, false).getTotalElements();
+                searchCond, PageRequest.of(0, 1), SyncopeConstants.ROOT_REALM, true, false, CountMode.EXACT).
+                getTotalElements();
         for (int page = 0; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE); page++) {
             members.addAll(userLogic.search(
                     searchCond,
                     PageRequest.of(page, AnyDAO.DEFAULT_PAGE_SIZE, DAO.DEFAULT_SORT),
                     SyncopeConstants.ROOT_REALM,
                     true,
-                    false).
+                    false,
+                    CountMode.NONE).
                     get().map(UserTO::getKey).collect(Collectors.toSet()));
         }
 
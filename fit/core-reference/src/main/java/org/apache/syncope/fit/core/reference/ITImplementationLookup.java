@@ -49,6 +49,7 @@ import org.apache.syncope.core.provisioning.api.rules.PullCorrelationRule;
 import org.apache.syncope.core.provisioning.api.rules.PushCorrelationRule;
 import org.apache.syncope.core.provisioning.java.job.ExpiredAccessTokenCleanup;
 import org.apache.syncope.core.provisioning.java.job.ExpiredBatchCleanup;
+import org.apache.syncope.core.provisioning.java.job.PwnedPasswordCorpusLoader;
 import org.apache.syncope.core.provisioning.java.propagation.AzurePropagationActions;
 import org.apache.syncope.core.provisioning.java.propagation.DBPasswordPropagationActions;
 import org.apache.syncope.core.provisioning.java.propagation.GoogleAppsPropagationActions;
@@ -137,6 +138,7 @@ public class ITImplementationLookup implements ImplementationLookup {
             classNames.add(PushJobDelegate.class.getName());
             classNames.add(ExpiredAccessTokenCleanup.class.getName());
             classNames.add(ExpiredBatchCleanup.class.getName());
+            classNames.add(PwnedPasswordCorpusLoader.class.getName());
             classNames.add(TestSampleJobDelegate.class.getName());
             put(IdRepoImplementationType.TASKJOB_DELEGATE, classNames);
 